@@ -2,6 +2,8 @@
 
 DROP TABLE IF EXISTS race_status_modifiers;
 DROP TABLE IF EXISTS races;
+DROP TABLE IF EXISTS worlds;
+DROP TABLE IF EXISTS catalog_version;
 
 -- 種族テーブル
 CREATE TABLE races
@@ -31,4 +33,83 @@ CREATE TABLE race_status_modifiers
     created_at        TIMESTAMP    DEFAULT CURRENT_TIMESTAMP COMMENT '作成日時',
     updated_at        TIMESTAMP    DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新日時',
     FOREIGN KEY (race_id) REFERENCES races (id) ON DELETE CASCADE
-) COMMENT '種族ごとのステータス修正値を管理するテーブル';
\ No newline at end of file
+) COMMENT '種族ごとのステータス修正値を管理するテーブル';
+
+-- 世界テーブル（コードで実装された世界に加えて、再デプロイせずに追加する世界）
+CREATE TABLE worlds
+(
+    id            VARCHAR(36) PRIMARY KEY COMMENT '世界の一意識別子（コードで実装された世界のIDとは重複できない）',
+    name          VARCHAR(100) NOT NULL COMMENT '世界の名前',
+    description   TEXT         NOT NULL COMMENT '世界の説明文',
+    display_order INT          NOT NULL DEFAULT 0 COMMENT '一覧での表示順（コードで実装された世界の後に昇順で並ぶ）',
+    enabled       BOOLEAN      NOT NULL DEFAULT TRUE COMMENT '選択可能かどうか（期間限定の世界の公開・終了に使う）',
+    created_at    TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '作成日時',
+    updated_at    TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新日時'
+) COMMENT '転生先の世界を管理するテーブル';
+
+-- 種族カタログの版テーブル
+CREATE TABLE catalog_version
+(
+    id         TINYINT PRIMARY KEY COMMENT '常に1（1行だけを保持する）',
+    version    BIGINT       NOT NULL DEFAULT 0 COMMENT 'カタログの版（種族・ステータス修正値・世界が変更されるたびに1増える）',
+    updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6) COMMENT '更新日時'
+) COMMENT '種族カタログの版を管理するテーブル。各インスタンスはこの1行だけを確認してキャッシュの更新を判断する';
+
+INSERT INTO catalog_version (id, version)
+VALUES (1, 0);
+
+-- 種族・ステータス修正値・世界が変更されるたびにカタログの版を上げる
+CREATE TRIGGER races_after_insert
+    AFTER INSERT
+    ON races
+    FOR EACH ROW UPDATE catalog_version
+                 SET version = version + 1
+                 WHERE id = 1;
+CREATE TRIGGER races_after_update
+    AFTER UPDATE
+    ON races
+    FOR EACH ROW UPDATE catalog_version
+                 SET version = version + 1
+                 WHERE id = 1;
+CREATE TRIGGER races_after_delete
+    AFTER DELETE
+    ON races
+    FOR EACH ROW UPDATE catalog_version
+                 SET version = version + 1
+                 WHERE id = 1;
+CREATE TRIGGER race_status_modifiers_after_insert
+    AFTER INSERT
+    ON race_status_modifiers
+    FOR EACH ROW UPDATE catalog_version
+                 SET version = version + 1
+                 WHERE id = 1;
+CREATE TRIGGER race_status_modifiers_after_update
+    AFTER UPDATE
+    ON race_status_modifiers
+    FOR EACH ROW UPDATE catalog_version
+                 SET version = version + 1
+                 WHERE id = 1;
+CREATE TRIGGER race_status_modifiers_after_delete
+    AFTER DELETE
+    ON race_status_modifiers
+    FOR EACH ROW UPDATE catalog_version
+                 SET version = version + 1
+                 WHERE id = 1;
+CREATE TRIGGER worlds_after_insert
+    AFTER INSERT
+    ON worlds
+    FOR EACH ROW UPDATE catalog_version
+                 SET version = version + 1
+                 WHERE id = 1;
+CREATE TRIGGER worlds_after_update
+    AFTER UPDATE
+    ON worlds
+    FOR EACH ROW UPDATE catalog_version
+                 SET version = version + 1
+                 WHERE id = 1;
+CREATE TRIGGER worlds_after_delete
+    AFTER DELETE
+    ON worlds
+    FOR EACH ROW UPDATE catalog_version
+                 SET version = version + 1
+                 WHERE id = 1;
@@ -112,3 +112,8 @@ VALUES
 -- 隠し種族（シークレット）
 ('mimic', -1, -1, -1, -1, -1, -1, 0, 0),     -- 他種族をコピーするため初期値は低め
 ('soul_of_machine', -3, 0, 10, 0, 0, 0, 0, -3);
+
+
+-- 期間限定の世界（enabled を TRUE にすると、再起動せずに世界の一覧へ追加される）
+INSERT INTO worlds (id, name, description, display_order, enabled)
+VALUES ('summer_festival', '常夏の祭典島', '一年中祭りが続く南国の島々。季節の精霊が訪れる期間だけ渡ることができる世界。', 10, FALSE);
@@ -1,11 +1,29 @@
 package com.kos0514.oop_in_java_learn;
 
-import com.kos0514.oop_in_java_learn.service.TransmigrationService;
+import com.kos0514.oop_in_java_learn.config.TransmigrationProperties;
+import com.kos0514.oop_in_java_learn.io.SystemInputProvider;
+import com.kos0514.oop_in_java_learn.server.http.TransmigrationHttpServer;
+import com.kos0514.oop_in_java_learn.server.tcp.TransmigrationTcpServer;
+import com.kos0514.oop_in_java_learn.service.batch.BatchProperties;
+import com.kos0514.oop_in_java_learn.service.batch.TransmigrationBatchPipeline;
+import com.kos0514.oop_in_java_learn.service.catalog.RaceCatalogCache;
+import com.kos0514.oop_in_java_learn.service.session.TransmigrationSessionEngine;
+import com.kos0514.oop_in_java_learn.service.warmup.WarmupProperties;
+import com.kos0514.oop_in_java_learn.service.warmup.WarmupService;
 import com.kos0514.oop_in_java_learn.util.system.ExitHandler;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletionException;
 
 import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.endPrintSeparator;
 import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.info;
@@ -23,21 +41,68 @@ import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.startPrintSepa
  * @version 1.0
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
 @RequiredArgsConstructor
 public class OopInJavaLearnApplication implements CommandLineRunner {
 
     /**
-     * 転生プロセスを実行するためのサービス。
+     * コンソールとTCPの転生セッションを仮想スレッドで実行するエンジン。
      * 依存性注入によって自動的に初期化されます。
      */
-    private final TransmigrationService transmigrationService;
+    private final TransmigrationSessionEngine sessionEngine;
 
     /**
      * システム終了処理を行うハンドラー。
      * 依存性注入によって自動的に初期化されます。
+     * 終了前に、実行中のセッションやリクエストを猶予期間内に排出します。
      */
     private final ExitHandler exitHandler;
 
+    /**
+     * HTTPモードで転生APIを提供するサーバー。
+     */
+    private final TransmigrationHttpServer httpServer;
+
+    /**
+     * TCPモードで対話的な転生セッションを提供するサーバー。
+     */
+    private final TransmigrationTcpServer tcpServer;
+
+    /**
+     * バッチモードで転生リクエストをファイルから取り込むパイプライン。
+     */
+    private final TransmigrationBatchPipeline batchPipeline;
+
+    /**
+     * バッチモードの入出力ファイルなどの設定。
+     */
+    private final BatchProperties batchProperties;
+
+    /**
+     * バッチの取り込み前に読み込んでおく種族カタログ。
+     */
+    private final RaceCatalogCache raceCatalogCache;
+
+    /**
+     * サーバーを起動する前に台本セッションでJITコンパイラを温めるサービス。
+     */
+    private final WarmupService warmupService;
+
+    /**
+     * ウォームアップを行うかどうかなどの設定。
+     */
+    private final WarmupProperties warmupProperties;
+
+    /**
+     * 受け付けの準備ができたことを通知するためのパブリッシャー。
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 実行モードなどのアプリケーション設定。
+     */
+    private final TransmigrationProperties properties;
+
     /**
      * アプリケーションのエントリーポイント。
      * Spring Bootアプリケーションを起動します。
@@ -50,7 +115,8 @@ public class OopInJavaLearnApplication implements CommandLineRunner {
 
     /**
      * アプリケーション起動時に自動的に実行されるメソッド。
-     * 転生サービスのウェルカムメッセージを表示し、転生プロセスを開始します。
+     * 転生サービスのウェルカムメッセージを表示し、実行モードに応じて転生プロセスを開始します。
+     * 実行中のセッションを排出してからシステムを終了します。
      *
      * @param args コマンドライン引数（未使用）
      */
@@ -60,7 +126,91 @@ public class OopInJavaLearnApplication implements CommandLineRunner {
         info("異世界転生トランスミッションサービスへようこそ！");
         endPrintSeparator();
 
-        transmigrationService.startTransmigrationProcess();
+        switch (properties.mode()) {
+            case CONSOLE -> runConsoleSession();
+            case HTTP -> runHttpServer();
+            case TCP -> runTcpServer();
+            case BATCH -> runBatch();
+        }
+
         exitHandler.exit();
     }
+
+    /**
+     * 標準入力の転生セッションをセッションエンジンで実行し、完了するまで待機します。
+     * JVMはこの後の{@link ExitHandler#exit()}でエンジンの排出が終わってから終了します。
+     *
+     * @throws RuntimeException セッションが失敗した場合
+     */
+    private void runConsoleSession() {
+        try {
+            sessionEngine.submit(new SystemInputProvider()).join();
+        } catch (CompletionException e) {
+            throw new RuntimeException("転生プロセスが失敗しました", e.getCause());
+        }
+    }
+
+    /**
+     * HTTPサーバーを起動し、サーバーが停止するまで待機します。
+     */
+    private void runHttpServer() {
+        try {
+            warmUpIfEnabled();
+            httpServer.start();
+            reportReady();
+            httpServer.awaitStop();
+        } catch (IOException e) {
+            throw new UncheckedIOException("HTTPサーバーの起動に失敗しました", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * TCPサーバーを起動し、サーバーが停止するまで待機します。
+     */
+    private void runTcpServer() {
+        try {
+            warmUpIfEnabled();
+            tcpServer.start();
+            reportReady();
+            tcpServer.awaitStop();
+        } catch (IOException e) {
+            throw new UncheckedIOException("TCPサーバーの起動に失敗しました", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 設定で有効な場合、サーバーを起動する前にウォームアップを行います。
+     * ウォームアップが終わるまでポートを開かないため、ロードバランサーは冷えたサーバーへ振り分けません。
+     */
+    private void warmUpIfEnabled() {
+        if (warmupProperties.enabled()) {
+            warmupService.warmUp();
+        }
+    }
+
+    /**
+     * サーバーがユーザーを受け付けられる状態になったことを通知します。
+     */
+    private void reportReady() {
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+        info("ユーザーの受け付けを開始しました");
+    }
+
+    /**
+     * 設定された入力ファイルを取り込み、結果を出力ファイルへ書き出します。
+     *
+     * @throws IllegalStateException 入力ファイルまたは出力ファイルが設定されていない場合
+     */
+    private void runBatch() {
+        if (batchProperties.input() == null || batchProperties.output() == null) {
+            throw new IllegalStateException("transmigration.batch.input と transmigration.batch.output を指定してください");
+        }
+        // 大量の転生者を作成するため、取り込みの前に修正値を含むカタログを読み込んでおく
+        raceCatalogCache.preload();
+        batchPipeline.run(Path.of(batchProperties.input()), Path.of(batchProperties.output()));
+    }
 }
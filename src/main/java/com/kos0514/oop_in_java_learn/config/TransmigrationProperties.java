@@ -0,0 +1,17 @@
+package com.kos0514.oop_in_java_learn.config;
+
+import com.kos0514.oop_in_java_learn.enums.RunMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * アプリケーション全体に関する設定プロパティ。
+ *
+ * @param mode アプリケーションの実行モード（デフォルトはCONSOLE）
+ */
+@ConfigurationProperties(prefix = "transmigration")
+public record TransmigrationProperties(
+        @DefaultValue("console")
+        RunMode mode
+) {
+}
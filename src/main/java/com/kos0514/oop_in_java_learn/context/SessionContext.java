@@ -0,0 +1,188 @@
+package com.kos0514.oop_in_java_learn.context;
+
+import com.kos0514.oop_in_java_learn.io.UserInputProvider;
+import com.kos0514.oop_in_java_learn.io.UserOutputProvider;
+import com.kos0514.oop_in_java_learn.service.catalog.CatalogSnapshot;
+import com.kos0514.oop_in_java_learn.service.prefetch.CatalogPrefetch;
+import lombok.Builder;
+import lombok.Value;
+import lombok.With;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * 1セッション分の入力・出力・乱数・時間制限・種族カタログをまとめたコンテキスト。
+ * <p>
+ * セッションの開始時に{@link #call(Supplier)}で一度だけ現在のスレッドに設定し、
+ * サービスは引数で受け渡す代わりに{@link #current()}から参照します。
+ * 設定は処理の終了時に元へ戻るため、入れ子で呼び出しても外側のコンテキストは壊れません。
+ * </p>
+ *
+ * <p>子スレッドへは引き継がないため、仮想スレッドで多数のセッションを実行しても
+ * 値のコピーは発生しません。</p>
+ */
+@Value
+@Builder
+public class SessionContext {
+
+    /**
+     * 現在のスレッドで実行中のセッションのコンテキスト
+     */
+    private static final ThreadLocal<SessionContext> CURRENT = new ThreadLocal<>();
+
+    /**
+     * セッションの入力プロバイダー
+     */
+    @With
+    UserInputProvider input;
+
+    /**
+     * セッションの出力先（nullの場合はロガーへ出力）
+     */
+    UserOutputProvider output;
+
+    /**
+     * セッション専用の乱数生成器（シードを設定し直せるように{@link Random}を保持）
+     */
+    @Builder.Default
+    Random random = new Random();
+
+    /**
+     * セッションの開始時刻（{@link System#nanoTime()}基準）
+     */
+    @Builder.Default
+    long startedNanos = System.nanoTime();
+
+    /**
+     * セッションの制限時間（nullの場合は無制限）
+     */
+    Duration timeLimit;
+
+    /**
+     * セッションの間固定する種族カタログ（nullの場合は常に最新のカタログを参照）
+     */
+    @With
+    CatalogPrefetch catalog;
+
+    /**
+     * 入力プロバイダーだけを持つコンテキストを生成します。
+     * 表示はロガーへ出力され、時間制限はありません。
+     *
+     * @param input セッションの入力プロバイダー
+     * @return 生成されたコンテキスト
+     */
+    public static SessionContext of(UserInputProvider input) {
+        return builder().input(input).build();
+    }
+
+    /**
+     * 入力を持たない1リクエスト分のコンテキストを生成します。
+     * 表示はロガーへ出力され、乱数生成器はリクエスト専用です。
+     * APIやバッチなど、対話を伴わずに複数のリクエストを同時に処理する経路で使用します。
+     *
+     * @return 生成されたコンテキスト
+     */
+    public static SessionContext forRequest() {
+        return builder().build();
+    }
+
+    /**
+     * 現在のスレッドで実行中のセッションのコンテキストを取得します。
+     *
+     * @return 現在のコンテキスト
+     * @throws IllegalStateException コンテキストが設定されていない場合
+     */
+    public static SessionContext current() {
+        var context = CURRENT.get();
+        if (context == null) {
+            throw new IllegalStateException("セッションコンテキストが設定されていません");
+        }
+        return context;
+    }
+
+    /**
+     * 現在のセッションの出力先を取得します。
+     *
+     * @return 出力先（コンテキストが設定されていないか、出力先がない場合はnull）
+     */
+    public static UserOutputProvider currentOutput() {
+        var context = CURRENT.get();
+        return context == null ? null : context.output;
+    }
+
+    /**
+     * 現在のセッションの乱数生成器を取得します。
+     *
+     * @return 乱数生成器（コンテキストが設定されていない場合はnull）
+     */
+    public static Random currentRandom() {
+        var context = CURRENT.get();
+        return context == null ? null : context.random;
+    }
+
+    /**
+     * 現在のセッションが固定している種族カタログのスナップショットを取得します。
+     *
+     * @return スナップショット（コンテキストが設定されていないか、カタログを固定していない場合はnull）
+     */
+    public static CatalogSnapshot currentCatalog() {
+        var context = CURRENT.get();
+        return context == null || context.catalog == null ? null : context.catalog.snapshot();
+    }
+
+    /**
+     * このコンテキストを現在のスレッドに設定して処理を実行します。
+     * 処理の終了後は元のコンテキストへ戻ります。
+     *
+     * @param <T>    処理の戻り値の型
+     * @param action 実行する処理
+     * @return 処理の戻り値
+     */
+    public <T> T call(Supplier<T> action) {
+        var previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * セッションの入力を1行読み取ります。
+     *
+     * @return 入力された文字列
+     */
+    public String readLine() {
+        return input.readLine();
+    }
+
+    /**
+     * セッション開始からの経過時間を取得します。
+     *
+     * @return 経過時間
+     */
+    public Duration elapsed() {
+        return Duration.ofNanos(System.nanoTime() - startedNanos);
+    }
+
+    /**
+     * 制限時間までの残り時間を取得します。
+     *
+     * @return 残り時間（制限時間がない場合は事実上無制限の期間、超過している場合は0）
+     */
+    public Duration remaining() {
+        if (timeLimit == null) {
+            return ChronoUnit.FOREVER.getDuration();
+        }
+        var remaining = timeLimit.minus(elapsed());
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+}
@@ -0,0 +1,20 @@
+package com.kos0514.oop_in_java_learn.entity;
+
+import lombok.Value;
+
+/**
+ * 種族カタログの版を表す値。
+ * <p>
+ * {@code catalog_version}テーブルの1行を表します。{@code races}・{@code race_status_modifiers}・
+ * {@code worlds}の行が追加・更新・削除されるたびにトリガーで1増えるため、同じスキーマを参照するどのインスタンスや
+ * 管理用のスクリプトから変更しても、各インスタンスはこの値だけを比べて更新を検出できます。
+ * </p>
+ */
+@Value
+public class CatalogVersion {
+
+    /**
+     * カタログの版
+     */
+    long version;
+}
@@ -0,0 +1,71 @@
+package com.kos0514.oop_in_java_learn.entity;
+
+import com.kos0514.oop_in_java_learn.entity.generated.Race;
+import lombok.Value;
+
+import java.util.Date;
+
+/**
+ * 種族とそのステータス修正値を1行にまとめた結合結果。
+ * <p>
+ * {@code races}と{@code race_status_modifiers}を外部結合した1行に対応します。
+ * 修正値を持たない種族の場合、修正値の項目はすべてnullになります。
+ * </p>
+ */
+@Value
+public class RaceWithModifiers {
+
+    // races の列
+    String id;
+    String japaneseName;
+    String englishName;
+    String rarity;
+    Date createdAt;
+    Date updatedAt;
+    String specialAbility;
+    String description;
+
+    // race_status_modifiers の列（結合する行がない場合はnull）
+    Integer strengthMod;
+    Integer vitalityMod;
+    Integer intelligenceMod;
+    Integer agilityMod;
+    Integer dexterityMod;
+    Integer luckMod;
+    Integer healthPointsMod;
+    Integer magicPointsMod;
+
+    /**
+     * 種族のエンティティに変換します。
+     *
+     * @return 種族
+     */
+    public Race toRace() {
+        return new Race(id, japaneseName, englishName, rarity, createdAt, updatedAt, specialAbility, description);
+    }
+
+    /**
+     * 修正値を持つかどうかを判定します。
+     *
+     * @return 修正値の行が結合されている場合はtrue
+     */
+    public boolean hasModifiers() {
+        // 修正値の列はNOT NULLのため、nullは結合する行がなかったことを表す
+        return strengthMod != null;
+    }
+
+    /**
+     * ステータス修正値をプリミティブ配列で取得します。
+     *
+     * @return STR, VIT, INT, AGI, DEX, LUK, HP, MP の順の修正値（修正値がない場合はnull）
+     */
+    public int[] toModifiers() {
+        if (!hasModifiers()) {
+            return null;
+        }
+        return new int[]{
+                strengthMod, vitalityMod, intelligenceMod, agilityMod,
+                dexterityMod, luckMod, healthPointsMod, magicPointsMod
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package com.kos0514.oop_in_java_learn.enums;
+
+/**
+ * 種族カタログの読み込み元を表す列挙型。
+ * {@code transmigration.catalog.source}プロパティで指定します。
+ */
+public enum CatalogSourceType {
+    /**
+     * MySQLの{@code races}と{@code race_status_modifiers}から読み込む
+     */
+    DATABASE,
+
+    /**
+     * ビルド時に初期データから作成した、クラスパス上のスナップショットから読み込む（DBに接続しない）
+     */
+    EMBEDDED,
+
+    /**
+     * ファイルに置いたスナップショットを読み取り専用でメモリマップして読み込む（DBに接続しない）。
+     * 同じホストの複数のプロセスで、ファイルの内容をOSのページキャッシュとして共有する
+     */
+    MAPPED
+}
@@ -41,4 +41,19 @@ public enum RaceRarity {
         this.requiredWins = requiredWins;
         this.japaneseDescription = japaneseDescription;
     }
+
+    /**
+     * じゃんけんの勝利回数から選択可能な最大希少度を取得します
+     *
+     * @param wins じゃんけんの勝利回数
+     * @return 勝利回数で選択可能になる最大の希少度
+     */
+    public static RaceRarity fromWins(int wins) {
+        return switch (wins) {
+            case 1 -> UNIQUE;
+            case 2 -> LEGENDARY;
+            case 3 -> SECRET;
+            default -> STANDARD;
+        };
+    }
 }
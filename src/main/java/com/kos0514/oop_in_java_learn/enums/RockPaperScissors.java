@@ -52,4 +52,16 @@ public enum RockPaperScissors {
             default -> throw new IllegalArgumentException("じゃんけんの手は1～3の範囲で入力してください");
         };
     }
+
+    /**
+     * この手が相手の手に勝つかどうかを判定します
+     *
+     * @param other 相手の手
+     * @return この手が勝つ場合はtrue、負けまたはあいこの場合はfalse
+     */
+    public boolean beats(RockPaperScissors other) {
+        return (this == ROCK && other == SCISSORS) ||
+                (this == PAPER && other == ROCK) ||
+                (this == SCISSORS && other == PAPER);
+    }
 }
@@ -0,0 +1,27 @@
+package com.kos0514.oop_in_java_learn.enums;
+
+/**
+ * アプリケーションの実行モードを表す列挙型。
+ * {@code transmigration.mode}プロパティで指定します。
+ */
+public enum RunMode {
+    /**
+     * 標準入力から1セッションだけ対話的に転生を実行する
+     */
+    CONSOLE,
+
+    /**
+     * HTTP/JSON APIとして転生リクエストを受け付ける
+     */
+    HTTP,
+
+    /**
+     * 行指向のTCPで対話的な転生セッションを受け付ける
+     */
+    TCP,
+
+    /**
+     * ファイルから転生リクエストをまとめて取り込む
+     */
+    BATCH
+}
@@ -32,15 +32,54 @@ public class PlayableStatusesFactory {
             return baseStatus;
         }
 
+        return applyModifiers(baseStatus,
+                raceStatusModifier.getStrengthMod(),
+                raceStatusModifier.getVitalityMod(),
+                raceStatusModifier.getIntelligenceMod(),
+                raceStatusModifier.getAgilityMod(),
+                raceStatusModifier.getDexterityMod(),
+                raceStatusModifier.getLuckMod(),
+                raceStatusModifier.getHealthPointsMod(),
+                raceStatusModifier.getMagicPointsMod());
+    }
+
+    /**
+     * 年齢、SoulId、およびプリミティブ配列の種族修正値に基づいてステータスを生成します。
+     *
+     * @param age       転生者の年齢
+     * @param soulId    転生者の魂ID（ランダム要素の生成に使用）
+     * @param modifiers STR, VIT, INT, AGI, DEX, LUK, HP, MP の順の種族修正値（nullの場合は修正なし）
+     * @return 年齢、SoulId、および種族に基づいて調整された基礎ステータスの値オブジェクト
+     */
+    public PlayableStatuses createWithModifiers(Age age, SoulId soulId, int[] modifiers) {
+        var baseStatus = generateBaseStatusFromAgeAndSoulId(age, soulId);
+
+        if (modifiers == null) {
+            return baseStatus;
+        }
+
+        return applyModifiers(baseStatus,
+                modifiers[0], modifiers[1], modifiers[2], modifiers[3],
+                modifiers[4], modifiers[5], modifiers[6], modifiers[7]);
+    }
+
+    /**
+     * 基礎ステータスに種族修正値を加えます。各値は1未満になりません。
+     *
+     * @return 修正後のステータスの値オブジェクト
+     */
+    private PlayableStatuses applyModifiers(PlayableStatuses baseStatus,
+                                            int strengthMod, int vitalityMod, int intelligenceMod, int agilityMod,
+                                            int dexterityMod, int luckMod, int healthPointsMod, int magicPointsMod) {
         return PlayableStatuses.of(
-                Math.max(1, baseStatus.getStrength().getValue() + raceStatusModifier.getStrengthMod()),
-                Math.max(1, baseStatus.getVitality().getValue() + raceStatusModifier.getVitalityMod()),
-                Math.max(1, baseStatus.getIntelligence().getValue() + raceStatusModifier.getIntelligenceMod()),
-                Math.max(1, baseStatus.getAgility().getValue() + raceStatusModifier.getAgilityMod()),
-                Math.max(1, baseStatus.getDexterity().getValue() + raceStatusModifier.getDexterityMod()),
-                Math.max(1, baseStatus.getLuck().getValue() + raceStatusModifier.getLuckMod()),
-                Math.max(1, baseStatus.getHealthPoints().getValue() + raceStatusModifier.getHealthPointsMod()),
-                Math.max(1, baseStatus.getMagicPoints().getValue() + raceStatusModifier.getMagicPointsMod())
+                Math.max(1, baseStatus.getStrength().getValue() + strengthMod),
+                Math.max(1, baseStatus.getVitality().getValue() + vitalityMod),
+                Math.max(1, baseStatus.getIntelligence().getValue() + intelligenceMod),
+                Math.max(1, baseStatus.getAgility().getValue() + agilityMod),
+                Math.max(1, baseStatus.getDexterity().getValue() + dexterityMod),
+                Math.max(1, baseStatus.getLuck().getValue() + luckMod),
+                Math.max(1, baseStatus.getHealthPoints().getValue() + healthPointsMod),
+                Math.max(1, baseStatus.getMagicPoints().getValue() + magicPointsMod)
         );
     }
 
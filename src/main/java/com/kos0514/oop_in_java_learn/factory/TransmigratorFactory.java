@@ -1,12 +1,13 @@
 package com.kos0514.oop_in_java_learn.factory;
 
 import com.kos0514.oop_in_java_learn.entity.generated.Race;
-import com.kos0514.oop_in_java_learn.mapper.RaceStatusModifierMapper;
 import com.kos0514.oop_in_java_learn.model.Transmigrator;
 import com.kos0514.oop_in_java_learn.model.value.Age;
 import com.kos0514.oop_in_java_learn.model.value.SoulId;
 import com.kos0514.oop_in_java_learn.model.value.SoulName;
 import com.kos0514.oop_in_java_learn.model.world.World;
+import com.kos0514.oop_in_java_learn.service.catalog.CatalogSnapshot;
+import com.kos0514.oop_in_java_learn.service.catalog.RaceCatalogCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -17,11 +18,12 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class TransmigratorFactory {
 
-    private final RaceStatusModifierMapper raceStatusModifierMapper;
+    private final RaceCatalogCache raceCatalogCache;
     private final PlayableStatusesFactory playableStatusesFactory;
 
     /**
      * 転生者を生成します。
+     * 種族のステータス修正値は、現在のセッションが参照する種族カタログから取得します。
      *
      * @param soulName 転生者の名前を表す値オブジェクト
      * @param age      転生者の年齢を表す値オブジェクト
@@ -30,14 +32,30 @@ public class TransmigratorFactory {
      * @return Transmigrator インスタンス
      */
     public Transmigrator create(SoulName soulName, Age age, World world, Race race) {
+        return create(soulName, age, world, race, raceCatalogCache.snapshot());
+    }
+
+    /**
+     * 指定された種族カタログのスナップショットを使って転生者を生成します。
+     * 種族を選んだときと同じスナップショットを渡すことで、選択中にカタログが更新されても
+     * 種族と修正値の版が食い違いません。
+     *
+     * @param soulName 転生者の名前を表す値オブジェクト
+     * @param age      転生者の年齢を表す値オブジェクト
+     * @param world    転生先の世界
+     * @param race     転生する種族
+     * @param catalog  修正値を取得する種族カタログのスナップショット
+     * @return Transmigrator インスタンス
+     */
+    public Transmigrator create(SoulName soulName, Age age, World world, Race race, CatalogSnapshot catalog) {
         // 魂IDを先に生成して、基礎ステータス生成に使用する
         var soulId = SoulId.newId();
 
-        // 種族のステータス修正値を取得
-        var raceParameterModifier = raceStatusModifierMapper.selectByPrimaryKey(race.getId()).orElse(null);
+        // 種族のステータス修正値を取得（読み込み済みのスナップショットから引くため、DBには問い合わせない）
+        var raceParameterModifier = catalog.modifiersOf(race.getId());
 
         // 転生者のステータス値を生成
-        var playableStatuses = playableStatusesFactory.create(age, soulId, raceParameterModifier);
+        var playableStatuses = playableStatusesFactory.createWithModifiers(age, soulId, raceParameterModifier);
 
         return Transmigrator.builder()
                 .soulId(soulId)
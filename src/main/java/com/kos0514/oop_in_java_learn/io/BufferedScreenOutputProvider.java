@@ -0,0 +1,74 @@
+package com.kos0514.oop_in_java_learn.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * 1画面分の出力をメモリに溜めて、まとめて書き出す実装
+ * <p>
+ * 入力待ちになるまでの出力（プロンプトやメニュー）を1つの文字列として組み立て、
+ * {@link #flush()}で1回の書き込みとして出力先へ渡します。
+ * 1行ごとにロガーのフォーマットやアペンダーを通らないため、1行あたりのコストが小さく、
+ * 複数のセッションが同時に出力しても画面の途中で他のセッションの出力が混ざりません。
+ * </p>
+ *
+ * <p>1つのセッションのスレッドから使用する前提のため、スレッドセーフではありません。
+ * 出力先の{@link Writer}はクローズしないため、所有者がクローズしてください。</p>
+ */
+public class BufferedScreenOutputProvider implements UserOutputProvider {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Writer target;
+    private final StringBuilder screen = new StringBuilder(INITIAL_CAPACITY);
+
+    /**
+     * 出力先を指定して生成します
+     *
+     * @param target 画面をまとめて書き出す出力先
+     */
+    public BufferedScreenOutputProvider(Writer target) {
+        this.target = target;
+    }
+
+    @Override
+    public void writeLine(String line) {
+        screen.append(line).append('\n');
+    }
+
+    /**
+     * 描画済みの複数行を1回の追加で画面に溜めます
+     *
+     * @param block 出力する行の並び（各行は改行で終わる）
+     */
+    @Override
+    public void writeBlock(String block) {
+        screen.append(block);
+    }
+
+    /**
+     * 溜めている画面を1回の書き込みで出力先へ書き出します
+     *
+     * @throws UncheckedIOException 書き込みに失敗した場合
+     */
+    @Override
+    public void flush() {
+        if (screen.isEmpty()) {
+            return;
+        }
+        try {
+            target.write(screen.toString());
+            target.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("画面の出力に失敗しました", e);
+        } finally {
+            screen.setLength(0);
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+}
@@ -0,0 +1,31 @@
+package com.kos0514.oop_in_java_learn.io;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * SLF4Jのロガーへ1行ずつ出力する実装
+ * セッションに出力先を指定しない場合の、従来どおりのコンソール出力です。
+ */
+@Slf4j
+public class LoggingOutputProvider implements UserOutputProvider {
+
+    @Override
+    public void writeLine(String line) {
+        log.info(line);
+    }
+
+    @Override
+    public void writeWarning(String line) {
+        log.warn(line);
+    }
+
+    @Override
+    public void flush() {
+        // 1行ずつ出力しているため何もしない
+    }
+
+    @Override
+    public void close() {
+        // 特に何もしない
+    }
+}
@@ -0,0 +1,28 @@
+package com.kos0514.oop_in_java_learn.io;
+
+/**
+ * 出力をすべて破棄する実装
+ * 画面を表示する必要のないセッション（負荷計測や自動実行など）で使用します。
+ */
+public class NullOutputProvider implements UserOutputProvider {
+
+    @Override
+    public void writeLine(String line) {
+        // 出力を破棄する
+    }
+
+    @Override
+    public void writeBlock(String block) {
+        // 出力を破棄する
+    }
+
+    @Override
+    public void flush() {
+        // 何もしない
+    }
+
+    @Override
+    public void close() {
+        // 何もしない
+    }
+}
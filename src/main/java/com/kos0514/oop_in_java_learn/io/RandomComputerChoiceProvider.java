@@ -1,5 +1,6 @@
 package com.kos0514.oop_in_java_learn.io;
 
+import com.kos0514.oop_in_java_learn.context.SessionContext;
 import com.kos0514.oop_in_java_learn.enums.RockPaperScissors;
 import org.springframework.stereotype.Component;
 
@@ -7,6 +8,9 @@ import java.util.Random;
 
 /**
  * ランダムなコンピュータの手の選択を提供する実装
+ *
+ * <p>{@link SessionContext}が設定されている場合はセッション専用の乱数生成器を使用し、
+ * 複数のセッションで1つの{@link Random}を奪い合わないようにします。</p>
  */
 @Component
 public class RandomComputerChoiceProvider implements ComputerChoiceProvider {
@@ -14,6 +18,8 @@ public class RandomComputerChoiceProvider implements ComputerChoiceProvider {
 
     @Override
     public RockPaperScissors chooseHand() {
-        return RockPaperScissors.fromValue(random.nextInt(3) + 1);
+        var sessionRandom = SessionContext.currentRandom();
+        var value = sessionRandom != null ? sessionRandom.nextInt(3) : random.nextInt(3);
+        return RockPaperScissors.fromValue(value + 1);
     }
 }
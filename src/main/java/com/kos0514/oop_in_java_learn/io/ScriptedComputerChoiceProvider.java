@@ -0,0 +1,33 @@
+package com.kos0514.oop_in_java_learn.io;
+
+import com.kos0514.oop_in_java_learn.enums.RockPaperScissors;
+
+import java.util.List;
+
+/**
+ * 事前に用意した手を順番に返すコンピュータの手の選択の実装
+ * ウォームアップなど、じゃんけんの結果を台本どおりに進める場合に使用します。
+ * スレッドセーフではないため、1本のスレッドからのみ使用してください。
+ */
+public class ScriptedComputerChoiceProvider implements ComputerChoiceProvider {
+    private List<RockPaperScissors> hands = List.of();
+    private int position;
+
+    /**
+     * 次に返す手の並びを設定します。設定前の残りの手は破棄されます。
+     *
+     * @param hands 順番に返す手
+     */
+    public void setHands(List<RockPaperScissors> hands) {
+        this.hands = hands;
+        this.position = 0;
+    }
+
+    @Override
+    public RockPaperScissors chooseHand() {
+        if (position >= hands.size()) {
+            throw new IllegalStateException("台本の手が不足しています");
+        }
+        return hands.get(position++);
+    }
+}
@@ -0,0 +1,34 @@
+package com.kos0514.oop_in_java_learn.io;
+
+import java.util.List;
+
+/**
+ * 事前に用意した入力を順番に返す実装
+ * ウォームアップなど、ユーザーの代わりに決まった手順でセッションを進める場合に使用します。
+ */
+public class ScriptedInputProvider implements UserInputProvider {
+    private final List<String> lines;
+    private int position;
+
+    /**
+     * 入力の台本を指定して生成します
+     *
+     * @param lines 順番に返す入力値
+     */
+    public ScriptedInputProvider(List<String> lines) {
+        this.lines = lines;
+    }
+
+    @Override
+    public String readLine() {
+        if (position >= lines.size()) {
+            throw new IllegalStateException("台本の入力値が不足しています");
+        }
+        return lines.get(position++);
+    }
+
+    @Override
+    public void close() {
+        // 何もしない
+    }
+}
@@ -18,8 +18,8 @@ public class SystemInputProvider implements UserInputProvider {
         if (scanner.hasNextLine()) {
             return scanner.nextLine();
         }
-        // 入力が空の場合は空文字列を返す
-        return "";
+        // 標準入力が閉じられた場合は入力の終了としてnullを返す（空行を返すと再入力の催促が止まらなくなる）
+        return null;
     }
 
     @Override
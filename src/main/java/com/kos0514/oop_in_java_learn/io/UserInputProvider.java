@@ -6,7 +6,7 @@ package com.kos0514.oop_in_java_learn.io;
 public interface UserInputProvider extends AutoCloseable {
     /**
      * ユーザーからの入力を1行読み取ります
-     * @return 入力された文字列
+     * @return 入力された文字列（入力が終了した場合はnull）
      */
     String readLine();
 }
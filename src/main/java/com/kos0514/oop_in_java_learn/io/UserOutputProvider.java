@@ -0,0 +1,45 @@
+package com.kos0514.oop_in_java_learn.io;
+
+/**
+ * ユーザーへの出力先を提供するインターフェース
+ * <p>
+ * {@link UserInputProvider}と対になるセッションごとの出力先です。
+ * プロンプトやメニューなどの表示はこのインターフェースを通して出力されます。
+ * </p>
+ */
+public interface UserOutputProvider extends AutoCloseable {
+    /**
+     * ユーザーへの表示を1行出力します
+     *
+     * @param line 出力する行（改行を含まない）
+     */
+    void writeLine(String line);
+
+    /**
+     * ユーザーへの警告を1行出力します
+     * 警告を区別しない出力先では{@link #writeLine(String)}と同じです。
+     *
+     * @param line 出力する行（改行を含まない）
+     */
+    default void writeWarning(String line) {
+        writeLine(line);
+    }
+
+    /**
+     * 描画済みの複数行をまとめて出力します
+     * 既定では1行ずつ{@link #writeLine(String)}へ渡します。まとめて書き出せる出力先では上書きしてください。
+     *
+     * @param block 出力する行の並び（各行は改行で終わる）
+     */
+    default void writeBlock(String block) {
+        block.lines().forEach(this::writeLine);
+    }
+
+    /**
+     * 溜めている出力をまとめて書き出します
+     */
+    void flush();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,34 @@
+package com.kos0514.oop_in_java_learn.mapper;
+
+import com.kos0514.oop_in_java_learn.entity.CatalogVersion;
+import com.kos0514.oop_in_java_learn.entity.RaceWithModifiers;
+import com.kos0514.oop_in_java_learn.enums.RaceRarity;
+
+import java.util.List;
+
+/**
+ * 種族カタログの読み込み元。
+ * <p>
+ * {@link com.kos0514.oop_in_java_learn.service.catalog.RaceCatalogCache}が必要とする問い合わせだけを
+ * 切り出したインターフェースです。通常はDBを参照する{@link RaceMapper}が実装し、
+ * DBを使わない構成ではクラスパス上のスナップショットから返す実装に差し替えます。
+ * </p>
+ */
+public interface RaceCatalogSource {
+
+    /**
+     * 指定された希少度以下の種族を、ステータス修正値と合わせて取得します。
+     * 並び順は希少度順です。
+     *
+     * @param maxRarityLevel 取得する種族の最大希少度
+     * @return 指定された希少度以下の種族と修正値のリスト（修正値がない種族の修正値はnull）
+     */
+    List<RaceWithModifiers> selectWithModifiersUpToRarity(RaceRarity maxRarityLevel);
+
+    /**
+     * 種族カタログの版を取得します。
+     *
+     * @return 現在の種族カタログの版（版がない場合はnull）
+     */
+    CatalogVersion selectCatalogVersion();
+}
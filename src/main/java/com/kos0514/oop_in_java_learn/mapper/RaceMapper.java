@@ -1,22 +1,35 @@
 package com.kos0514.oop_in_java_learn.mapper;
 
+import com.kos0514.oop_in_java_learn.entity.CatalogVersion;
+import com.kos0514.oop_in_java_learn.entity.RaceWithModifiers;
 import com.kos0514.oop_in_java_learn.entity.generated.Race;
 import com.kos0514.oop_in_java_learn.enums.RaceRarity;
 import com.kos0514.oop_in_java_learn.mapper.generated.RaceGeneratedMapper;
+import org.apache.ibatis.annotations.Arg;
+import org.apache.ibatis.annotations.ConstructorArgs;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.SelectProvider;
+import org.apache.ibatis.type.JdbcType;
 import org.mybatis.dynamic.sql.SqlBuilder;
+import org.mybatis.dynamic.sql.render.RenderingStrategies;
 import org.mybatis.dynamic.sql.select.SelectDSLCompleter;
+import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
+import org.mybatis.dynamic.sql.util.SqlProviderAdapter;
 
+import java.util.Date;
 import java.util.List;
 
 import static com.kos0514.oop_in_java_learn.enums.RaceRarity.LEGENDARY;
 import static com.kos0514.oop_in_java_learn.enums.RaceRarity.SECRET;
 import static com.kos0514.oop_in_java_learn.enums.RaceRarity.STANDARD;
 import static com.kos0514.oop_in_java_learn.enums.RaceRarity.UNIQUE;
+import static com.kos0514.oop_in_java_learn.mapper.generated.RaceDynamicSqlSupport.race;
 import static com.kos0514.oop_in_java_learn.mapper.generated.RaceDynamicSqlSupport.rarity;
+import static com.kos0514.oop_in_java_learn.mapper.generated.RaceStatusModifierDynamicSqlSupport.raceStatusModifier;
 
 @Mapper
-public interface RaceMapper extends RaceGeneratedMapper {
+public interface RaceMapper extends RaceGeneratedMapper, RaceCatalogSource {
 
     /**
      * 指定された希少度以下の種族リストを取得します。
@@ -34,6 +47,58 @@ public interface RaceMapper extends RaceGeneratedMapper {
         return select(completer);
     }
 
+    /**
+     * 指定された希少度以下の種族を、ステータス修正値と外部結合して1回の問い合わせで取得します。
+     * 並び順は{@link #selectUpToRarity(RaceRarity)}と同じ希少度順です。
+     *
+     * @param maxRarityLevel 取得する種族の最大希少度
+     * @return 指定された希少度以下の種族と修正値のリスト（修正値がない種族の修正値はnull）
+     */
+    @Override
+    default List<RaceWithModifiers> selectWithModifiersUpToRarity(RaceRarity maxRarityLevel) {
+        var selectStatement = SqlBuilder.select(
+                        race.id, race.japaneseName, race.englishName, race.rarity,
+                        race.createdAt, race.updatedAt, race.specialAbility, race.description,
+                        raceStatusModifier.strengthMod, raceStatusModifier.vitalityMod,
+                        raceStatusModifier.intelligenceMod, raceStatusModifier.agilityMod,
+                        raceStatusModifier.dexterityMod, raceStatusModifier.luckMod,
+                        raceStatusModifier.healthPointsMod, raceStatusModifier.magicPointsMod)
+                .from(race)
+                .leftJoin(raceStatusModifier).on(raceStatusModifier.raceId, SqlBuilder.equalTo(race.id))
+                .where(race.rarity, SqlBuilder.isIn(getRarityLevelsUpTo(maxRarityLevel)))
+                .orderBy(race.rarity)
+                .build()
+                .render(RenderingStrategies.MYBATIS3);
+        return selectManyWithModifiers(selectStatement);
+    }
+
+    /**
+     * 種族とステータス修正値の結合結果を取得します。
+     *
+     * @param selectStatement 結合した問い合わせ
+     * @return 種族と修正値のリスト
+     */
+    @SelectProvider(type = SqlProviderAdapter.class, method = "select")
+    @ConstructorArgs({
+            @Arg(column = "id", javaType = String.class, jdbcType = JdbcType.VARCHAR, id = true),
+            @Arg(column = "japanese_name", javaType = String.class, jdbcType = JdbcType.VARCHAR),
+            @Arg(column = "english_name", javaType = String.class, jdbcType = JdbcType.VARCHAR),
+            @Arg(column = "rarity", javaType = String.class, jdbcType = JdbcType.CHAR),
+            @Arg(column = "created_at", javaType = Date.class, jdbcType = JdbcType.TIMESTAMP),
+            @Arg(column = "updated_at", javaType = Date.class, jdbcType = JdbcType.TIMESTAMP),
+            @Arg(column = "special_ability", javaType = String.class, jdbcType = JdbcType.LONGVARCHAR),
+            @Arg(column = "description", javaType = String.class, jdbcType = JdbcType.LONGVARCHAR),
+            @Arg(column = "strength_mod", javaType = Integer.class, jdbcType = JdbcType.INTEGER),
+            @Arg(column = "vitality_mod", javaType = Integer.class, jdbcType = JdbcType.INTEGER),
+            @Arg(column = "intelligence_mod", javaType = Integer.class, jdbcType = JdbcType.INTEGER),
+            @Arg(column = "agility_mod", javaType = Integer.class, jdbcType = JdbcType.INTEGER),
+            @Arg(column = "dexterity_mod", javaType = Integer.class, jdbcType = JdbcType.INTEGER),
+            @Arg(column = "luck_mod", javaType = Integer.class, jdbcType = JdbcType.INTEGER),
+            @Arg(column = "health_points_mod", javaType = Integer.class, jdbcType = JdbcType.INTEGER),
+            @Arg(column = "magic_points_mod", javaType = Integer.class, jdbcType = JdbcType.INTEGER)
+    })
+    List<RaceWithModifiers> selectManyWithModifiers(SelectStatementProvider selectStatement);
+
     /**
      * 指定された希少度以下の希少度レベルの配列を取得します。
      *
@@ -60,4 +125,17 @@ public interface RaceMapper extends RaceGeneratedMapper {
             default -> new String[]{STANDARD.name()};
         };
     }
+
+    /**
+     * 種族カタログの版を取得します。
+     * {@code catalog_version}の1行を主キーで読むだけのため、カタログ全体を読むより十分に軽い問い合わせです。
+     *
+     * @return 現在の種族カタログの版（版の行がない場合はnull）
+     */
+    @Override
+    @Select("SELECT version FROM catalog_version WHERE id = 1")
+    @ConstructorArgs({
+            @Arg(column = "version", javaType = long.class, jdbcType = JdbcType.BIGINT)
+    })
+    CatalogVersion selectCatalogVersion();
 }
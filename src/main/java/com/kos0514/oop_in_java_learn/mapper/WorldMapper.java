@@ -0,0 +1,27 @@
+package com.kos0514.oop_in_java_learn.mapper;
+
+import com.kos0514.oop_in_java_learn.model.world.DefinedWorld;
+import org.apache.ibatis.annotations.Arg;
+import org.apache.ibatis.annotations.ConstructorArgs;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.type.JdbcType;
+
+import java.util.List;
+
+@Mapper
+public interface WorldMapper {
+
+    /**
+     * 選択可能な世界を表示順に取得します。
+     *
+     * @return {@code worlds}テーブルで選択可能になっている世界のリスト
+     */
+    @Select("SELECT id, name, description FROM worlds WHERE enabled = TRUE ORDER BY display_order, id")
+    @ConstructorArgs({
+            @Arg(column = "id", javaType = String.class, jdbcType = JdbcType.VARCHAR, id = true),
+            @Arg(column = "name", javaType = String.class, jdbcType = JdbcType.VARCHAR),
+            @Arg(column = "description", javaType = String.class, jdbcType = JdbcType.LONGVARCHAR)
+    })
+    List<DefinedWorld> selectEnabled();
+}
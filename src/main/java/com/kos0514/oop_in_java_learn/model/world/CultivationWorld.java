@@ -1,6 +1,11 @@
 package com.kos0514.oop_in_java_learn.model.world;
 
 public class CultivationWorld implements World {
+    @Override
+    public String getId() {
+        return "cultivation";
+    }
+
     @Override
     public String getName() {
         return "仙人道修行";
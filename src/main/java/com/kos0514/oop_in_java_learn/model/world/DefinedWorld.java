@@ -0,0 +1,29 @@
+package com.kos0514.oop_in_java_learn.model.world;
+
+import lombok.Value;
+
+/**
+ * {@code worlds}テーブルで定義された世界。
+ * <p>
+ * コードで実装された世界と異なり、テーブルに行を追加するだけで再デプロイせずに追加できます。
+ * 期間限定の世界などを想定しています。
+ * </p>
+ */
+@Value
+public class DefinedWorld implements World {
+
+    /**
+     * 世界のID
+     */
+    String id;
+
+    /**
+     * 世界の名前
+     */
+    String name;
+
+    /**
+     * 世界の説明
+     */
+    String description;
+}
@@ -1,6 +1,11 @@
 package com.kos0514.oop_in_java_learn.model.world;
 
 public class FantasyWorld implements World {
+    @Override
+    public String getId() {
+        return "fantasy";
+    }
+
     @Override
     public String getName() {
         return "剣と魔法の世界";
@@ -1,6 +1,11 @@
 package com.kos0514.oop_in_java_learn.model.world;
 
 public class FullDiveGameWorld implements World {
+    @Override
+    public String getId() {
+        return "full_dive_game";
+    }
+
     @Override
     public String getName() {
         return "フルダイブゲーム";
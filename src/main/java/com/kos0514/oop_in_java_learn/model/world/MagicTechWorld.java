@@ -1,6 +1,11 @@
 package com.kos0514.oop_in_java_learn.model.world;
 
 public class MagicTechWorld implements World {
+    @Override
+    public String getId() {
+        return "magic_tech";
+    }
+
     @Override
     public String getName() {
         return "魔導先進国";
@@ -2,9 +2,17 @@ package com.kos0514.oop_in_java_learn.model.world;
 
 /**
  * 転生先の世界を表すインターフェース。
- * 各世界は名前と説明を持ちます。
+ * 各世界は一意のID、名前と説明を持ちます。
  */
 public interface World {
+    /**
+     * 世界のIDを取得します。
+     * 一覧の番号と異なり、世界が追加・削除されても変わりません。
+     *
+     * @return 世界のID
+     */
+    String getId();
+
     /**
      * 世界の名前を取得します。
      *
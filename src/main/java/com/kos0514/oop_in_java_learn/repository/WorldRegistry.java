@@ -0,0 +1,90 @@
+package com.kos0514.oop_in_java_learn.repository;
+
+import com.kos0514.oop_in_java_learn.model.world.World;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 転生先の世界を番号とIDで引ける変更不可の索引。
+ * <p>
+ * 世界のリストと、IDから世界への対応表を1回だけ作り、以降はどちらの参照もO(1)で行います。
+ * 生成後は変更しないため、ロックせずに複数のスレッドから参照できます。
+ * 世界が追加・削除された場合は、新しい索引を作って丸ごと差し替えます（{@link WorldRepository#refresh()}）。
+ * </p>
+ */
+public final class WorldRegistry {
+
+    private final List<World> worlds;
+    private final Map<String, World> worldsById;
+
+    private WorldRegistry(List<World> worlds, Map<String, World> worldsById) {
+        this.worlds = worlds;
+        this.worldsById = worldsById;
+    }
+
+    /**
+     * 世界のリストから索引を作成します。
+     *
+     * @param worlds 一覧の順に並んだ世界のリスト
+     * @return 作成した索引
+     * @throws IllegalArgumentException IDが空の世界、またはIDが重複する世界がある場合
+     */
+    public static WorldRegistry of(List<? extends World> worlds) throws IllegalArgumentException {
+        var worldsById = new HashMap<String, World>(worlds.size() * 2);
+        for (var world : worlds) {
+            var id = world.getId();
+            if (id == null || id.isBlank()) {
+                throw new IllegalArgumentException("世界「" + world.getName() + "」のIDが空です");
+            }
+            if (worldsById.putIfAbsent(id, world) != null) {
+                throw new IllegalArgumentException("世界のID「" + id + "」が重複しています");
+            }
+        }
+        return new WorldRegistry(List.copyOf(worlds), Map.copyOf(worldsById));
+    }
+
+    /**
+     * 一覧の順に並んだ世界のリストを取得します。
+     * 同じ索引からは常に同じ変更不可のリストを返します。
+     *
+     * @return 世界のリスト
+     */
+    public List<World> getWorlds() {
+        return worlds;
+    }
+
+    /**
+     * 世界の数を取得します。
+     *
+     * @return 世界の数
+     */
+    public int size() {
+        return worlds.size();
+    }
+
+    /**
+     * 一覧の番号から世界を取得します。
+     *
+     * @param number 世界の番号（1始まり）
+     * @return 世界
+     * @throws IllegalArgumentException 番号が範囲外の場合
+     */
+    public World byNumber(int number) throws IllegalArgumentException {
+        if (number < 1 || number > worlds.size()) {
+            throw new IllegalArgumentException("世界の番号は1～" + worlds.size() + "の範囲で指定してください");
+        }
+        return worlds.get(number - 1);
+    }
+
+    /**
+     * IDから世界を取得します。
+     *
+     * @param id 世界のID
+     * @return 世界（存在しない場合はnull）
+     */
+    public World findById(String id) {
+        return id == null ? null : worldsById.get(id);
+    }
+}
@@ -1,35 +1,153 @@
 package com.kos0514.oop_in_java_learn.repository;
 
+import com.kos0514.oop_in_java_learn.mapper.WorldMapper;
 import com.kos0514.oop_in_java_learn.model.world.CultivationWorld;
 import com.kos0514.oop_in_java_learn.model.world.FantasyWorld;
 import com.kos0514.oop_in_java_learn.model.world.FullDiveGameWorld;
 import com.kos0514.oop_in_java_learn.model.world.MagicTechWorld;
 import com.kos0514.oop_in_java_learn.model.world.World;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.info;
+import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.warn;
+
 /**
  * 利用可能な転生先世界のリポジトリクラス。
  * <p>
- * 現時点ではメモリ内で初期化されたデータを返しますが、将来的には
- * データベースや外部APIからデータを取得することを想定しています。
+ * コードで実装された世界に、{@code worlds}テーブルで選択可能になっている世界を続けた一覧を
+ * 最初の参照時に1回だけ読み込み、{@link WorldRegistry}として保持します。
+ * 以降の参照は保持している索引を返すだけで、世界のインスタンスを作り直しません。
+ * テーブルを変更した場合は{@link #refresh()}で読み込み直し、索引を丸ごと差し替えます。
+ * </p>
+ *
+ * <p>DBを使わない構成（{@link WorldMapper}がない場合）や、テーブルを読めなかった場合は
+ * コードで実装された世界だけを使います。</p>
  */
 @Repository
 public class WorldRepository {
 
+    /**
+     * コードで実装された世界（各世界は状態を持たないため、すべての索引で共有する）
+     */
+    private static final List<World> BUILT_IN_WORLDS = List.of(
+            new FantasyWorld(),
+            new MagicTechWorld(),
+            new CultivationWorld(),
+            new FullDiveGameWorld()
+    );
+
+    private final WorldMapper worldMapper;
+
+    /**
+     * 現在の索引（未読み込みの場合はnull）
+     */
+    private volatile WorldRegistry registry;
+
+    /**
+     * コードで実装された世界だけを扱うリポジトリを生成します。
+     */
+    public WorldRepository() {
+        this.worldMapper = null;
+    }
+
+    /**
+     * {@code worlds}テーブルの世界も扱うリポジトリを生成します。
+     *
+     * @param worldMapper 世界のマッパー（DBを使わない構成ではない）
+     */
+    @Autowired
+    public WorldRepository(ObjectProvider<WorldMapper> worldMapper) {
+        this.worldMapper = worldMapper.getIfAvailable();
+    }
+
     /**
      * 利用可能な世界のリストを取得します。
+     * 索引が差し替わるまで毎回同じ変更不可のリストを返すため、一覧の描画結果を再利用できます。
      *
      * @return 利用可能な世界のリスト
      */
     public List<World> getAvailableWorlds() {
-        // 現在は固定リストを返却する
-        return List.of(
-                new FantasyWorld(),
-                new MagicTechWorld(),
-                new CultivationWorld(),
-                new FullDiveGameWorld()
-        );
-    }
-}
\ No newline at end of file
+        return getRegistry().getWorlds();
+    }
+
+    /**
+     * IDから世界を取得します。
+     *
+     * @param id 世界のID
+     * @return 世界（存在しない場合はnull）
+     */
+    public World findById(String id) {
+        return getRegistry().findById(id);
+    }
+
+    /**
+     * 現在の世界の索引を取得します。未読み込みの場合は読み込みます。
+     *
+     * @return 世界の索引
+     */
+    public WorldRegistry getRegistry() {
+        var loaded = registry;
+        if (loaded != null) {
+            return loaded;
+        }
+        synchronized (this) {
+            if (registry == null) {
+                registry = load();
+            }
+            return registry;
+        }
+    }
+
+    /**
+     * {@code worlds}テーブルを読み込み直し、一覧が変わっていれば索引を差し替えます。
+     * 読み込みに失敗した場合は現在の索引を使い続けます。
+     *
+     * @return 差し替えた場合はtrue
+     */
+    public synchronized boolean refresh() {
+        if (worldMapper == null || registry == null) {
+            return false;
+        }
+        try {
+            var refreshed = WorldRegistry.of(withDefinedWorlds(worldMapper));
+            if (refreshed.getWorlds().equals(registry.getWorlds())) {
+                return false;
+            }
+            registry = refreshed;
+            info("世界の一覧を更新しました（世界数: {}）", refreshed.size());
+            return true;
+        } catch (RuntimeException e) {
+            warn("世界の一覧の更新に失敗しました: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * コードで実装された世界とテーブルの世界から索引を作成します。
+     */
+    private WorldRegistry load() {
+        if (worldMapper == null) {
+            return WorldRegistry.of(BUILT_IN_WORLDS);
+        }
+        try {
+            return WorldRegistry.of(withDefinedWorlds(worldMapper));
+        } catch (RuntimeException e) {
+            // テーブルがなくても転生は続けられるため、コードで実装された世界だけで起動する
+            warn("worldsテーブルの世界を読み込めませんでした。コードで実装された世界だけを使います: {}", e.getMessage());
+            return WorldRegistry.of(BUILT_IN_WORLDS);
+        }
+    }
+
+    private static List<World> withDefinedWorlds(WorldMapper worldMapper) {
+        var definedWorlds = worldMapper.selectEnabled();
+        var worlds = new ArrayList<World>(BUILT_IN_WORLDS.size() + definedWorlds.size());
+        worlds.addAll(BUILT_IN_WORLDS);
+        worlds.addAll(definedWorlds);
+        return worlds;
+    }
+}
@@ -0,0 +1,24 @@
+package com.kos0514.oop_in_java_learn.server.http;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 組み込みHTTPサーバーの設定プロパティ。
+ *
+ * @param host    待ち受けるホスト名
+ * @param port    待ち受けるポート番号（0の場合は空いているポートを自動で割り当てる）
+ * @param backlog 受け付け待ちの接続キューの長さ
+ */
+@ConfigurationProperties(prefix = "transmigration.http")
+public record HttpServerProperties(
+        @DefaultValue("0.0.0.0")
+        String host,
+
+        @DefaultValue("8080")
+        int port,
+
+        @DefaultValue("1024")
+        int backlog
+) {
+}
@@ -0,0 +1,290 @@
+package com.kos0514.oop_in_java_learn.server.http;
+
+import com.kos0514.oop_in_java_learn.enums.RockPaperScissors;
+import com.kos0514.oop_in_java_learn.model.Transmigrator;
+import com.kos0514.oop_in_java_learn.service.admission.AdmissionController;
+import com.kos0514.oop_in_java_learn.service.admission.AdmissionRejectedException;
+import com.kos0514.oop_in_java_learn.service.game.RockPaperScissorsGame;
+import com.kos0514.oop_in_java_learn.service.idempotency.IdempotencyCache;
+import com.kos0514.oop_in_java_learn.service.idempotency.IdempotencyKeyMismatchException;
+import com.kos0514.oop_in_java_learn.service.idempotency.IdempotentResult;
+import com.kos0514.oop_in_java_learn.service.request.DirectTransmigrationService;
+import com.kos0514.oop_in_java_learn.service.request.TransmigrationRequest;
+import com.kos0514.oop_in_java_learn.util.json.FlatJsonParser;
+import com.kos0514.oop_in_java_learn.util.json.TransmigratorJson;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.kos0514.oop_in_java_learn.enums.RaceRarity.SECRET;
+import static com.kos0514.oop_in_java_learn.util.json.TransmigratorJson.errorJson;
+import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.warn;
+
+/**
+ * {@code POST /transmigrations}を処理するハンドラー。
+ * <p>
+ * リクエストボディのJSONから名前・年齢・世界の番号・種族ID・じゃんけんの手を受け取り、
+ * 転生者と基礎ステータスをJSONで返します。
+ * 転生処理は{@link AdmissionController}の実行枠の中で行い、混雑時は
+ * {@code Retry-After}ヘッダー付きの503を返します。
+ * </p>
+ *
+ * <p>{@code Idempotency-Key}ヘッダーを付けたリクエストは{@link IdempotencyCache}で重複を排除します。
+ * 同じキーの再試行には転生をやり直さずに最初の転生者を返し、{@code Idempotent-Replayed: true}ヘッダーを付けます。
+ * 同じキーで異なるボディのリクエストには422を返します。</p>
+ *
+ * <p>{@link #startDraining()}の後に届いたリクエストには、別のサーバーへ再試行できるよう
+ * 接続を閉じる503を返し、処理中のリクエストだけを完了させます。</p>
+ *
+ * <pre>{@code
+ * {"name": "テスト魂", "age": 25, "worldIndex": 1, "raceId": "elf", "hands": [1, 3]}
+ * {"name": "テスト魂", "age": 25, "worldId": "fantasy", "raceId": "elf", "hands": [1, 3]}
+ * }</pre>
+ */
+@RequiredArgsConstructor
+class TransmigrationHandler implements HttpHandler {
+
+    /**
+     * 受け付けるリクエストボディの最大バイト数
+     */
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    /**
+     * 冪等キーの最大文字数
+     */
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
+    /**
+     * HTTPの冪等キーに付ける接頭辞（バッチ処理のキーと区別する）
+     */
+    private static final String HTTP_KEY_PREFIX = "http:";
+
+    private final DirectTransmigrationService directTransmigrationService;
+    private final RockPaperScissorsGame rockPaperScissorsGame;
+    private final AdmissionController admissionController;
+    private final IdempotencyCache idempotencyCache;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final CountDownLatch drained = new CountDownLatch(1);
+    private volatile boolean draining;
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        inFlight.incrementAndGet();
+        try {
+            handleExchange(exchange);
+        } finally {
+            if (inFlight.decrementAndGet() == 0 && draining) {
+                drained.countDown();
+            }
+        }
+    }
+
+    /**
+     * 新しいリクエストの受け付けを停止します。以降のリクエストには503を返します。
+     */
+    void startDraining() {
+        draining = true;
+        if (inFlight.get() == 0) {
+            drained.countDown();
+        }
+    }
+
+    /**
+     * 受け付け停止後、処理中のリクエストがすべて完了するまで待機します。
+     *
+     * @param timeout 最大待機時間
+     * @return 時間内にすべて完了した場合はtrue
+     * @throws InterruptedException 待機中に割り込まれた場合
+     */
+    boolean awaitDrained(Duration timeout) throws InterruptedException {
+        return drained.await(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 1件のリクエストを処理します。
+     *
+     * @param exchange HTTP交換
+     * @throws IOException 送信に失敗した場合
+     */
+    private void handleExchange(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (draining) {
+                exchange.getResponseHeaders().set("Connection", "close");
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                sendJson(exchange, 503, errorJson("サーバーを停止しています"));
+                return;
+            }
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                sendJson(exchange, 405, errorJson("POSTメソッドのみ対応しています"));
+                return;
+            }
+
+            var body = exchange.getRequestBody().readNBytes(MAX_BODY_BYTES + 1);
+            if (body.length > MAX_BODY_BYTES) {
+                sendJson(exchange, 413, errorJson("リクエストボディが大きすぎます"));
+                return;
+            }
+
+            var idempotencyKey = exchange.getRequestHeaders().getFirst("Idempotency-Key");
+            if (idempotencyKey != null && idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+                sendJson(exchange, 400, errorJson("冪等キーは" + MAX_IDEMPOTENCY_KEY_LENGTH + "文字以内で指定してください"));
+                return;
+            }
+
+            try {
+                var json = new String(body, StandardCharsets.UTF_8);
+                var result = transmigrate(idempotencyKey, json);
+                if (result.replayed()) {
+                    exchange.getResponseHeaders().set("Idempotent-Replayed", "true");
+                }
+                sendJson(exchange, 201, TransmigratorJson.toJson(result.transmigrator()));
+            } catch (IdempotencyKeyMismatchException e) {
+                sendJson(exchange, 422, errorJson(e.getMessage()));
+            } catch (IllegalArgumentException e) {
+                sendJson(exchange, 400, errorJson(e.getMessage()));
+            } catch (AdmissionRejectedException e) {
+                exchange.getResponseHeaders().set("Retry-After", toRetryAfterSeconds(e));
+                sendJson(exchange, 503, errorJson(e.getMessage()));
+            } catch (RuntimeException e) {
+                warn("転生リクエストの処理中にエラーが発生しました: {}", e.getMessage());
+                sendJson(exchange, 500, errorJson("転生処理中にエラーが発生しました"));
+            }
+        }
+    }
+
+    /**
+     * リクエストボディから転生します。
+     * 冪等キーがある場合は、じゃんけんを含む転生全体をキーごとに1回だけ実行します。
+     * 再試行の同一性は解析済みのリクエストで判定するため、空白やキーの順序の違いは同じリクエストとして扱います。
+     *
+     * @param idempotencyKey 冪等キー（省略時はnullまたは空文字列）
+     * @param json           リクエストボディ
+     * @return 転生の結果
+     * @throws IllegalArgumentException ボディが不正な場合
+     */
+    private IdempotentResult transmigrate(String idempotencyKey, String json) throws IllegalArgumentException {
+        var parsed = toRequest(FlatJsonParser.parseObject(json));
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return new IdempotentResult(transmigrateOnce(parsed), false);
+        }
+        return idempotencyCache.execute(HTTP_KEY_PREFIX + idempotencyKey, parsed, () -> transmigrateOnce(parsed));
+    }
+
+    /**
+     * じゃんけんの手をコンピュータと対戦させ、勝利回数を設定したリクエストで転生します。
+     *
+     * @param parsed 解析済みのリクエスト
+     * @return 転生者
+     */
+    private Transmigrator transmigrateOnce(ParsedRequest parsed) {
+        var request = parsed.request().toBuilder()
+                .wins(rockPaperScissorsGame.playHands(parsed.hands(), SECRET.getRequiredWins()))
+                .build();
+        return admissionController.call(() -> directTransmigrationService.transmigrate(request));
+    }
+
+    /**
+     * JSONの値から転生リクエストを組み立てます。
+     * じゃんけんの結果は毎回変わるため、勝利回数は設定せずに手をそのまま保持します。
+     *
+     * @param json 解析済みのJSONオブジェクト
+     * @return 解析済みのリクエスト
+     * @throws IllegalArgumentException 項目の型が不正な場合
+     */
+    private static ParsedRequest toRequest(Map<String, Object> json) throws IllegalArgumentException {
+        var hands = toHands(json.get("hands"));
+        // 世界はIDでも指定でき、IDを指定した場合は番号を省略できる
+        var worldId = json.get("worldId") instanceof String id ? id : null;
+        var request = TransmigrationRequest.builder()
+                .name(json.get("name") instanceof String name ? name : null)
+                .age(toInt(json.get("age"), "age"))
+                .worldIndex(worldId == null ? toInt(json.get("worldIndex"), "worldIndex") : 0)
+                .worldId(worldId)
+                .raceId(json.get("raceId") instanceof String raceId ? raceId : null)
+                .build();
+        return new ParsedRequest(request, hands);
+    }
+
+    /**
+     * じゃんけんの前の転生リクエスト。冪等キーの再試行の同一性判定にも使います。
+     *
+     * @param request 勝利回数を設定していない転生リクエスト
+     * @param hands   じゃんけんの手
+     */
+    private record ParsedRequest(TransmigrationRequest request, List<RockPaperScissors> hands) {
+    }
+
+    /**
+     * JSONの数値を整数に変換します。
+     *
+     * @param value JSONの値
+     * @param name  項目名（エラーメッセージ用）
+     * @return 整数値
+     * @throws IllegalArgumentException 整数でない場合
+     */
+    private static int toInt(Object value, String name) throws IllegalArgumentException {
+        if (value instanceof Long number && number >= Integer.MIN_VALUE && number <= Integer.MAX_VALUE) {
+            return number.intValue();
+        }
+        throw new IllegalArgumentException(name + "には整数を指定してください");
+    }
+
+    /**
+     * JSONの配列をじゃんけんの手のリストに変換します。
+     *
+     * @param value JSONの値（省略時は手なし）
+     * @return じゃんけんの手のリスト
+     * @throws IllegalArgumentException 配列でない、または1～3以外の値を含む場合
+     */
+    private static List<RockPaperScissors> toHands(Object value) throws IllegalArgumentException {
+        if (value == null) {
+            return List.of();
+        }
+        if (!(value instanceof List<?> values)) {
+            throw new IllegalArgumentException("handsには1～3の整数の配列を指定してください");
+        }
+        var hands = new ArrayList<RockPaperScissors>(values.size());
+        for (var hand : values) {
+            hands.add(RockPaperScissors.fromValue(toInt(hand, "hands")));
+        }
+        return hands;
+    }
+
+    /**
+     * 再試行までの目安を{@code Retry-After}ヘッダーの秒数（切り上げ、最小1秒）に変換します。
+     *
+     * @param e 受け付け拒否の例外
+     * @return 秒数の文字列
+     */
+    private static String toRetryAfterSeconds(AdmissionRejectedException e) {
+        var millis = e.getRetryAfter().toMillis();
+        return String.valueOf(Math.max(1L, (millis + 999) / 1000));
+    }
+
+    /**
+     * JSONレスポンスを送信します。
+     *
+     * @param exchange HTTP交換
+     * @param status   ステータスコード
+     * @param json     レスポンスボディのJSON
+     * @throws IOException 送信に失敗した場合
+     */
+    private static void sendJson(HttpExchange exchange, int status, String json) throws IOException {
+        var bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+}
@@ -0,0 +1,138 @@
+package com.kos0514.oop_in_java_learn.server.http;
+
+import com.kos0514.oop_in_java_learn.service.admission.AdmissionController;
+import com.kos0514.oop_in_java_learn.service.game.RockPaperScissorsGame;
+import com.kos0514.oop_in_java_learn.service.idempotency.IdempotencyCache;
+import com.kos0514.oop_in_java_learn.service.request.DirectTransmigrationService;
+import com.kos0514.oop_in_java_learn.util.system.DrainParticipant;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.info;
+
+/**
+ * 転生APIを提供する組み込みHTTPサーバー。
+ * <p>
+ * spring-webを使わず、JDK標準の{@link HttpServer}で{@code POST /transmigrations}を公開します。
+ * リクエストは1件ごとに仮想スレッドで処理されるため、DBの待ち時間があっても
+ * 多数の同時接続を少ないキャリアスレッドで捌くことができます。
+ * 一方でDBへ同時に届く処理数は{@link AdmissionController}で制限します。
+ * </p>
+ *
+ * <p>シャットダウン時は新しいリクエストに503を返して再試行を促し、
+ * 処理中のリクエストが完了してからサーバーを停止します。</p>
+ */
+@Component
+public class TransmigrationHttpServer implements AutoCloseable, DrainParticipant {
+
+    private final TransmigrationHandler handler;
+    private final AdmissionController admissionController;
+    private final HttpServerProperties properties;
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * HTTPサーバーを生成します。起動は{@link #start()}で行います。
+     *
+     * @param directTransmigrationService 転生を実行するサービス
+     * @param rockPaperScissorsGame       じゃんけんの手を勝利回数に変換するゲーム
+     * @param admissionController         同時に実行する転生処理の数を制限する受け付け制御
+     * @param idempotencyCache            冪等キーごとに転生結果を保持するキャッシュ
+     * @param properties                  HTTPサーバーの設定
+     */
+    public TransmigrationHttpServer(
+            DirectTransmigrationService directTransmigrationService,
+            RockPaperScissorsGame rockPaperScissorsGame,
+            AdmissionController admissionController,
+            IdempotencyCache idempotencyCache,
+            HttpServerProperties properties) {
+        this.handler = new TransmigrationHandler(
+                directTransmigrationService, rockPaperScissorsGame, admissionController, idempotencyCache);
+        this.admissionController = admissionController;
+        this.properties = properties;
+    }
+
+    /**
+     * HTTPサーバーを起動します。
+     *
+     * @throws IOException ポートの確保に失敗した場合
+     * @throws IllegalStateException すでに起動している場合
+     */
+    public synchronized void start() throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("HTTPサーバーはすでに起動しています");
+        }
+        server = HttpServer.create(new InetSocketAddress(properties.host(), properties.port()), properties.backlog());
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/transmigrations", handler);
+        server.start();
+        info("HTTPサーバーを起動しました: http://{}:{}/transmigrations", properties.host(), getPort());
+    }
+
+    /**
+     * 実際に待ち受けているポート番号を取得します。
+     *
+     * @return ポート番号
+     * @throws IllegalStateException 起動していない場合
+     */
+    public synchronized int getPort() {
+        if (server == null) {
+            throw new IllegalStateException("HTTPサーバーは起動していません");
+        }
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * サーバーが停止するまで呼び出し元のスレッドを待機させます。
+     *
+     * @throws InterruptedException 待機中に割り込まれた場合
+     */
+    public void awaitStop() throws InterruptedException {
+        stopped.await();
+    }
+
+    @Override
+    public String getDrainName() {
+        return "HTTPサーバー";
+    }
+
+    @Override
+    public void stopAccepting() {
+        handler.startDraining();
+    }
+
+    @Override
+    public boolean awaitDrained(Duration timeout) throws InterruptedException {
+        return handler.awaitDrained(timeout);
+    }
+
+    @Override
+    public void closeNow() {
+        close();
+    }
+
+    /**
+     * HTTPサーバーを停止します。処理中のリクエストは最大1秒待ってから打ち切ります。
+     */
+    @Override
+    public synchronized void close() {
+        if (server != null) {
+            server.stop(1);
+            executor.close();
+            server = null;
+            info("HTTPサーバーを停止しました: 受け付け={} 拒否={}",
+                    admissionController.getAdmitted(), admissionController.getRejected());
+        }
+        stopped.countDown();
+    }
+}
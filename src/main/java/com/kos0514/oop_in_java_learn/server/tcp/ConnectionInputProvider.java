@@ -0,0 +1,84 @@
+package com.kos0514.oop_in_java_learn.server.tcp;
+
+import com.kos0514.oop_in_java_learn.io.UserInputProvider;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * TCP接続1本分のユーザー入力を提供する実装。
+ * <p>
+ * セレクタースレッドが受信した完全な行を{@link #offer(String)}で積み、
+ * セッションのスレッドが{@link #readLine()}で1行ずつ取り出します。
+ * 接続が切断されると、残りの行を読み終えた後に{@link #readLine()}はnullを返します。
+ * </p>
+ */
+public class ConnectionInputProvider implements UserInputProvider {
+
+    /**
+     * 接続の終了を表す番兵（同一性で比較するため新しいインスタンスを使用する）
+     */
+    @SuppressWarnings("StringOperationCanBeSimplified")
+    private static final String END_OF_STREAM = new String();
+
+    private final int maxPendingLines;
+    private final BlockingQueue<String> lines;
+
+    /**
+     * 入力プロバイダーを生成します。
+     *
+     * @param maxPendingLines 未処理のまま保持できる行数の上限
+     */
+    public ConnectionInputProvider(int maxPendingLines) {
+        this.maxPendingLines = maxPendingLines;
+        // 番兵を必ず積めるように1つ余分に確保する
+        this.lines = new LinkedBlockingQueue<>(maxPendingLines + 1);
+    }
+
+    /**
+     * 受信した1行を積みます。セレクタースレッドからのみ呼び出します。
+     *
+     * @param line 受信した行（改行を含まない）
+     * @return 積めた場合はtrue、未処理の行が上限に達している場合はfalse
+     */
+    boolean offer(String line) {
+        // 書き込み側はセレクタースレッドだけなので、確認してから積んでも上限を超えない
+        return lines.size() < maxPendingLines && lines.offer(line);
+    }
+
+    /**
+     * 接続が終了したことを通知します。待機中の{@link #readLine()}はnullを返して復帰します。
+     */
+    void markClosed() {
+        if (!lines.offer(END_OF_STREAM)) {
+            lines.clear();
+            lines.offer(END_OF_STREAM);
+        }
+    }
+
+    /**
+     * 次の1行を受信するまで待機して返します。
+     *
+     * @return 受信した行。接続が終了している場合はnull
+     */
+    @Override
+    public String readLine() {
+        try {
+            var line = lines.take();
+            if (line == END_OF_STREAM) {
+                // 以降の呼び出しでも終了を返せるように戻しておく
+                lines.offer(END_OF_STREAM);
+                return null;
+            }
+            return line;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    @Override
+    public void close() {
+        markClosed();
+    }
+}
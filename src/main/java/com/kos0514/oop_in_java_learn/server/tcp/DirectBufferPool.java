@@ -0,0 +1,78 @@
+package com.kos0514.oop_in_java_learn.server.tcp;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * 同じサイズのダイレクトバッファを使い回すプール。
+ * <p>
+ * ダイレクトバッファは確保・解放のコストが高いため、書き込みが終わったバッファは
+ * 破棄せずにプールへ戻します。プールに保持する数には上限があり、上限を超えて
+ * 返却されたバッファはGCに任せます。
+ * </p>
+ *
+ * <p>セレクタースレッドからのみ使用する前提のため、スレッドセーフではありません。</p>
+ */
+class DirectBufferPool {
+
+    private final int bufferSize;
+    private final int maxPooled;
+    private final ArrayDeque<ByteBuffer> free;
+
+    private long allocatedBuffers;
+
+    /**
+     * バッファプールを生成します。
+     *
+     * @param bufferSize バッファ1個のサイズ（バイト）
+     * @param maxPooled  プールに保持するバッファの最大数
+     */
+    DirectBufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+        this.free = new ArrayDeque<>(Math.min(maxPooled, 64));
+    }
+
+    /**
+     * 空のバッファを取得します。プールが空の場合は新しく確保します。
+     *
+     * @return 書き込み可能な状態のバッファ
+     */
+    ByteBuffer acquire() {
+        var buffer = free.pollFirst();
+        if (buffer != null) {
+            return buffer.clear();
+        }
+        allocatedBuffers++;
+        return ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * 使い終わったバッファをプールへ戻します。
+     *
+     * @param buffer 返却するバッファ
+     */
+    void release(ByteBuffer buffer) {
+        if (free.size() < maxPooled) {
+            free.offerFirst(buffer.clear());
+        }
+    }
+
+    /**
+     * プールに保持されているバッファの数を返します。
+     *
+     * @return 保持されているバッファの数
+     */
+    int pooledCount() {
+        return free.size();
+    }
+
+    /**
+     * これまでに新しく確保したバッファの総数を返します。
+     *
+     * @return 確保したバッファの総数
+     */
+    long allocatedCount() {
+        return allocatedBuffers;
+    }
+}
@@ -0,0 +1,190 @@
+package com.kos0514.oop_in_java_learn.server.tcp;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * TCP接続1本分の状態。
+ * <p>
+ * 受信途中の行と書き込み中のバッファはセレクタースレッドだけが扱います。
+ * セッションのスレッドからは送信待ちキュー{@link #enqueue(ByteBuffer)}と
+ * {@link #closeAfterFlush}だけを操作します。
+ * 入力のない接続はバッファを保持しないため、待機中の接続1本あたりのメモリは小さく抑えられます。
+ * </p>
+ */
+class TcpConnection {
+
+    private static final int INITIAL_LINE_CAPACITY = 64;
+
+    final SocketChannel channel;
+    final SelectionKey key;
+    final ConnectionInputProvider input;
+
+    /**
+     * セッションのスレッドから書き込まれ、セレクタースレッドが送信する送信待ちデータ
+     */
+    private final Queue<ByteBuffer> outbound = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 接続を受け付けた時刻（{@link System#nanoTime()}基準）
+     */
+    final long acceptedNanos = System.nanoTime();
+
+    /**
+     * 送信待ちデータを送り終えたら接続を閉じるかどうか
+     */
+    volatile boolean closeAfterFlush;
+
+    /**
+     * セッションのスレッドを開始済みかどうか（セレクタースレッドのみ使用）
+     */
+    boolean sessionStarted;
+
+    /**
+     * 書き込み中のダイレクトバッファ（読み出しモード、セレクタースレッドのみ使用）
+     */
+    ByteBuffer writeBuffer;
+
+    private byte[] lineBytes;
+    private int lineLength;
+
+    /**
+     * 接続の状態を生成します。
+     *
+     * @param channel ソケットチャネル
+     * @param key     セレクターへの登録キー
+     * @param input   この接続の入力プロバイダー
+     */
+    TcpConnection(SocketChannel channel, SelectionKey key, ConnectionInputProvider input) {
+        this.channel = channel;
+        this.key = key;
+        this.input = input;
+    }
+
+    /**
+     * 送信待ちキューにデータを追加します。どのスレッドからも呼び出せます。
+     *
+     * @param data 送信するデータ
+     */
+    void enqueue(ByteBuffer data) {
+        outbound.add(data);
+    }
+
+    /**
+     * 送信待ちデータがあるかどうかを返します。
+     *
+     * @return 書き込み中または送信待ちのデータがある場合はtrue
+     */
+    boolean hasPendingOutput() {
+        return (writeBuffer != null && writeBuffer.hasRemaining()) || !outbound.isEmpty();
+    }
+
+    /**
+     * 送信待ちキューのデータを書き込みバッファへ詰め、読み出しモードにします。
+     *
+     * @param pool バッファプール
+     * @return 書き込むデータがある場合はtrue
+     */
+    boolean fillWriteBuffer(DirectBufferPool pool) {
+        if (outbound.isEmpty()) {
+            return false;
+        }
+        if (writeBuffer == null) {
+            writeBuffer = pool.acquire();
+        } else {
+            writeBuffer.clear();
+        }
+        ByteBuffer head;
+        while (writeBuffer.hasRemaining() && (head = outbound.peek()) != null) {
+            var length = Math.min(head.remaining(), writeBuffer.remaining());
+            writeBuffer.put(head.slice(head.position(), length));
+            head.position(head.position() + length);
+            if (!head.hasRemaining()) {
+                outbound.poll();
+            }
+        }
+        writeBuffer.flip();
+        return writeBuffer.hasRemaining();
+    }
+
+    /**
+     * 書き込みバッファをプールへ返却します。
+     *
+     * @param pool バッファプール
+     */
+    void releaseWriteBuffer(DirectBufferPool pool) {
+        if (writeBuffer != null) {
+            pool.release(writeBuffer);
+            writeBuffer = null;
+        }
+    }
+
+    /**
+     * 受信したデータを行に分割し、完全な行を入力プロバイダーへ渡します。
+     * 行末のCRLF・LFはどちらも改行として扱います。
+     *
+     * @param data         受信したデータ（読み出しモード）
+     * @param maxLineBytes 1行の最大バイト数
+     * @param onFirstLine  この接続で初めて完全な行を受信したときに呼ばれる処理
+     * @return 正常に処理できた場合はtrue、行が長すぎるか未処理の行が多すぎる場合はfalse
+     */
+    boolean receive(ByteBuffer data, int maxLineBytes, Runnable onFirstLine) {
+        while (data.hasRemaining()) {
+            var b = data.get();
+            if (b == '\n') {
+                if (!input.offer(takeLine())) {
+                    return false;
+                }
+                if (!sessionStarted) {
+                    sessionStarted = true;
+                    onFirstLine.run();
+                }
+            } else {
+                if (lineLength >= maxLineBytes) {
+                    return false;
+                }
+                appendToLine(b);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 受信途中の行に1バイト追加します。バッファは必要になった時点で確保します。
+     *
+     * @param b 追加するバイト
+     */
+    private void appendToLine(byte b) {
+        if (lineBytes == null) {
+            lineBytes = new byte[INITIAL_LINE_CAPACITY];
+        } else if (lineLength == lineBytes.length) {
+            var grown = new byte[lineBytes.length * 2];
+            System.arraycopy(lineBytes, 0, grown, 0, lineLength);
+            lineBytes = grown;
+        }
+        lineBytes[lineLength++] = b;
+    }
+
+    /**
+     * 受信途中の行を文字列として取り出し、行バッファを空にします。
+     *
+     * @return 改行を除いた行の文字列
+     */
+    private String takeLine() {
+        var length = lineLength;
+        if (length > 0 && lineBytes[length - 1] == '\r') {
+            length--;
+        }
+        var line = length == 0 ? "" : new String(lineBytes, 0, length, StandardCharsets.UTF_8);
+        lineLength = 0;
+        if (lineBytes != null && lineBytes.length > INITIAL_LINE_CAPACITY) {
+            // 長い行で大きくなったバッファは保持し続けない
+            lineBytes = null;
+        }
+        return line;
+    }
+}
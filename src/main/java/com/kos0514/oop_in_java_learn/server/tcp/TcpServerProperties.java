@@ -0,0 +1,44 @@
+package com.kos0514.oop_in_java_learn.server.tcp;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 行指向TCPサーバーの設定プロパティ。
+ *
+ * @param host             待ち受けるホスト名
+ * @param port             待ち受けるポート番号（0の場合は空いているポートを自動で割り当てる）
+ * @param backlog          受け付け待ちの接続キューの長さ
+ * @param maxConnections   同時に保持する接続数の上限（超えた接続は即座に切断する）
+ * @param maxLineBytes     1行の最大バイト数（超えた接続は切断する）
+ * @param maxPendingLines  1接続あたり未処理のまま保持できる行数の上限
+ * @param writeBufferSize  書き込みに使うダイレクトバッファ1個のサイズ（バイト）
+ * @param maxPooledBuffers プールに保持しておくダイレクトバッファの最大数
+ */
+@ConfigurationProperties(prefix = "transmigration.tcp")
+public record TcpServerProperties(
+        @DefaultValue("0.0.0.0")
+        String host,
+
+        @DefaultValue("9090")
+        int port,
+
+        @DefaultValue("1024")
+        int backlog,
+
+        @DefaultValue("20000")
+        int maxConnections,
+
+        @DefaultValue("1024")
+        int maxLineBytes,
+
+        @DefaultValue("16")
+        int maxPendingLines,
+
+        @DefaultValue("4096")
+        int writeBufferSize,
+
+        @DefaultValue("256")
+        int maxPooledBuffers
+) {
+}
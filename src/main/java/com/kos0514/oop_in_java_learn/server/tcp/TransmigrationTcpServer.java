@@ -0,0 +1,568 @@
+package com.kos0514.oop_in_java_learn.server.tcp;
+
+import com.kos0514.oop_in_java_learn.context.SessionContext;
+import com.kos0514.oop_in_java_learn.io.LoggingOutputProvider;
+import com.kos0514.oop_in_java_learn.model.Transmigrator;
+import com.kos0514.oop_in_java_learn.service.session.SessionInputClosedException;
+import com.kos0514.oop_in_java_learn.service.session.SessionProperties;
+import com.kos0514.oop_in_java_learn.service.session.SessionTimeoutException;
+import com.kos0514.oop_in_java_learn.service.session.StepResponse;
+import com.kos0514.oop_in_java_learn.service.session.TransmigrationSessionEngine;
+import com.kos0514.oop_in_java_learn.service.session.TransmigrationStateMachine;
+import com.kos0514.oop_in_java_learn.util.system.DrainParticipant;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.info;
+import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.warn;
+
+/**
+ * 行指向のTCPで対話的な転生セッションを提供するサーバー。
+ * <p>
+ * すべての接続を1本のセレクタースレッドで多重化し、受信した完全な行を接続ごとの
+ * {@link ConnectionInputProvider}へ渡します。各セッションは最初の1行を受信した時点で
+ * {@link TransmigrationSessionEngine}の仮想スレッド上に開始され、{@link TransmigrationStateMachine}が返すプロンプトを
+ * 接続の送信キューへ積みます。入力待ちの時間と制限時間はエンジンが監視し、超えたセッションは接続を閉じます。
+ * </p>
+ *
+ * <p>送信はセレクタースレッドがプールしたダイレクトバッファで行います。</p>
+ *
+ * <p>入力のない接続はスレッドも読み書き用のバッファも持たないため、
+ * 1万本以上の待機中の接続でもメモリ使用量は接続数に比例した小さな量に収まります。
+ * セッションを開始する前の接続はエンジンに登録されないため、セレクタースレッドが
+ * 入力待ちの上限（{@link SessionProperties#idleTimeout()}）を監視し、受け付けから上限までに
+ * 最初の1行を送らなかった接続を切断します。改行を送らずに接続を保持し続けて上限を使い切ることはできません。</p>
+ *
+ * <p>シャットダウン時はサーバーソケットを閉じ、まだセッションを開始していない接続を切断します。
+ * 実行中のセッションは最後のプロンプトを送り終えて接続が閉じるまで待ちます。
+ * セッションのスレッドの終了はエンジンの排出で待ちます。</p>
+ */
+@Component
+public class TransmigrationTcpServer implements AutoCloseable, DrainParticipant {
+
+    /**
+     * セレクタースレッドで共有する読み込みバッファのサイズ
+     */
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private final TransmigrationStateMachine stateMachine;
+    private final TransmigrationSessionEngine sessionEngine;
+    private final TcpServerProperties properties;
+    private final DirectBufferPool bufferPool;
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private final CountDownLatch drained = new CountDownLatch(1);
+
+    /**
+     * 送信データが積まれ、セレクタースレッドでの書き込みを待っている接続
+     */
+    private final Queue<TcpConnection> pendingFlushes = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final LongAdder rejectedConnections = new LongAdder();
+    private final LongAdder completedSessions = new LongAdder();
+
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread selectorThread;
+    private ByteBuffer welcome;
+    private volatile boolean running;
+    private volatile boolean draining;
+
+    /**
+     * 受け付けの停止処理を済ませたかどうか（セレクタースレッドのみ使用）
+     */
+    private boolean drainStarted;
+
+    /**
+     * 最後にセッション開始前の接続の入力待ちを確認した時刻（セレクタースレッドのみ使用）
+     */
+    private long lastIdleCheckNanos = System.nanoTime();
+
+    /**
+     * TCPサーバーを生成します。起動は{@link #start()}で行います。
+     *
+     * @param stateMachine  転生フローを進めるステートマシン
+     * @param sessionEngine 各接続のセッションを実行するエンジン
+     * @param properties    TCPサーバーの設定
+     */
+    public TransmigrationTcpServer(TransmigrationStateMachine stateMachine,
+                                   TransmigrationSessionEngine sessionEngine,
+                                   TcpServerProperties properties) {
+        this.stateMachine = stateMachine;
+        this.sessionEngine = sessionEngine;
+        this.properties = properties;
+        this.bufferPool = new DirectBufferPool(properties.writeBufferSize(), properties.maxPooledBuffers());
+    }
+
+    /**
+     * TCPサーバーを起動します。
+     *
+     * @throws IOException ポートの確保に失敗した場合
+     * @throws IllegalStateException すでに起動している場合
+     */
+    public synchronized void start() throws IOException {
+        if (running) {
+            throw new IllegalStateException("TCPサーバーはすでに起動しています");
+        }
+        welcome = encode(stateMachine.start()).asReadOnlyBuffer();
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(properties.host(), properties.port()), properties.backlog());
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        running = true;
+        selectorThread = Thread.ofPlatform().name("tcp-selector").daemon().start(this::selectLoop);
+        info("TCPサーバーを起動しました: {}:{}", properties.host(), getPort());
+    }
+
+    /**
+     * 実際に待ち受けているポート番号を取得します。
+     *
+     * @return ポート番号
+     * @throws IllegalStateException 起動していない場合
+     */
+    public synchronized int getPort() {
+        if (serverChannel == null) {
+            throw new IllegalStateException("TCPサーバーは起動していません");
+        }
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * 現在保持している接続数を返します。
+     *
+     * @return 接続数
+     */
+    public int getConnectionCount() {
+        return openConnections.get();
+    }
+
+    /**
+     * 接続数の上限により拒否した接続数を返します。
+     *
+     * @return 拒否した接続数
+     */
+    public long getRejectedConnections() {
+        return rejectedConnections.sum();
+    }
+
+    /**
+     * 転生が完了したセッション数を返します。
+     *
+     * @return 完了したセッション数
+     */
+    public long getCompletedSessions() {
+        return completedSessions.sum();
+    }
+
+    /**
+     * サーバーが停止するまで呼び出し元のスレッドを待機させます。
+     *
+     * @throws InterruptedException 待機中に割り込まれた場合
+     */
+    public void awaitStop() throws InterruptedException {
+        stopped.await();
+    }
+
+    /**
+     * セレクタースレッドの処理本体。受け付け・読み込み・書き込みを1本のスレッドで多重化します。
+     */
+    private void selectLoop() {
+        var readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+        var checkInterval = sessionEngine.getProperties().reapInterval();
+        try {
+            while (running) {
+                selector.select(Math.max(1, checkInterval.toMillis()));
+                if (draining && !drainStarted) {
+                    beginDrain();
+                }
+                flushPending();
+                closeIdleConnections(checkInterval);
+
+                var selectedKeys = selector.selectedKeys();
+                for (var key : selectedKeys) {
+                    try {
+                        if (!key.isValid()) {
+                            continue;
+                        }
+                        if (key.isAcceptable()) {
+                            accept();
+                            continue;
+                        }
+                        var connection = (TcpConnection) key.attachment();
+                        if (key.isReadable()) {
+                            read(connection, readBuffer);
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            flush(connection);
+                        }
+                    } catch (IOException | CancelledKeyException e) {
+                        if (key.attachment() instanceof TcpConnection connection) {
+                            closeConnection(connection);
+                        }
+                    }
+                }
+                selectedKeys.clear();
+            }
+        } catch (IOException e) {
+            warn("TCPサーバーのセレクターでエラーが発生しました: {}", e.getMessage());
+        } finally {
+            closeAllConnections();
+        }
+    }
+
+    /**
+     * サーバーソケットを閉じ、セッションを開始していない接続に終了を通知して切断します。
+     * セレクタースレッドで1回だけ実行します。
+     *
+     * @throws IOException サーバーソケットのクローズに失敗した場合
+     */
+    private void beginDrain() throws IOException {
+        drainStarted = true;
+        serverChannel.keyFor(selector).cancel();
+        serverChannel.close();
+        for (var key : selector.keys()) {
+            if (key.attachment() instanceof TcpConnection connection && !connection.sessionStarted) {
+                connection.enqueue(encode("サーバーを停止するため、接続を終了します。\n"));
+                connection.closeAfterFlush = true;
+                flushOrClose(connection);
+            }
+        }
+        if (openConnections.get() == 0) {
+            drained.countDown();
+        }
+    }
+
+    /**
+     * 受け付けから入力待ちの上限を過ぎても最初の1行を送っていない接続に終了を通知して切断します。
+     * セレクタースレッドで確認の間隔ごとに実行します。
+     *
+     * @param checkInterval 確認の間隔
+     */
+    private void closeIdleConnections(Duration checkInterval) {
+        var now = System.nanoTime();
+        if (now - lastIdleCheckNanos < checkInterval.toNanos()) {
+            return;
+        }
+        lastIdleCheckNanos = now;
+        var idleTimeoutNanos = sessionEngine.getProperties().idleTimeout().toNanos();
+        for (var key : selector.keys()) {
+            if (key.isValid() && key.attachment() instanceof TcpConnection connection && !connection.sessionStarted
+                    && !connection.closeAfterFlush && now - connection.acceptedNanos >= idleTimeoutNanos) {
+                // 以降の入力は読まずに、終了を通知してから切断する
+                connection.key.interestOps(connection.key.interestOps() & ~SelectionKey.OP_READ);
+                connection.enqueue(encode("入力がないため、接続を終了します。\n"));
+                connection.closeAfterFlush = true;
+                flushOrClose(connection);
+            }
+        }
+    }
+
+    /**
+     * 受け付け待ちの接続をすべて受け付けます。上限を超えた接続は即座に切断します。
+     *
+     * @throws IOException 受け付けに失敗した場合
+     */
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            if (openConnections.get() >= properties.maxConnections()) {
+                rejectedConnections.increment();
+                channel.close();
+                continue;
+            }
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            var key = channel.register(selector, SelectionKey.OP_READ);
+            var connection = new TcpConnection(channel, key, new ConnectionInputProvider(properties.maxPendingLines()));
+            key.attach(connection);
+            openConnections.incrementAndGet();
+
+            connection.enqueue(welcome.duplicate());
+            flushOrClose(connection);
+        }
+    }
+
+    /**
+     * 接続からデータを読み込み、完全な行を入力プロバイダーへ渡します。
+     * 共有の読み込みバッファを使うため、接続ごとの読み込みバッファは持ちません。
+     *
+     * @param connection 接続
+     * @param readBuffer セレクタースレッドで共有する読み込みバッファ
+     * @throws IOException 読み込みに失敗した場合
+     */
+    private void read(TcpConnection connection, ByteBuffer readBuffer) throws IOException {
+        readBuffer.clear();
+        var read = connection.channel.read(readBuffer);
+        if (read < 0) {
+            closeConnection(connection);
+            return;
+        }
+        readBuffer.flip();
+        var accepted = connection.receive(readBuffer, properties.maxLineBytes(), () -> startSession(connection));
+        if (!accepted) {
+            // 以降の入力は読まずに、エラーを送信してから切断する
+            connection.key.interestOps(connection.key.interestOps() & ~SelectionKey.OP_READ);
+            connection.enqueue(encode("入力が長すぎるか、多すぎます。接続を終了します。\n"));
+            connection.closeAfterFlush = true;
+            flush(connection);
+        }
+    }
+
+    /**
+     * 接続のセッションをセッションエンジンで開始します。
+     * エンジンが停止済みの場合は、セッションを開始せずに終了を通知して切断します。
+     *
+     * @param connection 接続
+     */
+    private void startSession(TcpConnection connection) {
+        try {
+            sessionEngine.submit(connection.input, new LoggingOutputProvider(), () -> runSession(connection));
+        } catch (RejectedExecutionException e) {
+            connection.enqueue(encode("サーバーを停止するため、接続を終了します。\n"));
+            connection.closeAfterFlush = true;
+            flushOrClose(connection);
+        }
+    }
+
+    /**
+     * 1接続分の転生セッションを実行します。入力を1行ずつステートマシンへ渡し、
+     * 返されたプロンプトを接続へ送信します。入力はセッションコンテキストから読み込みます。
+     *
+     * @param connection 接続
+     * @return 作成された転生者
+     * @throws SessionTimeoutException     入力待ちの時間または制限時間を超えた場合
+     * @throws SessionInputClosedException 転生の完了前に接続が切断された場合
+     * @throws RuntimeException            転生処理中にエラーが発生した場合（接続へエラーを送信してからスローする）
+     */
+    private Transmigrator runSession(TcpConnection connection) {
+        var context = SessionContext.current();
+        var state = stateMachine.newSession();
+        try {
+            while (true) {
+                var response = stateMachine.handle(state, context.readLine());
+                send(connection, response);
+                if (response.isCompleted()) {
+                    completedSessions.increment();
+                    return response.getTransmigrator();
+                }
+            }
+        } catch (SessionInputClosedException e) {
+            // 接続は切断済みのため、何も送信しない
+            throw e;
+        } catch (SessionTimeoutException e) {
+            send(connection, "入力がないため、接続を終了します。\n");
+            throw e;
+        } catch (RuntimeException e) {
+            // エンジンが失敗として集計するよう、エラーを送信してからスローし直す
+            send(connection, "転生処理中にエラーが発生しました。接続を終了します。\n");
+            throw e;
+        } finally {
+            connection.closeAfterFlush = true;
+            requestFlush(connection);
+        }
+    }
+
+    /**
+     * ステートマシンの応答を接続の送信キューへ積み、セレクタースレッドに書き込みを依頼します。
+     * 描画済みのメニューはエンコードし直さず、共有のバイト列をそのまま送信します。
+     *
+     * @param connection 接続
+     * @param response   ステートマシンの応答
+     */
+    private void send(TcpConnection connection, StepResponse response) {
+        if (!response.getText().isEmpty()) {
+            connection.enqueue(encode(response.getText()));
+        }
+        if (response.getMenu() != null) {
+            connection.enqueue(response.getMenu().encoded());
+        }
+        requestFlush(connection);
+    }
+
+    /**
+     * 文字列を接続の送信キューへ積み、セレクタースレッドに書き込みを依頼します。
+     *
+     * @param connection 接続
+     * @param text       送信する文字列
+     */
+    private void send(TcpConnection connection, String text) {
+        connection.enqueue(encode(text));
+        requestFlush(connection);
+    }
+
+    /**
+     * セレクタースレッドに接続の書き込みを依頼します。
+     *
+     * @param connection 接続
+     */
+    private void requestFlush(TcpConnection connection) {
+        pendingFlushes.add(connection);
+        selector.wakeup();
+    }
+
+    /**
+     * 書き込みを依頼された接続をすべて書き込みます。
+     */
+    private void flushPending() {
+        TcpConnection connection;
+        while ((connection = pendingFlushes.poll()) != null) {
+            if (connection.key.isValid()) {
+                flushOrClose(connection);
+            }
+        }
+    }
+
+    /**
+     * 接続を書き込み、失敗した場合は接続を閉じます。
+     *
+     * @param connection 接続
+     */
+    private void flushOrClose(TcpConnection connection) {
+        try {
+            flush(connection);
+        } catch (IOException | CancelledKeyException e) {
+            closeConnection(connection);
+        }
+    }
+
+    /**
+     * 送信待ちデータをソケットが受け付けるだけ書き込みます。
+     * 書き込みきれなかった場合はOP_WRITEを登録し、書き込めるようになってから続きを書き込みます。
+     * 書き込みきった場合はバッファをプールへ返却します。
+     *
+     * @param connection 接続
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private void flush(TcpConnection connection) throws IOException {
+        while (true) {
+            if ((connection.writeBuffer == null || !connection.writeBuffer.hasRemaining())
+                    && !connection.fillWriteBuffer(bufferPool)) {
+                break;
+            }
+            connection.channel.write(connection.writeBuffer);
+            if (connection.writeBuffer.hasRemaining()) {
+                connection.key.interestOps(connection.key.interestOps() | SelectionKey.OP_WRITE);
+                return;
+            }
+        }
+
+        connection.releaseWriteBuffer(bufferPool);
+        connection.key.interestOps(connection.key.interestOps() & ~SelectionKey.OP_WRITE);
+        if (connection.closeAfterFlush && !connection.hasPendingOutput()) {
+            closeConnection(connection);
+        }
+    }
+
+    /**
+     * 接続を閉じ、待機中のセッションに終了を通知します。
+     *
+     * @param connection 接続
+     */
+    private void closeConnection(TcpConnection connection) {
+        if (!connection.channel.isOpen()) {
+            return;
+        }
+        connection.key.cancel();
+        try {
+            connection.channel.close();
+        } catch (IOException e) {
+            warn("接続のクローズに失敗しました: {}", e.getMessage());
+        }
+        connection.input.markClosed();
+        connection.releaseWriteBuffer(bufferPool);
+        if (openConnections.decrementAndGet() == 0 && drainStarted) {
+            drained.countDown();
+        }
+    }
+
+    /**
+     * すべての接続とサーバーソケットを閉じます。セレクタースレッドの終了時に呼び出します。
+     */
+    private void closeAllConnections() {
+        for (var key : selector.keys()) {
+            if (key.attachment() instanceof TcpConnection connection) {
+                closeConnection(connection);
+            }
+        }
+        try {
+            serverChannel.close();
+            selector.close();
+        } catch (IOException e) {
+            warn("TCPサーバーのクローズに失敗しました: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 文字列をUTF-8でエンコードします。
+     *
+     * @param text 文字列
+     * @return エンコードされたバイト列を包むバッファ
+     */
+    private static ByteBuffer encode(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String getDrainName() {
+        return "TCPサーバー";
+    }
+
+    @Override
+    public synchronized void stopAccepting() {
+        if (!running) {
+            drained.countDown();
+            return;
+        }
+        draining = true;
+        selector.wakeup();
+    }
+
+    @Override
+    public boolean awaitDrained(Duration timeout) throws InterruptedException {
+        return drained.await(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void closeNow() {
+        close();
+    }
+
+    /**
+     * TCPサーバーを停止します。すべての接続を閉じ、待機中のセッションに終了を通知します。
+     */
+    @Override
+    public synchronized void close() {
+        if (running) {
+            running = false;
+            selector.wakeup();
+            try {
+                selectorThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            serverChannel = null;
+            info("TCPサーバーを停止しました");
+        }
+        stopped.countDown();
+    }
+}
@@ -1,11 +1,13 @@
 package com.kos0514.oop_in_java_learn.service;
 
+import com.kos0514.oop_in_java_learn.context.SessionContext;
 import com.kos0514.oop_in_java_learn.factory.TransmigratorFactory;
 import com.kos0514.oop_in_java_learn.io.SystemInputProvider;
 import com.kos0514.oop_in_java_learn.io.UserInputProvider;
 import com.kos0514.oop_in_java_learn.model.Transmigrator;
 import com.kos0514.oop_in_java_learn.model.value.Age;
 import com.kos0514.oop_in_java_learn.model.value.SoulName;
+import com.kos0514.oop_in_java_learn.service.prefetch.CatalogPrefetcher;
 import com.kos0514.oop_in_java_learn.service.race.SelectRaceService;
 import com.kos0514.oop_in_java_learn.service.world.SelectWorldService;
 import lombok.RequiredArgsConstructor;
@@ -33,6 +35,7 @@ public class TransmigrationService {
     private final TransmigratorFactory transmigratorFactory;
     private final SelectWorldService selectWorldService;
     private final SelectRaceService selectRaceService;
+    private final CatalogPrefetcher catalogPrefetcher;
 
     /**
      * 転生プロセスを開始します。
@@ -56,20 +59,49 @@ public class TransmigrationService {
      * @param inputProvider 入力を受け付けるUserInputProviderオブジェクト
      */
     void startTransmigrationProcess(UserInputProvider inputProvider) {
+        SessionContext.of(inputProvider).call(this::transmigrate);
+    }
+
+    /**
+     * 現在の{@link SessionContext}で1セッション分の転生プロセスを実行し、作成された転生者を返します。
+     * 複数のセッションから同時に呼び出されることを想定しており、セッション固有の状態は
+     * すべてセッションコンテキストとローカル変数に閉じています。
+     *
+     * <p>開始と同時に種族カタログの先読みを始め、ユーザーの入力を待つ間に読み込みを済ませます。
+     * 先読みしたスナップショットはセッションの間固定され、途中でカタログが更新されても
+     * 種族の一覧と修正値は同じ版のまま参照されます。先読みはセッションの終了時にキャンセルされます。</p>
+     *
+     * @return 転生が完了した転生者
+     * @throws IllegalStateException セッションコンテキストが設定されていない場合
+     */
+    public Transmigrator transmigrate() {
+        var context = SessionContext.current();
+        try (var catalog = catalogPrefetcher.start()) {
+            return context.withCatalog(catalog).call(this::runSession);
+        }
+    }
+
+    /**
+     * 現在のセッションコンテキストで転生プロセスを実行します。
+     *
+     * @return 転生が完了した転生者
+     */
+    private Transmigrator runSession() {
+        var context = SessionContext.current();
         info("転生プロセスを開始します...");
         printSeparator();
         info("    異世界転生トランスミッションサービス");
         printSeparator();
 
         // 転生者の基本情報を入力
-        var soulName = collectSoulName(inputProvider);
-        var age = collectAge(inputProvider);
+        var soulName = collectSoulName(context);
+        var age = collectAge(context);
 
         // 世界選択
-        var selectedWorld = selectWorldService.selectWorld(inputProvider);
+        var selectedWorld = selectWorldService.selectWorld();
 
         // 種族選択
-        var selectedRace = selectRaceService.selectRace(inputProvider);
+        var selectedRace = selectRaceService.selectRace();
 
         // ファクトリーメソッドで転生者を作成
         var transmigrator = transmigratorFactory.create(soulName, age, selectedWorld, selectedRace);
@@ -79,20 +111,22 @@ public class TransmigrationService {
 
         // 基礎ステータスの表示
         transmigrator.getPlayableStatuses().showStatus();
+
+        return transmigrator;
     }
 
     /**
      * 転生者の名前を収集します。
      *
-     * @param inputProvider 入力を受け付けるUserInputProviderオブジェクト
+     * @param context 入力を読み取るセッションのコンテキスト
      * @return 名前の値オブジェクト
      */
-    private SoulName collectSoulName(UserInputProvider inputProvider) {
+    private SoulName collectSoulName(SessionContext context) {
         SoulName soulName = null;
         while (soulName == null) {
             try {
                 info("転生者の名前を入力してください:");
-                var name = inputProvider.readLine();
+                var name = context.readLine();
                 soulName = SoulName.of(name);
             } catch (IllegalArgumentException e) {
                 warn(e.getMessage());
@@ -104,15 +138,15 @@ public class TransmigrationService {
     /**
      * 転生者の年齢を収集します。
      *
-     * @param inputProvider 入力を受け付けるUserInputProviderオブジェクト
+     * @param context 入力を読み取るセッションのコンテキスト
      * @return 年齢の値オブジェクト
      */
-    private Age collectAge(UserInputProvider inputProvider) {
+    private Age collectAge(SessionContext context) {
         Age age = null;
         while (age == null) {
             try {
                 info("転生者の年齢を入力してください (1～120の整数):");
-                age = Age.fromString(inputProvider.readLine());
+                age = Age.fromString(context.readLine());
             } catch (IllegalArgumentException e) {
                 warn(e.getMessage());
             }
@@ -0,0 +1,179 @@
+package com.kos0514.oop_in_java_learn.service.admission;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 同時に実行する転生処理の数を制限する受け付け制御。
+ * <p>
+ * 実行枠（{@link AdmissionProperties#maxConcurrent()}）に空きがあれば即座に実行し、
+ * 空きがなければ{@link AdmissionProperties#maxQueued()}件まで到着順に待たせます。
+ * 待ち行列が満杯の場合や、{@link AdmissionProperties#maxQueueDelay()}待っても枠が空かない場合は
+ * {@link AdmissionRejectedException}で拒否し、DBへ届く処理数を一定に保ちます。
+ * </p>
+ *
+ * <p>拒否時の再試行までの目安は、直近の処理時間の移動平均と待ち行列の長さから見積もります。</p>
+ */
+@Component
+public class AdmissionController {
+
+    /**
+     * 処理時間の移動平均に最新の計測値を反映する割合（1/8）の指数
+     */
+    private static final int SERVICE_TIME_SMOOTHING_SHIFT = 3;
+
+    private final AdmissionProperties properties;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong averageServiceNanos = new AtomicLong();
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * 受け付け制御を生成します。
+     *
+     * @param properties 受け付け制御の設定
+     */
+    public AdmissionController(AdmissionProperties properties) {
+        this.properties = properties;
+        // 待っている処理を到着順に通すため公平なセマフォを使用する
+        this.permits = new Semaphore(properties.maxConcurrent(), true);
+    }
+
+    /**
+     * 実行枠を確保してから処理を実行します。
+     *
+     * @param work 実行する処理
+     * @param <T>  処理結果の型
+     * @return 処理結果
+     * @throws AdmissionRejectedException 混雑のため受け付けを拒否した場合
+     */
+    public <T> T call(Supplier<T> work) throws AdmissionRejectedException {
+        acquire();
+        var started = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            recordServiceTime(System.nanoTime() - started);
+            permits.release();
+        }
+    }
+
+    /**
+     * 実行枠を確保します。空きがなければ待ち行列に並び、上限時間まで待機します。
+     *
+     * @throws AdmissionRejectedException 待ち行列が満杯、または上限時間内に枠が空かなかった場合
+     */
+    private void acquire() throws AdmissionRejectedException {
+        // 時間指定なしのtryAcquireは公平性を無視して割り込むため、待ち時間0で確認する
+        if (tryAcquire(0L)) {
+            admitted.increment();
+            return;
+        }
+        if (queued.incrementAndGet() > properties.maxQueued()) {
+            queued.decrementAndGet();
+            throw reject("混雑しているため受け付けできません");
+        }
+        try {
+            if (!tryAcquire(properties.maxQueueDelay().toNanos())) {
+                throw reject("混雑しているため待ち時間の上限を超えました");
+            }
+            admitted.increment();
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    /**
+     * 指定時間まで実行枠の確保を試みます。
+     *
+     * @param timeoutNanos 最大待機時間（ナノ秒）
+     * @return 確保できた場合はtrue
+     * @throws AdmissionRejectedException 待機中に割り込まれた場合
+     */
+    private boolean tryAcquire(long timeoutNanos) throws AdmissionRejectedException {
+        try {
+            return permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw reject("実行枠の待機中に割り込まれました");
+        }
+    }
+
+    /**
+     * 拒否を集計し、再試行までの目安を付けた例外を生成します。
+     *
+     * @param message 拒否した理由
+     * @return 受け付け拒否の例外
+     */
+    private AdmissionRejectedException reject(String message) {
+        rejected.increment();
+        return new AdmissionRejectedException(message, estimateRetryAfter());
+    }
+
+    /**
+     * 待ち行列が捌けるまでの時間を見積もります。
+     * 見積もりが待ち時間の上限より短い場合は、上限の時間を返します。
+     *
+     * @return 再試行までの待ち時間の目安
+     */
+    private Duration estimateRetryAfter() {
+        var rounds = (long) queued.get() / properties.maxConcurrent() + 1;
+        var drainNanos = averageServiceNanos.get() * rounds;
+        return Duration.ofNanos(Math.max(drainNanos, properties.maxQueueDelay().toNanos()));
+    }
+
+    /**
+     * 処理時間を移動平均に反映します。
+     *
+     * @param serviceNanos 今回の処理時間（ナノ秒）
+     */
+    private void recordServiceTime(long serviceNanos) {
+        averageServiceNanos.updateAndGet(
+                average -> average + ((serviceNanos - average) >> SERVICE_TIME_SMOOTHING_SHIFT));
+    }
+
+    /**
+     * 実行中の処理数を取得します。
+     *
+     * @return 実行中の処理数
+     */
+    public int getInFlight() {
+        return properties.maxConcurrent() - permits.availablePermits();
+    }
+
+    /**
+     * 実行枠が空くのを待っている処理数を取得します。
+     *
+     * @return 待機中の処理数
+     */
+    public int getQueued() {
+        return queued.get();
+    }
+
+    /**
+     * これまでに受け付けた処理数を取得します。
+     *
+     * @return 受け付けた処理数
+     */
+    public long getAdmitted() {
+        return admitted.sum();
+    }
+
+    /**
+     * これまでに拒否した処理数を取得します。
+     *
+     * @return 拒否した処理数
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
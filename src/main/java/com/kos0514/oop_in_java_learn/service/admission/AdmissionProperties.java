@@ -0,0 +1,26 @@
+package com.kos0514.oop_in_java_learn.service.admission;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 転生処理の受け付け制御に関する設定プロパティ。
+ *
+ * @param maxConcurrent 同時に実行できる転生処理の上限
+ * @param maxQueued     実行枠が空くのを待てる処理数の上限（超えた分は即座に拒否する）
+ * @param maxQueueDelay 実行枠が空くのを待つ最大時間（超えた処理は拒否する）
+ */
+@ConfigurationProperties(prefix = "transmigration.admission")
+public record AdmissionProperties(
+        @DefaultValue("64")
+        int maxConcurrent,
+
+        @DefaultValue("256")
+        int maxQueued,
+
+        @DefaultValue("500ms")
+        Duration maxQueueDelay
+) {
+}
@@ -0,0 +1,32 @@
+package com.kos0514.oop_in_java_learn.service.admission;
+
+import java.time.Duration;
+
+/**
+ * 混雑のため転生処理の受け付けを拒否したことを表す例外。
+ * 呼び出し元は{@link #getRetryAfter()}の時間をおいてから再試行できます。
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    /**
+     * 例外を生成します。
+     *
+     * @param message    拒否した理由
+     * @param retryAfter 再試行までに待つべき時間の目安
+     */
+    public AdmissionRejectedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * 再試行までに待つべき時間の目安を取得します。
+     *
+     * @return 再試行までの待ち時間
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,95 @@
+package com.kos0514.oop_in_java_learn.service.batch;
+
+import com.kos0514.oop_in_java_learn.entity.generated.Race;
+import com.kos0514.oop_in_java_learn.enums.RaceRarity;
+import com.kos0514.oop_in_java_learn.model.world.World;
+import com.kos0514.oop_in_java_learn.repository.WorldRegistry;
+import com.kos0514.oop_in_java_learn.repository.WorldRepository;
+import com.kos0514.oop_in_java_learn.service.catalog.CatalogSnapshot;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * バッチ1回分の解決段階で参照する世界・種族の一覧。
+ * <p>
+ * 実行開始時に種族カタログのスナップショットから希少度ごとの索引を1度だけ作り、以降はメモリ上で解決します。
+ * レコードごとにDBへ問い合わせないため、解決段階はCPUだけで処理できます。
+ * 読み込み後は変更しないため、複数のスレッドから同時に参照できます。
+ * </p>
+ */
+class BatchCatalog {
+
+    private final WorldRegistry worlds;
+    private final Map<RaceRarity, Map<String, Race>> racesByMaxRarity;
+
+    private BatchCatalog(WorldRegistry worlds, Map<RaceRarity, Map<String, Race>> racesByMaxRarity) {
+        this.worlds = worlds;
+        this.racesByMaxRarity = racesByMaxRarity;
+    }
+
+    /**
+     * 世界と、希少度ごとに選択可能な種族を読み込みます。
+     *
+     * @param worldRepository 世界のリポジトリ
+     * @param snapshot        種族カタログのスナップショット
+     * @return 読み込んだ一覧
+     */
+    static BatchCatalog load(WorldRepository worldRepository, CatalogSnapshot snapshot) {
+        var racesByMaxRarity = new EnumMap<RaceRarity, Map<String, Race>>(RaceRarity.class);
+        for (var rarity : RaceRarity.values()) {
+            var races = new HashMap<String, Race>();
+            for (var race : snapshot.racesUpTo(rarity)) {
+                races.put(race.getId(), race);
+            }
+            racesByMaxRarity.put(rarity, races);
+        }
+        return new BatchCatalog(WorldRegistry.of(worldRepository.getAvailableWorlds()), racesByMaxRarity);
+    }
+
+    /**
+     * 番号から転生先の世界を取得します。
+     *
+     * @param worldIndex 世界の番号（1始まり）
+     * @return 転生先の世界
+     * @throws IllegalArgumentException 番号が範囲外の場合
+     */
+    World world(int worldIndex) throws IllegalArgumentException {
+        return worlds.byNumber(worldIndex);
+    }
+
+    /**
+     * IDから転生先の世界を取得します。
+     *
+     * @param worldId 世界のID
+     * @return 転生先の世界
+     * @throws IllegalArgumentException 世界が存在しない場合
+     */
+    World world(String worldId) throws IllegalArgumentException {
+        var world = worlds.findById(worldId);
+        if (world == null) {
+            throw new IllegalArgumentException("世界「" + worldId + "」は選択できません");
+        }
+        return world;
+    }
+
+    /**
+     * 最大希少度までの種族からIDに一致する種族を取得します。
+     *
+     * @param raceId    種族のID
+     * @param maxRarity 選択可能な最大希少度
+     * @return 種族
+     * @throws IllegalArgumentException 種族が存在しない、または希少度が足りず選択できない場合
+     */
+    Race race(String raceId, RaceRarity maxRarity) throws IllegalArgumentException {
+        if (raceId == null || raceId.isBlank()) {
+            throw new IllegalArgumentException("種族IDを指定してください");
+        }
+        var race = racesByMaxRarity.get(maxRarity).get(raceId);
+        if (race == null) {
+            throw new IllegalArgumentException("種族「" + raceId + "」は" + maxRarity.name() + "までの種族から選択できません");
+        }
+        return race;
+    }
+}
@@ -0,0 +1,32 @@
+package com.kos0514.oop_in_java_learn.service.batch;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * バッチ入力ファイルの形式を表す列挙型。
+ */
+public enum BatchFormat {
+    /**
+     * 1行に1つのJSONオブジェクト（世界は{@code worldIndex}の代わりに{@code worldId}でも指定できる。
+     * {@code idempotencyKey}を指定すると、同じキーのレコードには最初の転生者を返す）
+     * <pre>{@code {"name": "テスト魂", "age": 25, "worldIndex": 1, "raceId": "elf", "wins": 2}}</pre>
+     */
+    JSONL,
+
+    /**
+     * ヘッダー行付きのCSV（列の順序は name,age,worldIndex,raceId,wins）
+     */
+    CSV;
+
+    /**
+     * ファイルの拡張子から形式を判定します。
+     *
+     * @param path 入力ファイルのパス
+     * @return 拡張子が.csvの場合はCSV、それ以外はJSONL
+     */
+    public static BatchFormat fromPath(Path path) {
+        var fileName = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        return fileName.endsWith(".csv") ? CSV : JSONL;
+    }
+}
@@ -0,0 +1,41 @@
+package com.kos0514.oop_in_java_learn.service.batch;
+
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * バッチ取り込みの実行結果を表す値オブジェクト。
+ */
+@Value
+public class BatchImportResult {
+    /**
+     * 読み込んだレコード数
+     */
+    long readRecords;
+
+    /**
+     * 転生者を作成できたレコード数
+     */
+    long succeededRecords;
+
+    /**
+     * 検証や解決に失敗したレコード数
+     */
+    long failedRecords;
+
+    /**
+     * 取り込みにかかった時間
+     */
+    Duration elapsed;
+
+    /**
+     * 1秒あたりに処理したレコード数
+     *
+     * @return スループット（records/sec）
+     */
+    public double getRecordsPerSecond() {
+        var seconds = elapsed.toNanos() / 1_000_000_000.0;
+        return seconds > 0 ? readRecords / seconds : 0.0;
+    }
+}
@@ -0,0 +1,39 @@
+package com.kos0514.oop_in_java_learn.service.batch;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * バッチ取り込みの設定プロパティ。
+ * 各段階の並列度は、その段階を処理するスレッド数です。
+ *
+ * @param input                入力ファイルのパス（JSONLまたはCSV）
+ * @param output               出力ファイルのパス（JSONL）
+ * @param queueCapacity        段階間のキューの容量
+ * @param parseParallelism     解析段階の並列度
+ * @param validateParallelism  検証段階の並列度
+ * @param resolveParallelism   世界・種族の解決段階の並列度
+ * @param createParallelism    転生者の作成段階の並列度
+ */
+@ConfigurationProperties(prefix = "transmigration.batch")
+public record BatchProperties(
+        String input,
+
+        String output,
+
+        @DefaultValue("1024")
+        int queueCapacity,
+
+        @DefaultValue("2")
+        int parseParallelism,
+
+        @DefaultValue("2")
+        int validateParallelism,
+
+        @DefaultValue("2")
+        int resolveParallelism,
+
+        @DefaultValue("8")
+        int createParallelism
+) {
+}
@@ -0,0 +1,56 @@
+package com.kos0514.oop_in_java_learn.service.batch;
+
+import com.kos0514.oop_in_java_learn.entity.generated.Race;
+import com.kos0514.oop_in_java_learn.model.Transmigrator;
+import com.kos0514.oop_in_java_learn.model.value.Age;
+import com.kos0514.oop_in_java_learn.model.value.SoulName;
+import com.kos0514.oop_in_java_learn.model.world.World;
+import com.kos0514.oop_in_java_learn.service.request.TransmigrationRequest;
+
+/**
+ * パイプラインを流れる1レコード分の作業状態。
+ * <p>
+ * 各段階は自分の担当するフィールドだけを埋めて次の段階へ渡します。
+ * いずれかの段階で失敗した場合は{@link #error}を設定し、
+ * 以降の段階は処理を飛ばして出力段階へそのまま渡します。
+ * キューを介して1度に1つのスレッドだけが扱うため、同期は不要です。
+ * </p>
+ */
+class BatchRecord {
+
+    /**
+     * 入力の終わりを表す番兵
+     */
+    static final BatchRecord END = new BatchRecord(-1, null);
+
+    final long lineNumber;
+    final String line;
+
+    TransmigrationRequest request;
+    SoulName soulName;
+    Age age;
+    World world;
+    Race race;
+    Transmigrator transmigrator;
+    String error;
+
+    /**
+     * レコードを生成します。
+     *
+     * @param lineNumber 入力ファイルの行番号（1始まり）
+     * @param line       入力行
+     */
+    BatchRecord(long lineNumber, String line) {
+        this.lineNumber = lineNumber;
+        this.line = line;
+    }
+
+    /**
+     * いずれかの段階で失敗しているかどうかを返します。
+     *
+     * @return 失敗している場合はtrue
+     */
+    boolean isFailed() {
+        return error != null;
+    }
+}
@@ -0,0 +1,143 @@
+package com.kos0514.oop_in_java_learn.service.batch;
+
+import com.kos0514.oop_in_java_learn.service.request.TransmigrationRequest;
+import com.kos0514.oop_in_java_learn.util.json.FlatJsonParser;
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * バッチ入力の1行を転生リクエストに変換するクラス。
+ * 値の妥当性（名前が空でない、年齢が範囲内など）はここでは検証しません。
+ */
+@UtilityClass
+class BatchRecordParser {
+
+    /**
+     * CSVの列の並び
+     */
+    static final String CSV_HEADER = "name,age,worldIndex,raceId,wins";
+
+    private static final int CSV_COLUMNS = 5;
+
+    /**
+     * 1行を解析して転生リクエストに変換します。
+     *
+     * @param line   入力行
+     * @param format 入力形式
+     * @return 転生リクエスト
+     * @throws IllegalArgumentException 形式や型が不正な場合
+     */
+    static TransmigrationRequest parse(String line, BatchFormat format) throws IllegalArgumentException {
+        return switch (format) {
+            case JSONL -> parseJson(line);
+            case CSV -> parseCsv(line);
+        };
+    }
+
+    /**
+     * CSVのヘッダー行かどうかを判定します。
+     *
+     * @param line 入力行
+     * @return ヘッダー行の場合はtrue
+     */
+    static boolean isCsvHeader(String line) {
+        return line.replace(" ", "").equalsIgnoreCase(CSV_HEADER);
+    }
+
+    /**
+     * JSONオブジェクト1行を解析します。
+     */
+    private static TransmigrationRequest parseJson(String line) throws IllegalArgumentException {
+        var json = FlatJsonParser.parseObject(line);
+        // 世界はIDでも指定でき、IDを指定した場合は番号を省略できる
+        var worldId = json.get("worldId") instanceof String id ? id : null;
+        return TransmigrationRequest.builder()
+                .name(json.get("name") instanceof String name ? name : null)
+                .age(toInt(json.get("age"), "age"))
+                .worldIndex(worldId == null ? toInt(json.get("worldIndex"), "worldIndex") : 0)
+                .worldId(worldId)
+                .raceId(json.get("raceId") instanceof String raceId ? raceId : null)
+                .wins(json.containsKey("wins") ? toInt(json.get("wins"), "wins") : 0)
+                .idempotencyKey(json.get("idempotencyKey") instanceof String key ? key : null)
+                .build();
+    }
+
+    /**
+     * CSV1行を解析します。
+     */
+    private static TransmigrationRequest parseCsv(String line) throws IllegalArgumentException {
+        var columns = splitCsv(line);
+        if (columns.size() != CSV_COLUMNS) {
+            throw new IllegalArgumentException("CSVの列数が不正です（" + CSV_HEADER + " の" + CSV_COLUMNS + "列が必要です）");
+        }
+        return TransmigrationRequest.builder()
+                .name(columns.get(0))
+                .age(toInt(columns.get(1), "age"))
+                .worldIndex(toInt(columns.get(2), "worldIndex"))
+                .raceId(columns.get(3))
+                .wins(columns.get(4).isBlank() ? 0 : toInt(columns.get(4), "wins"))
+                .build();
+    }
+
+    /**
+     * CSV1行を列に分割します。ダブルクォートで囲まれた列は、カンマや{@code ""}（エスケープされた引用符）を含められます。
+     *
+     * @param line CSVの1行
+     * @return 列のリスト
+     * @throws IllegalArgumentException 引用符が閉じられていない場合
+     */
+    static List<String> splitCsv(String line) throws IllegalArgumentException {
+        var columns = new ArrayList<String>(CSV_COLUMNS);
+        var column = new StringBuilder();
+        var quoted = false;
+        for (var i = 0; i < line.length(); i++) {
+            var c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    column.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    column.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                columns.add(column.toString());
+                column.setLength(0);
+            } else {
+                column.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("CSVの引用符が閉じられていません");
+        }
+        columns.add(column.toString());
+        return columns;
+    }
+
+    /**
+     * JSONの数値またはCSVの文字列を整数に変換します。
+     *
+     * @param value 値
+     * @param name  項目名（エラーメッセージ用）
+     * @return 整数値
+     * @throws IllegalArgumentException 整数でない場合
+     */
+    private static int toInt(Object value, String name) throws IllegalArgumentException {
+        if (value instanceof Long number && number >= Integer.MIN_VALUE && number <= Integer.MAX_VALUE) {
+            return number.intValue();
+        }
+        if (value instanceof String text) {
+            try {
+                return Integer.parseInt(text.trim());
+            } catch (NumberFormatException e) {
+                // 下の例外で統一したメッセージを返す
+            }
+        }
+        throw new IllegalArgumentException(name + "には整数を指定してください");
+    }
+}
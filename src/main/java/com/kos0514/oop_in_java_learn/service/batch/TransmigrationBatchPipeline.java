@@ -0,0 +1,302 @@
+package com.kos0514.oop_in_java_learn.service.batch;
+
+import com.kos0514.oop_in_java_learn.context.SessionContext;
+import com.kos0514.oop_in_java_learn.enums.RaceRarity;
+import com.kos0514.oop_in_java_learn.factory.TransmigratorFactory;
+import com.kos0514.oop_in_java_learn.model.Transmigrator;
+import com.kos0514.oop_in_java_learn.model.value.Age;
+import com.kos0514.oop_in_java_learn.model.value.SoulName;
+import com.kos0514.oop_in_java_learn.repository.WorldRepository;
+import com.kos0514.oop_in_java_learn.service.catalog.CatalogSnapshot;
+import com.kos0514.oop_in_java_learn.service.catalog.RaceCatalogCache;
+import com.kos0514.oop_in_java_learn.service.idempotency.IdempotencyCache;
+import com.kos0514.oop_in_java_learn.util.json.JsonWriter;
+import com.kos0514.oop_in_java_learn.util.json.TransmigratorJson;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.info;
+
+/**
+ * 大量の転生リクエストをファイルから取り込むパイプライン。
+ * <p>
+ * 読み込み → 解析 → 検証（{@link SoulName}/{@link Age}） → 世界・種族の解決 →
+ * {@link TransmigratorFactory#create} → 書き出し の各段階を、容量制限付きのキューで接続します。
+ * 解析から作成までの段階は設定した数のスレッドで並列に処理され、
+ * 下流が詰まった場合はキューが満杯になることで上流の読み込みが自動的に待機します。
+ * </p>
+ *
+ * <p>出力はJSONLで、1レコードにつき1行を書き出します。並列処理のため出力の順序は
+ * 入力と一致しませんが、各行に入力の行番号（{@code line}）を含めます。
+ * 失敗したレコードは処理を止めずに{@code error}としてそのまま出力します。</p>
+ *
+ * <p>冪等キー（{@code idempotencyKey}）を指定したレコードは{@link IdempotencyCache}を通して作成します。
+ * 取り込みを再実行した場合や、同じファイル内でキーが重複する場合も、同じキーには最初の転生者を出力します。</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class TransmigrationBatchPipeline {
+
+    /**
+     * HTTPのリクエストと冪等キーが衝突しないよう、バッチのキーに付ける接頭辞
+     */
+    private static final String BATCH_KEY_PREFIX = "batch:";
+
+    private final WorldRepository worldRepository;
+    private final RaceCatalogCache raceCatalogCache;
+    private final TransmigratorFactory transmigratorFactory;
+    private final IdempotencyCache idempotencyCache;
+    private final BatchProperties properties;
+
+    /**
+     * 入力ファイルを取り込み、結果を出力ファイルへ書き出します。
+     * 入力形式は拡張子から判定します（.csvはCSV、それ以外はJSONL）。
+     *
+     * @param input  入力ファイルのパス
+     * @param output 出力ファイルのパス
+     * @return 取り込み結果
+     * @throws UncheckedIOException ファイルの読み書きに失敗した場合
+     */
+    public BatchImportResult run(Path input, Path output) {
+        try (var reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             var writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            info("バッチ取り込みを開始します: {} → {}", input, output);
+            var result = run(reader, writer, BatchFormat.fromPath(input));
+            info("バッチ取り込みが完了しました: 読み込み={} 成功={} 失敗={} 所要時間={}ms スループット={} records/sec",
+                    result.getReadRecords(),
+                    result.getSucceededRecords(),
+                    result.getFailedRecords(),
+                    result.getElapsed().toMillis(),
+                    String.format("%.0f", result.getRecordsPerSecond()));
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException("バッチファイルの読み書きに失敗しました", e);
+        }
+    }
+
+    /**
+     * 入力を取り込み、結果を書き出します。書き出しは呼び出し元のスレッドで行います。
+     *
+     * @param input  入力
+     * @param output 出力（JSONL）
+     * @param format 入力形式
+     * @return 取り込み結果
+     * @throws IOException 入出力に失敗した場合
+     */
+    public BatchImportResult run(BufferedReader input, Writer output, BatchFormat format) throws IOException {
+        var started = System.nanoTime();
+        // 実行中にカタログが差し替えられても、1回の取り込みは同じスナップショットで解決・作成する
+        var snapshot = raceCatalogCache.latest();
+        var catalog = BatchCatalog.load(worldRepository, snapshot);
+
+        var parseQueue = newQueue();
+        var validateQueue = newQueue();
+        var resolveQueue = newQueue();
+        var createQueue = newQueue();
+        var writeQueue = newQueue();
+
+        var readFailure = new AtomicReference<IOException>();
+        var threads = new ArrayList<Thread>();
+        threads.add(Thread.ofPlatform().name("batch-read").start(() -> read(input, format, parseQueue, readFailure)));
+        threads.addAll(startStage("batch-parse-", properties.parseParallelism(), parseQueue, validateQueue,
+                record -> record.request = BatchRecordParser.parse(record.line, format)));
+        threads.addAll(startStage("batch-validate-", properties.validateParallelism(), validateQueue, resolveQueue,
+                record -> {
+                    record.soulName = SoulName.of(record.request.getName());
+                    record.age = Age.of(record.request.getAge());
+                }));
+        threads.addAll(startStage("batch-resolve-", properties.resolveParallelism(), resolveQueue, createQueue,
+                record -> {
+                    record.world = record.request.getWorldId() != null
+                            ? catalog.world(record.request.getWorldId())
+                            : catalog.world(record.request.getWorldIndex());
+                    record.race = catalog.race(record.request.getRaceId(), RaceRarity.fromWins(record.request.getWins()));
+                }));
+        threads.addAll(startStage("batch-create-", properties.createParallelism(), createQueue, writeQueue,
+                record -> record.transmigrator = create(record, snapshot)));
+
+        long succeeded = 0;
+        long failed = 0;
+        try {
+            BatchRecord record;
+            while ((record = writeQueue.take()) != BatchRecord.END) {
+                write(output, record);
+                if (record.isFailed()) {
+                    failed++;
+                } else {
+                    succeeded++;
+                }
+            }
+            output.flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            threads.forEach(Thread::interrupt);
+            throw new IOException("バッチ取り込みが中断されました", e);
+        } catch (IOException | RuntimeException e) {
+            // 書き出せなくなった場合は上流の段階もすべて止める
+            threads.forEach(Thread::interrupt);
+            throw e;
+        }
+
+        if (readFailure.get() != null) {
+            throw readFailure.get();
+        }
+        return new BatchImportResult(succeeded + failed, succeeded, failed, Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    /**
+     * レコードの転生者を作成します。冪等キーがある場合は、同じキーで作成済みの転生者を返します。
+     * 作成段階のスレッド間でシードや乱数の列が混ざらないよう、レコードごとに専用の乱数生成器を使います。
+     *
+     * @param record   検証と解決を終えたレコード
+     * @param snapshot 取り込み全体で使う種族カタログのスナップショット
+     * @return 転生者
+     */
+    private Transmigrator create(BatchRecord record, CatalogSnapshot snapshot) {
+        Supplier<Transmigrator> work = () -> SessionContext.forRequest().call(() ->
+                transmigratorFactory.create(record.soulName, record.age, record.world, record.race, snapshot));
+        var key = record.request.getIdempotencyKey();
+        if (key == null) {
+            return work.get();
+        }
+        return idempotencyCache.execute(BATCH_KEY_PREFIX + key, record.request, work).transmigrator();
+    }
+
+    /**
+     * 段階間をつなぐ容量制限付きのキューを生成します。
+     *
+     * @return キュー
+     */
+    private BlockingQueue<BatchRecord> newQueue() {
+        return new ArrayBlockingQueue<>(properties.queueCapacity());
+    }
+
+    /**
+     * 入力を1行ずつ読み込み、解析段階へ渡します。
+     * 空行とCSVのヘッダー行は読み飛ばします。
+     *
+     * @param input       入力
+     * @param format      入力形式
+     * @param out         解析段階のキュー
+     * @param readFailure 読み込みに失敗した場合の例外の格納先
+     */
+    private static void read(BufferedReader input, BatchFormat format, BlockingQueue<BatchRecord> out,
+                             AtomicReference<IOException> readFailure) {
+        try {
+            long lineNumber = 0;
+            String line;
+            while ((line = input.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (format == BatchFormat.CSV && lineNumber == 1 && BatchRecordParser.isCsvHeader(line))) {
+                    continue;
+                }
+                out.put(new BatchRecord(lineNumber, line));
+            }
+        } catch (IOException e) {
+            readFailure.set(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        putEnd(out);
+    }
+
+    /**
+     * 1つの段階を指定した数のスレッドで開始します。
+     * 失敗済みのレコードは処理せずに次の段階へ渡します。
+     * すべてのスレッドが入力の終わりを受け取ると、最後に終了したスレッドが次の段階へ終わりを伝えます。
+     *
+     * @param name        スレッド名の接頭辞
+     * @param parallelism スレッド数
+     * @param in          この段階の入力キュー
+     * @param out         次の段階の入力キュー
+     * @param step        1レコードに対する処理
+     * @return 開始したスレッドのリスト
+     */
+    private static List<Thread> startStage(String name, int parallelism, BlockingQueue<BatchRecord> in,
+                                           BlockingQueue<BatchRecord> out, Consumer<BatchRecord> step) {
+        var workers = Math.max(1, parallelism);
+        var remainingWorkers = new AtomicInteger(workers);
+        Runnable worker = () -> {
+            try {
+                BatchRecord record;
+                while ((record = in.take()) != BatchRecord.END) {
+                    if (!record.isFailed()) {
+                        try {
+                            step.accept(record);
+                        } catch (RuntimeException e) {
+                            record.error = Objects.requireNonNullElse(e.getMessage(), e.getClass().getSimpleName());
+                        }
+                    }
+                    out.put(record);
+                }
+                // 同じ段階の他のスレッドにも終わりを伝える
+                in.put(BatchRecord.END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (remainingWorkers.decrementAndGet() == 0) {
+                putEnd(out);
+            }
+        };
+
+        var factory = Thread.ofPlatform().name(name, 0).factory();
+        var threads = new ArrayList<Thread>(workers);
+        for (var i = 0; i < workers; i++) {
+            var thread = factory.newThread(worker);
+            thread.start();
+            threads.add(thread);
+        }
+        return threads;
+    }
+
+    /**
+     * キューへ入力の終わりを積みます。
+     *
+     * @param out キュー
+     */
+    private static void putEnd(BlockingQueue<BatchRecord> out) {
+        try {
+            out.put(BatchRecord.END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 1レコード分の結果をJSONLの1行として書き出します。
+     *
+     * @param output 出力
+     * @param record レコード
+     * @throws IOException 書き出しに失敗した場合
+     */
+    private static void write(Writer output, BatchRecord record) throws IOException {
+        var json = new JsonWriter().beginObject().name("line").value(record.lineNumber);
+        if (record.isFailed()) {
+            json.name("error").value(record.error);
+        } else {
+            TransmigratorJson.write(json.name("transmigrator"), record.transmigrator);
+        }
+        output.write(json.endObject().toString());
+        output.write('\n');
+    }
+}
@@ -0,0 +1,22 @@
+package com.kos0514.oop_in_java_learn.service.catalog;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 種族カタログの更新の取り込みに関する設定プロパティ。
+ *
+ * @param enabled  バックグラウンドでカタログの更新を確認するかどうか
+ * @param interval カタログの版を確認する間隔
+ */
+@ConfigurationProperties(prefix = "transmigration.catalog.refresh")
+public record CatalogRefreshProperties(
+        @DefaultValue("true")
+        boolean enabled,
+
+        @DefaultValue("1s")
+        Duration interval
+) {
+}
@@ -0,0 +1,81 @@
+package com.kos0514.oop_in_java_learn.service.catalog;
+
+import com.kos0514.oop_in_java_learn.repository.WorldRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.info;
+import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.warn;
+
+/**
+ * 種族カタログと転生先世界の更新をバックグラウンドで取り込むコンポーネント。
+ * <p>
+ * 一定間隔で{@link RaceCatalogCache#refreshIfChanged()}を呼び出し、カタログの版が変わっていれば
+ * 読み込み直したスナップショットに差し替えます。版の確認は{@code catalog_version}の1行を主キーで読むだけで、
+ * カタログ全体を読み直すのは変更があった場合だけです。同じスキーマを参照する複数のインスタンスでも、
+ * どこから編集したかに関係なく、サービスを再起動せずに各インスタンスへ反映されます。
+ * </p>
+ *
+ * <p>{@code worlds}テーブルの変更でもカタログの版が上がるため、版が変わった場合は
+ * {@link WorldRepository#refresh()}で世界の一覧も読み込み直します。</p>
+ *
+ * <p>確認に失敗しても次の間隔で再び確認します。それまでは直前のスナップショットを使い続けます。</p>
+ */
+@Component
+public class CatalogRefresher implements AutoCloseable {
+
+    private final RaceCatalogCache raceCatalogCache;
+    private final WorldRepository worldRepository;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * 設定で有効な場合、カタログの更新の確認を開始します。
+     *
+     * @param raceCatalogCache 種族カタログのキャッシュ
+     * @param worldRepository  転生先世界のリポジトリ
+     * @param properties       更新の確認の設定
+     */
+    public CatalogRefresher(RaceCatalogCache raceCatalogCache, WorldRepository worldRepository,
+                            CatalogRefreshProperties properties) {
+        this.raceCatalogCache = raceCatalogCache;
+        this.worldRepository = worldRepository;
+        if (!properties.enabled()) {
+            this.scheduler = null;
+            return;
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("catalog-refresher").daemon().factory());
+        var interval = properties.interval().toNanos();
+        scheduler.scheduleWithFixedDelay(this::refresh, interval, interval, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * カタログの版を確認し、変わっていれば種族カタログと世界の一覧を読み込み直します。
+     */
+    void refresh() {
+        try {
+            if (raceCatalogCache.refreshIfChanged()) {
+                var stats = raceCatalogCache.getStats();
+                info("種族カタログの更新を取り込みました（種族数: {}、読み込み時間: {}ms）",
+                        stats.getRaceCount(), stats.getLoadTime().toMillis());
+                worldRepository.refresh();
+            }
+        } catch (RuntimeException e) {
+            // 例外を投げると以降の確認が止まるため、記録して次の間隔で再試行する
+            warn("種族カタログの更新の確認に失敗しました: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * カタログの更新の確認を停止します。
+     */
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
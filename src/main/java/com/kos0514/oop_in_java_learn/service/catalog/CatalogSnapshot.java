@@ -0,0 +1,230 @@
+package com.kos0514.oop_in_java_learn.service.catalog;
+
+import com.kos0514.oop_in_java_learn.entity.CatalogVersion;
+import com.kos0514.oop_in_java_learn.entity.RaceWithModifiers;
+import com.kos0514.oop_in_java_learn.entity.generated.Race;
+import com.kos0514.oop_in_java_learn.enums.RaceRarity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.kos0514.oop_in_java_learn.enums.RaceRarity.SECRET;
+
+/**
+ * ある時点の種族カタログ全体を表す変更不可のスナップショット。
+ * <p>
+ * {@link RaceRarity}の上限ごとの種族リストと、種族ごとのステータス修正値を同じ版で保持します。
+ * 生成後は変更しないため、ロックせずに複数のスレッドから参照できます。
+ * カタログが更新された場合は、新しいスナップショットを作って丸ごと差し替えます。
+ * </p>
+ *
+ * <p>種族リストはエンティティではなく、詰め替えた表や読み込み元のバッファから種族を復元します。
+ * 詰め替えた表は最初の参照で復元した種族を使い回し、読み込み元のバッファは参照のたびに復元します。
+ * 同じインスタンスになるとは限らないため、種族はIDや{@code equals}で比較してください。
+ * IDで1種族を探す場合は、リストを走査せずに{@link #findRace(String, RaceRarity)}を使ってください。</p>
+ *
+ * <p>修正値は種族ごとに連番の行番号を振り、STR, VIT, INT, AGI, DEX, LUK, HP, MP の順の
+ * {@code int[]}として並べています。参照時にエンティティや{@link java.util.Optional}は割り当てません。</p>
+ */
+public final class CatalogSnapshot {
+
+    /**
+     * 1種族あたりの修正値の項目数
+     */
+    public static final int MODIFIER_COUNT = 8;
+
+    private static final RaceRarity[] RARITIES = RaceRarity.values();
+
+    private final List<List<Race>> racesByCeiling;
+
+    /**
+     * 種族IDごとの、全種族のリスト上の位置
+     */
+    private final Map<String, Integer> positionByRaceId;
+
+    /**
+     * 全種族のリスト上の位置ごとの、その種族を含む最小の希少度の上限の序数
+     */
+    private final byte[] minCeilings;
+
+    private final Map<String, Integer> modifierIndexByRaceId;
+    private final int[][] modifiers;
+    private final CatalogVersion version;
+
+    /**
+     * 希少度の上限ごとの名前の索引（最初の検索時に作成する）
+     */
+    private final AtomicReferenceArray<RaceNameIndex> nameIndexes = new AtomicReferenceArray<>(RARITIES.length);
+
+    private CatalogSnapshot(List<List<Race>> racesByCeiling, Map<String, Integer> positionByRaceId, byte[] minCeilings,
+                            Map<String, Integer> modifierIndexByRaceId, int[][] modifiers, CatalogVersion version) {
+        this.racesByCeiling = racesByCeiling;
+        this.positionByRaceId = positionByRaceId;
+        this.minCeilings = minCeilings;
+        this.modifierIndexByRaceId = modifierIndexByRaceId;
+        this.modifiers = modifiers;
+        this.version = version;
+    }
+
+    /**
+     * 種族と修正値の結合結果からスナップショットを作成します。
+     * <p>
+     * 種族は{@link CompactRaceTable}に詰め替え、名前や説明などの文字列は重複を除いて
+     * 1つのUTF-8の領域({@link CatalogTextStore})にまとめます。返す種族リストの要素は最初の参照で復元し、
+     * 以降は同じ種族を返します。
+     * </p>
+     *
+     * @param rows    希少度順に並んだ種族と修正値の結合結果
+     * @param version 結合結果を読み込む直前に取得したカタログの版
+     * @return 作成したスナップショット
+     */
+    public static CatalogSnapshot of(List<RaceWithModifiers> rows, CatalogVersion version) {
+        var allRaces = new ArrayList<Race>(rows.size());
+        var positionByRaceId = new HashMap<String, Integer>(rows.size() * 2);
+        var modifierIndexByRaceId = new HashMap<String, Integer>(rows.size() * 2);
+        var modifiers = new ArrayList<int[]>(rows.size());
+        for (var row : rows) {
+            positionByRaceId.put(row.getId(), allRaces.size());
+            allRaces.add(row.toRace());
+            var modifier = row.toModifiers();
+            if (modifier != null) {
+                modifierIndexByRaceId.put(row.getId(), modifiers.size());
+                modifiers.add(modifier);
+            }
+        }
+        // 読み込んだエンティティは表に詰め替えた後は保持しない
+        var table = CompactRaceTable.of(allRaces);
+
+        var racesByCeiling = new ArrayList<List<Race>>(RARITIES.length);
+        var minCeilings = new byte[table.size()];
+        Arrays.fill(minCeilings, (byte) SECRET.ordinal());
+        for (var ceiling : RARITIES) {
+            // 絞り込みは元の並び順を保つため、希少度ごとに問い合わせた場合と同じ順序になる
+            var indices = new int[table.size()];
+            var count = 0;
+            for (var i = 0; i < table.size(); i++) {
+                if (table.rarity(i).getRequiredWins() <= ceiling.getRequiredWins()) {
+                    indices[count++] = i;
+                    minCeilings[i] = (byte) Math.min(minCeilings[i], ceiling.ordinal());
+                }
+            }
+            racesByCeiling.add(table.view(Arrays.copyOf(indices, count)));
+        }
+        return new CatalogSnapshot(
+                List.copyOf(racesByCeiling), Map.copyOf(positionByRaceId), minCeilings,
+                Map.copyOf(modifierIndexByRaceId), modifiers.toArray(int[][]::new), version);
+    }
+
+    /**
+     * 希少度順に並んだ種族リストからスナップショットを作成します。
+     * <p>
+     * 種族リストは要素を参照のたびに復元する遅延リストでもかまいません。スナップショットは
+     * 希少度の上限ごとにリストの先頭部分のビューを返すだけで、要素をコピーしたり保持したりしません。
+     * </p>
+     *
+     * @param races             希少度順に並んだ変更不可の種族リスト
+     * @param ceilingSizes      希少度の上限ごとの種族数（{@link RaceRarity}の序数の順）
+     * @param positionByRaceId  種族IDごとの、種族リスト上の位置
+     * @param modifiersByRaceId 種族IDごとの修正値（修正値がない種族は含めない）
+     * @param version           カタログの版
+     * @return 作成したスナップショット
+     */
+    public static CatalogSnapshot of(List<Race> races, int[] ceilingSizes, Map<String, Integer> positionByRaceId,
+                                     Map<String, int[]> modifiersByRaceId, CatalogVersion version) {
+        var racesByCeiling = new ArrayList<List<Race>>(RARITIES.length);
+        for (var ceiling : RARITIES) {
+            racesByCeiling.add(races.subList(0, ceilingSizes[ceiling.ordinal()]));
+        }
+        // 上限ごとの種族は先頭からの連続した範囲のため、位置から含まれる最小の上限が決まる
+        var minCeilings = new byte[ceilingSizes[SECRET.ordinal()]];
+        for (var ceiling = RARITIES.length - 1; ceiling >= 0; ceiling--) {
+            Arrays.fill(minCeilings, 0, ceilingSizes[ceiling], (byte) ceiling);
+        }
+        var modifierIndexByRaceId = new HashMap<String, Integer>(modifiersByRaceId.size() * 2);
+        var modifiers = new ArrayList<int[]>(modifiersByRaceId.size());
+        modifiersByRaceId.forEach((raceId, modifier) -> {
+            modifierIndexByRaceId.put(raceId, modifiers.size());
+            modifiers.add(modifier);
+        });
+        return new CatalogSnapshot(
+                List.copyOf(racesByCeiling), Map.copyOf(positionByRaceId), minCeilings,
+                Map.copyOf(modifierIndexByRaceId), modifiers.toArray(int[][]::new), version);
+    }
+
+    /**
+     * 指定された希少度以下の種族リストを取得します。
+     *
+     * @param maxRarity 取得する種族の最大希少度
+     * @return 指定された希少度以下の変更不可の種族リスト
+     */
+    public List<Race> racesUpTo(RaceRarity maxRarity) {
+        return racesByCeiling.get(maxRarity.ordinal());
+    }
+
+    /**
+     * 指定された希少度以下の種族から、IDに一致する種族を取得します。
+     * 種族リストは走査せず、IDの索引で位置を求めて一致した1種族だけを復元します。
+     *
+     * @param raceId    種族のID
+     * @param maxRarity 選択可能な最大希少度
+     * @return 種族（存在しない、または希少度が上限を超える場合はnull）
+     */
+    public Race findRace(String raceId, RaceRarity maxRarity) {
+        var position = raceId == null ? null : positionByRaceId.get(raceId);
+        if (position == null || minCeilings[position] > maxRarity.ordinal()) {
+            return null;
+        }
+        return racesByCeiling.get(SECRET.ordinal()).get(position);
+    }
+
+    /**
+     * 指定された希少度以下の種族リストを名前で検索する索引を取得します。
+     * 索引は上限ごとに最初の呼び出しで作成し、以降は同じ索引を返します。
+     * 同時に作成されることがありますが、内容は同じため問題ありません。
+     *
+     * @param maxRarity 検索する種族の最大希少度
+     * @return {@link #racesUpTo(RaceRarity)}の種族リスト上の位置を返す名前の索引
+     */
+    public RaceNameIndex nameIndex(RaceRarity maxRarity) {
+        var index = nameIndexes.get(maxRarity.ordinal());
+        if (index == null) {
+            index = RaceNameIndex.of(racesUpTo(maxRarity));
+            nameIndexes.set(maxRarity.ordinal(), index);
+        }
+        return index;
+    }
+
+    /**
+     * 種族のステータス修正値を取得します。
+     * 返される配列はスナップショットで共有しているため、呼び出し元で変更しないでください。
+     *
+     * @param raceId 種族のID
+     * @return STR, VIT, INT, AGI, DEX, LUK, HP, MP の順の修正値（修正値がない種族の場合はnull）
+     */
+    public int[] modifiersOf(String raceId) {
+        var index = modifierIndexByRaceId.get(raceId);
+        return index == null ? null : modifiers[index];
+    }
+
+    /**
+     * スナップショットに含まれる種族の数を取得します。
+     *
+     * @return 種族の数
+     */
+    public int raceCount() {
+        return racesByCeiling.get(SECRET.ordinal()).size();
+    }
+
+    /**
+     * スナップショットの元になったカタログの版を取得します。
+     *
+     * @return カタログの版（取得できなかった場合はnull）
+     */
+    public CatalogVersion getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,117 @@
+package com.kos0514.oop_in_java_learn.service.catalog;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 種族カタログの文字列をまとめて保持する変更不可の領域。
+ * <p>
+ * すべての文字列をUTF-8で1つのバイト配列に連結し、各文字列は位置と長さを詰めた{@code long}の
+ * ハンドルで参照します。同じ文字列は1回だけ格納するため、複数の種族で共通の説明などは領域を共有します。
+ * 文字列のオブジェクトは保持せず、{@link #text(long)}で表示する時点に復元します。
+ * </p>
+ *
+ * <p>生成後は変更しないため、ロックせずに複数のスレッドから参照できます。</p>
+ */
+public final class CatalogTextStore {
+
+    /**
+     * nullを表すハンドル
+     */
+    public static final long NULL_HANDLE = -1L;
+
+    private final byte[] arena;
+
+    private CatalogTextStore(byte[] arena) {
+        this.arena = arena;
+    }
+
+    /**
+     * 文字列を格納する{@link Builder}を生成します。
+     *
+     * @return ビルダー
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * ハンドルが指す文字列を復元します。呼び出すたびに新しい文字列を返します。
+     *
+     * @param handle {@link Builder#add(String)}が返したハンドル
+     * @return 文字列（{@link #NULL_HANDLE}の場合はnull）
+     */
+    public String text(long handle) {
+        if (handle == NULL_HANDLE) {
+            return null;
+        }
+        return new String(arena, offset(handle), length(handle), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 文字列を格納している領域のバイト数を取得します。
+     *
+     * @return 領域のバイト数
+     */
+    public int byteSize() {
+        return arena.length;
+    }
+
+    private static int offset(long handle) {
+        return (int) (handle >>> Integer.SIZE);
+    }
+
+    private static int length(long handle) {
+        return (int) handle;
+    }
+
+    /**
+     * 文字列を重複なく連結して{@link CatalogTextStore}を作成するビルダー。
+     * 格納済みの文字列の対応表は作成時にだけ使い、作成した領域には残しません。
+     */
+    public static final class Builder {
+
+        private byte[] arena = new byte[1024];
+        private int size;
+        private final Map<String, Long> handles = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * 文字列を格納し、参照するハンドルを返します。格納済みの文字列の場合は同じハンドルを返します。
+         *
+         * @param text 格納する文字列
+         * @return 文字列のハンドル（nullの場合は{@link #NULL_HANDLE}）
+         */
+        public long add(String text) {
+            if (text == null) {
+                return NULL_HANDLE;
+            }
+            var handle = handles.get(text);
+            if (handle != null) {
+                return handle;
+            }
+            var bytes = text.getBytes(StandardCharsets.UTF_8);
+            if (size + bytes.length > arena.length) {
+                arena = Arrays.copyOf(arena, Math.max(arena.length * 2, size + bytes.length));
+            }
+            System.arraycopy(bytes, 0, arena, size, bytes.length);
+            var added = ((long) size << Integer.SIZE) | bytes.length;
+            size += bytes.length;
+            handles.put(text, added);
+            return added;
+        }
+
+        /**
+         * 格納した文字列から領域を作成します。
+         *
+         * @return 作成した領域
+         */
+        public CatalogTextStore build() {
+            return new CatalogTextStore(Arrays.copyOf(arena, size));
+        }
+    }
+}
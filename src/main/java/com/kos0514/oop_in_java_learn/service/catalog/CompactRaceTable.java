@@ -0,0 +1,241 @@
+package com.kos0514.oop_in_java_learn.service.catalog;
+
+import com.kos0514.oop_in_java_learn.entity.generated.Race;
+import com.kos0514.oop_in_java_learn.enums.RaceRarity;
+
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 種族を列ごとの配列に詰めて保持する変更不可の表。
+ * <p>
+ * 作成時は種族のエンティティを保持せず、IDと希少度・日時を配列に、日本語名・英語名・特殊能力・説明を
+ * {@link CatalogTextStore}のハンドルの番号として保持します。種族は表示などで最初に参照した時に1回だけ復元し、
+ * 以降は同じインスタンスを返すため、繰り返し参照しても割り当ては発生しません。
+ * </p>
+ *
+ * <p>復元した文字列もハンドルごとに1回だけ作って共有するため、同じ説明を持つ種族は
+ * 復元後も同じ文字列を参照します。参照されない種族の文字列は作られません。</p>
+ */
+final class CompactRaceTable {
+
+    private static final RaceRarity[] RARITIES = RaceRarity.values();
+
+    /**
+     * 1種族あたりの文字列のハンドルの数（日本語名・英語名・特殊能力・説明）
+     */
+    private static final int TEXT_COUNT = 4;
+
+    /**
+     * 日時がnullであることを表す値
+     */
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    // ハンドルの並び順
+    private static final int JAPANESE_NAME = 0;
+    private static final int ENGLISH_NAME = 1;
+    private static final int SPECIAL_ABILITY = 2;
+    private static final int DESCRIPTION = 3;
+
+    /**
+     * 文字列がnullであることを表す番号
+     */
+    private static final int NO_TEXT = -1;
+
+    private final String[] ids;
+    private final byte[] rarities;
+    private final long[] createdAt;
+    private final long[] updatedAt;
+
+    /**
+     * 種族ごとの文字列の番号（{@link #handles}の添字）
+     */
+    private final int[] textIds;
+
+    /**
+     * 重複を除いた文字列のハンドル
+     */
+    private final long[] handles;
+    private final CatalogTextStore textStore;
+
+    /**
+     * 復元済みの文字列（{@link #handles}と同じ添字、未復元の場合はnull）
+     */
+    private final AtomicReferenceArray<String> decodedTexts;
+
+    /**
+     * 復元済みの種族（未復元の場合はnull）
+     */
+    private final AtomicReferenceArray<Race> races;
+
+    private CompactRaceTable(String[] ids, byte[] rarities, long[] createdAt, long[] updatedAt,
+                             int[] textIds, long[] handles, CatalogTextStore textStore) {
+        this.ids = ids;
+        this.rarities = rarities;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.textIds = textIds;
+        this.handles = handles;
+        this.textStore = textStore;
+        this.decodedTexts = new AtomicReferenceArray<>(handles.length);
+        this.races = new AtomicReferenceArray<>(ids.length);
+    }
+
+    /**
+     * 種族のリストから表を作成します。
+     *
+     * @param races 表に格納する種族のリスト
+     * @return 作成した表
+     */
+    static CompactRaceTable of(List<Race> races) {
+        var count = races.size();
+        var ids = new String[count];
+        var rarities = new byte[count];
+        var createdAt = new long[count];
+        var updatedAt = new long[count];
+        var textIds = new int[count * TEXT_COUNT];
+        var textStore = CatalogTextStore.builder();
+        var textIdByHandle = new HashMap<Long, Integer>();
+        for (var i = 0; i < count; i++) {
+            var race = races.get(i);
+            ids[i] = race.getId();
+            rarities[i] = (byte) RaceRarity.valueOf(race.getRarity()).ordinal();
+            createdAt[i] = toMillis(race.getCreatedAt());
+            updatedAt[i] = toMillis(race.getUpdatedAt());
+            var text = i * TEXT_COUNT;
+            textIds[text + JAPANESE_NAME] = textId(textStore.add(race.getJapaneseName()), textIdByHandle);
+            textIds[text + ENGLISH_NAME] = textId(textStore.add(race.getEnglishName()), textIdByHandle);
+            textIds[text + SPECIAL_ABILITY] = textId(textStore.add(race.getSpecialAbility()), textIdByHandle);
+            textIds[text + DESCRIPTION] = textId(textStore.add(race.getDescription()), textIdByHandle);
+        }
+        var handles = new long[textIdByHandle.size()];
+        textIdByHandle.forEach((handle, id) -> handles[id] = handle);
+        return new CompactRaceTable(ids, rarities, createdAt, updatedAt, textIds, handles, textStore.build());
+    }
+
+    /**
+     * ハンドルに文字列の番号を振ります。同じハンドルには同じ番号を返します。
+     */
+    private static int textId(long handle, Map<Long, Integer> textIdByHandle) {
+        if (handle == CatalogTextStore.NULL_HANDLE) {
+            return NO_TEXT;
+        }
+        return textIdByHandle.computeIfAbsent(handle, key -> textIdByHandle.size());
+    }
+
+    /**
+     * 種族の数を取得します。
+     *
+     * @return 種族の数
+     */
+    int size() {
+        return ids.length;
+    }
+
+    /**
+     * 種族の希少度を取得します。文字列は復元しません。
+     *
+     * @param index 種族の番号
+     * @return 希少度
+     */
+    RaceRarity rarity(int index) {
+        return RARITIES[rarities[index]];
+    }
+
+    /**
+     * 種族のエンティティを取得します。最初の呼び出しで復元し、以降は同じインスタンスを返します。
+     *
+     * @param index 種族の番号
+     * @return 種族
+     */
+    Race race(int index) {
+        var race = races.get(index);
+        if (race != null) {
+            return race;
+        }
+        var text = index * TEXT_COUNT;
+        var restored = new Race(
+                ids[index],
+                text(textIds[text + JAPANESE_NAME]),
+                text(textIds[text + ENGLISH_NAME]),
+                rarity(index).name(),
+                toDate(createdAt[index]),
+                toDate(updatedAt[index]),
+                text(textIds[text + SPECIAL_ABILITY]),
+                text(textIds[text + DESCRIPTION]));
+        // 同時に復元した場合も、先に登録した種族だけを返す
+        return races.compareAndSet(index, null, restored) ? restored : races.get(index);
+    }
+
+    /**
+     * 文字列を取得します。最初の呼び出しで領域から復元し、以降は同じ文字列を返します。
+     */
+    private String text(int textId) {
+        if (textId == NO_TEXT) {
+            return null;
+        }
+        var text = decodedTexts.get(textId);
+        if (text != null) {
+            return text;
+        }
+        var decoded = textStore.text(handles[textId]);
+        return decodedTexts.compareAndSet(textId, null, decoded) ? decoded : decodedTexts.get(textId);
+    }
+
+    /**
+     * 指定した番号の種族を順に並べた変更不可のリストを返します。要素は最初の参照で復元します。
+     *
+     * @param indices 種族の番号の配列（呼び出し後に変更しないこと）
+     * @return 種族のリスト
+     */
+    List<Race> view(int[] indices) {
+        return Collections.unmodifiableList(new RaceView(this, indices));
+    }
+
+    /**
+     * 文字列を格納している領域のバイト数を取得します。
+     *
+     * @return 領域のバイト数
+     */
+    int textBytes() {
+        return textStore.byteSize();
+    }
+
+    private static long toMillis(Date date) {
+        return date == null ? NO_DATE : date.getTime();
+    }
+
+    private static Date toDate(long millis) {
+        return millis == NO_DATE ? null : new Date(millis);
+    }
+
+    /**
+     * 表の一部の種族を最初の参照で復元するリスト。
+     */
+    private static final class RaceView extends AbstractList<Race> implements RandomAccess {
+
+        private final CompactRaceTable table;
+        private final int[] indices;
+
+        private RaceView(CompactRaceTable table, int[] indices) {
+            this.table = table;
+            this.indices = indices;
+        }
+
+        @Override
+        public Race get(int index) {
+            return table.race(indices[index]);
+        }
+
+        @Override
+        public int size() {
+            return indices.length;
+        }
+    }
+}
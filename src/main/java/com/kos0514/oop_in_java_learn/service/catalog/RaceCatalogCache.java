@@ -0,0 +1,226 @@
+package com.kos0514.oop_in_java_learn.service.catalog;
+
+import com.kos0514.oop_in_java_learn.context.SessionContext;
+import com.kos0514.oop_in_java_learn.entity.CatalogVersion;
+import com.kos0514.oop_in_java_learn.entity.generated.Race;
+import com.kos0514.oop_in_java_learn.enums.RaceRarity;
+import com.kos0514.oop_in_java_learn.mapper.RaceCatalogSource;
+import com.kos0514.oop_in_java_learn.mapper.RaceMapper;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.kos0514.oop_in_java_learn.enums.RaceRarity.SECRET;
+
+/**
+ * 種族カタログをメモリ上に保持するキャッシュ。
+ * <p>
+ * 最初の参照時に種族とステータス修正値を{@link RaceCatalogSource#selectWithModifiersUpToRarity(RaceRarity)}で
+ * まとめて読み込み、変更不可の{@link CatalogSnapshot}を作っておきます。以降の参照はスナップショットから
+ * 引くだけで、DBへの問い合わせもオブジェクトの割り当ても行いません。
+ * </p>
+ *
+ * <p>カタログの更新は{@link #refreshIfChanged()}で取り込みます。新しいスナップショットを作ってから
+ * 参照を1回で差し替えるため、読み取り側はロックせず、更新途中のカタログを見ることもありません。
+ * 現在の{@link SessionContext}がカタログを固定している場合は、セッションの間そのスナップショットを参照します。</p>
+ *
+ * <p>読み込み元は通常DBを参照する{@link RaceMapper}で、DBを使わない構成ではクラスパス上またはファイルの
+ * スナップショットです（{@link RaceCatalogSourceConfig}）。読み込み元が{@link SnapshotCatalogSource}の場合は、
+ * 行を読み込む代わりに読み込み元が作成したスナップショットをそのまま使います。
+ * 各リストの並び順は{@link RaceMapper#selectUpToRarity(RaceRarity)}と同じ希少度順です。
+ * 保持しているカタログを捨てて読み込み直すには{@link #invalidate()}で破棄します。</p>
+ */
+@Component
+public class RaceCatalogCache {
+
+    private final RaceCatalogSource raceCatalogSource;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+
+    /**
+     * 最新のスナップショット（未読み込みの場合はnull）
+     */
+    private volatile CatalogSnapshot latest;
+
+    private volatile Duration loadTime = Duration.ZERO;
+
+    /**
+     * キャッシュを生成します。カタログは最初の参照時に読み込みます。
+     *
+     * @param raceCatalogSource 種族カタログの読み込み元
+     */
+    public RaceCatalogCache(RaceCatalogSource raceCatalogSource) {
+        this.raceCatalogSource = raceCatalogSource;
+    }
+
+    /**
+     * 指定された希少度以下の種族リストを取得します。
+     *
+     * @param maxRarity 取得する種族の最大希少度
+     * @return 指定された希少度以下の変更不可の種族リスト
+     */
+    public List<Race> racesUpTo(RaceRarity maxRarity) {
+        return snapshot().racesUpTo(maxRarity);
+    }
+
+    /**
+     * 指定された希少度以下の種族から、IDに一致する種族を取得します。
+     *
+     * @param raceId    種族のID
+     * @param maxRarity 選択可能な最大希少度
+     * @return 種族（存在しない、または希少度が上限を超える場合はnull）
+     */
+    public Race findRace(String raceId, RaceRarity maxRarity) {
+        return snapshot().findRace(raceId, maxRarity);
+    }
+
+    /**
+     * 指定された希少度以下の種族リストを名前で検索する索引を取得します。
+     *
+     * @param maxRarity 検索する種族の最大希少度
+     * @return {@link #racesUpTo(RaceRarity)}の種族リスト上の位置を返す名前の索引
+     */
+    public RaceNameIndex nameIndex(RaceRarity maxRarity) {
+        return snapshot().nameIndex(maxRarity);
+    }
+
+    /**
+     * 種族のステータス修正値を取得します。
+     * 返される配列はスナップショットで共有しているため、呼び出し元で変更しないでください。
+     *
+     * @param raceId 種族のID
+     * @return STR, VIT, INT, AGI, DEX, LUK, HP, MP の順の修正値（修正値がない種族の場合はnull）
+     */
+    public int[] modifiersOf(String raceId) {
+        return snapshot().modifiersOf(raceId);
+    }
+
+    /**
+     * 現在のセッションが参照するスナップショットを取得します。
+     * セッションがカタログを固定している場合はそのスナップショット、そうでなければ最新のスナップショットです。
+     *
+     * @return 参照するスナップショット
+     */
+    public CatalogSnapshot snapshot() {
+        var pinned = SessionContext.currentCatalog();
+        return pinned != null ? pinned : latest();
+    }
+
+    /**
+     * 最新のスナップショットを取得します。未読み込みの場合は読み込みます。
+     *
+     * @return 最新のスナップショット
+     */
+    public CatalogSnapshot latest() {
+        var loaded = latest;
+        if (loaded != null) {
+            hits.increment();
+            return loaded;
+        }
+        return load();
+    }
+
+    /**
+     * カタログが未読み込みの場合に読み込みます。
+     * セッションの開始時など、最初の参照より前に読み込んでおく場合に使用します。
+     */
+    public void preload() {
+        if (latest == null) {
+            load();
+        }
+    }
+
+    /**
+     * カタログの版を確認し、読み込み済みのスナップショットから変わっていれば読み込み直して差し替えます。
+     * 未読み込みの場合は何もしません（最初の参照時に読み込みます）。
+     *
+     * @return 差し替えた場合はtrue
+     */
+    public boolean refreshIfChanged() {
+        var current = latest;
+        if (current == null) {
+            return false;
+        }
+        var version = raceCatalogSource.selectCatalogVersion();
+        if (Objects.equals(version, current.getVersion())) {
+            return false;
+        }
+        return reload(current, version);
+    }
+
+    /**
+     * 保持しているカタログを破棄します。次の参照時にDBから読み込み直します。
+     */
+    public synchronized void invalidate() {
+        latest = null;
+    }
+
+    /**
+     * キャッシュの統計を取得します。
+     *
+     * @return ヒット・ミス回数と読み込み時間を含む統計
+     */
+    public RaceCatalogCacheStats getStats() {
+        var loaded = latest;
+        return new RaceCatalogCacheStats(
+                hits.sum(),
+                misses.sum(),
+                loadTime,
+                loaded == null ? 0 : loaded.raceCount(),
+                refreshes.sum());
+    }
+
+    /**
+     * 同時に読み込まないように排他してカタログを読み込みます。
+     * 待っている間に他のスレッドが読み込み終えた場合はヒットとして扱います。
+     *
+     * @return 最新のスナップショット
+     */
+    private synchronized CatalogSnapshot load() {
+        var loaded = latest;
+        if (loaded != null) {
+            hits.increment();
+            return loaded;
+        }
+        misses.increment();
+        return swap(raceCatalogSource.selectCatalogVersion());
+    }
+
+    /**
+     * 確認したときのスナップショットが差し替えられていなければ、カタログを読み込み直して差し替えます。
+     *
+     * @param checked 版を確認したときのスナップショット
+     * @param version 確認したカタログの版
+     * @return 差し替えた場合はtrue
+     */
+    private synchronized boolean reload(CatalogSnapshot checked, CatalogVersion version) {
+        if (latest != checked) {
+            // 待っている間に破棄または差し替えられた場合は、その結果を優先する
+            return false;
+        }
+        refreshes.increment();
+        swap(version);
+        return true;
+    }
+
+    /**
+     * カタログを読み込んで新しいスナップショットを作り、最新のスナップショットを差し替えます。
+     * 版は読み込みの前に取得したものを記録するため、読み込み中の更新は次の確認で検出されます。
+     *
+     * @param version 読み込みの直前に取得したカタログの版
+     * @return 差し替えたスナップショット
+     */
+    private CatalogSnapshot swap(CatalogVersion version) {
+        var started = System.nanoTime();
+        var snapshot = raceCatalogSource instanceof SnapshotCatalogSource source
+                ? source.loadSnapshot(version)
+                : CatalogSnapshot.of(raceCatalogSource.selectWithModifiersUpToRarity(SECRET), version);
+        loadTime = Duration.ofNanos(System.nanoTime() - started);
+        latest = snapshot;
+        return snapshot;
+    }
+}
@@ -0,0 +1,36 @@
+package com.kos0514.oop_in_java_learn.service.catalog;
+
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * 種族カタログのキャッシュの統計を表す値オブジェクト。
+ */
+@Value
+public class RaceCatalogCacheStats {
+    /**
+     * 読み込み済みのカタログから返した回数
+     */
+    long hits;
+
+    /**
+     * カタログが未読み込みのためDBから読み込んだ回数
+     */
+    long misses;
+
+    /**
+     * 直近の読み込みにかかった時間（未読み込みの場合は0）
+     */
+    Duration loadTime;
+
+    /**
+     * 読み込み済みのカタログに含まれる種族の数
+     */
+    int raceCount;
+
+    /**
+     * カタログの更新を検出してスナップショットを差し替えた回数
+     */
+    long refreshes;
+}
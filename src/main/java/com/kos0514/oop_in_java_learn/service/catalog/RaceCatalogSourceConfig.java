@@ -0,0 +1,58 @@
+package com.kos0514.oop_in_java_learn.service.catalog;
+
+import com.kos0514.oop_in_java_learn.mapper.RaceCatalogSource;
+import com.kos0514.oop_in_java_learn.mapper.RaceMapper;
+import com.kos0514.oop_in_java_learn.service.catalog.embedded.EmbeddedRaceCatalog;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.nio.file.Path;
+
+import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.info;
+
+/**
+ * 種族カタログの読み込み元を設定に応じて選ぶ構成クラス。
+ * <p>
+ * {@code transmigration.catalog.source}がEMBEDDEDの場合はクラスパス上のスナップショットを、
+ * MAPPEDの場合はメモリマップしたスナップショットのファイルを使い、{@link RaceMapper}を参照しません。DBを使わずに起動するには、{@code embedded}プロファイルで
+ * DataSourceとMyBatisの自動構成も外します。
+ * </p>
+ */
+@Configuration
+public class RaceCatalogSourceConfig {
+
+    /**
+     * 種族カタログの読み込み元を作成します。
+     *
+     * @param properties 読み込み元の設定
+     * @param raceMapper 種族のマッパー（読み込み元がDATABASEの場合だけ取得する）
+     * @return 種族カタログの読み込み元
+     * @throws IllegalStateException 読み込み元がMAPPEDでファイルが指定されていない場合
+     */
+    @Bean
+    @Primary
+    public RaceCatalogSource raceCatalogSource(RaceCatalogSourceProperties properties,
+                                               ObjectProvider<RaceMapper> raceMapper) {
+        return switch (properties.source()) {
+            case DATABASE -> raceMapper.getObject();
+            case EMBEDDED -> {
+                var catalog = EmbeddedRaceCatalog.load(properties.embeddedResource());
+                info("組み込みの種族カタログを使用します: {}（種族数: {}）",
+                        properties.embeddedResource(), catalog.raceCount());
+                yield catalog;
+            }
+            case MAPPED -> {
+                if (properties.mappedFile() == null || properties.mappedFile().isBlank()) {
+                    throw new IllegalStateException(
+                            "transmigration.catalog.mapped-fileにスナップショットのファイルを指定してください");
+                }
+                var catalog = EmbeddedRaceCatalog.map(Path.of(properties.mappedFile()));
+                info("メモリマップした種族カタログを使用します: {}（種族数: {}）",
+                        properties.mappedFile(), catalog.raceCount());
+                yield catalog;
+            }
+        };
+    }
+}
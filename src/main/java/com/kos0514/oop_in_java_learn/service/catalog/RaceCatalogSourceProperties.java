@@ -0,0 +1,25 @@
+package com.kos0514.oop_in_java_learn.service.catalog;
+
+import com.kos0514.oop_in_java_learn.enums.CatalogSourceType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 種族カタログの読み込み元に関する設定プロパティ。
+ *
+ * @param source           種族カタログの読み込み元
+ * @param embeddedResource 読み込み元がEMBEDDEDの場合に読むクラスパス上のスナップショット
+ * @param mappedFile       読み込み元がMAPPEDの場合にメモリマップするスナップショットのファイル
+ *                         （実行中は書き換えず、一時ファイルからの原子的な置き換えで更新すること）
+ */
+@ConfigurationProperties(prefix = "transmigration.catalog")
+public record RaceCatalogSourceProperties(
+        @DefaultValue("database")
+        CatalogSourceType source,
+
+        @DefaultValue("catalog/race-catalog.bin")
+        String embeddedResource,
+
+        String mappedFile
+) {
+}
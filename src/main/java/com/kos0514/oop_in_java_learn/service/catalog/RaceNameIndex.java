@@ -0,0 +1,158 @@
+package com.kos0514.oop_in_java_learn.service.catalog;
+
+import com.kos0514.oop_in_java_learn.entity.generated.Race;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 種族の日本語名と英語名を前方一致で検索する変更不可の索引。
+ * <p>
+ * 正規化した名前と種族リスト上の位置の組を名前の順に並べた配列で保持し、
+ * 検索は二分探索で先頭の候補を見つけてから一致する範囲だけを読みます。
+ * 検索にかかる時間は種族の数ではなく、返す候補の数で決まります。
+ * </p>
+ *
+ * <p>名前はNFKCで正規化して小文字にし、ひらがなはカタカナに揃えます。
+ * 全角・半角や大文字・小文字、ひらがな・カタカナの違いを区別せずに検索できます。</p>
+ */
+public final class RaceNameIndex {
+
+    /**
+     * ひらがなとカタカナの文字コードの差
+     */
+    private static final int KATAKANA_OFFSET = 'ア' - 'あ';
+
+    private final String[] keys;
+    private final int[] positions;
+
+    private RaceNameIndex(String[] keys, int[] positions) {
+        this.keys = keys;
+        this.positions = positions;
+    }
+
+    /**
+     * 種族リストの名前から索引を作成します。
+     *
+     * @param races 索引を作成する種族リスト
+     * @return 作成した索引
+     */
+    public static RaceNameIndex of(List<Race> races) {
+        var entries = new Entry[races.size() * 2];
+        var count = 0;
+        for (var i = 0; i < races.size(); i++) {
+            var race = races.get(i);
+            count = add(entries, count, race.getJapaneseName(), i);
+            count = add(entries, count, race.getEnglishName(), i);
+        }
+        Arrays.sort(entries, 0, count, Comparator.comparing(Entry::key).thenComparingInt(Entry::position));
+
+        var keys = new String[count];
+        var positions = new int[count];
+        for (var i = 0; i < count; i++) {
+            keys[i] = entries[i].key();
+            positions[i] = entries[i].position();
+        }
+        return new RaceNameIndex(keys, positions);
+    }
+
+    /**
+     * 名前が指定した文字列で始まる種族の位置を検索します。
+     * 日本語名と英語名の両方が一致する種族も1回だけ返します。
+     *
+     * @param prefix 名前の先頭の文字列
+     * @param limit  返す位置の最大数
+     * @return 一致した種族の位置（最大{@code limit}件）
+     */
+    public Match search(String prefix, int limit) {
+        var key = normalize(prefix);
+        if (key.isEmpty()) {
+            return new Match(new int[0], false);
+        }
+        var found = new int[limit];
+        var count = 0;
+        var i = lowerBound(key);
+        for (; i < keys.length && keys[i].startsWith(key) && count < limit; i++) {
+            if (!contains(found, count, positions[i])) {
+                found[count++] = positions[i];
+            }
+        }
+        var more = false;
+        for (; i < keys.length && keys[i].startsWith(key); i++) {
+            if (!contains(found, count, positions[i])) {
+                more = true;
+                break;
+            }
+        }
+        var result = Arrays.copyOf(found, count);
+        Arrays.sort(result);
+        return new Match(result, more);
+    }
+
+    /**
+     * 名前を検索用に正規化します。
+     *
+     * @param name 名前
+     * @return 正規化した名前（nullの場合は空文字列）
+     */
+    static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        var normalized = Normalizer.normalize(name.strip(), Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        var chars = normalized.toCharArray();
+        for (var i = 0; i < chars.length; i++) {
+            if (chars[i] >= 'ぁ' && chars[i] <= 'ゖ') {
+                chars[i] = (char) (chars[i] + KATAKANA_OFFSET);
+            }
+        }
+        return new String(chars);
+    }
+
+    private static int add(Entry[] entries, int count, String name, int position) {
+        var key = normalize(name);
+        if (key.isEmpty()) {
+            return count;
+        }
+        entries[count] = new Entry(key, position);
+        return count + 1;
+    }
+
+    private int lowerBound(String key) {
+        var low = 0;
+        var high = keys.length;
+        while (low < high) {
+            var mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (var i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Entry(String key, int position) {
+    }
+
+    /**
+     * 検索結果。
+     *
+     * @param positions 一致した種族の、種族リスト上の位置の昇順の配列
+     * @param more      返した件数のほかにも一致する種族がある場合はtrue
+     */
+    public record Match(int[] positions, boolean more) {
+    }
+}
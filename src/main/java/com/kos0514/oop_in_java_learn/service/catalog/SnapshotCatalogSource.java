@@ -0,0 +1,23 @@
+package com.kos0514.oop_in_java_learn.service.catalog;
+
+import com.kos0514.oop_in_java_learn.entity.CatalogVersion;
+import com.kos0514.oop_in_java_learn.mapper.RaceCatalogSource;
+
+/**
+ * スナップショットを直接作成できる種族カタログの読み込み元。
+ * <p>
+ * {@link RaceCatalogCache}は通常、すべての種族と修正値の行を読み込んでから{@link CatalogSnapshot}を組み立てます。
+ * このインターフェースを実装した読み込み元では、代わりに読み込み元が自身のデータを直接参照する
+ * スナップショットを返させるため、種族の文字列をヒープに展開せずに済みます。
+ * </p>
+ */
+public interface SnapshotCatalogSource extends RaceCatalogSource {
+
+    /**
+     * 読み込み元のデータを参照するスナップショットを作成します。
+     *
+     * @param version 作成の直前に取得したカタログの版
+     * @return スナップショット
+     */
+    CatalogSnapshot loadSnapshot(CatalogVersion version);
+}
@@ -0,0 +1,185 @@
+package com.kos0514.oop_in_java_learn.service.catalog.embedded;
+
+import com.kos0514.oop_in_java_learn.entity.CatalogVersion;
+import com.kos0514.oop_in_java_learn.entity.RaceWithModifiers;
+import com.kos0514.oop_in_java_learn.entity.generated.Race;
+import com.kos0514.oop_in_java_learn.enums.RaceRarity;
+import com.kos0514.oop_in_java_learn.service.catalog.CatalogSnapshot;
+import com.kos0514.oop_in_java_learn.service.catalog.SnapshotCatalogSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * 種族カタログのスナップショット（{@link RaceCatalogFile}）から種族カタログを返す読み込み元。
+ * <p>
+ * ビルド時に{@link RaceCatalogCompiler}で初期データから作成したスナップショットを、クラスパスから読み込むか
+ * ({@link #load(String)})、ファイルを読み取り専用でメモリマップします({@link #map(Path)})。
+ * DBに接続しないため、MySQLに到達できない環境でも起動できます。
+ * カタログの版はスナップショットの版で固定され、実行中に変わることはありません。
+ * </p>
+ *
+ * <p>{@link #loadSnapshot(CatalogVersion)}が返すスナップショットは、種族を参照のたびにバッファから復元します。
+ * ヒープに常駐するのは種族IDと修正値だけで、名前や説明などの文字列は保持しません。
+ * メモリマップした場合、ファイルの内容は同じホストで同じファイルをマップしたプロセスの間で
+ * OSのページキャッシュを共有し、起動時の読み込みもほぼ不要になります。</p>
+ */
+public class EmbeddedRaceCatalog implements SnapshotCatalogSource {
+
+    private final RaceCatalogBuffer buffer;
+    private final CatalogVersion version;
+
+    /**
+     * 希少度の上限ごとの種族数（{@link RaceRarity}の序数の順）
+     */
+    private final int[] ceilingSizes;
+
+    /**
+     * 種族IDごとの、種族リスト上の位置
+     */
+    private final Map<String, Integer> positionByRaceId;
+
+    /**
+     * 種族IDごとの修正値（修正値がない種族は含まない）
+     */
+    private final Map<String, int[]> modifiersByRaceId;
+
+    EmbeddedRaceCatalog(RaceCatalogBuffer buffer) {
+        this.buffer = buffer;
+        this.version = new CatalogVersion(buffer.version());
+        var rarities = RaceRarity.values();
+        this.ceilingSizes = new int[rarities.length];
+        var positions = new HashMap<String, Integer>(buffer.raceCount() * 2);
+        var modifiers = new HashMap<String, int[]>(buffer.raceCount() * 2);
+        for (var i = 0; i < buffer.raceCount(); i++) {
+            positions.put(buffer.id(i), i);
+            // 種族は希少度順に並んでいるため、上限ごとの種族は先頭からの連続した範囲になる
+            for (var ceiling = buffer.rarity(i).ordinal(); ceiling < rarities.length; ceiling++) {
+                ceilingSizes[ceiling] = i + 1;
+            }
+            var modifier = buffer.modifiers(i);
+            if (modifier != null) {
+                modifiers.put(buffer.id(i), modifier);
+            }
+        }
+        this.positionByRaceId = Map.copyOf(positions);
+        this.modifiersByRaceId = Map.copyOf(modifiers);
+    }
+
+    /**
+     * クラスパス上のスナップショットを読み込みます。
+     *
+     * @param resource スナップショットのリソース名
+     * @return 読み込んだカタログ
+     * @throws IllegalStateException リソースがない場合
+     * @throws UncheckedIOException  読み込みに失敗した場合
+     */
+    public static EmbeddedRaceCatalog load(String resource) {
+        try (var input = EmbeddedRaceCatalog.class.getClassLoader().getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new IllegalStateException("種族カタログのスナップショット「" + resource
+                        + "」がクラスパスにありません。compileRaceCatalogタスクで作成してください");
+            }
+            return read(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException("種族カタログのスナップショットの読み込みに失敗しました: " + resource, e);
+        }
+    }
+
+    /**
+     * ストリームからスナップショットを読み込みます。ストリームは閉じません。
+     *
+     * @param input 読み込み元
+     * @return 読み込んだカタログ
+     * @throws IOException 読み込みに失敗した場合、または形式が異なる場合
+     */
+    public static EmbeddedRaceCatalog read(InputStream input) throws IOException {
+        return new EmbeddedRaceCatalog(new RaceCatalogBuffer(ByteBuffer.wrap(input.readAllBytes())));
+    }
+
+    /**
+     * スナップショットのファイルを読み取り専用でメモリマップします。
+     * マップはチャネルを閉じた後も有効で、カタログを参照しなくなった時点で解放されます。
+     * <p>
+     * マップした後のファイルは書き換えないでください。マップ中のファイルをその場で書き換えると
+     * 途中まで更新された内容を読み取り、ファイルを切り詰めた場合は参照時にSIGBUSでJVMが停止します。
+     * 更新する場合は同じディレクトリの一時ファイルへ書き出し、{@link java.nio.file.StandardCopyOption#ATOMIC_MOVE}で
+     * 置き換えてください（{@link RaceCatalogCompiler}はこの方法で出力します）。
+     * マップ済みのプロセスは置き換え前のファイルを参照し続けます。
+     * </p>
+     *
+     * @param file スナップショットのファイル
+     * @return マップしたカタログ
+     * @throws UncheckedIOException ファイルを開けない場合、または形式が異なる場合
+     */
+    public static EmbeddedRaceCatalog map(Path file) {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new EmbeddedRaceCatalog(new RaceCatalogBuffer(
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())));
+        } catch (IOException e) {
+            throw new UncheckedIOException("種族カタログのスナップショットのマップに失敗しました: " + file, e);
+        }
+    }
+
+    @Override
+    public CatalogSnapshot loadSnapshot(CatalogVersion version) {
+        return CatalogSnapshot.of(new LazyRaceList(buffer), ceilingSizes, positionByRaceId, modifiersByRaceId, version);
+    }
+
+    @Override
+    public List<RaceWithModifiers> selectWithModifiersUpToRarity(RaceRarity maxRarityLevel) {
+        var size = ceilingSizes[maxRarityLevel.ordinal()];
+        var rows = new ArrayList<RaceWithModifiers>(size);
+        for (var i = 0; i < size; i++) {
+            rows.add(buffer.row(i));
+        }
+        return rows;
+    }
+
+    @Override
+    public CatalogVersion selectCatalogVersion() {
+        return version;
+    }
+
+    /**
+     * スナップショットに含まれる種族の数を取得します。
+     *
+     * @return 種族の数
+     */
+    public int raceCount() {
+        return buffer.raceCount();
+    }
+
+    /**
+     * 要素を参照のたびにバッファから復元する変更不可の種族リスト。
+     */
+    private static final class LazyRaceList extends AbstractList<Race> implements RandomAccess {
+
+        private final RaceCatalogBuffer buffer;
+
+        private LazyRaceList(RaceCatalogBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public Race get(int index) {
+            return buffer.race(index);
+        }
+
+        @Override
+        public int size() {
+            return buffer.raceCount();
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.kos0514.oop_in_java_learn.service.catalog.embedded;
+
+import com.kos0514.oop_in_java_learn.entity.RaceWithModifiers;
+import com.kos0514.oop_in_java_learn.entity.generated.Race;
+import com.kos0514.oop_in_java_learn.enums.RaceRarity;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * {@link RaceCatalogFile}の形式のバイト列を、その場で読み取るビュー。
+ * <p>
+ * 種族の各項目はバッファ上の固定長のレコードと文字列領域から、参照のたびに直接復元します。
+ * バッファが{@link java.nio.channels.FileChannel#map}で読み取り専用にマップしたファイルの場合、
+ * 内容はOSのページキャッシュにだけ置かれ、同じファイルをマップした複数のプロセスで共有されます。
+ * </p>
+ *
+ * <p>読み取りはすべて位置を指定する絶対読み取りで、バッファの位置を変更しないため、
+ * 複数のスレッドから同時に参照できます。</p>
+ */
+class RaceCatalogBuffer {
+
+    /**
+     * ファイルの先頭に置くマジックナンバー（"RCAT"）
+     */
+    static final int MAGIC = 0x52434154;
+
+    /**
+     * 形式の版。互換性のない変更をした場合に上げる
+     */
+    static final short FORMAT_VERSION = 2;
+
+    /**
+     * ヘッダーのバイト数
+     */
+    static final int HEADER_SIZE = 32;
+
+    /**
+     * 1種族あたりの修正値の数（STR, VIT, INT, AGI, DEX, LUK, HP, MP）
+     */
+    static final int MODIFIER_COUNT = 8;
+
+    /**
+     * 1種族あたりの文字列の数（ID・日本語名・英語名・特殊能力・説明）
+     */
+    static final int STRING_COUNT = 5;
+
+    /**
+     * 1種族あたりのレコードのバイト数（希少度・修正値の有無・予備2バイト・修正値・文字列の位置と長さ）
+     */
+    static final short RECORD_SIZE = 4 + MODIFIER_COUNT * Integer.BYTES + STRING_COUNT * 2 * Integer.BYTES;
+
+    private static final RaceRarity[] RARITIES = RaceRarity.values();
+
+    // レコード内の各項目の位置
+    private static final int RARITY = 0;
+    private static final int HAS_MODIFIERS = 1;
+    private static final int MODIFIERS = 4;
+    private static final int STRINGS = MODIFIERS + MODIFIER_COUNT * Integer.BYTES;
+
+    // レコード内の文字列参照（位置と長さ）の並び順
+    private static final int ID = 0;
+    private static final int JAPANESE_NAME = 1;
+    private static final int ENGLISH_NAME = 2;
+    private static final int SPECIAL_ABILITY = 3;
+    private static final int DESCRIPTION = 4;
+
+    private final ByteBuffer buffer;
+    private final int raceCount;
+
+    /**
+     * バッファのヘッダーを検証してビューを作成します。
+     *
+     * @param buffer スナップショットのバイト列（位置0から始まること）
+     * @throws IOException 形式が異なる場合
+     */
+    RaceCatalogBuffer(ByteBuffer buffer) throws IOException {
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("種族カタログのスナップショットではありません");
+        }
+        var formatVersion = buffer.getShort(4);
+        if (formatVersion != FORMAT_VERSION || buffer.getShort(6) != RECORD_SIZE) {
+            throw new IOException("種族カタログのスナップショットの形式が異なります: " + formatVersion);
+        }
+        var count = buffer.getInt(24);
+        if (count < 0 || HEADER_SIZE + (long) count * RECORD_SIZE > buffer.limit()) {
+            throw new IOException("種族カタログのスナップショットが途中で終わっています");
+        }
+        this.buffer = buffer;
+        this.raceCount = count;
+    }
+
+    /**
+     * カタログの版を取得します。
+     *
+     * @return カタログの版
+     */
+    long version() {
+        return buffer.getLong(8);
+    }
+
+    /**
+     * 作成日時を取得します。
+     *
+     * @return 作成日時
+     */
+    Date createdAt() {
+        return new Date(buffer.getLong(16));
+    }
+
+    /**
+     * 種族の数を取得します。
+     *
+     * @return 種族の数
+     */
+    int raceCount() {
+        return raceCount;
+    }
+
+    /**
+     * 種族の希少度を取得します。文字列は復元しません。
+     *
+     * @param index 種族の番号
+     * @return 希少度
+     */
+    RaceRarity rarity(int index) {
+        return RARITIES[buffer.get(record(index) + RARITY)];
+    }
+
+    /**
+     * 種族のIDを取得します。
+     *
+     * @param index 種族の番号
+     * @return 種族のID
+     */
+    String id(int index) {
+        return string(index, ID);
+    }
+
+    /**
+     * 種族のステータス修正値を取得します。
+     *
+     * @param index 種族の番号
+     * @return STR, VIT, INT, AGI, DEX, LUK, HP, MP の順の修正値（修正値がない種族の場合はnull）
+     */
+    int[] modifiers(int index) {
+        var record = record(index);
+        if (buffer.get(record + HAS_MODIFIERS) == 0) {
+            return null;
+        }
+        var modifiers = new int[MODIFIER_COUNT];
+        for (var i = 0; i < MODIFIER_COUNT; i++) {
+            modifiers[i] = buffer.getInt(record + MODIFIERS + i * Integer.BYTES);
+        }
+        return modifiers;
+    }
+
+    /**
+     * 種族のエンティティを復元します。呼び出すたびに文字列を復元した新しいインスタンスを返します。
+     *
+     * @param index 種族の番号
+     * @return 種族
+     */
+    Race race(int index) {
+        var createdAt = createdAt();
+        return new Race(
+                string(index, ID),
+                string(index, JAPANESE_NAME),
+                string(index, ENGLISH_NAME),
+                rarity(index).name(),
+                createdAt,
+                createdAt,
+                string(index, SPECIAL_ABILITY),
+                string(index, DESCRIPTION));
+    }
+
+    /**
+     * 種族と修正値の行を復元します。
+     *
+     * @param index 種族の番号
+     * @return 種族と修正値の行
+     */
+    RaceWithModifiers row(int index) {
+        var race = race(index);
+        var modifiers = modifiers(index);
+        var mods = new Integer[MODIFIER_COUNT];
+        for (var i = 0; modifiers != null && i < MODIFIER_COUNT; i++) {
+            mods[i] = modifiers[i];
+        }
+        return new RaceWithModifiers(
+                race.getId(), race.getJapaneseName(), race.getEnglishName(), race.getRarity(),
+                race.getCreatedAt(), race.getUpdatedAt(), race.getSpecialAbility(), race.getDescription(),
+                mods[0], mods[1], mods[2], mods[3], mods[4], mods[5], mods[6], mods[7]);
+    }
+
+    private int record(int index) {
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+
+    private String string(int index, int field) {
+        var reference = record(index) + STRINGS + field * 2 * Integer.BYTES;
+        var bytes = new byte[buffer.getInt(reference + Integer.BYTES)];
+        buffer.get(buffer.getInt(reference), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
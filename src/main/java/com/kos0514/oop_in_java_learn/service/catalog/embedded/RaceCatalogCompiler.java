@@ -0,0 +1,72 @@
+package com.kos0514.oop_in_java_learn.service.catalog.embedded;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Date;
+import java.util.zip.CRC32;
+
+import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.info;
+
+/**
+ * 初期データのSQLから種族カタログのスナップショットを作成するビルド用のツール。
+ * <p>
+ * Gradleの{@code compileRaceCatalog}タスクから実行され、{@code mysql/01_init.sql}を
+ * {@link RaceCatalogFile}の形式に変換してクラスパスのリソースとして出力します。
+ * カタログの版はSQLの内容のチェックサムのため、初期データを変更した場合だけ値が変わります。
+ * 出力は同じディレクトリの一時ファイルへ書き出してから原子的に置き換えるため、
+ * 出力先をメモリマップしているプロセスが書き込み途中の内容を読むことはありません。
+ * </p>
+ */
+public final class RaceCatalogCompiler {
+
+    private RaceCatalogCompiler() {
+    }
+
+    /**
+     * スナップショットを作成します。
+     *
+     * @param args 初期データのSQLのパスと、出力するスナップショットのパス
+     * @throws IOException 読み書きに失敗した場合
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("使い方: RaceCatalogCompiler <初期データのSQL> <出力ファイル>");
+        }
+        var seed = Path.of(args[0]);
+        var output = Path.of(args[1]);
+        var file = compile(Files.readString(seed, StandardCharsets.UTF_8),
+                new Date(Files.getLastModifiedTime(seed).toMillis()));
+
+        var directory = output.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        // メモリマップ中のプロセスが途中の内容を読まないよう、一時ファイルへ書き出してから置き換える
+        var temp = Files.createTempFile(directory, output.getFileName().toString(), ".tmp");
+        try {
+            try (var stream = Files.newOutputStream(temp)) {
+                file.writeTo(stream);
+            }
+            Files.move(temp, output, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        info("種族カタログのスナップショットを作成しました: {}（種族数: {}、{}バイト）",
+                output, file.getRaces().size(), Files.size(output));
+    }
+
+    /**
+     * 初期データのSQLからスナップショットを作成します。
+     *
+     * @param sql       初期データのSQL
+     * @param createdAt 作成日時
+     * @return スナップショット
+     * @throws IllegalArgumentException SQLの形式が不正な場合
+     */
+    static RaceCatalogFile compile(String sql, Date createdAt) throws IllegalArgumentException {
+        var checksum = new CRC32();
+        checksum.update(sql.getBytes(StandardCharsets.UTF_8));
+        return new RaceCatalogFile(checksum.getValue(), createdAt, SeedSqlReader.read(sql, createdAt));
+    }
+}
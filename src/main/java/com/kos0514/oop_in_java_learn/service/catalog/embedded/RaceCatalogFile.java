@@ -0,0 +1,120 @@
+package com.kos0514.oop_in_java_learn.service.catalog.embedded;
+
+import com.kos0514.oop_in_java_learn.entity.RaceWithModifiers;
+import com.kos0514.oop_in_java_learn.enums.RaceRarity;
+import lombok.Value;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+import static com.kos0514.oop_in_java_learn.service.catalog.embedded.RaceCatalogBuffer.FORMAT_VERSION;
+import static com.kos0514.oop_in_java_learn.service.catalog.embedded.RaceCatalogBuffer.HEADER_SIZE;
+import static com.kos0514.oop_in_java_learn.service.catalog.embedded.RaceCatalogBuffer.MAGIC;
+import static com.kos0514.oop_in_java_learn.service.catalog.embedded.RaceCatalogBuffer.MODIFIER_COUNT;
+import static com.kos0514.oop_in_java_learn.service.catalog.embedded.RaceCatalogBuffer.RECORD_SIZE;
+import static com.kos0514.oop_in_java_learn.service.catalog.embedded.RaceCatalogBuffer.STRING_COUNT;
+
+/**
+ * 種族カタログのスナップショットのバイナリ形式。
+ * <p>
+ * 先頭32バイトのヘッダー（マジックナンバー・形式の版・レコード長・カタログの版・作成日時・種族数）に続けて、
+ * 種族ごとに固定長のレコードを希少度順に並べ、最後に文字列をUTF-8で並べます。
+ * レコードは希少度・修正値の有無・8つの修正値と、ID・日本語名・英語名・特殊能力・説明の
+ * 文字列領域での位置と長さから成ります。固定長のため、任意の種族の任意の項目を
+ * 先頭から読み進めずに直接参照できます（{@link RaceCatalogBuffer}）。
+ * </p>
+ */
+@Value
+public class RaceCatalogFile {
+
+    /**
+     * カタログの版
+     */
+    long version;
+
+    /**
+     * 作成日時（各種族の作成日時・更新日時として使用する）
+     */
+    Date createdAt;
+
+    /**
+     * 種族と修正値の行
+     */
+    List<RaceWithModifiers> races;
+
+    /**
+     * スナップショットを書き出します。種族は希少度順に並べ替えて書き出します。ストリームは閉じません。
+     *
+     * @param output 書き出し先
+     * @throws IOException 書き出しに失敗した場合
+     */
+    public void writeTo(OutputStream output) throws IOException {
+        // 同じ希少度の中では元の順序を保つ
+        var sorted = races.stream()
+                .sorted(Comparator.comparing(race -> RaceRarity.valueOf(race.getRarity())))
+                .toList();
+        var strings = new ArrayList<byte[]>(sorted.size() * STRING_COUNT);
+        for (var race : sorted) {
+            for (var value : List.of(race.getId(), race.getJapaneseName(), race.getEnglishName(),
+                    race.getSpecialAbility(), race.getDescription())) {
+                strings.add(value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        var data = new DataOutputStream(new BufferedOutputStream(output));
+        data.writeInt(MAGIC);
+        data.writeShort(FORMAT_VERSION);
+        data.writeShort(RECORD_SIZE);
+        data.writeLong(version);
+        data.writeLong(createdAt.getTime());
+        data.writeInt(sorted.size());
+        data.writeInt(0);
+
+        var offset = HEADER_SIZE + sorted.size() * RECORD_SIZE;
+        var next = 0;
+        for (var race : sorted) {
+            var modifiers = race.toModifiers();
+            data.writeByte(RaceRarity.valueOf(race.getRarity()).ordinal());
+            data.writeBoolean(modifiers != null);
+            data.writeShort(0);
+            for (var i = 0; i < MODIFIER_COUNT; i++) {
+                data.writeInt(modifiers == null ? 0 : modifiers[i]);
+            }
+            for (var i = 0; i < STRING_COUNT; i++) {
+                var length = strings.get(next++).length;
+                data.writeInt(offset);
+                data.writeInt(length);
+                offset += length;
+            }
+        }
+        for (var bytes : strings) {
+            data.write(bytes);
+        }
+        data.flush();
+    }
+
+    /**
+     * スナップショットを読み込み、すべての種族を復元します。ストリームは閉じません。
+     *
+     * @param input 読み込み元
+     * @return 読み込んだスナップショット
+     * @throws IOException 読み込みに失敗した場合、または形式が異なる場合
+     */
+    public static RaceCatalogFile readFrom(InputStream input) throws IOException {
+        var buffer = new RaceCatalogBuffer(ByteBuffer.wrap(input.readAllBytes()));
+        var races = new ArrayList<RaceWithModifiers>(buffer.raceCount());
+        for (var i = 0; i < buffer.raceCount(); i++) {
+            races.add(buffer.row(i));
+        }
+        return new RaceCatalogFile(buffer.version(), buffer.createdAt(), List.copyOf(races));
+    }
+}
@@ -0,0 +1,219 @@
+package com.kos0514.oop_in_java_learn.service.catalog.embedded;
+
+import com.kos0514.oop_in_java_learn.entity.RaceWithModifiers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 初期データのSQL（{@code mysql/01_init.sql}）から種族とステータス修正値を読み取るクラス。
+ * <p>
+ * {@code races}と{@code race_status_modifiers}への{@code INSERT ... VALUES}文だけを解釈し、
+ * それ以外の文（{@code USE}や{@code SOURCE}など）は読み飛ばします。
+ * 値は列名で対応付けるため、列の並び順には依存しません。
+ * 文字列リテラルのバックスラッシュによるエスケープと、{@code --}で始まる行コメントに対応しています。
+ * </p>
+ */
+final class SeedSqlReader {
+
+    private static final Pattern INSERT = Pattern.compile(
+            "\\s*INSERT\\s+INTO\\s+(\\w+)\\s*\\(([^)]*)\\)\\s*VALUES\\s*",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final String[] MODIFIER_COLUMNS = {
+            "strength_mod", "vitality_mod", "intelligence_mod", "agility_mod",
+            "dexterity_mod", "luck_mod", "health_points_mod", "magic_points_mod"
+    };
+
+    private SeedSqlReader() {
+    }
+
+    /**
+     * SQLから種族とステータス修正値を読み取り、種族ごとに結合します。
+     * 並び順はSQLで種族を挿入した順です。
+     *
+     * @param sql       初期データのSQL
+     * @param createdAt 各種族の作成日時・更新日時
+     * @return 種族と修正値の行（修正値がない種族の修正値はnull）
+     * @throws IllegalArgumentException SQLの形式が不正な場合、または必要な列がない場合
+     */
+    static List<RaceWithModifiers> read(String sql, Date createdAt) throws IllegalArgumentException {
+        var races = new LinkedHashMap<String, Map<String, String>>();
+        var modifiers = new HashMap<String, Map<String, String>>();
+        for (var statement : statements(sql)) {
+            var matcher = INSERT.matcher(statement);
+            if (!matcher.lookingAt()) {
+                continue;
+            }
+            var table = matcher.group(1).toLowerCase();
+            var columns = Arrays.stream(matcher.group(2).split(",")).map(String::trim).toList();
+            for (var values : tuples(statement.substring(matcher.end()))) {
+                if (values.size() != columns.size()) {
+                    throw new IllegalArgumentException(table + "の列数と値の数が一致しません: " + values);
+                }
+                var row = new HashMap<String, String>();
+                for (var i = 0; i < columns.size(); i++) {
+                    row.put(columns.get(i), values.get(i));
+                }
+                switch (table) {
+                    case "races" -> races.put(required(row, "id"), row);
+                    case "race_status_modifiers" -> modifiers.put(required(row, "race_id"), row);
+                    default -> {
+                        // カタログ以外のテーブルは対象外
+                    }
+                }
+            }
+        }
+
+        var result = new ArrayList<RaceWithModifiers>(races.size());
+        for (var race : races.values()) {
+            var mods = new Integer[MODIFIER_COLUMNS.length];
+            var modifier = modifiers.get(race.get("id"));
+            if (modifier != null) {
+                for (var i = 0; i < MODIFIER_COLUMNS.length; i++) {
+                    var value = modifier.get(MODIFIER_COLUMNS[i]);
+                    // 省略された列はテーブル定義のDEFAULT 0
+                    mods[i] = value == null ? 0 : Integer.parseInt(value);
+                }
+            }
+            result.add(new RaceWithModifiers(
+                    required(race, "id"),
+                    required(race, "japanese_name"),
+                    required(race, "english_name"),
+                    required(race, "rarity"),
+                    createdAt,
+                    createdAt,
+                    required(race, "special_ability"),
+                    required(race, "description"),
+                    mods[0], mods[1], mods[2], mods[3], mods[4], mods[5], mods[6], mods[7]));
+        }
+        return result;
+    }
+
+    /**
+     * 行コメントを取り除き、文字列リテラルの外にある{@code ;}で文に分割します。
+     */
+    private static List<String> statements(String sql) {
+        var statements = new ArrayList<String>();
+        var current = new StringBuilder();
+        var quote = 0;
+        for (var i = 0; i < sql.length(); i++) {
+            var c = sql.charAt(i);
+            if (quote != 0) {
+                current.append(c);
+                if (c == '\\' && i + 1 < sql.length()) {
+                    current.append(sql.charAt(++i));
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+                current.append(c);
+            } else if (c == '-' && sql.startsWith("--", i)) {
+                var end = sql.indexOf('\n', i);
+                i = end < 0 ? sql.length() : end - 1;
+            } else if (c == ';') {
+                statements.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (!current.isEmpty()) {
+            statements.add(current.toString());
+        }
+        return statements;
+    }
+
+    /**
+     * {@code VALUES}以降の{@code (...), (...)}を値のリストに分解します。
+     * 文字列リテラルはエスケープを解除し、{@code NULL}はnullにします。
+     */
+    private static List<List<String>> tuples(String values) {
+        try {
+            return parseTuples(values);
+        } catch (StringIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("VALUESが途中で終わっています: " + values, e);
+        }
+    }
+
+    private static List<List<String>> parseTuples(String values) {
+        var tuples = new ArrayList<List<String>>();
+        var i = 0;
+        while (i < values.length()) {
+            var c = values.charAt(i);
+            if (Character.isWhitespace(c) || c == ',') {
+                i++;
+                continue;
+            }
+            if (c != '(') {
+                throw new IllegalArgumentException("VALUESの形式が不正です: " + values.substring(i));
+            }
+            i++;
+            var tuple = new ArrayList<String>();
+            while (true) {
+                while (Character.isWhitespace(values.charAt(i))) {
+                    i++;
+                }
+                c = values.charAt(i);
+                if (c == '\'' || c == '"') {
+                    var literal = new StringBuilder();
+                    i++;
+                    while (true) {
+                        var d = values.charAt(i++);
+                        if (d == '\\') {
+                            literal.append(unescape(values.charAt(i++)));
+                        } else if (d == c && i < values.length() && values.charAt(i) == c) {
+                            literal.append(c);
+                            i++;
+                        } else if (d == c) {
+                            break;
+                        } else {
+                            literal.append(d);
+                        }
+                    }
+                    tuple.add(literal.toString());
+                } else {
+                    var start = i;
+                    while (values.charAt(i) != ',' && values.charAt(i) != ')') {
+                        i++;
+                    }
+                    var literal = values.substring(start, i).trim();
+                    tuple.add(literal.equalsIgnoreCase("NULL") ? null : literal);
+                }
+                while (Character.isWhitespace(values.charAt(i))) {
+                    i++;
+                }
+                if (values.charAt(i++) == ')') {
+                    break;
+                }
+            }
+            tuples.add(tuple);
+        }
+        return tuples;
+    }
+
+    private static char unescape(char c) {
+        return switch (c) {
+            case 'n' -> '\n';
+            case 'r' -> '\r';
+            case 't' -> '\t';
+            case '0' -> '\0';
+            default -> c;
+        };
+    }
+
+    private static String required(Map<String, String> row, String column) {
+        var value = row.get(column);
+        if (value == null) {
+            throw new IllegalArgumentException("列「" + column + "」がありません: " + row);
+        }
+        return value;
+    }
+}
@@ -1,16 +1,14 @@
 package com.kos0514.oop_in_java_learn.service.game;
 
+import com.kos0514.oop_in_java_learn.context.SessionContext;
 import com.kos0514.oop_in_java_learn.enums.RockPaperScissors;
 import com.kos0514.oop_in_java_learn.io.ComputerChoiceProvider;
-import com.kos0514.oop_in_java_learn.io.UserInputProvider;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.function.IntFunction;
 
-import static com.kos0514.oop_in_java_learn.enums.RockPaperScissors.PAPER;
-import static com.kos0514.oop_in_java_learn.enums.RockPaperScissors.ROCK;
-import static com.kos0514.oop_in_java_learn.enums.RockPaperScissors.SCISSORS;
 import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.info;
 import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.printSeparator;
 import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.warn;
@@ -26,6 +24,8 @@ import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.warnInputNumbe
  *   <li>勝敗判定</li>
  *   <li>勝利回数のカウント</li>
  * </ul>
+ *
+ * <p>対話でのプレイヤーの手は現在の{@link SessionContext}から読み取ります。</p>
  */
 @Component
 @RequiredArgsConstructor
@@ -37,7 +37,6 @@ public class RockPaperScissorsGame {
      * 特定の条件に基づいてじゃんけんゲームを実行し、結果を変換して返します。
      *
      * @param <T>               戻り値の型
-     * @param inputProvider     入力を受け付けるUserInputProviderオブジェクト
      * @param maxRounds         最大ラウンド数
      * @param gameTitle         ゲームのタイトル（ログ表示用）
      * @param gameDescription   ゲームの説明（ログ表示用）
@@ -45,26 +44,53 @@ public class RockPaperScissorsGame {
      * @return 変換された結果
      */
     public <T> T playGameAndConvertResult(
-            UserInputProvider inputProvider,
             int maxRounds,
             String gameTitle,
             String gameDescription,
             IntFunction<T> winCountConverter) {
 
-        var wins = play(inputProvider, maxRounds, gameTitle, gameDescription);
+        var wins = play(maxRounds, gameTitle, gameDescription);
         return winCountConverter.apply(wins);
     }
 
+    /**
+     * 事前に指定された手の並びでじゃんけんを行い、勝利回数を返します。
+     * 対話を伴わないAPIやバッチからの転生で使用します。
+     * あいこの場合は次の手でやり直し、負けた時点、最大ラウンド数だけ勝利した時点、
+     * または手を使い切った時点で終了します。
+     *
+     * @param hands     プレイヤーが出す手の並び
+     * @param maxRounds 最大ラウンド数
+     * @return 勝利回数
+     */
+    public int playHands(List<RockPaperScissors> hands, int maxRounds) {
+        var wins = 0;
+        for (var playerHand : hands) {
+            if (wins >= maxRounds) {
+                break;
+            }
+            var computerHand = computerChoiceProvider.chooseHand();
+            if (playerHand == computerHand) {
+                continue; // あいこは次の手でやり直し
+            }
+            if (!playerHand.beats(computerHand)) {
+                break; // 負けた時点で終了
+            }
+            wins++;
+        }
+        return wins;
+    }
+
     /**
      * じゃんけんゲームを実行し、勝利回数を返します。
      *
-     * @param inputProvider   入力を受け付けるUserInputProviderオブジェクト
      * @param maxRounds       最大ラウンド数
      * @param gameTitle       ゲームのタイトル（ログ表示用）
      * @param gameDescription ゲームの説明（ログ表示用）
      * @return 勝利回数
      */
-    private int play(UserInputProvider inputProvider, int maxRounds, String gameTitle, String gameDescription) {
+    private int play(int maxRounds, String gameTitle, String gameDescription) {
+        var context = SessionContext.current();
         info("【{}】", gameTitle);
         info(gameDescription);
 
@@ -76,7 +102,7 @@ public class RockPaperScissorsGame {
             info("【{}回目のじゃんけん】", wins + 1);
             printSeparator();
 
-            if (!playOneRound(inputProvider)) {
+            if (!playOneRound(context)) {
                 info("負けてしまいました...");
                 return wins; // 負けた時点で早期リターン
             }
@@ -84,7 +110,7 @@ public class RockPaperScissorsGame {
             wins++;
             info("勝利しました！ 現在{}回勝利", wins);
 
-        } while (wins < maxRounds && askToContinue(inputProvider));
+        } while (wins < maxRounds && askToContinue(context));
 
         return wins;
     }
@@ -92,14 +118,14 @@ public class RockPaperScissorsGame {
     /**
      * プレイヤーにゲームを続けるかどうか尋ねます。
      *
-     * @param inputProvider 入力を受け付けるUserInputProviderオブジェクト
+     * @param context 入力を読み取るセッションのコンテキスト
      * @return 続ける場合はtrue、やめる場合はfalse
      */
-    private boolean askToContinue(UserInputProvider inputProvider) {
+    private boolean askToContinue(SessionContext context) {
         info("続けますか？ (1: はい, 2: いいえ)");
         while (true) {
             try {
-                var choice = Integer.parseInt(inputProvider.readLine());
+                var choice = Integer.parseInt(context.readLine());
                 switch (choice) {
                     case 1 -> {
                         return true;
@@ -120,16 +146,16 @@ public class RockPaperScissorsGame {
      * プレイヤーとコンピュータの手を比較し、勝敗を判定します。
      * あいこの場合は再帰的に再プレイします。
      *
-     * @param inputProvider 入力を受け付けるUserInputProviderオブジェクト
+     * @param context 入力を読み取るセッションのコンテキスト
      * @return プレイヤーが勝った場合はtrue、負けた場合はfalse
      */
-    private boolean playOneRound(UserInputProvider inputProvider) {
+    private boolean playOneRound(SessionContext context) {
         info("じゃんけんの手を選んでください:");
         info("1: グー");
         info("2: チョキ");
         info("3: パー");
 
-        var playerHand = getPlayerChoice(inputProvider);
+        var playerHand = getPlayerChoice(context);
 
         // コンピュータの手を選択
         var computerHand = computerChoiceProvider.chooseHand();
@@ -140,23 +166,21 @@ public class RockPaperScissorsGame {
         // 勝敗判定
         if (playerHand == computerHand) {
             info("あいこです。もう一度！");
-            return playOneRound(inputProvider); // 再帰的に再プレイ
-        } else return (playerHand == ROCK && computerHand == SCISSORS) ||
-                (playerHand == PAPER && computerHand == ROCK) ||
-                (playerHand == SCISSORS && computerHand == PAPER); // プレイヤーの勝ち
+            return playOneRound(context); // 再帰的に再プレイ
+        } else return playerHand.beats(computerHand); // プレイヤーの勝ち
     }
 
     /**
      * プレイヤーの手の選択を取得します。
      * 有効な選択（1-3）が入力されるまで繰り返し尋ねます。
      *
-     * @param inputProvider 入力を受け付けるUserInputProviderオブジェクト
+     * @param context 入力を読み取るセッションのコンテキスト
      * @return プレイヤーの選択（ROCK, PAPER, SCISSORS）
      */
-    private RockPaperScissors getPlayerChoice(UserInputProvider inputProvider) {
+    private RockPaperScissors getPlayerChoice(SessionContext context) {
         while (true) {
             try {
-                var input = Integer.parseInt(inputProvider.readLine());
+                var input = Integer.parseInt(context.readLine());
                 if (input >= 1 && input <= 3) {
                     return RockPaperScissors.fromValue(input);
                 } else {
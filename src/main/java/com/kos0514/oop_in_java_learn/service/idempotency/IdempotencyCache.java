@@ -0,0 +1,198 @@
+package com.kos0514.oop_in_java_learn.service.idempotency;
+
+import com.kos0514.oop_in_java_learn.model.Transmigrator;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 冪等キーごとに転生結果を保持し、同じキーの再試行に同じ転生者を返すキャッシュ。
+ * <p>
+ * 最初のリクエストだけが転生を実行し、同じキーで同時に届いたリクエストはその完了を待って同じ結果を受け取ります。
+ * 完了後の再試行は{@link IdempotencyProperties#ttl()}の間、転生をやり直さずに保持している結果を返します。
+ * 同じキーで内容の異なるリクエストが届いた場合は{@link IdempotencyKeyMismatchException}で拒否します。
+ * </p>
+ *
+ * <p>保持する結果は登録順の待ち行列でも管理し、期限を過ぎた結果と{@link IdempotencyProperties#maxEntries()}を
+ * 超えた古い結果を登録のたびに先頭から捨てます。転生に失敗した場合は結果を保持せず、
+ * 待っていたリクエストにも同じ例外を返します。次の再試行では改めて転生を実行します。</p>
+ */
+@Component
+public class IdempotencyCache {
+
+    private final IdempotencyProperties properties;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 登録順の結果（期限切れや失敗で取り除いた結果は待ち行列からも取り除く）
+     */
+    private final ConcurrentLinkedQueue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final LongAdder replays = new LongAdder();
+    private final LongAdder executions = new LongAdder();
+
+    /**
+     * キャッシュを生成します。
+     *
+     * @param properties 重複排除の設定
+     */
+    public IdempotencyCache(IdempotencyProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * 冪等キーの転生を1回だけ実行します。
+     * 同じキーの結果を保持している場合や、同じキーの転生を実行中の場合は、実行せずにその結果を返します。
+     *
+     * @param key         冪等キー
+     * @param fingerprint リクエストの内容（同じキーで{@code equals}が一致しない内容を拒否するために使う）
+     * @param work        転生を実行する処理
+     * @return 転生の結果
+     * @throws IdempotencyKeyMismatchException 同じキーが別の内容のリクエストで使用済みの場合
+     */
+    public IdempotentResult execute(String key, Object fingerprint, Supplier<Transmigrator> work)
+            throws IdempotencyKeyMismatchException {
+        while (true) {
+            var now = System.nanoTime();
+            var existing = entries.get(key);
+            if (existing != null && existing.isExpired(now)) {
+                forget(existing);
+                continue;
+            }
+            if (existing != null) {
+                if (!existing.fingerprint.equals(fingerprint)) {
+                    throw new IdempotencyKeyMismatchException(key);
+                }
+                replays.increment();
+                return new IdempotentResult(await(existing.result), true);
+            }
+
+            var created = new Entry(key, fingerprint, now + properties.ttl().toNanos());
+            if (entries.putIfAbsent(key, created) != null) {
+                // 同時に同じキーが登録されたため、登録された結果を待つ
+                continue;
+            }
+            insertionOrder.add(created);
+            queued.incrementAndGet();
+            evict(now);
+            executions.increment();
+            return new IdempotentResult(run(created, work), false);
+        }
+    }
+
+    /**
+     * 登録した結果の転生を実行し、待っているリクエストに結果を伝えます。
+     */
+    private Transmigrator run(Entry entry, Supplier<Transmigrator> work) {
+        try {
+            var transmigrator = work.get();
+            entry.result.complete(transmigrator);
+            return transmigrator;
+        } catch (RuntimeException | Error e) {
+            // 失敗は保持せず、次の再試行で改めて転生する
+            forget(entry);
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 実行中または完了した転生の結果を待ちます。失敗した場合は実行時の例外をそのままスローします。
+     */
+    private static Transmigrator await(CompletableFuture<Transmigrator> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 結果を捨て、上限の数え方に残らないよう待ち行列からも取り除きます。
+     */
+    private void forget(Entry entry) {
+        entries.remove(entry.key, entry);
+        if (insertionOrder.remove(entry)) {
+            queued.decrementAndGet();
+        }
+    }
+
+    /**
+     * 期限を過ぎた結果と、上限を超えた古い結果を登録順に捨てます。
+     */
+    private void evict(long now) {
+        while (true) {
+            var oldest = insertionOrder.peek();
+            if (oldest == null || (queued.get() <= properties.maxEntries() && !oldest.isExpired(now))) {
+                return;
+            }
+            var polled = insertionOrder.poll();
+            if (polled == null) {
+                return;
+            }
+            queued.decrementAndGet();
+            entries.remove(polled.key, polled);
+        }
+    }
+
+    /**
+     * 保持している結果の数を取得します。
+     *
+     * @return 保持している結果の数（実行中の転生を含む）
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * これまでに保持している結果を返した回数を取得します。
+     *
+     * @return 転生をやり直さずに結果を返した回数
+     */
+    public long getReplays() {
+        return replays.sum();
+    }
+
+    /**
+     * これまでに冪等キー付きで転生を実行した回数を取得します。
+     *
+     * @return 転生を実行した回数
+     */
+    public long getExecutions() {
+        return executions.sum();
+    }
+
+    /**
+     * 冪等キー1つ分の結果。
+     */
+    private static final class Entry {
+
+        private final String key;
+        private final Object fingerprint;
+        private final long expiresAt;
+        private final CompletableFuture<Transmigrator> result = new CompletableFuture<>();
+
+        private Entry(String key, Object fingerprint, long expiresAt) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
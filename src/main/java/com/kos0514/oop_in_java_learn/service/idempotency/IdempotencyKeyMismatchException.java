@@ -0,0 +1,17 @@
+package com.kos0514.oop_in_java_learn.service.idempotency;
+
+/**
+ * 使用済みの冪等キーが、別の内容のリクエストで再び使われたことを表す例外。
+ * 呼び出し元は別のキーを使うか、元と同じ内容で再試行する必要があります。
+ */
+public class IdempotencyKeyMismatchException extends RuntimeException {
+
+    /**
+     * 例外を生成します。
+     *
+     * @param key 冪等キー
+     */
+    public IdempotencyKeyMismatchException(String key) {
+        super("冪等キー「" + key + "」は別の内容のリクエストで使用されています");
+    }
+}
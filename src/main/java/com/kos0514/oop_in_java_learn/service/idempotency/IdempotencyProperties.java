@@ -0,0 +1,22 @@
+package com.kos0514.oop_in_java_learn.service.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 冪等キーによる転生リクエストの重複排除に関する設定プロパティ。
+ *
+ * @param ttl        冪等キーごとに転生結果を保持する時間（過ぎた結果は捨て、同じキーで再び転生できる）
+ * @param maxEntries 保持する転生結果の数の上限（超えた場合は古い順に捨てる）
+ */
+@ConfigurationProperties(prefix = "transmigration.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("10m")
+        Duration ttl,
+
+        @DefaultValue("100000")
+        int maxEntries
+) {
+}
@@ -0,0 +1,12 @@
+package com.kos0514.oop_in_java_learn.service.idempotency;
+
+import com.kos0514.oop_in_java_learn.model.Transmigrator;
+
+/**
+ * 冪等キー付きで実行した転生の結果。
+ *
+ * @param transmigrator 転生者
+ * @param replayed      同じキーの以前の結果を返した場合はtrue
+ */
+public record IdempotentResult(Transmigrator transmigrator, boolean replayed) {
+}
@@ -0,0 +1,253 @@
+package com.kos0514.oop_in_java_learn.service.menu;
+
+import com.kos0514.oop_in_java_learn.entity.generated.Race;
+import com.kos0514.oop_in_java_learn.enums.RaceRarity;
+import com.kos0514.oop_in_java_learn.model.world.World;
+import com.kos0514.oop_in_java_learn.service.catalog.RaceNameIndex;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 世界と種族の選択メニューを描画し、描画結果を再利用するクラス。
+ * <p>
+ * メニューは一覧のリストのインスタンスごとに1回だけ描画します。
+ * 種族の一覧は{@link com.kos0514.oop_in_java_learn.service.catalog.CatalogSnapshot}が
+ * 希少度の上限ごとに同じリストを返すため、カタログの版と上限の組ごとに1回描画することになります。
+ * カタログが差し替わると新しいリストの画面を描画し、古い画面は押し出されて参照されなくなります。
+ * </p>
+ *
+ * <p>画面は一覧に続けて番号入力のプロンプトまでを含みます。
+ * 文言はコンソール版（{@link com.kos0514.oop_in_java_learn.util.log.LoggingUtils}）と同じです。</p>
+ *
+ * <p>種族が{@link #RACE_PAGE_SIZE}を超える場合、種族の一覧はページに分けて表示します。
+ * 番号は全ページを通した連番で、どのページからでも番号で選択できます。
+ * ページ送りと名前の前方一致検索の入力は{@link #navigateRaceMenu(List, int, String, Supplier)}で処理します。</p>
+ */
+@Component
+public class MenuRenderer {
+
+    /**
+     * 種族の一覧の1ページに表示する種族の数
+     */
+    public static final int RACE_PAGE_SIZE = 20;
+
+    private static final String SEPARATOR = "======================================";
+
+    private static final String RACE_NAVIGATION_HELP = "n: 次のページ / p: 前のページ / 名前の先頭の文字: 検索";
+
+    /**
+     * 保持する種族メニューの数。差し替え前後の2つの版の、すべての上限の画面を保持できる数
+     */
+    private static final int RACE_MENU_CAPACITY = RaceRarity.values().length * 2;
+
+    /**
+     * 保持する世界メニューの数
+     */
+    private static final int WORLD_MENU_CAPACITY = 2;
+
+    private final MenuCache<World> worldMenus = new MenuCache<>(WORLD_MENU_CAPACITY);
+    private final MenuCache<Race> raceMenus = new MenuCache<>(RACE_MENU_CAPACITY);
+
+    /**
+     * 世界の選択メニューを取得します。同じリストに対しては描画済みの画面を返します。
+     *
+     * @param worlds 選択可能な世界のリスト（変更しないこと）
+     * @return 世界の一覧と番号入力のプロンプトの画面
+     */
+    public RenderedMenu worldMenu(List<World> worlds) {
+        return worldMenus.get(worlds, MenuRenderer::renderWorldMenu);
+    }
+
+    /**
+     * 種族の選択メニューを取得します。同じリストに対しては描画済みの画面を返します。
+     * 種族が{@link #RACE_PAGE_SIZE}を超える場合は最初のページを返します。
+     *
+     * @param races 選択可能な種族のリスト（変更しないこと）
+     * @return 種族の一覧と番号入力のプロンプトの画面
+     */
+    public RenderedMenu raceMenu(List<Race> races) {
+        return raceMenus.get(races, list -> renderRaceMenu(list, 1));
+    }
+
+    /**
+     * 種族の選択メニューの指定したページを取得します。
+     * 最初のページは描画済みの画面を再利用し、それ以外のページは呼び出すたびに描画します。
+     *
+     * @param races 選択可能な種族のリスト（変更しないこと）
+     * @param page  ページ番号（1始まり、範囲外の場合は最も近いページ）
+     * @return 種族の一覧と番号入力のプロンプトの画面
+     */
+    public RenderedMenu raceMenu(List<Race> races, int page) {
+        var clamped = Math.clamp(page, 1, racePageCount(races.size()));
+        return clamped == 1 ? raceMenu(races) : renderRaceMenu(races, clamped);
+    }
+
+    /**
+     * 種族の選択で入力された1行が、ページ送りか名前の検索であれば処理して次に表示する画面を返します。
+     * <p>
+     * 種族が1ページに収まる場合や、入力が整数の場合は何もせずnullを返します。呼び出し元は従来どおり
+     * 番号として扱います。{@code n}と{@code p}はページ送り、それ以外の入力は名前の先頭の文字として
+     * 日本語名と英語名を前方一致で検索します。
+     * </p>
+     *
+     * @param races     選択可能な種族のリスト（変更しないこと）
+     * @param page      現在のページ番号（1始まり）
+     * @param line      入力された1行
+     * @param nameIndex 種族のリストの名前の索引（検索する場合だけ取得する）
+     * @return 処理後のページ番号と表示する画面（番号として扱う入力の場合はnull）
+     */
+    public RaceMenuPage navigateRaceMenu(List<Race> races, int page, String line, Supplier<RaceNameIndex> nameIndex) {
+        if (races.size() <= RACE_PAGE_SIZE || line == null || isInteger(line.strip())) {
+            return null;
+        }
+        var command = line.strip();
+        return switch (command.toLowerCase(Locale.ROOT)) {
+            case "n" -> racePage(races, page + 1);
+            case "p" -> racePage(races, page - 1);
+            case "" -> racePage(races, page);
+            default -> new RaceMenuPage(page, renderRaceSearch(
+                    races, command, nameIndex.get().search(command, RACE_PAGE_SIZE)));
+        };
+    }
+
+    /**
+     * 種族の一覧のページ数を返します。
+     *
+     * @param raceCount 種族の数
+     * @return ページ数（種族がない場合も1）
+     */
+    public static int racePageCount(int raceCount) {
+        return Math.max(1, (raceCount + RACE_PAGE_SIZE - 1) / RACE_PAGE_SIZE);
+    }
+
+    /**
+     * 番号入力のプロンプトを返します。
+     *
+     * @param optionCount 選択肢の数
+     * @return 番号入力のプロンプト（改行を含まない）
+     */
+    public static String numberPrompt(int optionCount) {
+        return "番号を入力してください (1-" + optionCount + "):";
+    }
+
+    private static RenderedMenu renderWorldMenu(List<World> worlds) {
+        var text = new StringBuilder(128 * (worlds.size() + 1));
+        text.append('\n').append(SEPARATOR).append('\n')
+                .append("【転生先世界の選択】\n");
+        for (var i = 0; i < worlds.size(); i++) {
+            var world = worlds.get(i);
+            text.append(i + 1).append(". ").append(world.getName()).append('\n')
+                    .append("   ").append(world.getDescription()).append('\n');
+        }
+        text.append(SEPARATOR).append('\n').append('\n')
+                .append(numberPrompt(worlds.size())).append('\n');
+        return new RenderedMenu(text.toString());
+    }
+
+    private RaceMenuPage racePage(List<Race> races, int page) {
+        var clamped = Math.clamp(page, 1, racePageCount(races.size()));
+        return new RaceMenuPage(clamped, raceMenu(races, clamped));
+    }
+
+    private static RenderedMenu renderRaceMenu(List<Race> races, int page) {
+        var paged = races.size() > RACE_PAGE_SIZE;
+        var from = paged ? (page - 1) * RACE_PAGE_SIZE : 0;
+        var to = paged ? Math.min(races.size(), from + RACE_PAGE_SIZE) : races.size();
+        var text = new StringBuilder(256 * (to - from + 1));
+        text.append(SEPARATOR).append('\n')
+                .append("【選択可能な種族】");
+        if (paged) {
+            text.append(" (").append(page).append('/').append(racePageCount(races.size()))
+                    .append("ページ、全").append(races.size()).append("種族)");
+        }
+        text.append('\n');
+        for (var i = from; i < to; i++) {
+            appendRace(text, i + 1, races.get(i));
+        }
+        text.append(SEPARATOR).append('\n');
+        if (paged) {
+            text.append(RACE_NAVIGATION_HELP).append('\n');
+        }
+        text.append(numberPrompt(races.size())).append('\n');
+        return new RenderedMenu(text.toString());
+    }
+
+    private static RenderedMenu renderRaceSearch(List<Race> races, String query, RaceNameIndex.Match match) {
+        var positions = match.positions();
+        var text = new StringBuilder(256 * (positions.length + 1));
+        if (positions.length == 0) {
+            text.append("「").append(query).append("」で始まる種族は見つかりませんでした。\n");
+        } else {
+            text.append(SEPARATOR).append('\n')
+                    .append("【「").append(query).append("」で始まる種族】\n");
+            for (var position : positions) {
+                appendRace(text, position + 1, races.get(position));
+            }
+            text.append(SEPARATOR).append('\n');
+            if (match.more()) {
+                text.append("ほかにも候補があります。続けて入力して絞り込んでください。\n");
+            }
+        }
+        text.append(RACE_NAVIGATION_HELP).append('\n')
+                .append(numberPrompt(races.size())).append('\n');
+        return new RenderedMenu(text.toString());
+    }
+
+    private static void appendRace(StringBuilder text, int number, Race race) {
+        text.append(number).append(". ").append(race.getJapaneseName())
+                .append(" (").append(race.getRarity()).append(")\n")
+                .append("   特殊能力: ").append(race.getSpecialAbility()).append('\n')
+                .append("   ").append(race.getDescription()).append('\n')
+                .append('\n');
+    }
+
+    private static boolean isInteger(String line) {
+        try {
+            Integer.parseInt(line);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 一覧のリストのインスタンスをキーに、描画済みの画面を固定数だけ保持するキャッシュ。
+     * <p>
+     * キーは{@code equals}ではなく同一性で比較するため、要素を比較する費用はかかりません。
+     * 参照はロックせず、見つからない場合は描画して古い順に置き換えます。
+     * 同時に同じ画面を描画することがありますが、結果は同じため問題ありません。
+     * </p>
+     *
+     * @param <T> 一覧の要素の型
+     */
+    private static final class MenuCache<T> {
+
+        private record Entry<T>(List<T> key, RenderedMenu menu) {
+        }
+
+        private final AtomicReferenceArray<Entry<T>> entries;
+        private final AtomicInteger next = new AtomicInteger();
+
+        private MenuCache(int capacity) {
+            this.entries = new AtomicReferenceArray<>(capacity);
+        }
+
+        private RenderedMenu get(List<T> key, Function<List<T>, RenderedMenu> renderer) {
+            for (var i = 0; i < entries.length(); i++) {
+                var entry = entries.get(i);
+                if (entry != null && entry.key() == key) {
+                    return entry.menu();
+                }
+            }
+            var menu = renderer.apply(key);
+            entries.set(Math.floorMod(next.getAndIncrement(), entries.length()), new Entry<>(key, menu));
+            return menu;
+        }
+    }
+}
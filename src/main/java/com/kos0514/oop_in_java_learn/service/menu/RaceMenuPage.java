@@ -0,0 +1,10 @@
+package com.kos0514.oop_in_java_learn.service.menu;
+
+/**
+ * 種族の選択メニューでページ送りや検索をした結果。
+ *
+ * @param page 処理後のページ番号（1始まり）
+ * @param menu 次に表示する画面
+ */
+public record RaceMenuPage(int page, RenderedMenu menu) {
+}
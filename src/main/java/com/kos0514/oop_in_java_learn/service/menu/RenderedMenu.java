@@ -0,0 +1,47 @@
+package com.kos0514.oop_in_java_learn.service.menu;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 描画済みのメニュー画面。
+ * <p>
+ * 画面全体の文字列と、それをUTF-8でエンコードしたバイト列を保持します。
+ * 表示のたびに行を組み立てたりエンコードしたりせず、そのまま1回で書き出せます。
+ * 生成後は変更しないため、複数のセッションで共有できます。
+ * </p>
+ */
+public final class RenderedMenu {
+
+    private final String text;
+    private final ByteBuffer encoded;
+
+    /**
+     * 画面の文字列から描画済みのメニューを生成します。
+     *
+     * @param text 画面の文字列（各行は改行で終わる）
+     */
+    RenderedMenu(String text) {
+        this.text = text;
+        this.encoded = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)).asReadOnlyBuffer();
+    }
+
+    /**
+     * 画面の文字列を取得します。
+     *
+     * @return 画面の文字列（各行は改行で終わる）
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * UTF-8でエンコードした画面を取得します。
+     * 呼び出すたびに位置が独立した読み取り専用のバッファを返すため、そのまま送信キューへ積めます。
+     *
+     * @return エンコードした画面を包む読み取り専用のバッファ
+     */
+    public ByteBuffer encoded() {
+        return encoded.duplicate();
+    }
+}
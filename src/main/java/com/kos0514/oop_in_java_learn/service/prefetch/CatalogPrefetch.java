@@ -0,0 +1,106 @@
+package com.kos0514.oop_in_java_learn.service.prefetch;
+
+import com.kos0514.oop_in_java_learn.service.catalog.CatalogSnapshot;
+import com.kos0514.oop_in_java_learn.service.catalog.RaceCatalogCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.warn;
+
+/**
+ * 1セッション分の種族カタログの先読みと固定。
+ * <p>
+ * セッションの開始と同時に、種族カタログの最新のスナップショットを別の仮想スレッドで取得します。
+ * キャッシュは種族とステータス修正値を結合して1回の問い合わせで読み込むため、
+ * ユーザーが名前や年齢を入力している間に、種族の表示と転生者の作成に必要なカタログが揃います。
+ * 読み込み済みの場合、問い合わせは行いません。
+ * </p>
+ *
+ * <p>最初に{@link #snapshot()}で受け取ったスナップショットはセッションの終了まで固定され、
+ * 途中でカタログが差し替えられても同じ版を返します。</p>
+ *
+ * <p>{@link #close()}でまだ終わっていない読み込みを割り込みでキャンセルします。
+ * 読み込みに失敗した場合やキャンセル済みの場合は、その時点でキャッシュから取得します。</p>
+ */
+public class CatalogPrefetch implements AutoCloseable {
+
+    private final RaceCatalogCache raceCatalogCache;
+    private final Future<CatalogSnapshot> catalog;
+
+    /**
+     * セッションで固定したスナップショット（セッションのスレッドからのみ参照する）
+     */
+    private CatalogSnapshot pinned;
+
+    /**
+     * 先読みを開始します。
+     *
+     * @param raceCatalogCache 種族カタログのキャッシュ
+     */
+    CatalogPrefetch(RaceCatalogCache raceCatalogCache) {
+        this.raceCatalogCache = raceCatalogCache;
+        this.catalog = fork("catalog-prefetch", raceCatalogCache::latest);
+    }
+
+    /**
+     * セッションで固定した種族カタログのスナップショットを取得します。
+     * 初回は先読みの完了を待ち、以降は同じスナップショットを返します。
+     *
+     * @return スナップショット
+     */
+    public CatalogSnapshot snapshot() {
+        if (pinned == null) {
+            var prefetched = await(catalog);
+            pinned = prefetched != null ? prefetched : raceCatalogCache.latest();
+        }
+        return pinned;
+    }
+
+    /**
+     * まだ終わっていない先読みをキャンセルします。
+     */
+    @Override
+    public void close() {
+        catalog.cancel(true);
+    }
+
+    /**
+     * 先読みの完了を待って結果を取得します。
+     *
+     * @param <T>    結果の型
+     * @param future 先読みのFuture
+     * @return 結果（失敗・キャンセルされた場合はnull）
+     */
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            // 割り込みはセッションの打ち切りで使われるため、状態を戻して呼び出し元に判断を任せる
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (CancellationException e) {
+            return null;
+        } catch (ExecutionException e) {
+            warn("種族カタログの先読みに失敗したため、直接取得します: {}", e.getCause().getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 処理を新しい仮想スレッドで開始します。
+     *
+     * @param <T>  結果の型
+     * @param name スレッド名
+     * @param task 実行する処理
+     * @return 処理のFuture
+     */
+    private static <T> Future<T> fork(String name, Callable<T> task) {
+        var future = new FutureTask<>(task);
+        Thread.ofVirtual().name(name).start(future);
+        return future;
+    }
+}
@@ -0,0 +1,25 @@
+package com.kos0514.oop_in_java_learn.service.prefetch;
+
+import com.kos0514.oop_in_java_learn.service.catalog.RaceCatalogCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * セッションごとに種族カタログの先読みを開始するコンポーネント。
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogPrefetcher {
+
+    private final RaceCatalogCache raceCatalogCache;
+
+    /**
+     * 種族カタログの先読みを開始します。
+     * 呼び出し元はセッションの終了時に{@link CatalogPrefetch#close()}でキャンセルしてください。
+     *
+     * @return 開始した先読み
+     */
+    public CatalogPrefetch start() {
+        return new CatalogPrefetch(raceCatalogCache);
+    }
+}
@@ -1,10 +1,11 @@
 package com.kos0514.oop_in_java_learn.service.race;
 
+import com.kos0514.oop_in_java_learn.context.SessionContext;
 import com.kos0514.oop_in_java_learn.entity.generated.Race;
 import com.kos0514.oop_in_java_learn.enums.RaceRarity;
-import com.kos0514.oop_in_java_learn.io.UserInputProvider;
-import com.kos0514.oop_in_java_learn.mapper.RaceMapper;
+import com.kos0514.oop_in_java_learn.service.catalog.RaceCatalogCache;
 import com.kos0514.oop_in_java_learn.service.game.RockPaperScissorsGame;
+import com.kos0514.oop_in_java_learn.service.menu.MenuRenderer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -17,7 +18,7 @@ import static com.kos0514.oop_in_java_learn.enums.RaceRarity.STANDARD;
 import static com.kos0514.oop_in_java_learn.enums.RaceRarity.UNIQUE;
 import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.endPrintSeparator;
 import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.info;
-import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.printSeparator;
+import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.infoBlock;
 import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.startPrintSeparator;
 import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.warn;
 import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.warnInputNumber;
@@ -26,46 +27,48 @@ import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.warnInputNumbe
  * 種族選択とじゃんけんゲームを管理するサービスクラス。
  * 種族の希少度に応じたじゃんけんゲームを実施し、
  * プレイヤーが選択可能な種族を決定します。
+ * 入力は現在の{@link SessionContext}から読み取ります。
+ * 種族の一覧は{@link MenuRenderer}が描画済みの画面をまとめて出力します。
+ * 種族が多い場合はページに分けて表示し、ページ送りと名前の前方一致検索で選択肢を絞り込めます。
  */
 @Service
 @RequiredArgsConstructor
 public class SelectRaceService {
 
-    private final RaceMapper raceMapper;
+    private final RaceCatalogCache raceCatalogCache;
     private final RockPaperScissorsGame rockPaperScissorsGame;
+    private final MenuRenderer menuRenderer;
 
     /**
      * じゃんけんゲームを実行して種族を選択します。
      *
-     * @param inputProvider 入力を受け付けるUserInputProviderオブジェクト
      * @return 選択された種族
      */
-    public Race selectRace(UserInputProvider inputProvider) {
+    public Race selectRace() {
         info("【種族選択】");
         info("あなたの種族を決定します。");
         info("希少な種族を選ぶには、じゃんけんに勝つ必要があります。");
 
         // じゃんけんの結果に基づいて利用可能な最大レア度を決定
-        var maxRarity = playRockPaperScissorsForRace(inputProvider);
+        var maxRarity = playRockPaperScissorsForRace();
 
         // 利用可能な種族のリストを取得
-        var availableRaces = raceMapper.selectUpToRarity(maxRarity);
+        var availableRaces = raceCatalogCache.racesUpTo(maxRarity);
 
         // 選択可能な種族を表示
         displayAvailableRaces(availableRaces);
 
         // プレイヤーに種族を選択させる
-        return promptRaceSelection(inputProvider, availableRaces);
+        return promptRaceSelection(availableRaces, maxRarity);
     }
 
     /**
      * 種族選択のためのじゃんけんゲームを実行します。
      * 勝利回数に応じて選択可能な種族の希少度を決定します。
      *
-     * @param inputProvider 入力を受け付けるUserInputProviderオブジェクト
      * @return 選択可能な最大レア度
      */
-    private RaceRarity playRockPaperScissorsForRace(UserInputProvider inputProvider) {
+    private RaceRarity playRockPaperScissorsForRace() {
         // ゲームの説明文を作成
         var gameTitle = "じゃんけんゲーム";
         var description = String.format(
@@ -83,7 +86,6 @@ public class SelectRaceService {
 
         // じゃんけんゲームを実行し、結果をRaceRarityに変換
         return rockPaperScissorsGame.playGameAndConvertResult(
-                inputProvider,
                 3, // 最大3回まで
                 gameTitle,
                 description,
@@ -98,12 +100,7 @@ public class SelectRaceService {
      * @return 対応する種族の希少度
      */
     private RaceRarity getRaceRarityByWins(int wins) {
-        return switch (wins) {
-            case 1 -> logAndYield(UNIQUE);
-            case 2 -> logAndYield(LEGENDARY);
-            case 3 -> logAndYield(SECRET);
-            default -> logAndYield(STANDARD);
-        };
+        return logAndYield(RaceRarity.fromWins(wins));
     }
 
     /**
@@ -122,46 +119,50 @@ public class SelectRaceService {
     }
 
     /**
-     * 選択可能な種族リストを表示します。
+     * 選択可能な種族リストと最初のプロンプトを表示します。
+     * カタログの版と希少度の上限ごとに描画済みの画面を再利用します。
      *
      * @param races 表示する種族リスト
      */
     private void displayAvailableRaces(List<Race> races) {
-        printSeparator();
-        info("【選択可能な種族】");
-        for (var i = 0; i < races.size(); i++) {
-            var race = races.get(i);
-            info("{}. {} ({})", i + 1, race.getJapaneseName(), race.getRarity());
-            info("   特殊能力: {}", race.getSpecialAbility());
-            info("   {}", race.getDescription());
-            info("");
-        }
-        printSeparator();
+        infoBlock(menuRenderer.raceMenu(races).getText());
     }
 
     /**
-     * プレイヤーに種族を選択させるプロンプトを表示し、選択を処理します。
+     * プレイヤーに種族を選択させ、選択を処理します。
      * 有効な選択が行われるまで繰り返し尋ねます。
+     * ページ送りや名前の検索の入力には、該当するページや検索結果を表示して再び尋ねます。
      *
-     * @param inputProvider  入力を受け付けるUserInputProviderオブジェクト
      * @param availableRaces 選択可能な種族リスト
+     * @param maxRarity      選択可能な最大希少度（名前の索引の取得に使用）
      * @return 選択された種族
      */
-    private Race promptRaceSelection(UserInputProvider inputProvider, List<Race> availableRaces) {
+    private Race promptRaceSelection(List<Race> availableRaces, RaceRarity maxRarity) {
+        var context = SessionContext.current();
+        var page = 1;
         Race selectedRace = null;
         while (selectedRace == null) {
+            var line = context.readLine();
+            var navigated = menuRenderer.navigateRaceMenu(availableRaces, page, line,
+                    () -> raceCatalogCache.nameIndex(maxRarity));
+            if (navigated != null) {
+                page = navigated.page();
+                infoBlock(navigated.menu().getText());
+                continue;
+            }
             try {
-                info("番号を入力してください (1-{}):", availableRaces.size());
-                var selection = Integer.parseInt(inputProvider.readLine());
+                var selection = Integer.parseInt(line);
 
                 if (selection >= 1 && selection <= availableRaces.size()) {
                     selectedRace = availableRaces.get(selection - 1);
                     displaySelectedRace(selectedRace);
                 } else {
                     warn("有効な番号を入力してください (1-{})。", availableRaces.size());
+                    info(MenuRenderer.numberPrompt(availableRaces.size()));
                 }
             } catch (NumberFormatException e) {
                 warnInputNumber();
+                info(MenuRenderer.numberPrompt(availableRaces.size()));
             }
         }
 
@@ -0,0 +1,99 @@
+package com.kos0514.oop_in_java_learn.service.request;
+
+import com.kos0514.oop_in_java_learn.context.SessionContext;
+import com.kos0514.oop_in_java_learn.entity.generated.Race;
+import com.kos0514.oop_in_java_learn.enums.RaceRarity;
+import com.kos0514.oop_in_java_learn.factory.TransmigratorFactory;
+import com.kos0514.oop_in_java_learn.model.Transmigrator;
+import com.kos0514.oop_in_java_learn.model.value.Age;
+import com.kos0514.oop_in_java_learn.model.value.SoulName;
+import com.kos0514.oop_in_java_learn.model.world.World;
+import com.kos0514.oop_in_java_learn.repository.WorldRepository;
+import com.kos0514.oop_in_java_learn.service.catalog.RaceCatalogCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * 対話を伴わずに転生を実行するサービスクラス。
+ * <p>
+ * リクエストに含まれる名前・年齢・世界・種族・じゃんけんの勝利回数から、
+ * 対話版の{@link com.kos0514.oop_in_java_learn.service.TransmigrationService}と
+ * 同じ検証規則で転生者を作成します。APIやバッチなど、入力がまとめて届く経路で使用します。
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class DirectTransmigrationService {
+
+    private final WorldRepository worldRepository;
+    private final RaceCatalogCache raceCatalogCache;
+    private final TransmigratorFactory transmigratorFactory;
+
+    /**
+     * リクエストの内容で転生者を作成します。
+     *
+     * @param request 転生リクエスト
+     * @return 作成された転生者
+     * @throws IllegalArgumentException 名前・年齢・世界・種族のいずれかが不正な場合
+     */
+    public Transmigrator transmigrate(TransmigrationRequest request) throws IllegalArgumentException {
+        var soulName = SoulName.of(request.getName());
+        var age = Age.of(request.getAge());
+        var world = request.getWorldId() != null
+                ? resolveWorld(request.getWorldId())
+                : resolveWorld(request.getWorldIndex());
+        var race = resolveRace(request.getRaceId(), RaceRarity.fromWins(request.getWins()));
+
+        // 同時に届いたリクエストとシードや乱数の列が混ざらないよう、リクエスト専用の乱数生成器で作成する
+        return SessionContext.forRequest().call(() -> transmigratorFactory.create(soulName, age, world, race));
+    }
+
+    /**
+     * 番号から転生先の世界を取得します。
+     *
+     * @param worldIndex 世界の番号（1始まり）
+     * @return 転生先の世界
+     * @throws IllegalArgumentException 番号が範囲外の場合
+     */
+    World resolveWorld(int worldIndex) throws IllegalArgumentException {
+        var availableWorlds = worldRepository.getAvailableWorlds();
+        if (worldIndex < 1 || worldIndex > availableWorlds.size()) {
+            throw new IllegalArgumentException("世界の番号は1～" + availableWorlds.size() + "の範囲で指定してください");
+        }
+        return availableWorlds.get(worldIndex - 1);
+    }
+
+    /**
+     * IDから転生先の世界を取得します。
+     *
+     * @param worldId 世界のID
+     * @return 転生先の世界
+     * @throws IllegalArgumentException 世界が存在しない場合
+     */
+    World resolveWorld(String worldId) throws IllegalArgumentException {
+        var world = worldRepository.findById(worldId);
+        if (world == null) {
+            throw new IllegalArgumentException("世界「" + worldId + "」は選択できません");
+        }
+        return world;
+    }
+
+    /**
+     * 最大希少度までの種族からIDに一致する種族を取得します。
+     *
+     * @param raceId    種族のID
+     * @param maxRarity 選択可能な最大希少度
+     * @return 種族
+     * @throws IllegalArgumentException 種族が存在しない、または希少度が足りず選択できない場合
+     */
+    Race resolveRace(String raceId, RaceRarity maxRarity) throws IllegalArgumentException {
+        if (raceId == null || raceId.isBlank()) {
+            throw new IllegalArgumentException("種族IDを指定してください");
+        }
+        var race = raceCatalogCache.findRace(raceId, maxRarity);
+        if (race != null) {
+            return race;
+        }
+        throw new IllegalArgumentException("種族「" + raceId + "」は" + maxRarity.name() + "までの種族から選択できません");
+    }
+}
@@ -0,0 +1,51 @@
+package com.kos0514.oop_in_java_learn.service.request;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * 対話を伴わない転生リクエストを表す値オブジェクト。
+ * <p>
+ * APIやバッチから受け取った未検証の入力値を保持します。
+ * 値の検証は{@link DirectTransmigrationService}で
+ * {@code SoulName.of}/{@code Age.of}と同じ規則により行われます。
+ * </p>
+ */
+@Value
+@Builder(toBuilder = true)
+public class TransmigrationRequest {
+    /**
+     * 転生者の名前
+     */
+    String name;
+
+    /**
+     * 転生者の年齢
+     */
+    int age;
+
+    /**
+     * 転生先の世界の番号（1始まり）。{@link #worldId}を指定した場合は使用しない
+     */
+    int worldIndex;
+
+    /**
+     * 転生先の世界のID（省略時は{@link #worldIndex}で選択する）
+     */
+    String worldId;
+
+    /**
+     * 転生する種族のID
+     */
+    String raceId;
+
+    /**
+     * じゃんけんの勝利回数
+     */
+    int wins;
+
+    /**
+     * 冪等キー（省略可）。同じキーの再試行には最初の転生者を返す
+     */
+    String idempotencyKey;
+}
@@ -0,0 +1,102 @@
+package com.kos0514.oop_in_java_learn.service.session;
+
+import com.kos0514.oop_in_java_learn.service.menu.RenderedMenu;
+import org.slf4j.helpers.MessageFormatter;
+
+/**
+ * ステートマシンが返すプロンプト文字列を組み立てるビルダー。
+ * <p>
+ * {@link com.kos0514.oop_in_java_learn.util.log.LoggingUtils}と同じ{@code {}}形式の
+ * プレースホルダを使用できるため、コンソール版と同じ文言をそのまま組み立てられます。
+ * プロンプトの末尾には、行として組み立てる代わりに描画済みのメニューを1つ続けられます。
+ * </p>
+ */
+class PromptBuilder {
+
+    private static final String SEPARATOR = "======================================";
+
+    private final StringBuilder text = new StringBuilder(256);
+
+    private RenderedMenu menu;
+
+    /**
+     * 1行追加します。
+     *
+     * @param message 追加するメッセージ
+     * @return this (メソッドチェーン用)
+     */
+    PromptBuilder line(String message) {
+        if (menu != null) {
+            throw new IllegalStateException("メニューの後に行は追加できません");
+        }
+        text.append(message).append('\n');
+        return this;
+    }
+
+    /**
+     * フォーマットした1行を追加します。
+     *
+     * @param format フォーマット文字列
+     * @param args   フォーマット内のプレースホルダに対応する引数
+     * @return this (メソッドチェーン用)
+     */
+    PromptBuilder line(String format, Object... args) {
+        return line(MessageFormatter.arrayFormat(format, args).getMessage());
+    }
+
+    /**
+     * セパレーターを追加します。
+     *
+     * @return this (メソッドチェーン用)
+     */
+    PromptBuilder separator() {
+        return line(SEPARATOR);
+    }
+
+    /**
+     * 空行に続けてセパレーターを追加します。
+     *
+     * @return this (メソッドチェーン用)
+     */
+    PromptBuilder startSeparator() {
+        return line("").separator();
+    }
+
+    /**
+     * セパレーターに続けて空行を追加します。
+     *
+     * @return this (メソッドチェーン用)
+     */
+    PromptBuilder endSeparator() {
+        return separator().line("");
+    }
+
+    /**
+     * プロンプトの末尾に描画済みのメニューを続けます。以降は行を追加できません。
+     *
+     * @param renderedMenu 描画済みのメニュー
+     * @return this (メソッドチェーン用)
+     */
+    PromptBuilder menu(RenderedMenu renderedMenu) {
+        this.menu = renderedMenu;
+        return this;
+    }
+
+    /**
+     * 組み立てたプロンプト文字列を返します。末尾のメニューは含みません。
+     *
+     * @return プロンプト文字列
+     */
+    String build() {
+        return text.toString();
+    }
+
+    /**
+     * プロンプトの末尾に続ける描画済みのメニューを返します。
+     *
+     * @return 描画済みのメニュー（ない場合はnull）
+     */
+    RenderedMenu menu() {
+        return menu;
+    }
+}
@@ -0,0 +1,55 @@
+package com.kos0514.oop_in_java_learn.service.session;
+
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * セッションエンジンの稼働統計を表す値オブジェクト。
+ * <p>
+ * エンジン起動からの経過時間、セッション数、スループット、
+ * および1セッションあたりのヒープ割り当て量を保持します。
+ * </p>
+ */
+@Value
+public class SessionEngineStats {
+    /**
+     * 受け付けたセッション数
+     */
+    long startedSessions;
+
+    /**
+     * 正常に完了したセッション数
+     */
+    long completedSessions;
+
+    /**
+     * 例外で終了したセッション数
+     */
+    long failedSessions;
+
+    /**
+     * 入力待ちの時間や制限時間を超えたか、入力が終了したため打ち切ったセッション数
+     */
+    long reapedSessions;
+
+    /**
+     * 実行中のセッション数
+     */
+    long activeSessions;
+
+    /**
+     * エンジン起動からの経過時間
+     */
+    Duration elapsed;
+
+    /**
+     * 1秒あたりに完了したセッション数
+     */
+    double sessionsPerSecond;
+
+    /**
+     * 終了したセッション1件あたりのヒープ割り当てバイト数（計測できない場合は-1）
+     */
+    long allocatedBytesPerSession;
+}
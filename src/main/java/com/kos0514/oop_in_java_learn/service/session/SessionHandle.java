@@ -0,0 +1,137 @@
+package com.kos0514.oop_in_java_learn.service.session;
+
+import com.kos0514.oop_in_java_learn.io.UserInputProvider;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.warn;
+
+/**
+ * 実行中のセッション1件を打ち切るための情報。
+ * <p>
+ * セッションのスレッドは入力待ちの開始・終了を記録し、リーパーは定期的に
+ * {@link #reapIfStalled(long, long)}で入力待ちの時間と制限時間を確認します。
+ * 打ち切る場合はスレッドに割り込み、入力プロバイダーをクローズして待機中の読み込みを解放します。
+ * </p>
+ */
+class SessionHandle {
+
+    private static final long NOT_WAITING = -1L;
+
+    private final Thread thread;
+    private final UserInputProvider inputProvider;
+    private final long deadlineNanos;
+    private final AtomicReference<String> reapReason = new AtomicReference<>();
+
+    private volatile long waitingSinceNanos = NOT_WAITING;
+
+    /**
+     * セッションの情報を生成します。
+     *
+     * @param thread        セッションを実行しているスレッド
+     * @param inputProvider セッションの入力プロバイダー
+     * @param deadlineNanos セッションの制限時刻（{@link System#nanoTime()}基準）
+     */
+    SessionHandle(Thread thread, UserInputProvider inputProvider, long deadlineNanos) {
+        this.thread = thread;
+        this.inputProvider = inputProvider;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * 入力待ちを開始したことを記録します。
+     *
+     * @throws SessionTimeoutException すでに打ち切られているか、制限時間を過ぎている場合
+     */
+    void beginRead() throws SessionTimeoutException {
+        var now = System.nanoTime();
+        if (now - deadlineNanos > 0) {
+            reap("セッションの制限時間を超えました");
+        }
+        throwIfReaped(null);
+        waitingSinceNanos = now;
+    }
+
+    /**
+     * 入力待ちが終了したことを記録します。
+     *
+     * @param failure 読み込み中に発生した例外（正常に読み込めた場合はnull）
+     * @throws SessionTimeoutException 入力待ちの間に打ち切られた場合
+     */
+    void endRead(RuntimeException failure) throws SessionTimeoutException {
+        waitingSinceNanos = NOT_WAITING;
+        throwIfReaped(failure);
+    }
+
+    /**
+     * 入力待ちの時間または制限時間を超えている場合にセッションを打ち切ります。
+     *
+     * @param now             現在時刻（{@link System#nanoTime()}基準）
+     * @param idleTimeoutNanos 1回の入力待ちで許容する最大時間（ナノ秒）
+     * @return このメソッドの呼び出しで打ち切った場合はtrue
+     */
+    boolean reapIfStalled(long now, long idleTimeoutNanos) {
+        if (now - deadlineNanos > 0) {
+            return reap("セッションの制限時間を超えました");
+        }
+        var waitingSince = waitingSinceNanos;
+        if (waitingSince != NOT_WAITING && now - waitingSince > idleTimeoutNanos) {
+            return reap("入力待ちの上限時間を超えました");
+        }
+        return false;
+    }
+
+    /**
+     * 入力待ちの状態にかかわらず、セッションを打ち切ります。
+     *
+     * @param reason 打ち切る理由
+     */
+    void abort(String reason) {
+        reap(reason);
+    }
+
+    /**
+     * セッションが打ち切られたかどうかを返します。
+     *
+     * @return 打ち切られた場合はtrue
+     */
+    boolean isReaped() {
+        return reapReason.get() != null;
+    }
+
+    /**
+     * セッションを打ち切ります。スレッドに割り込み、入力プロバイダーをクローズします。
+     *
+     * @param reason 打ち切る理由
+     * @return このメソッドの呼び出しで打ち切った場合はtrue
+     */
+    private boolean reap(String reason) {
+        if (!reapReason.compareAndSet(null, reason)) {
+            return false;
+        }
+        if (thread != Thread.currentThread()) {
+            thread.interrupt();
+            try {
+                inputProvider.close();
+            } catch (Exception e) {
+                warn("打ち切ったセッションの入力のクローズに失敗しました: {}", e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 打ち切られている場合に例外をスローします。割り込み状態はここで解除します。
+     *
+     * @param cause 打ち切りによって発生した例外
+     * @throws SessionTimeoutException 打ち切られている場合
+     */
+    private void throwIfReaped(RuntimeException cause) throws SessionTimeoutException {
+        var reason = reapReason.get();
+        if (reason == null) {
+            return;
+        }
+        Thread.interrupted();
+        throw new SessionTimeoutException(reason, cause);
+    }
+}
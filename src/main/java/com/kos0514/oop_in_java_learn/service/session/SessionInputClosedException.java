@@ -0,0 +1,15 @@
+package com.kos0514.oop_in_java_learn.service.session;
+
+/**
+ * 入力の終わりに達した（接続が切断された、標準入力が閉じられたなど）ため、
+ * セッションを続けられないことを表す例外。
+ */
+public class SessionInputClosedException extends RuntimeException {
+
+    /**
+     * 例外を生成します。
+     */
+    public SessionInputClosedException() {
+        super("入力が終了しました");
+    }
+}
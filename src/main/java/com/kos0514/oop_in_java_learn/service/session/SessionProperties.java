@@ -0,0 +1,26 @@
+package com.kos0514.oop_in_java_learn.service.session;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 転生セッションのタイムアウトに関する設定プロパティ。
+ *
+ * @param idleTimeout  1回の入力待ちで許容する最大時間（超えたセッションは打ち切る）
+ * @param deadline     1セッション全体で許容する最大時間（超えたセッションは打ち切る）
+ * @param reapInterval 停滞したセッションを確認する間隔
+ */
+@ConfigurationProperties(prefix = "transmigration.session")
+public record SessionProperties(
+        @DefaultValue("5m")
+        Duration idleTimeout,
+
+        @DefaultValue("30m")
+        Duration deadline,
+
+        @DefaultValue("1s")
+        Duration reapInterval
+) {
+}
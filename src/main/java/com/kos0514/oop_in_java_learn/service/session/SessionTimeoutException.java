@@ -0,0 +1,26 @@
+package com.kos0514.oop_in_java_learn.service.session;
+
+/**
+ * 入力待ちの時間やセッション全体の制限時間を超えたため、セッションが打ち切られたことを表す例外。
+ */
+public class SessionTimeoutException extends RuntimeException {
+
+    /**
+     * 例外を生成します。
+     *
+     * @param message 打ち切った理由
+     */
+    public SessionTimeoutException(String message) {
+        super(message);
+    }
+
+    /**
+     * 原因となった例外を指定して生成します。
+     *
+     * @param message 打ち切った理由
+     * @param cause   打ち切りによって発生した例外
+     */
+    public SessionTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,54 @@
+package com.kos0514.oop_in_java_learn.service.session;
+
+import com.kos0514.oop_in_java_learn.model.Transmigrator;
+import com.kos0514.oop_in_java_learn.service.menu.RenderedMenu;
+import lombok.Value;
+
+/**
+ * ステートマシンに1行入力した結果を表す値オブジェクト。
+ * <p>
+ * 次にユーザーへ表示するプロンプトと、転生が完了した場合はその転生者を保持します。
+ * プロンプトは入力ごとに組み立てた文字列と、その後に続く描画済みのメニューから成ります。
+ * 送信する場合はメニューをエンコード済みのまま書き出せます。
+ * </p>
+ */
+@Value
+public class StepResponse {
+    /**
+     * ユーザーへ表示するプロンプトのうち、入力ごとに組み立てた部分（複数行）
+     */
+    String text;
+
+    /**
+     * プロンプトの末尾に続ける描画済みのメニュー（ない場合はnull）
+     */
+    RenderedMenu menu;
+
+    /**
+     * 入力後の段階
+     */
+    TransmigrationStep step;
+
+    /**
+     * 完了した転生者（未完了の場合はnull）
+     */
+    Transmigrator transmigrator;
+
+    /**
+     * ユーザーへ表示するプロンプト全体を返します。
+     *
+     * @return 組み立てた部分とメニューを連結したプロンプト（複数行）
+     */
+    public String getPrompt() {
+        return menu == null ? text : text + menu.getText();
+    }
+
+    /**
+     * 転生が完了したかどうかを返します。
+     *
+     * @return 完了した場合はtrue
+     */
+    public boolean isCompleted() {
+        return step == TransmigrationStep.COMPLETED;
+    }
+}
@@ -0,0 +1,394 @@
+package com.kos0514.oop_in_java_learn.service.session;
+
+import com.kos0514.oop_in_java_learn.context.SessionContext;
+import com.kos0514.oop_in_java_learn.io.LoggingOutputProvider;
+import com.kos0514.oop_in_java_learn.io.UserInputProvider;
+import com.kos0514.oop_in_java_learn.io.UserOutputProvider;
+import com.kos0514.oop_in_java_learn.model.Transmigrator;
+import com.kos0514.oop_in_java_learn.service.TransmigrationService;
+import com.kos0514.oop_in_java_learn.util.system.DrainParticipant;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.info;
+import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.warn;
+
+/**
+ * 複数の転生セッションを同時に実行するエンジン。
+ * <p>
+ * 1セッションにつき1本の仮想スレッドを割り当て、セッションごとに独立した
+ * {@link UserInputProvider}と{@link UserOutputProvider}、乱数生成器、制限時間を持つ
+ * {@link SessionContext}を設定して{@link TransmigrationService}を実行します。
+ * サービスやファクトリーなどのSpringシングルトンは全セッションで共有されます。
+ * </p>
+ *
+ * <p>コンソールの1セッションとTCPの各接続のセッションはこのエンジンで実行され、
+ * アプリケーションはエンジンの排出が終わってからJVMを終了します。</p>
+ *
+ * <p>セッション中の表示はそのセッションの出力先へ送られ、入力待ちになる直前に
+ * 1画面分がまとめて書き出されます。</p>
+ *
+ * <p>入力待ちが{@link SessionProperties#idleTimeout()}を超えたセッションや、
+ * 開始から{@link SessionProperties#deadline()}を超えたセッションはリーパーが打ち切り、
+ * スレッドと入力プロバイダーを解放します。打ち切られたセッションのFutureは
+ * {@link SessionTimeoutException}を原因として例外で完了します。
+ * 入力プロバイダーが入力の終わり（null）を返したセッションは、再入力を繰り返させずに
+ * {@link SessionInputClosedException}で終了し、打ち切ったセッションとして集計します。</p>
+ *
+ * <p>シャットダウン時は{@link DrainParticipant}として新規セッションの受け付けを停止し、
+ * 実行中のセッションの完了を待ちます。猶予期間を過ぎて残ったセッションは打ち切られ、
+ * それまでの表示を出力先へ書き出してから終了します。</p>
+ *
+ * <p>エンジンは完了・失敗したセッション数、スループット（sessions/sec）、
+ * 1セッションあたりのヒープ割り当て量を{@link #getStats()}で公開します。</p>
+ */
+@Component
+public class TransmigrationSessionEngine implements AutoCloseable, DrainParticipant {
+
+    /**
+     * シャットダウンの猶予期間を過ぎたセッションを打ち切る理由
+     */
+    private static final String ABORT_REASON = "シャットダウンのため打ち切りました";
+
+    private final TransmigrationService transmigrationService;
+    private final SessionProperties properties;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService reaper;
+    private final Set<SessionHandle> runningSessions = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder startedSessions = new LongAdder();
+    private final LongAdder completedSessions = new LongAdder();
+    private final LongAdder failedSessions = new LongAdder();
+    private final LongAdder reapedSessions = new LongAdder();
+
+    private final long startNanos;
+    private final long startAllocatedBytes;
+
+    /**
+     * シャットダウンのため、実行中と開始直後のセッションを打ち切っているかどうか
+     */
+    private volatile boolean aborting;
+
+    /**
+     * セッションエンジンを生成し、停滞したセッションを打ち切るリーパーを開始します。
+     *
+     * @param transmigrationService 各セッションで共有する転生サービス
+     * @param properties            セッションのタイムアウト設定
+     */
+    public TransmigrationSessionEngine(TransmigrationService transmigrationService, SessionProperties properties) {
+        this.transmigrationService = transmigrationService;
+        this.properties = properties;
+        this.startNanos = System.nanoTime();
+        this.startAllocatedBytes = totalAllocatedBytes();
+
+        this.reaper = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("session-reaper").daemon().factory());
+        var interval = properties.reapInterval().toNanos();
+        reaper.scheduleWithFixedDelay(this::reapStalledSessions, interval, interval, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 新しい転生セッションを仮想スレッド上で開始します。
+     * 表示は従来どおりロガーへ1行ずつ出力されます。
+     * 入力プロバイダーはセッション終了時にエンジンがクローズします。
+     *
+     * @param inputProvider このセッション専用の入力プロバイダー
+     * @return セッションが完了したときに転生者で完了するFuture
+     * @throws RejectedExecutionException エンジンがシャットダウン済みの場合
+     */
+    public CompletableFuture<Transmigrator> submit(UserInputProvider inputProvider) {
+        return submit(inputProvider, new LoggingOutputProvider());
+    }
+
+    /**
+     * 新しい転生セッションを仮想スレッド上で開始します。
+     * 入力・出力プロバイダーはセッション終了時にエンジンがクローズします。
+     *
+     * @param inputProvider  このセッション専用の入力プロバイダー
+     * @param outputProvider このセッション専用の出力プロバイダー
+     * @return セッションが完了したときに転生者で完了するFuture
+     * @throws RejectedExecutionException エンジンがシャットダウン済みの場合
+     */
+    public CompletableFuture<Transmigrator> submit(UserInputProvider inputProvider, UserOutputProvider outputProvider) {
+        return submit(inputProvider, outputProvider, transmigrationService::transmigrate);
+    }
+
+    /**
+     * 任意のセッション処理を仮想スレッド上で開始します。
+     * 処理は{@link #submit(UserInputProvider, UserOutputProvider)}と同じく、タイムアウトの監視と
+     * シャットダウン時の排出の対象となる{@link SessionContext}の中で実行されます。
+     * 処理は入力を{@link SessionContext#readLine()}で読み込んでください。
+     * 入力・出力プロバイダーはセッション終了時にエンジンがクローズします。
+     *
+     * @param <T>            セッションの結果の型
+     * @param inputProvider  このセッション専用の入力プロバイダー
+     * @param outputProvider このセッション専用の出力プロバイダー
+     * @param session        セッションの処理
+     * @return セッションが完了したときに処理の結果で完了するFuture
+     * @throws RejectedExecutionException エンジンがシャットダウン済みの場合
+     */
+    public <T> CompletableFuture<T> submit(UserInputProvider inputProvider, UserOutputProvider outputProvider,
+                                           Supplier<T> session) {
+        startedSessions.increment();
+        try {
+            return CompletableFuture.supplyAsync(() -> runSession(inputProvider, outputProvider, session), executor);
+        } catch (RejectedExecutionException e) {
+            startedSessions.decrement();
+            throw e;
+        }
+    }
+
+    /**
+     * 1セッション分の処理を実行します。
+     * 実行中の表示はセッションの出力先へ送られ、入力を読む直前と終了時に書き出されます。
+     *
+     * @param inputProvider  このセッション専用の入力プロバイダー
+     * @param outputProvider このセッション専用の出力プロバイダー
+     * @param session        セッションの処理
+     * @return セッションの処理の結果
+     */
+    private <T> T runSession(UserInputProvider inputProvider, UserOutputProvider outputProvider, Supplier<T> session) {
+        var context = SessionContext.builder()
+                .output(outputProvider)
+                .timeLimit(properties.deadline())
+                .build();
+        // 入力の制限時刻はコンテキストの制限時間から決め、セッションから見える残り時間と揃える
+        var handle = new SessionHandle(
+                Thread.currentThread(), inputProvider, System.nanoTime() + context.remaining().toNanos());
+        runningSessions.add(handle);
+        if (aborting) {
+            handle.abort(ABORT_REASON);
+        }
+        try (inputProvider; outputProvider) {
+            var sessionInput = new SessionInputProvider(inputProvider, outputProvider, handle);
+            var result = context.withInput(sessionInput).call(session);
+            completedSessions.increment();
+            return result;
+        } catch (Exception e) {
+            if (e instanceof SessionTimeoutException || handle.isReaped()) {
+                reapedSessions.increment();
+                warn("セッションを打ち切りました: {}", e.getMessage());
+            } else if (e instanceof SessionInputClosedException) {
+                reapedSessions.increment();
+                info("入力が終了したため、セッションを終了しました");
+            } else {
+                failedSessions.increment();
+                warn("セッションが異常終了しました: {}", e.getMessage());
+            }
+            throw new CompletionException(e);
+        } finally {
+            runningSessions.remove(handle);
+            // 打ち切り時の割り込みを仮想スレッドの終了前に解除しておく
+            Thread.interrupted();
+        }
+    }
+
+    /**
+     * 入力待ちの時間または制限時間を超えたセッションを打ち切ります。リーパーから定期的に呼び出されます。
+     */
+    private void reapStalledSessions() {
+        var now = System.nanoTime();
+        var idleTimeoutNanos = properties.idleTimeout().toNanos();
+        for (var handle : runningSessions) {
+            handle.reapIfStalled(now, idleTimeoutNanos);
+        }
+    }
+
+    /**
+     * 新しいセッションの受け付けを停止します。
+     * 実行中のセッションはそのまま継続します。
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * シャットダウン後、実行中のセッションがすべて終了するまで待機します。
+     *
+     * @param timeout 最大待機時間
+     * @return 時間内にすべてのセッションが終了した場合はtrue
+     * @throws InterruptedException 待機中に割り込まれた場合
+     */
+    public boolean awaitTermination(Duration timeout) throws InterruptedException {
+        return executor.awaitTermination(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * セッションのタイムアウトの設定を取得します。
+     *
+     * @return タイムアウトの設定
+     */
+    public SessionProperties getProperties() {
+        return properties;
+    }
+
+    /**
+     * エンジンがシャットダウン済みかどうかを返します。
+     *
+     * @return シャットダウン済みの場合はtrue
+     */
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    /**
+     * 現在の稼働統計を取得します。
+     *
+     * @return セッション数・スループット・セッションあたりの割り当て量を含む統計
+     */
+    public SessionEngineStats getStats() {
+        var started = startedSessions.sum();
+        var completed = completedSessions.sum();
+        var failed = failedSessions.sum();
+        var reaped = reapedSessions.sum();
+        var finished = completed + failed + reaped;
+        var elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+
+        var elapsedSeconds = elapsed.toNanos() / 1_000_000_000.0;
+        var sessionsPerSecond = elapsedSeconds > 0 ? completed / elapsedSeconds : 0.0;
+
+        var allocated = totalAllocatedBytes();
+        var allocatedPerSession = (allocated < 0 || startAllocatedBytes < 0 || finished == 0)
+                ? -1L
+                : (allocated - startAllocatedBytes) / finished;
+
+        return new SessionEngineStats(
+                started,
+                completed,
+                failed,
+                reaped,
+                started - finished,
+                elapsed,
+                sessionsPerSecond,
+                allocatedPerSession
+        );
+    }
+
+    /**
+     * 統計情報をログに出力します。
+     */
+    public void logStats() {
+        var stats = getStats();
+        info("セッション統計: 完了={} 失敗={} 打ち切り={} 実行中={} スループット={} sessions/sec 割り当て={} bytes/session",
+                stats.getCompletedSessions(),
+                stats.getFailedSessions(),
+                stats.getReapedSessions(),
+                stats.getActiveSessions(),
+                String.format("%.1f", stats.getSessionsPerSecond()),
+                stats.getAllocatedBytesPerSession());
+    }
+
+    /**
+     * JVM全体のヒープ割り当て累計バイト数を取得します。
+     * 仮想スレッドの割り当てはキャリアスレッドに計上されるため、全スレッドの合計で計測します。
+     *
+     * @return 割り当て累計バイト数（計測できない場合は-1）
+     */
+    private static long totalAllocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean
+                && threadMXBean.isThreadAllocatedMemorySupported()
+                && threadMXBean.isThreadAllocatedMemoryEnabled()) {
+            return threadMXBean.getTotalThreadAllocatedBytes();
+        }
+        return -1L;
+    }
+
+    /**
+     * セッション内で使用する入力プロバイダー。
+     * 入力を読む直前にそれまでの表示を1画面分として書き出し、入力待ちの時間をリーパーへ知らせます。
+     * 元の入力プロバイダーのクローズはエンジンが行います。
+     *
+     * @param delegate 元の入力プロバイダー
+     * @param output   書き出す出力プロバイダー
+     * @param handle   このセッションを打ち切るための情報
+     */
+    private record SessionInputProvider(UserInputProvider delegate, UserOutputProvider output, SessionHandle handle)
+            implements UserInputProvider {
+
+        /**
+         * 1行読み込みます。
+         *
+         * @return 入力された文字列（nullは返さない）
+         * @throws SessionTimeoutException     セッションが打ち切られた場合
+         * @throws SessionInputClosedException 入力の終わりに達した場合
+         */
+        @Override
+        public String readLine() {
+            handle.beginRead();
+            String line;
+            try {
+                output.flush();
+                line = delegate.readLine();
+            } catch (RuntimeException e) {
+                handle.endRead(e);
+                throw e;
+            }
+            if (line == null) {
+                // 入力の終わりで再入力を繰り返さないよう、セッションを終える
+                var closed = new SessionInputClosedException();
+                handle.endRead(closed);
+                throw closed;
+            }
+            handle.endRead(null);
+            return line;
+        }
+
+        @Override
+        public void close() {
+            // 元の入力プロバイダーはエンジンがクローズする
+        }
+    }
+
+    @Override
+    public String getDrainName() {
+        return "セッションエンジン";
+    }
+
+    @Override
+    public void stopAccepting() {
+        shutdown();
+    }
+
+    @Override
+    public boolean awaitDrained(Duration timeout) throws InterruptedException {
+        return awaitTermination(timeout);
+    }
+
+    /**
+     * 実行中のセッションを打ち切ってからエンジンを停止し、統計情報をログに出力します。
+     * 打ち切られたセッションも、終了時にそれまでの表示を出力先へ書き出します。
+     */
+    @Override
+    public void closeNow() {
+        shutdown();
+        aborting = true;
+        for (var handle : runningSessions) {
+            handle.abort(ABORT_REASON);
+        }
+        close();
+        logStats();
+    }
+
+    /**
+     * エンジンをシャットダウンし、実行中のセッションの終了を待機します。
+     * 待機中も停滞したセッションはリーパーが打ち切ります。
+     */
+    @Override
+    public void close() {
+        executor.close();
+        reaper.shutdownNow();
+    }
+}
@@ -0,0 +1,62 @@
+package com.kos0514.oop_in_java_learn.service.session;
+
+import com.kos0514.oop_in_java_learn.enums.RaceRarity;
+import com.kos0514.oop_in_java_learn.model.Transmigrator;
+import com.kos0514.oop_in_java_learn.model.value.Age;
+import com.kos0514.oop_in_java_learn.model.value.SoulName;
+import com.kos0514.oop_in_java_learn.model.world.World;
+import com.kos0514.oop_in_java_learn.service.catalog.CatalogSnapshot;
+
+/**
+ * イベント駆動型の転生フローで、入力待ちの間に保持するセッション状態。
+ * <p>
+ * 入力待ちのセッションはスレッドを占有せず、この小さなオブジェクトだけがヒープに残ります。
+ * 種族の一覧は保持せず、最大希少度だけを覚えておき選択時に再取得することで、
+ * 待機中セッション1件あたりのメモリを数十バイトに抑えています。
+ * 種族の一覧を最初に表示した時点のカタログのスナップショットへの参照だけを保持し、
+ * 選択時も同じ版の一覧から選ばせます。種族の一覧をページに分けて表示している場合は、
+ * 表示中のページ番号だけを保持します。
+ * </p>
+ *
+ * <p>状態の更新は{@link TransmigrationStateMachine}だけが行います。
+ * 1つのセッション状態を複数スレッドから同時に更新してはいけません。</p>
+ */
+public final class TransmigrationSessionState {
+
+    TransmigrationStep step = TransmigrationStep.NAME;
+    SoulName soulName;
+    Age age;
+    World world;
+    byte wins;
+    RaceRarity maxRarity;
+    int racePage;
+    CatalogSnapshot catalog;
+    Transmigrator transmigrator;
+
+    /**
+     * 現在の入力待ちの段階を取得します。
+     *
+     * @return 現在の段階
+     */
+    public TransmigrationStep getStep() {
+        return step;
+    }
+
+    /**
+     * 転生が完了しているかどうかを返します。
+     *
+     * @return 完了している場合はtrue
+     */
+    public boolean isCompleted() {
+        return step == TransmigrationStep.COMPLETED;
+    }
+
+    /**
+     * 完了したセッションの転生者を取得します。
+     *
+     * @return 転生者（未完了の場合はnull）
+     */
+    public Transmigrator getTransmigrator() {
+        return transmigrator;
+    }
+}
@@ -0,0 +1,339 @@
+package com.kos0514.oop_in_java_learn.service.session;
+
+import com.kos0514.oop_in_java_learn.entity.generated.Race;
+import com.kos0514.oop_in_java_learn.enums.RaceRarity;
+import com.kos0514.oop_in_java_learn.enums.RockPaperScissors;
+import com.kos0514.oop_in_java_learn.factory.TransmigratorFactory;
+import com.kos0514.oop_in_java_learn.io.ComputerChoiceProvider;
+import com.kos0514.oop_in_java_learn.model.Transmigrator;
+import com.kos0514.oop_in_java_learn.model.value.Age;
+import com.kos0514.oop_in_java_learn.model.value.SoulName;
+import com.kos0514.oop_in_java_learn.repository.WorldRepository;
+import com.kos0514.oop_in_java_learn.service.catalog.RaceCatalogCache;
+import com.kos0514.oop_in_java_learn.service.menu.MenuRenderer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static com.kos0514.oop_in_java_learn.enums.RaceRarity.LEGENDARY;
+import static com.kos0514.oop_in_java_learn.enums.RaceRarity.SECRET;
+import static com.kos0514.oop_in_java_learn.enums.RaceRarity.STANDARD;
+import static com.kos0514.oop_in_java_learn.enums.RaceRarity.UNIQUE;
+
+/**
+ * 転生フローをイベント駆動で進めるステートマシン。
+ * <p>
+ * {@link com.kos0514.oop_in_java_learn.service.TransmigrationService}と同じ流れ
+ * （名前 → 年齢 → 世界 → じゃんけん → 種族 → 作成）を、入力1行ごとに
+ * {@link #handle(TransmigrationSessionState, String)}で1段階ずつ進めます。
+ * {@code readLine()}でスレッドをブロックしないため、1本のスレッドで多数の
+ * 入力待ちセッションを駆動できます。
+ * </p>
+ *
+ * <p>このクラス自体は状態を持たず、セッション固有の状態はすべて
+ * {@link TransmigrationSessionState}に保持されます。
+ * 世界と種族の一覧は{@link MenuRenderer}が描画済みの画面をプロンプトの末尾に続けます。</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class TransmigrationStateMachine {
+
+    /**
+     * 種族選択のじゃんけんの最大ラウンド数
+     */
+    private static final int MAX_ROUNDS = 3;
+
+    private final WorldRepository worldRepository;
+    private final RaceCatalogCache raceCatalogCache;
+    private final ComputerChoiceProvider computerChoiceProvider;
+    private final TransmigratorFactory transmigratorFactory;
+    private final MenuRenderer menuRenderer;
+
+    /**
+     * 新しいセッション状態を生成します。
+     *
+     * @return 名前の入力待ちのセッション状態
+     */
+    public TransmigrationSessionState newSession() {
+        return new TransmigrationSessionState();
+    }
+
+    /**
+     * セッション開始時に表示するプロンプトを返します。
+     *
+     * @return 開始メッセージと名前の入力プロンプト
+     */
+    public String start() {
+        return new PromptBuilder()
+                .line("転生プロセスを開始します...")
+                .separator()
+                .line("    異世界転生トランスミッションサービス")
+                .separator()
+                .line("転生者の名前を入力してください:")
+                .build();
+    }
+
+    /**
+     * 入力1行を処理してセッションを次の段階へ進め、次に表示するプロンプトを返します。
+     * 入力が不正な場合は段階を進めず、警告と再入力のプロンプトを返します。
+     *
+     * @param state セッション状態
+     * @param line  ユーザーが入力した1行
+     * @return 次に表示するプロンプトと入力後の段階
+     */
+    public StepResponse handle(TransmigrationSessionState state, String line) {
+        var prompt = new PromptBuilder();
+        switch (state.step) {
+            case NAME -> handleName(state, line, prompt);
+            case AGE -> handleAge(state, line, prompt);
+            case WORLD -> handleWorld(state, line, prompt);
+            case ROCK_PAPER_SCISSORS_HAND -> handleHand(state, line, prompt);
+            case ROCK_PAPER_SCISSORS_CONTINUE -> handleContinue(state, line, prompt);
+            case RACE -> handleRace(state, line, prompt);
+            case COMPLETED -> prompt.line("転生はすでに完了しています。");
+        }
+        return new StepResponse(prompt.build(), prompt.menu(), state.step, state.transmigrator);
+    }
+
+    /**
+     * 名前の入力を処理します。
+     */
+    private void handleName(TransmigrationSessionState state, String line, PromptBuilder prompt) {
+        try {
+            state.soulName = SoulName.of(line);
+            state.step = TransmigrationStep.AGE;
+            prompt.line("転生者の年齢を入力してください (1～120の整数):");
+        } catch (IllegalArgumentException e) {
+            prompt.line(e.getMessage()).line("転生者の名前を入力してください:");
+        }
+    }
+
+    /**
+     * 年齢の入力を処理し、成功した場合は世界の一覧を表示します。
+     */
+    private void handleAge(TransmigrationSessionState state, String line, PromptBuilder prompt) {
+        try {
+            state.age = Age.fromString(line);
+            state.step = TransmigrationStep.WORLD;
+            appendWorldMenu(prompt);
+        } catch (IllegalArgumentException e) {
+            prompt.line(e.getMessage()).line("転生者の年齢を入力してください (1～120の整数):");
+        }
+    }
+
+    /**
+     * 世界の番号の入力を処理し、成功した場合はじゃんけんを開始します。
+     */
+    private void handleWorld(TransmigrationSessionState state, String line, PromptBuilder prompt) {
+        var availableWorlds = worldRepository.getAvailableWorlds();
+        var selection = parseNumber(line, prompt);
+        if (selection == null) {
+            return;
+        }
+        if (selection < 1 || selection > availableWorlds.size()) {
+            prompt.line("有効な番号を入力してください (1-{})。", availableWorlds.size());
+            return;
+        }
+
+        var world = availableWorlds.get(selection - 1);
+        state.world = world;
+        prompt.startSeparator()
+                .line("{}に転生が決定しました！", world.getName())
+                .line("【世界の説明】")
+                .line("{}", world.getDescription())
+                .endSeparator();
+
+        prompt.line("【種族選択】")
+                .line("あなたの種族を決定します。")
+                .line("希少な種族を選ぶには、じゃんけんに勝つ必要があります。")
+                .line("【{}】", "じゃんけんゲーム")
+                .line("{}: 通常選択可能 {}: 1回勝利で選択可能, {}: 2回連続勝利で選択可能, {}: 3回連続勝利で選択可能",
+                        STANDARD.name(), UNIQUE.name(), LEGENDARY.name(), SECRET.name());
+        state.wins = 0;
+        state.step = TransmigrationStep.ROCK_PAPER_SCISSORS_HAND;
+        appendRoundHeader(state, prompt);
+    }
+
+    /**
+     * じゃんけんの手の入力を処理し、勝敗を判定します。
+     */
+    private void handleHand(TransmigrationSessionState state, String line, PromptBuilder prompt) {
+        var input = parseNumber(line, prompt);
+        if (input == null) {
+            return;
+        }
+        if (input < 1 || input > 3) {
+            prompt.line("1から3の数字を入力してください。");
+            return;
+        }
+
+        var playerHand = RockPaperScissors.fromValue(input);
+        var computerHand = computerChoiceProvider.chooseHand();
+        prompt.line("あなた: {}", playerHand.getJapaneseName())
+                .line("相手: {}", computerHand.getJapaneseName());
+
+        if (playerHand == computerHand) {
+            prompt.line("あいこです。もう一度！");
+            appendHandMenu(prompt);
+            return;
+        }
+        if (!playerHand.beats(computerHand)) {
+            prompt.line("負けてしまいました...");
+            finishRockPaperScissors(state, prompt);
+            return;
+        }
+
+        state.wins++;
+        prompt.line("勝利しました！ 現在{}回勝利", state.wins);
+        if (state.wins >= MAX_ROUNDS) {
+            finishRockPaperScissors(state, prompt);
+            return;
+        }
+        state.step = TransmigrationStep.ROCK_PAPER_SCISSORS_CONTINUE;
+        prompt.line("続けますか？ (1: はい, 2: いいえ)");
+    }
+
+    /**
+     * じゃんけんを続けるかどうかの入力を処理します。
+     */
+    private void handleContinue(TransmigrationSessionState state, String line, PromptBuilder prompt) {
+        var choice = parseNumber(line, prompt);
+        if (choice == null) {
+            return;
+        }
+        switch (choice) {
+            case 1 -> {
+                state.step = TransmigrationStep.ROCK_PAPER_SCISSORS_HAND;
+                appendRoundHeader(state, prompt);
+            }
+            case 2 -> finishRockPaperScissors(state, prompt);
+            default -> prompt.line("1か2を入力してください。");
+        }
+    }
+
+    /**
+     * 種族の番号の入力を処理し、成功した場合は転生者を作成してセッションを完了します。
+     * ページ送りや名前の検索の入力には、該当するページや検索結果を表示します。
+     */
+    private void handleRace(TransmigrationSessionState state, String line, PromptBuilder prompt) {
+        var availableRaces = state.catalog.racesUpTo(state.maxRarity);
+        var navigated = menuRenderer.navigateRaceMenu(availableRaces, state.racePage, line,
+                () -> state.catalog.nameIndex(state.maxRarity));
+        if (navigated != null) {
+            state.racePage = navigated.page();
+            prompt.menu(navigated.menu());
+            return;
+        }
+        var selection = parseNumber(line, prompt);
+        if (selection == null) {
+            return;
+        }
+        if (selection < 1 || selection > availableRaces.size()) {
+            prompt.line("有効な番号を入力してください (1-{})。", availableRaces.size());
+            return;
+        }
+
+        var race = availableRaces.get(selection - 1);
+        prompt.startSeparator()
+                .line("{}種族に転生が決定しました！", race.getJapaneseName())
+                .line("【種族の説明】")
+                .line("{}", race.getDescription())
+                .line("【特殊能力】")
+                .line("{}", race.getSpecialAbility())
+                .endSeparator();
+
+        var transmigrator = transmigratorFactory.create(state.soulName, state.age, state.world, race, state.catalog);
+        appendTransmigrationResult(transmigrator, prompt);
+
+        state.transmigrator = transmigrator;
+        state.step = TransmigrationStep.COMPLETED;
+    }
+
+    /**
+     * じゃんけんを終了し、勝利回数に応じた種族の一覧を表示して種族選択へ進めます。
+     */
+    private void finishRockPaperScissors(TransmigrationSessionState state, PromptBuilder prompt) {
+        var rarity = RaceRarity.fromWins(state.wins);
+        if (rarity == STANDARD) {
+            prompt.line("{}の種族のみ選択可能です。", rarity.name());
+        } else {
+            prompt.line("{}までの種族が選択可能になりました！", rarity.name());
+        }
+        state.maxRarity = rarity;
+        // 一覧を表示した時点のカタログを固定し、選択と転生者の作成にも同じ版を使う
+        state.catalog = raceCatalogCache.latest();
+        state.step = TransmigrationStep.RACE;
+        state.racePage = 1;
+        appendRaceMenu(state.catalog.racesUpTo(rarity), prompt);
+    }
+
+    /**
+     * 利用可能な世界の一覧と番号入力のプロンプトを追加します。
+     */
+    private void appendWorldMenu(PromptBuilder prompt) {
+        prompt.menu(menuRenderer.worldMenu(worldRepository.getAvailableWorlds()));
+    }
+
+    /**
+     * じゃんけんのラウンド見出しと手の選択肢を追加します。
+     */
+    private void appendRoundHeader(TransmigrationSessionState state, PromptBuilder prompt) {
+        prompt.separator()
+                .line("【{}回目のじゃんけん】", state.wins + 1)
+                .separator();
+        appendHandMenu(prompt);
+    }
+
+    /**
+     * じゃんけんの手の選択肢を追加します。
+     */
+    private void appendHandMenu(PromptBuilder prompt) {
+        prompt.line("じゃんけんの手を選んでください:")
+                .line("1: グー")
+                .line("2: チョキ")
+                .line("3: パー");
+    }
+
+    /**
+     * 選択可能な種族の一覧と番号入力のプロンプトを追加します。
+     * カタログの版と希少度の上限ごとに描画済みの画面を再利用します。
+     */
+    private void appendRaceMenu(List<Race> races, PromptBuilder prompt) {
+        prompt.menu(menuRenderer.raceMenu(races));
+    }
+
+    /**
+     * 転生の実行結果と基礎ステータスを追加します。
+     */
+    private void appendTransmigrationResult(Transmigrator transmigrator, PromptBuilder prompt) {
+        var name = transmigrator.getSoulName().getName();
+        var statuses = transmigrator.getPlayableStatuses();
+        prompt.line("{}さんの転生を実行しています...", name)
+                .line("転生完了: 「{}」さんは、「{}」の「{}」種族に転生しました！",
+                        name, transmigrator.getWorld().getName(), transmigrator.getRace().getJapaneseName())
+                .separator()
+                .line("【基礎ステータス】")
+                .line("STR: {}", statuses.getStrength().getValue())
+                .line("VIT: {}", statuses.getVitality().getValue())
+                .line("INT: {}", statuses.getIntelligence().getValue())
+                .line("AGI: {}", statuses.getAgility().getValue())
+                .line("DEX: {}", statuses.getDexterity().getValue())
+                .line("LUC: {}", statuses.getLuck().getValue())
+                .line("HP: {}", statuses.getHealthPoints().getValue())
+                .line("MP: {}", statuses.getMagicPoints().getValue())
+                .separator();
+    }
+
+    /**
+     * 入力を整数に変換します。変換できない場合は警告をプロンプトに追加してnullを返します。
+     */
+    private Integer parseNumber(String line, PromptBuilder prompt) {
+        try {
+            return Integer.parseInt(line);
+        } catch (NumberFormatException e) {
+            prompt.line("数値を入力してください。");
+            return null;
+        }
+    }
+}
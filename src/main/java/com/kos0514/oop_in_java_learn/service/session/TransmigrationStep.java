@@ -0,0 +1,42 @@
+package com.kos0514.oop_in_java_learn.service.session;
+
+/**
+ * イベント駆動型の転生フローにおける入力待ちの段階を表す列挙型。
+ * 名前 → 年齢 → 世界 → じゃんけん → 種族 → 完了 の順に遷移します。
+ */
+public enum TransmigrationStep {
+    /**
+     * 転生者の名前の入力待ち
+     */
+    NAME,
+
+    /**
+     * 転生者の年齢の入力待ち
+     */
+    AGE,
+
+    /**
+     * 転生先の世界の番号の入力待ち
+     */
+    WORLD,
+
+    /**
+     * じゃんけんの手の入力待ち
+     */
+    ROCK_PAPER_SCISSORS_HAND,
+
+    /**
+     * じゃんけんを続けるかどうかの入力待ち
+     */
+    ROCK_PAPER_SCISSORS_CONTINUE,
+
+    /**
+     * 種族の番号の入力待ち
+     */
+    RACE,
+
+    /**
+     * 転生完了（これ以上の入力は受け付けない）
+     */
+    COMPLETED
+}
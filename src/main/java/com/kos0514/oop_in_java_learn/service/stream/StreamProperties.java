@@ -0,0 +1,16 @@
+package com.kos0514.oop_in_java_learn.service.stream;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 転生結果のストリーミング配信の設定プロパティ。
+ *
+ * @param maxBatchSize 1回の取り出しでまとめて処理するリクエスト数の上限
+ */
+@ConfigurationProperties(prefix = "transmigration.stream")
+public record StreamProperties(
+        @DefaultValue("256")
+        int maxBatchSize
+) {
+}
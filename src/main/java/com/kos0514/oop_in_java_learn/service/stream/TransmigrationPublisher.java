@@ -0,0 +1,283 @@
+package com.kos0514.oop_in_java_learn.service.stream;
+
+import com.kos0514.oop_in_java_learn.model.Transmigrator;
+import com.kos0514.oop_in_java_learn.service.request.DirectTransmigrationService;
+import com.kos0514.oop_in_java_learn.service.request.TransmigrationRequest;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.warn;
+
+/**
+ * 転生リクエストの並びから、購読者の要求数に合わせて転生者を配信するパブリッシャー。
+ * <p>
+ * 転生者は購読者が{@link Flow.Subscription#request(long)}で要求した数だけ作成されます。
+ * 要求がない間はリクエストの取り出しも転生者の作成も行わないため、遅い購読者に対しても
+ * 未配信の転生者がメモリに溜まることはありません。
+ * </p>
+ *
+ * <p>リクエストは未処理の要求数（最大{@code maxBatchSize}件）ごとにまとめて取り出され、
+ * 1回のタスクで連続して処理されます。検証に失敗したリクエストは警告を出して読み飛ばします。
+ * それ以外の失敗（DBアクセスの失敗や購読者の{@code onNext}の例外など）は、後始末をしてから
+ * 購読者へ{@code onError}で通知し、配信を終了します。
+ * リクエストの並びは1度しか読めないため、購読できるのは1つの購読者だけです。</p>
+ */
+public class TransmigrationPublisher implements Flow.Publisher<Transmigrator> {
+
+    private final DirectTransmigrationService directTransmigrationService;
+    private final Iterator<TransmigrationRequest> requests;
+    private final Runnable onClose;
+    private final Executor executor;
+    private final int maxBatchSize;
+
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private final LongAdder pulledRequests = new LongAdder();
+    private final LongAdder skippedRequests = new LongAdder();
+
+    /**
+     * パブリッシャーを生成します。
+     *
+     * @param directTransmigrationService 転生を実行するサービス
+     * @param requests                    転生リクエストの並び
+     * @param onClose                     配信の完了・キャンセル・エラー時に1度だけ呼ばれる後始末
+     * @param executor                    配信処理を実行するエグゼキューター
+     * @param maxBatchSize                1回の取り出しでまとめて処理するリクエスト数の上限
+     */
+    public TransmigrationPublisher(DirectTransmigrationService directTransmigrationService,
+                                   Iterator<TransmigrationRequest> requests,
+                                   Runnable onClose,
+                                   Executor executor,
+                                   int maxBatchSize) {
+        this.directTransmigrationService = directTransmigrationService;
+        this.requests = requests;
+        this.onClose = onClose;
+        this.executor = executor;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+
+    /**
+     * 購読者を登録します。2つ目以降の購読者にはエラーを通知します。
+     *
+     * @param subscriber 購読者
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super Transmigrator> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    // 何もしない
+                }
+
+                @Override
+                public void cancel() {
+                    // 何もしない
+                }
+            });
+            subscriber.onError(new IllegalStateException("このパブリッシャーはすでに購読されています"));
+            return;
+        }
+        var subscription = new TransmigrationSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * リクエストの並びから取り出したリクエスト数を返します。
+     *
+     * @return 取り出したリクエスト数
+     */
+    public long getPulledRequests() {
+        return pulledRequests.sum();
+    }
+
+    /**
+     * 検証に失敗して読み飛ばしたリクエスト数を返します。
+     *
+     * @return 読み飛ばしたリクエスト数
+     */
+    public long getSkippedRequests() {
+        return skippedRequests.sum();
+    }
+
+    /**
+     * 1つの購読者に対する購読。
+     * <p>
+     * シグナル（onNext/onComplete/onError）は実行中のタスクが1つに限られるように
+     * {@code workInProgress}で制御し、同時に複数のスレッドから呼ばれないようにします。
+     * </p>
+     */
+    private final class TransmigrationSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super Transmigrator> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger workInProgress = new AtomicInteger();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+
+        private TransmigrationSubscription(Flow.Subscriber<? super Transmigrator> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("要求数は1以上を指定してください: " + n);
+            } else {
+                requested.getAndAccumulate(n, TransmigrationSubscription::addCapped);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            // 配信中でなければここで後始末まで行う
+            schedule();
+        }
+
+        /**
+         * 配信タスクを実行中でなければエグゼキューターへ投入します。
+         */
+        private void schedule() {
+            if (workInProgress.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        /**
+         * 未処理の要求数だけリクエストを取り出して転生者を作成し、購読者へ配信します。
+         * 処理中に追加の要求やキャンセルがあった場合は、抜ける前にもう1度確認します。
+         */
+        private void drain() {
+            var batch = new ArrayList<TransmigrationRequest>(Math.min(maxBatchSize, 64));
+            var missed = 1;
+            while (true) {
+                if (cancelled) {
+                    close();
+                    return;
+                }
+                if (invalidRequest != null) {
+                    terminate(invalidRequest);
+                    return;
+                }
+
+                var demand = requested.get();
+                var emitted = 0L;
+                while (emitted < demand && !cancelled) {
+                    try {
+                        fillBatch(batch, (int) Math.min(demand - emitted, maxBatchSize));
+                        if (batch.isEmpty()) {
+                            complete();
+                            return;
+                        }
+                        for (var request : batch) {
+                            if (cancelled) {
+                                break;
+                            }
+                            var transmigrator = transmigrate(request);
+                            if (transmigrator != null) {
+                                subscriber.onNext(transmigrator);
+                                emitted++;
+                            }
+                        }
+                    } catch (RuntimeException e) {
+                        // タスクから例外を漏らすと後始末も終了の通知もされず、購読者が待ち続けるため
+                        terminate(e);
+                        return;
+                    }
+                    batch.clear();
+                }
+                if (emitted > 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+
+                missed = workInProgress.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * リクエストの並びから指定した件数までリクエストを取り出します。
+         *
+         * @param batch 取り出したリクエストの格納先
+         * @param size  取り出す件数の上限
+         */
+        private void fillBatch(ArrayList<TransmigrationRequest> batch, int size) {
+            while (batch.size() < size && requests.hasNext()) {
+                batch.add(requests.next());
+                pulledRequests.increment();
+            }
+        }
+
+        /**
+         * リクエスト1件分の転生者を作成します。
+         *
+         * @param request 転生リクエスト
+         * @return 転生者。検証に失敗した場合はnull
+         */
+        private Transmigrator transmigrate(TransmigrationRequest request) {
+            try {
+                return directTransmigrationService.transmigrate(request);
+            } catch (IllegalArgumentException e) {
+                skippedRequests.increment();
+                warn("転生リクエストを読み飛ばしました: {}", e.getMessage());
+                return null;
+            }
+        }
+
+        /**
+         * 配信を正常に終了します。
+         */
+        private void complete() {
+            if (close()) {
+                subscriber.onComplete();
+            }
+        }
+
+        /**
+         * 配信をエラーで終了します。
+         *
+         * @param error 購読者へ通知するエラー
+         */
+        private void terminate(Throwable error) {
+            if (close()) {
+                subscriber.onError(error);
+            }
+        }
+
+        /**
+         * 後始末を1度だけ実行します。
+         *
+         * @return このメソッドの呼び出しで初めて後始末した場合はtrue
+         */
+        private boolean close() {
+            if (!closed.compareAndSet(false, true)) {
+                return false;
+            }
+            cancelled = true;
+            onClose.run();
+            return true;
+        }
+
+        /**
+         * 上限をLong.MAX_VALUEとして要求数を加算します。
+         */
+        private static long addCapped(long current, long n) {
+            var sum = current + n;
+            return sum < 0 ? Long.MAX_VALUE : sum;
+        }
+    }
+}
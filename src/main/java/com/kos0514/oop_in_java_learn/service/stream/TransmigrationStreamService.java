@@ -0,0 +1,62 @@
+package com.kos0514.oop_in_java_learn.service.stream;
+
+import com.kos0514.oop_in_java_learn.model.Transmigrator;
+import com.kos0514.oop_in_java_learn.service.request.DirectTransmigrationService;
+import com.kos0514.oop_in_java_learn.service.request.TransmigrationRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
+
+/**
+ * 転生結果を{@link Flow.Publisher}として配信するサービス。
+ * <p>
+ * 大量の転生を処理する際に、配信先の処理速度に合わせて転生者を作成します。
+ * 配信処理は仮想スレッド上で実行されるため、呼び出し元のスレッドはブロックされません。
+ * </p>
+ */
+@Service
+public class TransmigrationStreamService implements AutoCloseable {
+
+    private final DirectTransmigrationService directTransmigrationService;
+    private final StreamProperties properties;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * ストリーミング配信サービスを生成します。
+     *
+     * @param directTransmigrationService 転生を実行するサービス
+     * @param properties                  ストリーミング配信の設定
+     */
+    public TransmigrationStreamService(DirectTransmigrationService directTransmigrationService,
+                                       StreamProperties properties) {
+        this.directTransmigrationService = directTransmigrationService;
+        this.properties = properties;
+    }
+
+    /**
+     * 転生リクエストのストリームから転生者を配信するパブリッシャーを生成します。
+     * ストリームは購読者の要求に応じて少しずつ読まれ、配信の終了時にクローズされます。
+     *
+     * @param requests 転生リクエストのストリーム（無限ストリームも可）
+     * @return 購読者1つだけが購読できるパブリッシャー
+     */
+    public TransmigrationPublisher publish(Stream<TransmigrationRequest> requests) {
+        return new TransmigrationPublisher(
+                directTransmigrationService,
+                requests.iterator(),
+                requests::close,
+                executor,
+                properties.maxBatchSize());
+    }
+
+    /**
+     * 配信処理用のエグゼキューターを停止し、実行中の配信の終了を待ちます。
+     */
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
@@ -0,0 +1,34 @@
+package com.kos0514.oop_in_java_learn.service.warmup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 起動時のウォームアップに関する設定プロパティ。
+ *
+ * @param enabled               サーバーを起動する前にウォームアップを行うかどうか
+ * @param sessions              最低限実行する台本セッション数
+ * @param maxSessions           JITコンパイルが落ち着かない場合でも打ち切る台本セッション数
+ * @param batchSize             JITコンパイルの状況を確認する間隔（セッション数）
+ * @param settleCompilationTime 1回の確認間隔で増えたJITコンパイル時間がこの値以下になれば、落ち着いたとみなす
+ */
+@ConfigurationProperties(prefix = "transmigration.warmup")
+public record WarmupProperties(
+        @DefaultValue("false")
+        boolean enabled,
+
+        @DefaultValue("5000")
+        int sessions,
+
+        @DefaultValue("50000")
+        int maxSessions,
+
+        @DefaultValue("500")
+        int batchSize,
+
+        @DefaultValue("20ms")
+        Duration settleCompilationTime
+) {
+}
@@ -0,0 +1,31 @@
+package com.kos0514.oop_in_java_learn.service.warmup;
+
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * ウォームアップの結果を表す値オブジェクト。
+ */
+@Value
+public class WarmupResult {
+    /**
+     * 実行した台本セッション数
+     */
+    int sessions;
+
+    /**
+     * ウォームアップにかかった時間
+     */
+    Duration elapsed;
+
+    /**
+     * ウォームアップ中に増えたJITコンパイル時間（計測できない場合は{@link Duration#ZERO}）
+     */
+    Duration compilationTime;
+
+    /**
+     * JITコンパイルが落ち着いたことを確認できたかどうか
+     */
+    boolean settled;
+}
@@ -0,0 +1,79 @@
+package com.kos0514.oop_in_java_learn.service.warmup;
+
+import com.kos0514.oop_in_java_learn.enums.RockPaperScissors;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.kos0514.oop_in_java_learn.enums.RockPaperScissors.PAPER;
+import static com.kos0514.oop_in_java_learn.enums.RockPaperScissors.ROCK;
+import static com.kos0514.oop_in_java_learn.enums.RockPaperScissors.SCISSORS;
+
+/**
+ * ウォームアップで実行する台本セッションの種類。
+ * <p>
+ * じゃんけんの負け・あいこ・連勝や不正な入力の再入力など、実際のセッションで通る分岐を
+ * 一通り実行できるように、プレイヤーの入力とコンピュータの手を組にして定義します。
+ * プレイヤーはすべての台本でグー（1）を出します。
+ * </p>
+ */
+@Getter
+enum WarmupScenario {
+
+    /**
+     * 1回目で負けてSTANDARDの種族を選ぶ
+     */
+    LOSE(List.of(PAPER), List.of("転生魂", "25"), List.of("1", "1")),
+
+    /**
+     * あいこの後に勝ち、続けずにUNIQUEまでの種族を選ぶ
+     */
+    DRAW_WIN_STOP(List.of(ROCK, SCISSORS), List.of("転生魂", "30"), List.of("1", "1", "2", "1")),
+
+    /**
+     * 3連勝してSECRETまでの種族を選ぶ
+     */
+    WIN_THREE(List.of(SCISSORS, SCISSORS, SCISSORS), List.of("転生魂", "40"),
+            List.of("1", "1", "1", "1", "1", "1")),
+
+    /**
+     * 各段階で不正な入力をしてから正しい入力をし直す
+     */
+    INVALID_INPUTS(List.of(PAPER), List.of("", "転生魂", "abc", "25", "9"), List.of("x", "1", "0", "1"));
+
+    /**
+     * コンピュータが出す手の並び
+     */
+    private final List<RockPaperScissors> computerHands;
+
+    /**
+     * 世界の番号より前の入力（名前・年齢など）
+     */
+    private final List<String> beforeWorld;
+
+    /**
+     * 世界の番号より後の入力（じゃんけん・種族）
+     */
+    private final List<String> afterWorld;
+
+    WarmupScenario(List<RockPaperScissors> computerHands, List<String> beforeWorld, List<String> afterWorld) {
+        this.computerHands = computerHands;
+        this.beforeWorld = beforeWorld;
+        this.afterWorld = afterWorld;
+    }
+
+    /**
+     * 世界の番号を含む、プレイヤーの入力の並びを組み立てます。
+     *
+     * @param worldIndex 選択する世界の番号（1始まり）
+     * @return 入力の並び
+     */
+    List<String> inputs(int worldIndex) {
+        var inputs = new ArrayList<String>(beforeWorld.size() + 1 + afterWorld.size());
+        inputs.addAll(beforeWorld);
+        inputs.add(String.valueOf(worldIndex));
+        inputs.addAll(afterWorld);
+        return inputs;
+    }
+}
@@ -0,0 +1,168 @@
+package com.kos0514.oop_in_java_learn.service.warmup;
+
+import com.kos0514.oop_in_java_learn.context.SessionContext;
+import com.kos0514.oop_in_java_learn.factory.TransmigratorFactory;
+import com.kos0514.oop_in_java_learn.io.NullOutputProvider;
+import com.kos0514.oop_in_java_learn.io.ScriptedComputerChoiceProvider;
+import com.kos0514.oop_in_java_learn.io.ScriptedInputProvider;
+import com.kos0514.oop_in_java_learn.model.Transmigrator;
+import com.kos0514.oop_in_java_learn.repository.WorldRepository;
+import com.kos0514.oop_in_java_learn.service.TransmigrationService;
+import com.kos0514.oop_in_java_learn.service.catalog.RaceCatalogCache;
+import com.kos0514.oop_in_java_learn.service.game.RockPaperScissorsGame;
+import com.kos0514.oop_in_java_learn.service.menu.MenuRenderer;
+import com.kos0514.oop_in_java_learn.service.prefetch.CatalogPrefetcher;
+import com.kos0514.oop_in_java_learn.service.race.SelectRaceService;
+import com.kos0514.oop_in_java_learn.service.session.TransmigrationStateMachine;
+import com.kos0514.oop_in_java_learn.service.world.SelectWorldService;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+
+import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.info;
+import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.warn;
+
+/**
+ * 実際のユーザーを受け付ける前に、台本どおりのセッションを繰り返してJITコンパイラを温めるサービス。
+ * <p>
+ * 起動直後のセッションは、{@code PlayableStatusesFactory.create}・{@code TransmigratorFactory.create}・
+ * じゃんけんの判定・種族カタログの参照をインタプリタやC1コンパイル済みのコードで実行するため、
+ * 温まった後より大幅に遅くなります。このサービスは本物のサービス・ファクトリー・キャッシュを
+ * 台本の入力とコンピュータの手で駆動し、これらの経路を最適化済みのコードに置き換えます。
+ * </p>
+ *
+ * <p>対話版の{@link TransmigrationService}とTCP版の{@link TransmigrationStateMachine}を交互に実行し、
+ * {@link WarmupProperties#sessions()}件を実行した後は、一定件数ごとに増えたJITコンパイル時間が
+ * {@link WarmupProperties#settleCompilationTime()}以下になった時点で終了します。
+ * 表示はすべて破棄するため、ログには結果の要約だけが出力されます。</p>
+ */
+@Service
+public class WarmupService {
+
+    private static final WarmupScenario[] SCENARIOS = WarmupScenario.values();
+
+    private final WorldRepository worldRepository;
+    private final WarmupProperties properties;
+    private final ScriptedComputerChoiceProvider computerChoiceProvider = new ScriptedComputerChoiceProvider();
+    private final TransmigrationService transmigrationService;
+    private final TransmigrationStateMachine stateMachine;
+
+    /**
+     * ウォームアップ用に、台本の手を出すじゃんけんで本物のサービスを組み立てます。
+     *
+     * @param transmigratorFactory 転生者のファクトリー
+     * @param worldRepository      世界のリポジトリ
+     * @param raceCatalogCache     種族カタログのキャッシュ
+     * @param catalogPrefetcher    種族カタログの先読み
+     * @param menuRenderer         メニューの描画（描画済みの画面は実際のセッションと共有する）
+     * @param properties           ウォームアップの設定
+     */
+    public WarmupService(TransmigratorFactory transmigratorFactory, WorldRepository worldRepository,
+                         RaceCatalogCache raceCatalogCache, CatalogPrefetcher catalogPrefetcher,
+                         MenuRenderer menuRenderer, WarmupProperties properties) {
+        this.worldRepository = worldRepository;
+        this.properties = properties;
+        var rockPaperScissorsGame = new RockPaperScissorsGame(computerChoiceProvider);
+        this.transmigrationService = new TransmigrationService(
+                transmigratorFactory,
+                new SelectWorldService(worldRepository, menuRenderer),
+                new SelectRaceService(raceCatalogCache, rockPaperScissorsGame, menuRenderer),
+                catalogPrefetcher);
+        this.stateMachine = new TransmigrationStateMachine(
+                worldRepository, raceCatalogCache, computerChoiceProvider, transmigratorFactory, menuRenderer);
+    }
+
+    /**
+     * 台本セッションを繰り返し、JITコンパイルが落ち着くか上限に達するまで実行します。
+     * 呼び出し元のスレッドで順番に実行します。
+     *
+     * @return 実行したセッション数とかかった時間を含む結果
+     */
+    public WarmupResult warmUp() {
+        var compilation = ManagementFactory.getCompilationMXBean();
+        var monitored = compilation != null && compilation.isCompilationTimeMonitoringSupported();
+        var worldCount = worldRepository.getAvailableWorlds().size();
+
+        info("ウォームアップを開始します: 最低{}セッション", properties.sessions());
+        var started = System.nanoTime();
+        var startedCompilationMillis = compilationMillis(compilation, monitored);
+        var sessions = 0;
+        var settled = false;
+        while (sessions < properties.maxSessions()) {
+            var batchCompilationMillis = compilationMillis(compilation, monitored);
+            var batchEnd = Math.min(sessions + properties.batchSize(), properties.maxSessions());
+            while (sessions < batchEnd) {
+                runSession(sessions++, worldCount);
+            }
+            if (sessions < properties.sessions()) {
+                continue;
+            }
+            if (!monitored) {
+                break;
+            }
+            var grown = compilationMillis(compilation, true) - batchCompilationMillis;
+            if (grown <= properties.settleCompilationTime().toMillis()) {
+                settled = true;
+                break;
+            }
+        }
+
+        var result = new WarmupResult(
+                sessions,
+                Duration.ofNanos(System.nanoTime() - started),
+                Duration.ofMillis(compilationMillis(compilation, monitored) - startedCompilationMillis),
+                settled);
+        if (settled || !monitored) {
+            info("ウォームアップが完了しました: セッション={} 所要時間={}ms JITコンパイル時間={}ms",
+                    result.getSessions(), result.getElapsed().toMillis(), result.getCompilationTime().toMillis());
+        } else {
+            warn("JITコンパイルが落ち着く前にウォームアップの上限に達しました: セッション={} 所要時間={}ms",
+                    result.getSessions(), result.getElapsed().toMillis());
+        }
+        return result;
+    }
+
+    /**
+     * 台本セッションを1件実行します。
+     * 偶数番目は対話版のサービス、奇数番目はステートマシンで実行し、台本と世界の番号を順に切り替えます。
+     *
+     * @param sessionIndex セッションの通し番号
+     * @param worldCount   選択可能な世界の数
+     * @return 作成された転生者
+     */
+    Transmigrator runSession(int sessionIndex, int worldCount) {
+        var flowIndex = sessionIndex / 2;
+        var scenario = SCENARIOS[flowIndex % SCENARIOS.length];
+        var inputs = scenario.inputs(flowIndex / SCENARIOS.length % worldCount + 1);
+        computerChoiceProvider.setHands(scenario.getComputerHands());
+
+        if (sessionIndex % 2 == 0) {
+            var context = SessionContext.builder()
+                    .input(new ScriptedInputProvider(inputs))
+                    .output(new NullOutputProvider())
+                    .build();
+            return context.call(transmigrationService::transmigrate);
+        }
+        var state = stateMachine.newSession();
+        for (var line : inputs) {
+            var response = stateMachine.handle(state, line);
+            if (response.isCompleted()) {
+                return response.getTransmigrator();
+            }
+        }
+        throw new IllegalStateException("ウォームアップの台本が完了しませんでした: " + scenario);
+    }
+
+    /**
+     * JITコンパイルにかかった累計時間を取得します。
+     *
+     * @param compilation JITコンパイラの管理Bean
+     * @param monitored   コンパイル時間を計測できるかどうか
+     * @return 累計時間（ミリ秒、計測できない場合は0）
+     */
+    private static long compilationMillis(CompilationMXBean compilation, boolean monitored) {
+        return monitored ? compilation.getTotalCompilationTime() : 0L;
+    }
+}
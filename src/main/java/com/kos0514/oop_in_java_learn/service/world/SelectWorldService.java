@@ -1,13 +1,15 @@
 package com.kos0514.oop_in_java_learn.service.world;
 
-import com.kos0514.oop_in_java_learn.io.UserInputProvider;
+import com.kos0514.oop_in_java_learn.context.SessionContext;
 import com.kos0514.oop_in_java_learn.model.world.World;
 import com.kos0514.oop_in_java_learn.repository.WorldRepository;
+import com.kos0514.oop_in_java_learn.service.menu.MenuRenderer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.endPrintSeparator;
 import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.info;
+import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.infoBlock;
 import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.startPrintSeparator;
 import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.warn;
 import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.warnInputNumber;
@@ -15,41 +17,36 @@ import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.warnInputNumbe
 /**
  * 転生先の世界選択を管理するサービスクラス。
  * 利用可能な世界の一覧を表示し、ユーザーに選択させます。
+ * 入力は現在の{@link SessionContext}から読み取ります。
+ * 一覧は{@link MenuRenderer}が描画済みの画面をまとめて出力します。
  */
 @Service
 @RequiredArgsConstructor
 public class SelectWorldService {
 
     private final WorldRepository worldRepository;
+    private final MenuRenderer menuRenderer;
 
     /**
      * 転生先の世界を選択します。
      *
-     * @param inputProvider 入力を受け付けるUserInputProviderオブジェクト
      * @return 選択された世界
      */
-    public World selectWorld(UserInputProvider inputProvider) {
+    public World selectWorld() {
+        var context = SessionContext.current();
         var availableWorlds = worldRepository.getAvailableWorlds();
 
-        startPrintSeparator();
-        info("【転生先世界の選択】");
-
-        // 利用可能な世界の一覧を表示
-        for (var i = 0; i < availableWorlds.size(); i++) {
-            var world = availableWorlds.get(i);
-            info("{}. {}", i + 1, world.getName());
-            info("   {}", world.getDescription());
-        }
-        endPrintSeparator();
+        // 利用可能な世界の一覧と最初のプロンプトを表示
+        infoBlock(menuRenderer.worldMenu(availableWorlds).getText());
 
         World selectedWorld = null;
         while (selectedWorld == null) {
             try {
-                info("番号を入力してください (1-{}):", availableWorlds.size());
-                var selection = Integer.parseInt(inputProvider.readLine());
+                var selection = Integer.parseInt(context.readLine());
 
                 if (selection < 1 || selection > availableWorlds.size()) {
                     warn("有効な番号を入力してください (1-{})。", availableWorlds.size());
+                    info(MenuRenderer.numberPrompt(availableWorlds.size()));
                     continue; // 条件に合わない場合は次のループへ
                 }
 
@@ -61,6 +58,7 @@ public class SelectWorldService {
                 endPrintSeparator();
             } catch (NumberFormatException e) {
                 warnInputNumber();
+                info(MenuRenderer.numberPrompt(availableWorlds.size()));
             }
         }
 
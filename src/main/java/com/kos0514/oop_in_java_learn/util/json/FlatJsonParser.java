@@ -0,0 +1,208 @@
+package com.kos0514.oop_in_java_learn.util.json;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * フラットなJSONオブジェクトを解析するシンプルなパーサー。
+ * <p>
+ * 転生リクエストのように、値が文字列・数値・真偽値・null、
+ * またはそれらの配列だけで構成されるJSONオブジェクトを対象とします。
+ * 数値は整数であれば{@link Long}、小数を含む場合は{@link Double}として返します。
+ * </p>
+ */
+public class FlatJsonParser {
+
+    private final String json;
+    private int position;
+
+    private FlatJsonParser(String json) {
+        this.json = json;
+    }
+
+    /**
+     * JSONオブジェクト文字列を解析します。
+     *
+     * @param json JSONオブジェクト文字列
+     * @return キーと値のマップ（キーの出現順を保持）
+     * @throws IllegalArgumentException JSONの形式が不正な場合、またはネストしたオブジェクトを含む場合
+     */
+    public static Map<String, Object> parseObject(String json) throws IllegalArgumentException {
+        if (json == null) {
+            throw new IllegalArgumentException("JSONが指定されていません");
+        }
+        var parser = new FlatJsonParser(json);
+        var result = parser.readObject();
+        parser.skipWhitespace();
+        if (parser.position != json.length()) {
+            throw parser.error("オブジェクトの後に余分な文字があります");
+        }
+        return result;
+    }
+
+    private Map<String, Object> readObject() {
+        skipWhitespace();
+        expect('{');
+        var result = new LinkedHashMap<String, Object>();
+        skipWhitespace();
+        if (peek() == '}') {
+            position++;
+            return result;
+        }
+        while (true) {
+            skipWhitespace();
+            var key = readString();
+            skipWhitespace();
+            expect(':');
+            result.put(key, readValue(true));
+            skipWhitespace();
+            var c = next();
+            if (c == '}') {
+                return result;
+            }
+            if (c != ',') {
+                throw error("',' または '}' が必要です");
+            }
+        }
+    }
+
+    private Object readValue(boolean allowArray) {
+        skipWhitespace();
+        var c = peek();
+        if (c == '"') {
+            return readString();
+        }
+        if (c == '[' && allowArray) {
+            return readArray();
+        }
+        if (c == '-' || (c >= '0' && c <= '9')) {
+            return readNumber();
+        }
+        if (json.startsWith("true", position)) {
+            position += 4;
+            return Boolean.TRUE;
+        }
+        if (json.startsWith("false", position)) {
+            position += 5;
+            return Boolean.FALSE;
+        }
+        if (json.startsWith("null", position)) {
+            position += 4;
+            return null;
+        }
+        throw error("サポートされていない値です");
+    }
+
+    private List<Object> readArray() {
+        expect('[');
+        var result = new ArrayList<>();
+        skipWhitespace();
+        if (peek() == ']') {
+            position++;
+            return result;
+        }
+        while (true) {
+            result.add(readValue(false));
+            skipWhitespace();
+            var c = next();
+            if (c == ']') {
+                return result;
+            }
+            if (c != ',') {
+                throw error("',' または ']' が必要です");
+            }
+        }
+    }
+
+    private String readString() {
+        expect('"');
+        var result = new StringBuilder();
+        while (true) {
+            var c = next();
+            if (c == '"') {
+                return result.toString();
+            }
+            if (c != '\\') {
+                result.append(c);
+                continue;
+            }
+            var escaped = next();
+            switch (escaped) {
+                case '"', '\\', '/' -> result.append(escaped);
+                case 'b' -> result.append('\b');
+                case 'f' -> result.append('\f');
+                case 'n' -> result.append('\n');
+                case 'r' -> result.append('\r');
+                case 't' -> result.append('\t');
+                case 'u' -> {
+                    if (position + 4 > json.length()) {
+                        throw error("不正なエスケープです");
+                    }
+                    try {
+                        result.append((char) Integer.parseInt(json, position, position + 4, 16));
+                    } catch (NumberFormatException e) {
+                        throw error("不正なエスケープです");
+                    }
+                    position += 4;
+                }
+                default -> throw error("不正なエスケープです");
+            }
+        }
+    }
+
+    private Number readNumber() {
+        var start = position;
+        if (peek() == '-') {
+            position++;
+        }
+        var decimal = false;
+        while (position < json.length()) {
+            var c = json.charAt(position);
+            if (c >= '0' && c <= '9') {
+                position++;
+            } else if (c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+                decimal = true;
+                position++;
+            } else {
+                break;
+            }
+        }
+        var text = json.substring(start, position);
+        try {
+            return decimal ? (Number) Double.parseDouble(text) : (Number) Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw error("不正な数値です");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+            position++;
+        }
+    }
+
+    private char peek() {
+        if (position >= json.length()) {
+            throw error("JSONが途中で終わっています");
+        }
+        return json.charAt(position);
+    }
+
+    private char next() {
+        var c = peek();
+        position++;
+        return c;
+    }
+
+    private void expect(char expected) {
+        if (next() != expected) {
+            throw error("'" + expected + "' が必要です");
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("JSONの形式が不正です (位置 " + position + "): " + message);
+    }
+}
@@ -0,0 +1,174 @@
+package com.kos0514.oop_in_java_learn.util.json;
+
+/**
+ * JSON文字列を組み立てるシンプルなライター。
+ * <p>
+ * spring-webなどのJSONライブラリに依存せずにレスポンスを生成するためのクラスです。
+ * 要素間のカンマは直前に書き込んだ文字から自動的に補完されます。
+ * </p>
+ *
+ * <pre>{@code
+ * var json = new JsonWriter()
+ *         .beginObject()
+ *         .name("name").value("テスト魂")
+ *         .name("age").value(25)
+ *         .endObject()
+ *         .toString();
+ * }</pre>
+ */
+public class JsonWriter {
+
+    private final StringBuilder json;
+
+    /**
+     * 空のライターを生成します。
+     */
+    public JsonWriter() {
+        this.json = new StringBuilder(256);
+    }
+
+    /**
+     * オブジェクトを開始します。
+     *
+     * @return this (メソッドチェーン用)
+     */
+    public JsonWriter beginObject() {
+        separateValue();
+        json.append('{');
+        return this;
+    }
+
+    /**
+     * オブジェクトを終了します。
+     *
+     * @return this (メソッドチェーン用)
+     */
+    public JsonWriter endObject() {
+        json.append('}');
+        return this;
+    }
+
+    /**
+     * 配列を開始します。
+     *
+     * @return this (メソッドチェーン用)
+     */
+    public JsonWriter beginArray() {
+        separateValue();
+        json.append('[');
+        return this;
+    }
+
+    /**
+     * 配列を終了します。
+     *
+     * @return this (メソッドチェーン用)
+     */
+    public JsonWriter endArray() {
+        json.append(']');
+        return this;
+    }
+
+    /**
+     * オブジェクトのキーを書き込みます。
+     *
+     * @param name キー
+     * @return this (メソッドチェーン用)
+     */
+    public JsonWriter name(String name) {
+        separateValue();
+        appendString(name);
+        json.append(':');
+        return this;
+    }
+
+    /**
+     * 文字列の値を書き込みます。nullの場合はJSONのnullを書き込みます。
+     *
+     * @param value 値
+     * @return this (メソッドチェーン用)
+     */
+    public JsonWriter value(String value) {
+        separateValue();
+        if (value == null) {
+            json.append("null");
+        } else {
+            appendString(value);
+        }
+        return this;
+    }
+
+    /**
+     * 整数の値を書き込みます。
+     *
+     * @param value 値
+     * @return this (メソッドチェーン用)
+     */
+    public JsonWriter value(long value) {
+        separateValue();
+        json.append(value);
+        return this;
+    }
+
+    /**
+     * 真偽値を書き込みます。
+     *
+     * @param value 値
+     * @return this (メソッドチェーン用)
+     */
+    public JsonWriter value(boolean value) {
+        separateValue();
+        json.append(value);
+        return this;
+    }
+
+    /**
+     * 組み立てたJSON文字列を返します。
+     *
+     * @return JSON文字列
+     */
+    @Override
+    public String toString() {
+        return json.toString();
+    }
+
+    /**
+     * 直前の要素との間に必要であればカンマを書き込みます。
+     */
+    private void separateValue() {
+        if (json.isEmpty()) {
+            return;
+        }
+        var last = json.charAt(json.length() - 1);
+        if (last != '{' && last != '[' && last != ':') {
+            json.append(',');
+        }
+    }
+
+    /**
+     * 文字列をエスケープしてダブルクォートで囲んで書き込みます。
+     *
+     * @param value 文字列
+     */
+    private void appendString(String value) {
+        json.append('"');
+        for (var i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
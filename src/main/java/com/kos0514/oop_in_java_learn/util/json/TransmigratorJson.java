@@ -0,0 +1,80 @@
+package com.kos0514.oop_in_java_learn.util.json;
+
+import com.kos0514.oop_in_java_learn.model.Transmigrator;
+import lombok.experimental.UtilityClass;
+
+/**
+ * 転生者をJSONに変換するクラス。
+ * <p>
+ * エンティティをそのまま公開せず、APIレスポンスやバッチの出力として必要な項目だけを出力します。
+ * </p>
+ */
+@UtilityClass
+public class TransmigratorJson {
+
+    /**
+     * 転生者をJSON文字列に変換します。
+     *
+     * @param transmigrator 転生者
+     * @return 転生者と基礎ステータスを表すJSON文字列
+     */
+    public static String toJson(Transmigrator transmigrator) {
+        return write(new JsonWriter(), transmigrator).toString();
+    }
+
+    /**
+     * 転生者をJSONオブジェクトとして書き込みます。
+     * 名前付きの値として埋め込む場合は、先に{@link JsonWriter#name(String)}を呼び出してください。
+     *
+     * @param writer        書き込み先
+     * @param transmigrator 転生者
+     * @return 書き込み先 (メソッドチェーン用)
+     */
+    public static JsonWriter write(JsonWriter writer, Transmigrator transmigrator) {
+        var world = transmigrator.getWorld();
+        var race = transmigrator.getRace();
+        var statuses = transmigrator.getPlayableStatuses();
+
+        return writer
+                .beginObject()
+                .name("soulId").value(transmigrator.getSoulId().getId().toString())
+                .name("name").value(transmigrator.getSoulName().getName())
+                .name("age").value(transmigrator.getAge().getValue())
+                .name("world").beginObject()
+                .name("name").value(world.getName())
+                .name("description").value(world.getDescription())
+                .endObject()
+                .name("race").beginObject()
+                .name("id").value(race.getId())
+                .name("japaneseName").value(race.getJapaneseName())
+                .name("englishName").value(race.getEnglishName())
+                .name("rarity").value(race.getRarity())
+                .name("specialAbility").value(race.getSpecialAbility())
+                .endObject()
+                .name("playableStatuses").beginObject()
+                .name("strength").value(statuses.getStrength().getValue())
+                .name("vitality").value(statuses.getVitality().getValue())
+                .name("intelligence").value(statuses.getIntelligence().getValue())
+                .name("agility").value(statuses.getAgility().getValue())
+                .name("dexterity").value(statuses.getDexterity().getValue())
+                .name("luck").value(statuses.getLuck().getValue())
+                .name("healthPoints").value(statuses.getHealthPoints().getValue())
+                .name("magicPoints").value(statuses.getMagicPoints().getValue())
+                .endObject()
+                .endObject();
+    }
+
+    /**
+     * エラーメッセージをJSON文字列に変換します。
+     *
+     * @param message エラーメッセージ
+     * @return エラーを表すJSON文字列
+     */
+    public static String errorJson(String message) {
+        return new JsonWriter()
+                .beginObject()
+                .name("error").value(message)
+                .endObject()
+                .toString();
+    }
+}
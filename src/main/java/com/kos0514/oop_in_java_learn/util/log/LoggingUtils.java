@@ -1,10 +1,18 @@
 package com.kos0514.oop_in_java_learn.util.log;
 
+import com.kos0514.oop_in_java_learn.context.SessionContext;
+import com.kos0514.oop_in_java_learn.io.UserOutputProvider;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.helpers.MessageFormatter;
 
 /**
  * ロギングに関するユーティリティメソッドを提供するクラス。
+ * <p>
+ * 現在のスレッドに出力先を持つ{@link SessionContext}が設定されている場合、
+ * メッセージはロガーではなくそのセッションの{@link UserOutputProvider}へ出力されます。
+ * これにより、複数のセッションが同時に実行されても各セッションの表示が混ざりません。
+ * </p>
  */
 @Slf4j
 @UtilityClass
@@ -16,6 +24,11 @@ public class LoggingUtils {
      * @param message 出力するメッセージ
      */
     public static void info(String message) {
+        var output = SessionContext.currentOutput();
+        if (output != null) {
+            output.writeLine(message);
+            return;
+        }
         log.info(message);
     }
 
@@ -26,15 +39,40 @@ public class LoggingUtils {
      * @param args   フォーマット内のプレースホルダに対応する引数
      */
     public static void info(String format, Object... args) {
+        var output = SessionContext.currentOutput();
+        if (output != null) {
+            output.writeLine(MessageFormatter.arrayFormat(format, args).getMessage());
+            return;
+        }
         log.info(format, args);
     }
 
+    /**
+     * 描画済みの複数行を情報ログとしてまとめて出力します。
+     * セッションの出力先がある場合は1回で渡し、ない場合は1行ずつロガーへ出力します。
+     *
+     * @param block 出力する行の並び（各行は改行で終わる）
+     */
+    public static void infoBlock(String block) {
+        var output = SessionContext.currentOutput();
+        if (output != null) {
+            output.writeBlock(block);
+            return;
+        }
+        block.lines().forEach(line -> log.info(line));
+    }
+
     /**
      * 警告ログを出力します。
      *
      * @param message 出力するメッセージ
      */
     public static void warn(String message) {
+        var output = SessionContext.currentOutput();
+        if (output != null) {
+            output.writeWarning(message);
+            return;
+        }
         log.warn(message);
     }
 
@@ -45,6 +83,11 @@ public class LoggingUtils {
      * @param args   フォーマット内のプレースホルダに対応する引数
      */
     public static void warn(String format, Object... args) {
+        var output = SessionContext.currentOutput();
+        if (output != null) {
+            output.writeWarning(MessageFormatter.arrayFormat(format, args).getMessage());
+            return;
+        }
         log.warn(format, args);
     }
 
@@ -1,11 +1,18 @@
 package com.kos0514.oop_in_java_learn.util.random_generator;
 
+import com.kos0514.oop_in_java_learn.context.SessionContext;
 import org.springframework.stereotype.Component;
 
 import java.util.Random;
 
 /**
  * java.util.Randomを使用したRandomGeneratorの標準実装
+ *
+ * <p>{@link SessionContext}が設定されている場合はセッション専用の乱数生成器を使用するため、
+ * 複数のセッションがシングルトンを共有しても{@link #setSeed(long)}と{@link #nextInt(int)}の
+ * 呼び出し列は混ざりません。コンテキストが設定されていない場合は共有の{@link Random}を使用し、
+ * 同時に呼び出すと呼び出し列が混ざります。同時に転生者を作成する経路は
+ * {@link SessionContext#forRequest()}などでコンテキストを設定してから呼び出してください。</p>
  */
 @Component
 public class DefaultRandomGenerator implements RandomGenerator {
@@ -17,11 +24,16 @@ public class DefaultRandomGenerator implements RandomGenerator {
 
     @Override
     public int nextInt(int bound) {
-        return random.nextInt(bound);
+        return currentRandom().nextInt(bound);
     }
 
     @Override
     public void setSeed(long seed) {
-        random.setSeed(seed);
+        currentRandom().setSeed(seed);
     }
-}
\ No newline at end of file
+
+    private Random currentRandom() {
+        var sessionRandom = SessionContext.currentRandom();
+        return sessionRandom != null ? sessionRandom : random;
+    }
+}
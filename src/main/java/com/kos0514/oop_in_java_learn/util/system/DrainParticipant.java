@@ -0,0 +1,44 @@
+package com.kos0514.oop_in_java_learn.util.system;
+
+import java.time.Duration;
+
+/**
+ * シャットダウン時に、処理中の作業を排出（ドレイン）してから停止するコンポーネント。
+ * <p>
+ * {@link ExitHandler}は終了時にすべての参加者に対して次の順で呼び出します。
+ * </p>
+ * <ol>
+ *     <li>{@link #stopAccepting()}: 全参加者の新規受け付けを先に停止する</li>
+ *     <li>{@link #awaitDrained(Duration)}: 共通の猶予期間の残り時間だけ、処理中の作業の完了を待つ</li>
+ *     <li>{@link #closeNow()}: 残った作業を打ち切り、バッファや送信待ちのデータを書き出して資源を解放する</li>
+ * </ol>
+ */
+public interface DrainParticipant {
+
+    /**
+     * シャットダウンの報告に表示する名前を取得します。
+     *
+     * @return 参加者の名前
+     */
+    String getDrainName();
+
+    /**
+     * 新しいセッションやリクエストの受け付けを停止します。処理中の作業は継続します。
+     */
+    void stopAccepting();
+
+    /**
+     * 処理中の作業がすべて完了するまで待機します。
+     *
+     * @param timeout 最大待機時間
+     * @return 時間内にすべて完了した場合はtrue
+     * @throws InterruptedException 待機中に割り込まれた場合
+     */
+    boolean awaitDrained(Duration timeout) throws InterruptedException;
+
+    /**
+     * 残っている作業を打ち切り、書き出し待ちのデータを書き出してから資源を解放します。
+     * 排出が時間内に完了した場合も、最後に必ず呼び出されます。
+     */
+    void closeNow();
+}
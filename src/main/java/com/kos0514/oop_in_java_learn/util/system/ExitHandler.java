@@ -3,11 +3,24 @@ package com.kos0514.oop_in_java_learn.util.system;
 /**
  * システム終了処理を抽象化するインターフェース。
  * テスト時にモック化することで、JVMの終了を防ぐことができます。
+ *
+ * <p>終了時は即座にJVMを止めるのではなく、{@link DrainParticipant}の新規受け付けを停止し、
+ * 処理中のセッションを猶予期間内に完了させ、書き出し待ちの出力を書き出してから終了します。</p>
  */
 public interface ExitHandler {
+
+    /**
+     * 新規受け付けを停止し、処理中の作業を猶予期間内に排出します。
+     * 猶予期間を過ぎて残った作業は打ち切ります。JVMは終了しません。
+     * すでに排出済みの場合は、前回の結果をそのまま返します。
+     *
+     * @return 排出にかかった時間と打ち切った参加者を含む結果
+     */
+    ShutdownReport drain();
+
     /**
      * アプリケーションを終了します。
-     * デフォルトでは、ステータス0（正常終了）でシステムを終了します。
+     * {@link #drain()}で処理中の作業を排出してから、ステータス0（正常終了）でシステムを終了します。
      */
     void exit();
-}
\ No newline at end of file
+}
@@ -0,0 +1,18 @@
+package com.kos0514.oop_in_java_learn.util.system;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * シャットダウンに関する設定プロパティ。
+ *
+ * @param gracePeriod 処理中のセッションやリクエストの完了を待つ最大時間（超えた作業は打ち切る）
+ */
+@ConfigurationProperties(prefix = "transmigration.shutdown")
+public record ShutdownProperties(
+        @DefaultValue("30s")
+        Duration gracePeriod
+) {
+}
@@ -0,0 +1,37 @@
+package com.kos0514.oop_in_java_learn.util.system;
+
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * シャットダウンの結果。
+ */
+@Value
+public class ShutdownReport {
+
+    /**
+     * 受け付けを停止してから、すべての参加者の排出が完了する（または猶予期間が尽きる）までの時間
+     */
+    Duration drainLatency;
+
+    /**
+     * 受け付けを停止してから、すべての参加者の資源を解放し終えるまでの時間
+     */
+    Duration totalLatency;
+
+    /**
+     * 猶予期間内に排出が完了せず、作業を打ち切った参加者の名前
+     */
+    List<String> forcedParticipants;
+
+    /**
+     * すべての参加者が猶予期間内に排出を完了したかどうかを返します。
+     *
+     * @return 打ち切った作業がない場合はtrue
+     */
+    public boolean isClean() {
+        return forcedParticipants.isEmpty();
+    }
+}
@@ -1,7 +1,17 @@
 package com.kos0514.oop_in_java_learn.util.system;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.info;
+import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.warn;
+
 /**
  * ExitHandlerインターフェースの実装クラス。
  * 実際にSystem.exit()を呼び出してJVMを終了させます。
@@ -24,14 +34,99 @@ import org.springframework.stereotype.Component;
  * 実装していますが、Spring DIによる注入を可能にするため、クラス自体はpublicとして
  * 宣言されています。</p>
  *
+ * <p>終了時は、DIコンテナに登録されたすべての{@link DrainParticipant}の受け付けを先に停止し、
+ * {@link ShutdownProperties#gracePeriod()}を上限に処理中の作業の完了を待ってから、
+ * 残った作業を打ち切ってJVMを終了します。排出にかかった時間はログに出力します。
+ * SIGTERMなどでSpringのコンテキストが閉じられる場合も、Beanの破棄より先に同じ排出を行うため、
+ * ローリング再起動で処理中のセッションが失われません。</p>
+ *
  * @see ExitHandler
  * @see com.kos0514.oop_in_java_learn.OopInJavaLearnApplication
  */
 @Component
+@RequiredArgsConstructor
 public class SystemExitHandler implements ExitHandler {
 
+    private final List<DrainParticipant> participants;
+    private final ShutdownProperties properties;
+
+    /**
+     * 排出済みの場合の結果（2回目以降の呼び出しではこの結果を返す）
+     */
+    private ShutdownReport report;
+
+    @Override
+    public synchronized ShutdownReport drain() {
+        if (report != null) {
+            return report;
+        }
+        var started = System.nanoTime();
+        var deadline = started + properties.gracePeriod().toNanos();
+
+        // 待機中に新しい作業が届かないよう、先にすべての受け付けを停止する
+        for (var participant : participants) {
+            try {
+                participant.stopAccepting();
+            } catch (RuntimeException e) {
+                warn("{}の受け付け停止に失敗しました: {}", participant.getDrainName(), e.getMessage());
+            }
+        }
+
+        var forced = new ArrayList<String>();
+        for (var participant : participants) {
+            if (!awaitDrained(participant, deadline)) {
+                forced.add(participant.getDrainName());
+            }
+        }
+        var drainLatency = Duration.ofNanos(System.nanoTime() - started);
+
+        for (var participant : participants) {
+            try {
+                participant.closeNow();
+            } catch (RuntimeException e) {
+                warn("{}の停止に失敗しました: {}", participant.getDrainName(), e.getMessage());
+            }
+        }
+
+        report = new ShutdownReport(drainLatency, Duration.ofNanos(System.nanoTime() - started), List.copyOf(forced));
+        if (report.isClean()) {
+            info("シャットダウンが完了しました: 排出={}ms 合計={}ms",
+                    report.getDrainLatency().toMillis(), report.getTotalLatency().toMillis());
+        } else {
+            warn("猶予期間内に完了しなかった作業を打ち切りました: 対象={} 排出={}ms 合計={}ms",
+                    report.getForcedParticipants(), report.getDrainLatency().toMillis(), report.getTotalLatency().toMillis());
+        }
+        return report;
+    }
+
+    /**
+     * 猶予期間の残り時間だけ、参加者の排出の完了を待ちます。
+     *
+     * @param participant 参加者
+     * @param deadline    猶予期間の終了時刻（{@link System#nanoTime()}基準）
+     * @return 時間内に排出が完了した場合はtrue
+     */
+    private static boolean awaitDrained(DrainParticipant participant, long deadline) {
+        try {
+            return participant.awaitDrained(Duration.ofNanos(Math.max(0L, deadline - System.nanoTime())));
+        } catch (InterruptedException e) {
+            // 割り込まれた場合は待機をやめ、残りの作業は打ち切る
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Springのコンテキストが閉じられる際に、Beanの破棄より先に処理中の作業を排出します。
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void onContextClosed() {
+        drain();
+    }
+
     @Override
     public void exit() {
+        drain();
         // Default exit with status 0
         System.exit(0);
     }
@@ -36,7 +36,7 @@ class OopInJavaLearnApplicationTests {
     class RunMethod {
 
         @Test
-        void callsStartTransmigrationProcess() {
+        void runsConsoleSessionOnSessionEngine() {
             // Arrange
             String[] args = new String[0];
 
@@ -44,8 +44,8 @@ class OopInJavaLearnApplicationTests {
             application.run(args);
 
             // Assert
-            // TransmigrationService の startTransmigrationProcess(UserInputProvider) メソッドが呼び出されたことを検証
-            verify(transmigrationService, times(1)).startTransmigrationProcess();
+            // セッションエンジンで TransmigrationService の transmigrate() メソッドが呼び出されたことを検証
+            verify(transmigrationService, times(1)).transmigrate();
             // ExitHandler の exit() メソッドが呼び出されたことを検証
             verify(exitHandler, times(1)).exit();
         }
@@ -0,0 +1,146 @@
+package com.kos0514.oop_in_java_learn.context;
+
+import com.kos0514.oop_in_java_learn.io.NullOutputProvider;
+import com.kos0514.oop_in_java_learn.io.test.TestInputProvider;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SessionContext クラスのテスト")
+class SessionContextTest {
+
+    @Nested
+    @DisplayName("call メソッドのテスト")
+    class Call {
+
+        @Test
+        @DisplayName("正常系: 処理中だけ現在のコンテキストとして参照でき、終了後は解除される")
+        void bindsOnlyDuringAction() {
+            // Arrange
+            var input = new TestInputProvider().addInput("テスト魂");
+            var context = SessionContext.of(input);
+
+            // Act
+            var line = context.call(() -> SessionContext.current().readLine());
+
+            // Assert
+            assertThat(line).isEqualTo("テスト魂");
+            assertThat(SessionContext.currentOutput()).isNull();
+            assertThatThrownBy(SessionContext::current)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("セッションコンテキストが設定されていません");
+        }
+
+        @Test
+        @DisplayName("正常系: 入れ子で呼び出した場合、内側の終了後に外側のコンテキストへ戻る")
+        void nestedCall_restoresOuterContext() {
+            // Arrange
+            var output = new NullOutputProvider();
+            var outer = SessionContext.builder().input(new TestInputProvider()).output(output).build();
+            var inner = SessionContext.of(new TestInputProvider());
+            var seenInside = new AtomicReference<SessionContext>();
+
+            // Act
+            var afterInner = outer.call(() -> {
+                inner.call(() -> {
+                    seenInside.set(SessionContext.current());
+                    return null;
+                });
+                return SessionContext.current();
+            });
+
+            // Assert
+            assertThat(seenInside.get()).isSameAs(inner);
+            assertThat(afterInner).isSameAs(outer);
+        }
+
+        @Test
+        @DisplayName("異常系: 処理が例外で終了した場合もコンテキストは解除される")
+        void actionThrows_unbindsContext() {
+            // Arrange
+            var context = SessionContext.of(new TestInputProvider());
+
+            // Act & Assert
+            assertThatThrownBy(() -> context.call(() -> {
+                throw new IllegalArgumentException("テストエラー");
+            })).isInstanceOf(IllegalArgumentException.class);
+            assertThat(SessionContext.currentRandom()).isNull();
+        }
+
+        @Test
+        @DisplayName("正常系: 別スレッドへはコンテキストが引き継がれない")
+        void otherThread_doesNotInheritContext() throws InterruptedException {
+            // Arrange
+            var context = SessionContext.of(new TestInputProvider());
+            var seenByChild = new AtomicReference<Object>("未実行");
+
+            // Act
+            context.call(() -> {
+                var child = Thread.ofVirtual().start(() -> seenByChild.set(SessionContext.currentRandom()));
+                try {
+                    child.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            });
+
+            // Assert
+            assertThat(seenByChild.get()).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("remaining メソッドのテスト")
+    class Remaining {
+
+        @Test
+        @DisplayName("正常系: 制限時間がない場合は無制限の期間を返す")
+        void noTimeLimit_returnsForever() {
+            // Arrange
+            var context = SessionContext.of(new TestInputProvider());
+
+            // Act & Assert
+            assertThat(context.remaining()).isEqualTo(ChronoUnit.FOREVER.getDuration());
+        }
+
+        @Test
+        @DisplayName("境界値: 制限時間を超えている場合は0を返す")
+        void expired_returnsZero() {
+            // Arrange
+            var context = SessionContext.builder()
+                    .input(new TestInputProvider())
+                    .startedNanos(System.nanoTime() - Duration.ofSeconds(2).toNanos())
+                    .timeLimit(Duration.ofSeconds(1))
+                    .build();
+
+            // Act & Assert
+            assertThat(context.remaining()).isZero();
+            assertThat(context.elapsed()).isGreaterThanOrEqualTo(Duration.ofSeconds(2));
+        }
+
+        @Test
+        @DisplayName("正常系: 入力プロバイダーを差し替えても開始時刻と制限時間は引き継がれる")
+        void withInput_keepsTiming() {
+            // Arrange
+            var context = SessionContext.builder()
+                    .startedNanos(System.nanoTime() - Duration.ofSeconds(2).toNanos())
+                    .timeLimit(Duration.ofSeconds(1))
+                    .build();
+
+            // Act
+            var replaced = context.withInput(new TestInputProvider());
+
+            // Assert
+            assertThat(replaced.getStartedNanos()).isEqualTo(context.getStartedNanos());
+            assertThat(replaced.remaining()).isZero();
+        }
+    }
+}
@@ -115,4 +115,26 @@ class RaceRarityTest {
                     .allSatisfy(description -> assertThat(description).isNotBlank());
         }
     }
+
+    @Nested
+    @DisplayName("fromWins メソッドのテスト")
+    class FromWins {
+
+        @ParameterizedTest
+        @DisplayName("勝利回数に対応する最大レア度を返すこと")
+        @CsvSource({
+                "0, STANDARD",
+                "1, UNIQUE",
+                "2, LEGENDARY",
+                "3, SECRET"
+        })
+        void returnsRarityForWins(int wins, RaceRarity expected) {
+            // Act
+            var actual = RaceRarity.fromWins(wins);
+
+            // Assert
+            assertThat(actual).isEqualTo(expected);
+            assertThat(actual.getRequiredWins()).isEqualTo(wins);
+        }
+    }
 }
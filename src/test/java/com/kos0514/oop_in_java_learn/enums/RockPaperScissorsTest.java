@@ -106,4 +106,26 @@ class RockPaperScissorsTest {
                 .hasMessageContaining("じゃんけんの手は1～3の範囲で入力してください");
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    class Beats {
+
+        @ParameterizedTest
+        @CsvSource({
+            "ROCK, SCISSORS, true",
+            "SCISSORS, PAPER, true",
+            "PAPER, ROCK, true",
+            "ROCK, PAPER, false",
+            "SCISSORS, ROCK, false",
+            "PAPER, SCISSORS, false",
+            "ROCK, ROCK, false"
+        })
+        void judgesWinner(RockPaperScissors hand, RockPaperScissors other, boolean expected) {
+            // Act
+            var result = hand.beats(other);
+
+            // Assert
+            assertThat(result).isEqualTo(expected);
+        }
+    }
+}
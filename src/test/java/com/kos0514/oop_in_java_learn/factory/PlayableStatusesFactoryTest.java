@@ -171,6 +171,56 @@ class PlayableStatusesFactoryTest {
         }
     }
 
+    @Nested
+    class CreateWithModifiers {
+
+        @Test
+        void modifierArray_producesSameStatusesAsEntity() {
+            // Arrange
+            var age = Age.of(25);
+            var soulId = SoulId.of(UUID.randomUUID());
+            var raceStatusModifier = createRaceStatusModifier(1, 2, 3, 4, 5, 6, 10, 5);
+            var modifiers = new int[]{1, 2, 3, 4, 5, 6, 10, 5};
+
+            // Act
+            var fromEntity = playableStatusesFactory.create(age, soulId, raceStatusModifier);
+            var fromArray = playableStatusesFactory.createWithModifiers(age, soulId, modifiers);
+
+            // Assert
+            assertThat(fromArray).isEqualTo(fromEntity);
+            assertThat(fromArray.getLuck().getValue()).isEqualTo(14); // 10 + 0 - 2 + 6(modifier)
+        }
+
+        @Test
+        void nullModifiers_createsPlayableStatusesWithBaseValues() {
+            // Arrange
+            var age = Age.of(25);
+            var soulId = SoulId.of(UUID.randomUUID());
+
+            // Act
+            var result = playableStatusesFactory.createWithModifiers(age, soulId, null);
+
+            // Assert
+            assertThat(result.getStrength().getValue()).isEqualTo(8); // 10 + 0 - 2
+            assertThat(result.getHealthPoints().getValue()).isEqualTo(90); // 100 + 0 - 10
+        }
+
+        @Test
+        void negativeModifiers_resultInMinimumValueOfOne() {
+            // Arrange
+            var age = Age.of(25);
+            var soulId = SoulId.of(UUID.randomUUID());
+            var modifiers = new int[]{-100, -100, -100, -100, -100, -100, -1000, -1000};
+
+            // Act
+            var result = playableStatusesFactory.createWithModifiers(age, soulId, modifiers);
+
+            // Assert
+            assertThat(result.getStrength().getValue()).isEqualTo(1);
+            assertThat(result.getMagicPoints().getValue()).isEqualTo(1);
+        }
+    }
+
 
     private RaceStatusModifier createRaceStatusModifier(
             int strengthMod, int vitalityMod, int intelligenceMod, int agilityMod,
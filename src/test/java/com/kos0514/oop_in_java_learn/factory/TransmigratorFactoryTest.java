@@ -1,13 +1,14 @@
 package com.kos0514.oop_in_java_learn.factory;
 
 import com.kos0514.oop_in_java_learn.entity.generated.Race;
-import com.kos0514.oop_in_java_learn.entity.generated.RaceStatusModifier;
-import com.kos0514.oop_in_java_learn.mapper.RaceStatusModifierMapper;
 import com.kos0514.oop_in_java_learn.model.playable_status.PlayableStatuses;
 import com.kos0514.oop_in_java_learn.model.value.Age;
 import com.kos0514.oop_in_java_learn.model.value.SoulId;
 import com.kos0514.oop_in_java_learn.model.value.SoulName;
 import com.kos0514.oop_in_java_learn.model.world.World;
+import com.kos0514.oop_in_java_learn.service.catalog.CatalogSnapshot;
+import com.kos0514.oop_in_java_learn.service.catalog.RaceCatalogCache;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,19 +17,26 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Date;
-import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class TransmigratorFactoryTest {
 
     @Mock
-    private RaceStatusModifierMapper raceStatusModifierMapper;
+    private RaceCatalogCache raceCatalogCache;
+
+    @Mock
+    private CatalogSnapshot catalog;
 
     @Mock
     private PlayableStatusesFactory playableStatusesFactory;
@@ -36,6 +44,11 @@ class TransmigratorFactoryTest {
     @InjectMocks
     private TransmigratorFactory transmigratorFactory;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(raceCatalogCache.snapshot()).thenReturn(catalog);
+    }
+
     @Nested
     class Create {
 
@@ -46,11 +59,11 @@ class TransmigratorFactoryTest {
             var age = Age.of(25);
             var world = mock(World.class);
             var race = createRace("race1", "TestRace");
-            var raceStatusModifier = mock(RaceStatusModifier.class);
+            var raceStatusModifier = new int[]{1, 1, 1, 1, 1, 1, 10, 5};
             var playableStatuses = mock(PlayableStatuses.class);
 
-            when(raceStatusModifierMapper.selectByPrimaryKey(race.getId())).thenReturn(Optional.of(raceStatusModifier));
-            when(playableStatusesFactory.create(eq(age), any(SoulId.class), eq(raceStatusModifier))).thenReturn(playableStatuses);
+            when(catalog.modifiersOf(race.getId())).thenReturn(raceStatusModifier);
+            when(playableStatusesFactory.createWithModifiers(eq(age), any(SoulId.class), same(raceStatusModifier))).thenReturn(playableStatuses);
 
             // Act
             var result = transmigratorFactory.create(soulName, age, world, race);
@@ -74,8 +87,8 @@ class TransmigratorFactoryTest {
             var race = createRace("race2", "TestRace2");
             var playableStatuses = mock(PlayableStatuses.class);
 
-            when(raceStatusModifierMapper.selectByPrimaryKey(race.getId())).thenReturn(Optional.empty());
-            when(playableStatusesFactory.create(eq(age), any(SoulId.class), eq(null))).thenReturn(playableStatuses);
+            when(catalog.modifiersOf(race.getId())).thenReturn(null);
+            when(playableStatusesFactory.createWithModifiers(eq(age), any(SoulId.class), isNull())).thenReturn(playableStatuses);
 
             // Act
             var result = transmigratorFactory.create(soulName, age, world, race);
@@ -98,11 +111,11 @@ class TransmigratorFactoryTest {
             var age = Age.of(25);
             var world = mock(World.class);
             var race = createRace("race3", "TestRace3");
-            var raceStatusModifier = mock(RaceStatusModifier.class);
+            var raceStatusModifier = new int[]{1, 1, 1, 1, 1, 1, 10, 5};
             var playableStatuses = mock(PlayableStatuses.class);
 
-            when(raceStatusModifierMapper.selectByPrimaryKey(race.getId())).thenReturn(Optional.of(raceStatusModifier));
-            when(playableStatusesFactory.create(eq(age), any(SoulId.class), eq(raceStatusModifier))).thenReturn(playableStatuses);
+            when(catalog.modifiersOf(race.getId())).thenReturn(raceStatusModifier);
+            when(playableStatusesFactory.createWithModifiers(eq(age), any(SoulId.class), same(raceStatusModifier))).thenReturn(playableStatuses);
 
             // Act
             var result1 = transmigratorFactory.create(soulName1, age, world, race);
@@ -122,11 +135,11 @@ class TransmigratorFactoryTest {
             var age = Age.of(25);
             var world = mock(World.class);
             var race = createRace("race4", "TestRace4");
-            var raceStatusModifier = mock(RaceStatusModifier.class);
+            var raceStatusModifier = new int[]{1, 1, 1, 1, 1, 1, 10, 5};
             var playableStatuses = mock(PlayableStatuses.class);
 
-            when(raceStatusModifierMapper.selectByPrimaryKey(race.getId())).thenReturn(Optional.of(raceStatusModifier));
-            when(playableStatusesFactory.create(eq(age), any(SoulId.class), eq(raceStatusModifier))).thenReturn(playableStatuses);
+            when(catalog.modifiersOf(race.getId())).thenReturn(raceStatusModifier);
+            when(playableStatusesFactory.createWithModifiers(eq(age), any(SoulId.class), same(raceStatusModifier))).thenReturn(playableStatuses);
 
             // Act
             var result1 = transmigratorFactory.create(soulName, age, world, race);
@@ -135,6 +148,28 @@ class TransmigratorFactoryTest {
             // Assert
             assertThat(result1.getSoulId()).isNotEqualTo(result2.getSoulId());
         }
+
+        @Test
+        void pinnedCatalog_usesGivenCatalogInsteadOfLatest() {
+            // Arrange
+            var soulName = SoulName.of("TestSoul");
+            var age = Age.of(25);
+            var world = mock(World.class);
+            var race = createRace("race5", "TestRace5");
+            var pinned = mock(CatalogSnapshot.class);
+            var raceStatusModifier = new int[]{2, 2, 2, 2, 2, 2, 20, 10};
+            var playableStatuses = mock(PlayableStatuses.class);
+
+            when(pinned.modifiersOf(race.getId())).thenReturn(raceStatusModifier);
+            when(playableStatusesFactory.createWithModifiers(eq(age), any(SoulId.class), same(raceStatusModifier))).thenReturn(playableStatuses);
+
+            // Act
+            var result = transmigratorFactory.create(soulName, age, world, race, pinned);
+
+            // Assert
+            assertThat(result.getPlayableStatuses()).isEqualTo(playableStatuses);
+            verify(raceCatalogCache, never()).snapshot();
+        }
     }
 
     private Race createRace(String id, String name) {
@@ -0,0 +1,137 @@
+package com.kos0514.oop_in_java_learn.io;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("BufferedScreenOutputProvider クラスのテスト")
+class BufferedScreenOutputProviderTest {
+
+    /**
+     * 書き込み回数を数えるWriter
+     */
+    private static class CountingWriter extends StringWriter {
+        private int writes;
+
+        @Override
+        public void write(String str) {
+            writes++;
+            super.write(str);
+        }
+    }
+
+    @Nested
+    @DisplayName("flush メソッドのテスト")
+    class Flush {
+
+        @Test
+        @DisplayName("正常系: flushするまで出力せず、溜めた画面を1回の書き込みで出力する")
+        void buffersScreenAndWritesOnce() {
+            // Arrange
+            var writer = new CountingWriter();
+            var provider = new BufferedScreenOutputProvider(writer);
+
+            // Act
+            provider.writeLine("【転生先世界の選択】");
+            provider.writeLine("1. 剣と魔法の世界");
+            provider.writeWarning("数値を入力してください。");
+            var beforeFlush = writer.toString();
+            provider.flush();
+
+            // Assert
+            assertThat(beforeFlush).isEmpty();
+            assertThat(writer.writes).isEqualTo(1);
+            assertThat(writer.toString()).isEqualTo("【転生先世界の選択】\n1. 剣と魔法の世界\n数値を入力してください。\n");
+        }
+
+        @Test
+        @DisplayName("正常系: 描画済みの複数行は行と同じ画面に溜め、まとめて1回で書き出す")
+        void writeBlock_appendsToSameScreen() {
+            // Arrange
+            var writer = new CountingWriter();
+            var provider = new BufferedScreenOutputProvider(writer);
+
+            // Act
+            provider.writeBlock("【転生先世界の選択】\n1. 剣と魔法の世界\n");
+            provider.writeLine("番号を入力してください (1-1):");
+            provider.flush();
+
+            // Assert
+            assertThat(writer.writes).isEqualTo(1);
+            assertThat(writer.toString()).isEqualTo("【転生先世界の選択】\n1. 剣と魔法の世界\n番号を入力してください (1-1):\n");
+        }
+
+        @Test
+        @DisplayName("正常系: 空の画面はflushしても書き込まない")
+        void emptyScreen_doesNotWrite() {
+            // Arrange
+            var writer = new CountingWriter();
+            var provider = new BufferedScreenOutputProvider(writer);
+
+            // Act
+            provider.flush();
+            provider.writeLine("1画面目");
+            provider.flush();
+            provider.flush();
+
+            // Assert
+            assertThat(writer.writes).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("異常系: 書き込みに失敗した場合はUncheckedIOExceptionをスローし、画面は破棄される")
+        void writeFails_throwsUncheckedIOException() {
+            // Arrange
+            var provider = new BufferedScreenOutputProvider(new Writer() {
+                @Override
+                public void write(char[] buffer, int offset, int length) throws IOException {
+                    throw new IOException("切断されました");
+                }
+
+                @Override
+                public void flush() {
+                    // 何もしない
+                }
+
+                @Override
+                public void close() {
+                    // 何もしない
+                }
+            });
+            provider.writeLine("テスト");
+
+            // Act & Assert
+            assertThatThrownBy(provider::flush).isInstanceOf(UncheckedIOException.class);
+            // 失敗した画面は残らないため、2回目のflushでは書き込まない
+            provider.flush();
+        }
+    }
+
+    @Nested
+    @DisplayName("close メソッドのテスト")
+    class Close {
+
+        @Test
+        @DisplayName("正常系: クローズ時に残っている画面を書き出す")
+        void close_flushesRemainingScreen() {
+            // Arrange
+            var writer = new StringWriter();
+            var provider = new BufferedScreenOutputProvider(writer);
+            provider.writeLine("転生完了");
+
+            // Act
+            provider.close();
+
+            // Assert
+            assertThat(writer.toString()).isEqualTo("転生完了\n");
+        }
+    }
+}
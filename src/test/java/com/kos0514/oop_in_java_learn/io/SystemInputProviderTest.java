@@ -50,10 +50,10 @@ class SystemInputProviderTest {
         }
 
         @Test
-        @DisplayName("空の入力を処理できること")
+        @DisplayName("空行の入力を処理できること")
         void handlesEmptyInput() {
             // Arrange
-            String testInput = "";
+            String testInput = "\n";
             System.setIn(new ByteArrayInputStream(testInput.getBytes()));
             var provider = new SystemInputProvider();
 
@@ -67,6 +67,24 @@ class SystemInputProviderTest {
             provider.close();
         }
 
+        @Test
+        @DisplayName("入力の終わりに達した場合はnullを返すこと")
+        void endOfInput_returnsNull() {
+            // Arrange
+            System.setIn(new ByteArrayInputStream("line1".getBytes()));
+            var provider = new SystemInputProvider();
+            provider.readLine();
+
+            // Act
+            String result = provider.readLine();
+
+            // Assert
+            assertThat(result).isNull();
+
+            // Clean up
+            provider.close();
+        }
+
         @Test
         @DisplayName("複数行の入力を処理できること")
         void handlesMultipleLines() {
@@ -13,6 +13,19 @@ class WorldTest {
     @DisplayName("FantasyWorld クラスのテスト")
     class FantasyWorldTest {
 
+        @Test
+        @DisplayName("getId メソッドが正しいIDを返すこと")
+        void getId_returnsCorrectId() {
+            // Arrange
+            var world = new FantasyWorld();
+
+            // Act
+            var id = world.getId();
+
+            // Assert
+            assertThat(id).isEqualTo("fantasy");
+        }
+
         @Test
         @DisplayName("getName メソッドが正しい名前を返すこと")
         void getName_returnsCorrectName() {
@@ -46,6 +59,19 @@ class WorldTest {
     @DisplayName("MagicTechWorld クラスのテスト")
     class MagicTechWorldTest {
 
+        @Test
+        @DisplayName("getId メソッドが正しいIDを返すこと")
+        void getId_returnsCorrectId() {
+            // Arrange
+            var world = new MagicTechWorld();
+
+            // Act
+            var id = world.getId();
+
+            // Assert
+            assertThat(id).isEqualTo("magic_tech");
+        }
+
         @Test
         @DisplayName("getName メソッドが正しい名前を返すこと")
         void getName_returnsCorrectName() {
@@ -77,6 +103,19 @@ class WorldTest {
     @DisplayName("CultivationWorld クラスのテスト")
     class CultivationWorldTest {
 
+        @Test
+        @DisplayName("getId メソッドが正しいIDを返すこと")
+        void getId_returnsCorrectId() {
+            // Arrange
+            var world = new CultivationWorld();
+
+            // Act
+            var id = world.getId();
+
+            // Assert
+            assertThat(id).isEqualTo("cultivation");
+        }
+
         @Test
         @DisplayName("getName メソッドが正しい名前を返すこと")
         void getName_returnsCorrectName() {
@@ -108,6 +147,19 @@ class WorldTest {
     @DisplayName("FullDiveGameWorld クラスのテスト")
     class FullDiveGameWorldTest {
 
+        @Test
+        @DisplayName("getId メソッドが正しいIDを返すこと")
+        void getId_returnsCorrectId() {
+            // Arrange
+            var world = new FullDiveGameWorld();
+
+            // Act
+            var id = world.getId();
+
+            // Assert
+            assertThat(id).isEqualTo("full_dive_game");
+        }
+
         @Test
         @DisplayName("getName メソッドが正しい名前を返すこと")
         void getName_returnsCorrectName() {
@@ -0,0 +1,75 @@
+package com.kos0514.oop_in_java_learn.repository;
+
+import com.kos0514.oop_in_java_learn.model.world.DefinedWorld;
+import com.kos0514.oop_in_java_learn.model.world.FantasyWorld;
+import com.kos0514.oop_in_java_learn.model.world.MagicTechWorld;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("WorldRegistry クラスのテスト")
+class WorldRegistryTest {
+
+    private final FantasyWorld fantasy = new FantasyWorld();
+    private final DefinedWorld festival = new DefinedWorld("summer_festival", "常夏の祭典島", "期間限定の世界");
+
+    @Nested
+    @DisplayName("of メソッドのテスト")
+    class Of {
+
+        @Test
+        @DisplayName("正常系: 一覧の順を保ったまま、番号とIDで世界を引ける索引を作成する")
+        void createsIndexedRegistry() {
+            // Act
+            var registry = WorldRegistry.of(List.of(fantasy, festival));
+
+            // Assert
+            assertThat(registry.getWorlds()).containsExactly(fantasy, festival);
+            assertThat(registry.size()).isEqualTo(2);
+            assertThat(registry.byNumber(2)).isSameAs(festival);
+            assertThat(registry.findById("fantasy")).isSameAs(fantasy);
+            assertThat(registry.findById("summer_festival")).isSameAs(festival);
+            assertThat(registry.findById("unknown")).isNull();
+            assertThat(registry.findById(null)).isNull();
+        }
+
+        @Test
+        @DisplayName("異常系: IDが重複する場合や空の場合は例外をスローする")
+        void duplicateOrBlankId_throwsException() {
+            var duplicate = new DefinedWorld("fantasy", "もう1つの剣と魔法の世界", "説明");
+            var blank = new DefinedWorld(" ", "名前のない世界", "説明");
+
+            assertThatThrownBy(() -> WorldRegistry.of(List.of(fantasy, duplicate)))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("世界のID「fantasy」が重複しています");
+            assertThatThrownBy(() -> WorldRegistry.of(List.of(blank)))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("世界「名前のない世界」のIDが空です");
+        }
+    }
+
+    @Nested
+    @DisplayName("byNumber メソッドのテスト")
+    class ByNumber {
+
+        @Test
+        @DisplayName("異常系: 番号が範囲外の場合は例外をスローする")
+        void outOfRange_throwsException() {
+            // Arrange
+            var registry = WorldRegistry.of(List.of(fantasy, new MagicTechWorld()));
+
+            // Act & Assert
+            assertThatThrownBy(() -> registry.byNumber(0))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("世界の番号は1～2の範囲で指定してください");
+            assertThatThrownBy(() -> registry.byNumber(3))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("世界の番号は1～2の範囲で指定してください");
+        }
+    }
+}
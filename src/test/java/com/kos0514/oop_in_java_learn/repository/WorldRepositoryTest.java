@@ -0,0 +1,157 @@
+package com.kos0514.oop_in_java_learn.repository;
+
+import com.kos0514.oop_in_java_learn.mapper.WorldMapper;
+import com.kos0514.oop_in_java_learn.model.world.DefinedWorld;
+import com.kos0514.oop_in_java_learn.model.world.World;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("WorldRepository クラスのテスト")
+class WorldRepositoryTest {
+
+    @Mock
+    private WorldMapper worldMapper;
+
+    @Mock
+    private ObjectProvider<WorldMapper> worldMapperProvider;
+
+    private final DefinedWorld festival = new DefinedWorld("summer_festival", "常夏の祭典島", "期間限定の世界");
+    private final DefinedWorld harvest = new DefinedWorld("harvest_moon", "収穫祭の村", "期間限定の世界");
+
+    @BeforeEach
+    void setUp() {
+        when(worldMapperProvider.getIfAvailable()).thenReturn(worldMapper);
+    }
+
+    @Nested
+    @DisplayName("getAvailableWorlds メソッドのテスト")
+    class GetAvailableWorlds {
+
+        @Test
+        @DisplayName("正常系: コードで実装された世界に続けてテーブルの世界を並べ、2回目以降は同じリストを返す")
+        void loadsOnceAndReturnsSameList() {
+            // Arrange
+            when(worldMapper.selectEnabled()).thenReturn(List.of(festival));
+            var repository = new WorldRepository(worldMapperProvider);
+
+            // Act
+            var first = repository.getAvailableWorlds();
+            var second = repository.getAvailableWorlds();
+
+            // Assert
+            assertThat(first).extracting(World::getId)
+                    .containsExactly("fantasy", "magic_tech", "cultivation", "full_dive_game", "summer_festival");
+            assertThat(second).isSameAs(first);
+            assertThat(repository.findById("summer_festival")).isSameAs(festival);
+            verify(worldMapper, times(1)).selectEnabled();
+        }
+
+        @Test
+        @DisplayName("正常系: マッパーがない構成ではコードで実装された世界だけを返す")
+        void withoutMapper_returnsBuiltInWorlds() {
+            // Arrange
+            var repository = new WorldRepository();
+
+            // Act
+            var worlds = repository.getAvailableWorlds();
+
+            // Assert
+            assertThat(worlds).extracting(World::getName)
+                    .containsExactly("剣と魔法の世界", "魔導先進国", "仙人道修行", "フルダイブゲーム");
+        }
+
+        @Test
+        @DisplayName("異常系: テーブルを読めない場合やIDが重複する場合はコードで実装された世界だけを返す")
+        void loadFailure_fallsBackToBuiltInWorlds() {
+            // Arrange
+            when(worldMapper.selectEnabled())
+                    .thenThrow(new RuntimeException("接続エラー"))
+                    .thenReturn(List.of(new DefinedWorld("fantasy", "重複した世界", "説明")));
+            var unreachable = new WorldRepository(worldMapperProvider);
+            var duplicated = new WorldRepository(worldMapperProvider);
+
+            // Act & Assert
+            assertThat(unreachable.getAvailableWorlds()).hasSize(4);
+            assertThat(duplicated.getAvailableWorlds()).hasSize(4);
+            assertThat(duplicated.findById("fantasy").getName()).isEqualTo("剣と魔法の世界");
+        }
+    }
+
+    @Nested
+    @DisplayName("refresh メソッドのテスト")
+    class Refresh {
+
+        @Test
+        @DisplayName("正常系: テーブルの世界が変わった場合は索引を差し替える")
+        void changed_swapsRegistry() {
+            // Arrange
+            when(worldMapper.selectEnabled())
+                    .thenReturn(List.of(festival))
+                    .thenReturn(List.of(festival, harvest));
+            var repository = new WorldRepository(worldMapperProvider);
+            var before = repository.getAvailableWorlds();
+
+            // Act
+            var refreshed = repository.refresh();
+
+            // Assert
+            assertThat(refreshed).isTrue();
+            assertThat(repository.getAvailableWorlds()).isNotSameAs(before).hasSize(6);
+            assertThat(repository.findById("harvest_moon")).isSameAs(harvest);
+        }
+
+        @Test
+        @DisplayName("正常系: テーブルの世界が変わっていない場合は索引を差し替えない")
+        void unchanged_keepsRegistry() {
+            // Arrange
+            when(worldMapper.selectEnabled())
+                    .thenReturn(List.of(festival))
+                    .thenReturn(List.of(new DefinedWorld("summer_festival", "常夏の祭典島", "期間限定の世界")));
+            var repository = new WorldRepository(worldMapperProvider);
+            var before = repository.getAvailableWorlds();
+
+            // Act
+            var refreshed = repository.refresh();
+
+            // Assert
+            assertThat(refreshed).isFalse();
+            assertThat(repository.getAvailableWorlds()).isSameAs(before);
+        }
+
+        @Test
+        @DisplayName("異常系: 読み込みに失敗した場合は直前の索引を使い続ける")
+        void failure_keepsPreviousRegistry() {
+            // Arrange
+            when(worldMapper.selectEnabled())
+                    .thenReturn(List.of(festival))
+                    .thenThrow(new RuntimeException("接続エラー"));
+            var repository = new WorldRepository(worldMapperProvider);
+            var before = repository.getAvailableWorlds();
+
+            // Act
+            var refreshed = repository.refresh();
+
+            // Assert
+            assertThat(refreshed).isFalse();
+            assertThat(repository.getAvailableWorlds()).isSameAs(before);
+            assertThat(repository.findById("summer_festival")).isSameAs(festival);
+        }
+    }
+}
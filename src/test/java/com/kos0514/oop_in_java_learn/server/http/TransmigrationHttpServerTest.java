@@ -0,0 +1,359 @@
+package com.kos0514.oop_in_java_learn.server.http;
+
+import com.kos0514.oop_in_java_learn.entity.generated.Race;
+import com.kos0514.oop_in_java_learn.model.Transmigrator;
+import com.kos0514.oop_in_java_learn.model.playable_status.PlayableStatuses;
+import com.kos0514.oop_in_java_learn.model.value.Age;
+import com.kos0514.oop_in_java_learn.model.value.SoulId;
+import com.kos0514.oop_in_java_learn.model.value.SoulName;
+import com.kos0514.oop_in_java_learn.model.world.FantasyWorld;
+import com.kos0514.oop_in_java_learn.service.admission.AdmissionController;
+import com.kos0514.oop_in_java_learn.service.admission.AdmissionProperties;
+import com.kos0514.oop_in_java_learn.service.game.RockPaperScissorsGame;
+import com.kos0514.oop_in_java_learn.service.idempotency.IdempotencyCache;
+import com.kos0514.oop_in_java_learn.service.idempotency.IdempotencyProperties;
+import com.kos0514.oop_in_java_learn.service.request.DirectTransmigrationService;
+import com.kos0514.oop_in_java_learn.service.request.TransmigrationRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("TransmigrationHttpServer クラスのテスト")
+class TransmigrationHttpServerTest {
+
+    @Mock
+    private DirectTransmigrationService directTransmigrationService;
+
+    @Mock
+    private RockPaperScissorsGame rockPaperScissorsGame;
+
+    private TransmigrationHttpServer httpServer;
+    private HttpClient httpClient;
+    private URI endpoint;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        httpServer = new TransmigrationHttpServer(
+                directTransmigrationService,
+                rockPaperScissorsGame,
+                new AdmissionController(new AdmissionProperties(256, 8192, Duration.ofSeconds(10))),
+                new IdempotencyCache(new IdempotencyProperties(Duration.ofMinutes(10), 1000)),
+                new HttpServerProperties("127.0.0.1", 0, 4096));
+        httpServer.start();
+        endpoint = URI.create("http://127.0.0.1:" + httpServer.getPort() + "/transmigrations");
+        httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        var transmigrator = Transmigrator.builder()
+                .soulId(SoulId.newId())
+                .soulName(SoulName.of("テスト魂"))
+                .age(Age.of(25))
+                .world(new FantasyWorld())
+                .race(new Race("elf", "エルフ", "Elf", "STANDARD", new Date(), new Date(), "自然の共鳴", "魔法種族"))
+                .playableStatuses(PlayableStatuses.of(11, 12, 13, 14, 15, 16, 100, 50))
+                .build();
+        when(rockPaperScissorsGame.playHands(anyList(), anyInt())).thenReturn(0);
+        when(directTransmigrationService.transmigrate(argThat(request -> request != null && "テスト魂".equals(request.getName()))))
+                .thenReturn(transmigrator);
+        when(directTransmigrationService.transmigrate(argThat(request -> request != null && !"テスト魂".equals(request.getName()))))
+                .thenThrow(new IllegalArgumentException("名前は空にできません"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        httpServer.close();
+        httpClient.close();
+    }
+
+    private HttpResponse<String> post(String body, String idempotencyKey) throws Exception {
+        var request = HttpRequest.newBuilder(endpoint)
+                .header("Content-Type", "application/json")
+                .header("Idempotency-Key", idempotencyKey)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String body) throws Exception {
+        var request = HttpRequest.newBuilder(endpoint)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Nested
+    @DisplayName("POST /transmigrations のテスト")
+    class PostTransmigrations {
+
+        @Test
+        @DisplayName("正常系: 転生者と基礎ステータスをJSONで返す")
+        void validRequest_returnsTransmigratorJson() throws Exception {
+            // Act
+            var response = post("""
+                    {"name": "テスト魂", "age": 25, "worldIndex": 1, "raceId": "elf", "hands": [1, 3]}
+                    """);
+
+            // Assert
+            assertThat(response.statusCode()).isEqualTo(201);
+            assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(
+                    type -> assertThat(type).startsWith("application/json"));
+            assertThat(response.body())
+                    .contains("\"name\":\"テスト魂\"")
+                    .contains("\"age\":25")
+                    .contains("\"race\":{\"id\":\"elf\"")
+                    .contains("\"strength\":11")
+                    .contains("\"magicPoints\":50");
+        }
+
+        @Test
+        @DisplayName("異常系: 検証エラーの場合は400を返す")
+        void invalidName_returnsBadRequest() throws Exception {
+            // Act
+            var response = post("{\"name\": \"\", \"age\": 25, \"worldIndex\": 1, \"raceId\": \"elf\"}");
+
+            // Assert
+            assertThat(response.statusCode()).isEqualTo(400);
+            assertThat(response.body()).isEqualTo("{\"error\":\"名前は空にできません\"}");
+        }
+
+        @Test
+        @DisplayName("異常系: JSONの形式や型が不正な場合は400を返す")
+        void malformedJson_returnsBadRequest() throws Exception {
+            assertThat(post("{\"name\": \"テスト魂\"").statusCode()).isEqualTo(400);
+            assertThat(post("{\"name\": \"テスト魂\", \"age\": \"25\", \"worldIndex\": 1}").statusCode()).isEqualTo(400);
+            assertThat(post("{\"name\": \"テスト魂\", \"age\": 25, \"worldIndex\": 1, \"hands\": [4]}").statusCode()).isEqualTo(400);
+        }
+
+        @Test
+        @DisplayName("異常系: 混雑で受け付けを拒否した場合はRetry-After付きの503を返す")
+        void admissionRejected_returnsServiceUnavailable() throws Exception {
+            // Arrange
+            httpServer.close();
+            httpServer = new TransmigrationHttpServer(
+                    directTransmigrationService,
+                    rockPaperScissorsGame,
+                    new AdmissionController(new AdmissionProperties(1, 0, Duration.ofMillis(100))),
+                    new IdempotencyCache(new IdempotencyProperties(Duration.ofMinutes(10), 1000)),
+                    new HttpServerProperties("127.0.0.1", 0, 4096));
+            httpServer.start();
+            endpoint = URI.create("http://127.0.0.1:" + httpServer.getPort() + "/transmigrations");
+            var entered = new CountDownLatch(1);
+            var release = new CountDownLatch(1);
+            when(directTransmigrationService.transmigrate(argThat(request -> request != null && "遅い魂".equals(request.getName()))))
+                    .thenAnswer(invocation -> {
+                        entered.countDown();
+                        release.await();
+                        return null;
+                    });
+            var slow = httpClient.sendAsync(HttpRequest.newBuilder(endpoint)
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"name\": \"遅い魂\", \"age\": 25, \"worldIndex\": 1}"))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            entered.await();
+
+            // Act
+            var response = post("{\"name\": \"テスト魂\", \"age\": 25, \"worldIndex\": 1, \"raceId\": \"elf\"}");
+            release.countDown();
+            slow.join();
+
+            // Assert
+            assertThat(response.statusCode()).isEqualTo(503);
+            assertThat(response.headers().firstValue("Retry-After")).hasValue("1");
+            assertThat(response.body()).isEqualTo("{\"error\":\"混雑しているため受け付けできません\"}");
+        }
+
+        @Test
+        @DisplayName("正常系: 同じ冪等キーの再試行は転生をやり直さずに同じ転生者を返す")
+        void sameIdempotencyKey_replaysFirstTransmigrator() throws Exception {
+            // Arrange
+            var body = "{\"name\": \"テスト魂\", \"age\": 25, \"worldIndex\": 1, \"raceId\": \"elf\", \"hands\": [1]}";
+
+            // Act
+            var first = post(body, "retry-1");
+            var retried = post(body, "retry-1");
+
+            // Assert
+            assertThat(first.statusCode()).isEqualTo(201);
+            assertThat(first.headers().firstValue("Idempotent-Replayed")).isEmpty();
+            assertThat(retried.statusCode()).isEqualTo(201);
+            assertThat(retried.headers().firstValue("Idempotent-Replayed")).hasValue("true");
+            assertThat(retried.body()).isEqualTo(first.body());
+            verify(directTransmigrationService, times(1)).transmigrate(any());
+        }
+
+        @Test
+        @DisplayName("正常系: 空白やキーの順序だけが異なる再試行は同じリクエストとして再送する")
+        void sameIdempotencyKeyWithReformattedBody_replaysFirstTransmigrator() throws Exception {
+            // Arrange
+            var first = post("{\"name\": \"テスト魂\", \"age\": 25, \"worldIndex\": 1, \"raceId\": \"elf\", \"hands\": [1, 2]}", "retry-3");
+
+            // Act
+            var retried = post("{\"hands\":[1,2],\"raceId\":\"elf\",\"worldIndex\":1,\"age\":25,\"name\":\"テスト魂\"}", "retry-3");
+
+            // Assert
+            assertThat(first.statusCode()).isEqualTo(201);
+            assertThat(retried.statusCode()).isEqualTo(201);
+            assertThat(retried.headers().firstValue("Idempotent-Replayed")).hasValue("true");
+            assertThat(retried.body()).isEqualTo(first.body());
+            verify(directTransmigrationService, times(1)).transmigrate(any());
+        }
+
+        @Test
+        @DisplayName("異常系: 同じ冪等キーで内容の異なるリクエストは422を返す")
+        void sameIdempotencyKeyWithDifferentBody_returnsUnprocessableEntity() throws Exception {
+            // Arrange
+            post("{\"name\": \"テスト魂\", \"age\": 25, \"worldIndex\": 1, \"raceId\": \"elf\"}", "retry-2");
+
+            // Act
+            var response = post("{\"name\": \"テスト魂\", \"age\": 26, \"worldIndex\": 1, \"raceId\": \"elf\"}", "retry-2");
+
+            // Assert
+            assertThat(response.statusCode()).isEqualTo(422);
+            assertThat(response.body()).contains("retry-2");
+        }
+
+        @Test
+        @DisplayName("異常系: 冪等キーが長すぎる場合は400を返す")
+        void tooLongIdempotencyKey_returnsBadRequest() throws Exception {
+            // Act
+            var response = post("{\"name\": \"テスト魂\", \"age\": 25, \"worldIndex\": 1, \"raceId\": \"elf\"}", "k".repeat(256));
+
+            // Assert
+            assertThat(response.statusCode()).isEqualTo(400);
+            verify(directTransmigrationService, times(0)).transmigrate(any());
+        }
+
+        @Test
+        @DisplayName("異常系: POST以外のメソッドは405を返す")
+        void getMethod_returnsMethodNotAllowed() throws Exception {
+            // Act
+            var response = httpClient.send(HttpRequest.newBuilder(endpoint).GET().build(), HttpResponse.BodyHandlers.ofString());
+
+            // Assert
+            assertThat(response.statusCode()).isEqualTo(405);
+            assertThat(response.headers().firstValue("Allow")).hasValue("POST");
+        }
+    }
+
+    @Nested
+    @DisplayName("シャットダウン時の排出のテスト")
+    class Drain {
+
+        @Test
+        @DisplayName("正常系: 受け付けを停止すると新しいリクエストは503となり、処理中のリクエストは完了まで待たれる")
+        void stopAccepting_rejectsNewAndAwaitsInFlight() throws Exception {
+            // Arrange
+            var entered = new CountDownLatch(1);
+            var release = new CountDownLatch(1);
+            when(directTransmigrationService.transmigrate(argThat(request -> request != null && "遅い魂".equals(request.getName()))))
+                    .thenAnswer(invocation -> {
+                        entered.countDown();
+                        release.await();
+                        throw new IllegalArgumentException("処理中のリクエスト");
+                    });
+            var inFlight = httpClient.sendAsync(HttpRequest.newBuilder(endpoint)
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"name\": \"遅い魂\", \"age\": 25, \"worldIndex\": 1}"))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            entered.await();
+
+            // Act
+            httpServer.stopAccepting();
+            var rejected = post("{\"name\": \"テスト魂\", \"age\": 25, \"worldIndex\": 1, \"raceId\": \"elf\"}");
+            var drainedBeforeRelease = httpServer.awaitDrained(Duration.ofMillis(100));
+            release.countDown();
+            var drainedAfterRelease = httpServer.awaitDrained(Duration.ofSeconds(5));
+
+            // Assert
+            assertThat(rejected.statusCode()).isEqualTo(503);
+            assertThat(rejected.body()).isEqualTo("{\"error\":\"サーバーを停止しています\"}");
+            assertThat(drainedBeforeRelease).isFalse();
+            assertThat(drainedAfterRelease).isTrue();
+            assertThat(inFlight.join().body()).isEqualTo("{\"error\":\"処理中のリクエスト\"}");
+        }
+    }
+
+    @Nested
+    @DisplayName("ループバックでの負荷テスト")
+    class Loopback {
+
+        @Test
+        @DisplayName("1000クライアントの同時接続でもすべてのリクエストが成功し、p50/p99レイテンシを計測できる")
+        void thousandConcurrentClients_reportsLatencyPercentiles() throws Exception {
+            // Arrange
+            var clients = 1_000;
+            var requestsPerClient = 5;
+            var latencies = new long[clients * requestsPerClient];
+            var failures = new AtomicInteger();
+            var ready = new CountDownLatch(clients);
+            var go = new CountDownLatch(1);
+            var body = "{\"name\": \"テスト魂\", \"age\": 25, \"worldIndex\": 1, \"raceId\": \"elf\", \"hands\": [1]}";
+
+            // Act
+            var started = System.nanoTime();
+            try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (var client = 0; client < clients; client++) {
+                    var offset = client * requestsPerClient;
+                    executor.submit(() -> {
+                        ready.countDown();
+                        go.await();
+                        for (var i = 0; i < requestsPerClient; i++) {
+                            var requestStarted = System.nanoTime();
+                            var response = post(body);
+                            latencies[offset + i] = System.nanoTime() - requestStarted;
+                            if (response.statusCode() != 201) {
+                                failures.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    });
+                }
+                ready.await();
+                go.countDown();
+            }
+            var elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+            // Assert
+            Arrays.sort(latencies);
+            var p50 = Duration.ofNanos(latencies[latencies.length / 2]);
+            var p99 = Duration.ofNanos(latencies[(int) (latencies.length * 0.99) - 1]);
+            var throughput = latencies.length / (elapsed.toNanos() / 1_000_000_000.0);
+
+            assertThat(failures).hasValue(0);
+            assertThat(latencies[0]).isPositive();
+            assertThat(p50).isLessThanOrEqualTo(p99);
+            assertThat(p99).isLessThan(Duration.ofSeconds(10));
+            assertThat(throughput).isPositive();
+        }
+    }
+}
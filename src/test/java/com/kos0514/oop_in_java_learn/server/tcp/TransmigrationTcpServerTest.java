@@ -0,0 +1,363 @@
+package com.kos0514.oop_in_java_learn.server.tcp;
+
+import com.kos0514.oop_in_java_learn.entity.RaceWithModifiers;
+import com.kos0514.oop_in_java_learn.entity.generated.Race;
+import com.kos0514.oop_in_java_learn.factory.TransmigratorFactory;
+import com.kos0514.oop_in_java_learn.io.test.TestComputerChoiceProvider;
+import com.kos0514.oop_in_java_learn.model.Transmigrator;
+import com.kos0514.oop_in_java_learn.model.playable_status.PlayableStatuses;
+import com.kos0514.oop_in_java_learn.model.value.Age;
+import com.kos0514.oop_in_java_learn.model.value.SoulId;
+import com.kos0514.oop_in_java_learn.model.value.SoulName;
+import com.kos0514.oop_in_java_learn.model.world.FantasyWorld;
+import com.kos0514.oop_in_java_learn.model.world.World;
+import com.kos0514.oop_in_java_learn.repository.WorldRepository;
+import com.kos0514.oop_in_java_learn.service.TransmigrationService;
+import com.kos0514.oop_in_java_learn.service.catalog.CatalogSnapshot;
+import com.kos0514.oop_in_java_learn.service.catalog.RaceCatalogCache;
+import com.kos0514.oop_in_java_learn.service.menu.MenuRenderer;
+import com.kos0514.oop_in_java_learn.service.session.SessionProperties;
+import com.kos0514.oop_in_java_learn.service.session.TransmigrationSessionEngine;
+import com.kos0514.oop_in_java_learn.service.session.TransmigrationStateMachine;
+import com.sun.management.UnixOperatingSystemMXBean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static com.kos0514.oop_in_java_learn.enums.RockPaperScissors.PAPER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("TransmigrationTcpServer クラスのテスト")
+class TransmigrationTcpServerTest {
+
+    @Mock
+    private WorldRepository worldRepository;
+
+    @Mock
+    private RaceCatalogCache raceCatalogCache;
+
+    @Mock
+    private TransmigratorFactory transmigratorFactory;
+
+    @Mock
+    private TransmigrationService transmigrationService;
+
+    private TestComputerChoiceProvider computerChoiceProvider;
+    private TransmigrationSessionEngine sessionEngine;
+    private TransmigrationTcpServer tcpServer;
+
+    private final Race human = new Race("human", "ヒューマン", "Human", "STANDARD", new Date(), new Date(), "適応力", "Description");
+
+    @BeforeEach
+    void setUp() {
+        computerChoiceProvider = new TestComputerChoiceProvider();
+        when(worldRepository.getAvailableWorlds()).thenReturn(List.of(new FantasyWorld()));
+        when(raceCatalogCache.latest()).thenReturn(CatalogSnapshot.of(List.of(new RaceWithModifiers(
+                human.getId(), human.getJapaneseName(), human.getEnglishName(), human.getRarity(),
+                human.getCreatedAt(), human.getUpdatedAt(), human.getSpecialAbility(), human.getDescription(),
+                null, null, null, null, null, null, null, null)), null));
+        when(transmigratorFactory.create(any(SoulName.class), any(Age.class), any(World.class), any(Race.class), any(CatalogSnapshot.class)))
+                .thenAnswer(invocation -> Transmigrator.builder()
+                        .soulId(SoulId.newId())
+                        .soulName(invocation.getArgument(0))
+                        .age(invocation.getArgument(1))
+                        .world(invocation.getArgument(2))
+                        .race(invocation.getArgument(3))
+                        .playableStatuses(PlayableStatuses.of(10, 10, 10, 10, 10, 10, 100, 50))
+                        .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (tcpServer != null) {
+            tcpServer.close();
+        }
+        if (sessionEngine != null) {
+            sessionEngine.close();
+        }
+    }
+
+    private void startServer(int maxConnections, int maxLineBytes) throws IOException {
+        startServer(maxConnections, maxLineBytes, Duration.ofMinutes(5));
+    }
+
+    private void startServer(int maxConnections, int maxLineBytes, Duration idleTimeout) throws IOException {
+        var stateMachine = new TransmigrationStateMachine(
+                worldRepository, raceCatalogCache, computerChoiceProvider, transmigratorFactory, new MenuRenderer());
+        sessionEngine = new TransmigrationSessionEngine(transmigrationService,
+                new SessionProperties(idleTimeout, Duration.ofMinutes(30), Duration.ofMillis(20)));
+        tcpServer = new TransmigrationTcpServer(stateMachine, sessionEngine,
+                new TcpServerProperties("127.0.0.1", 0, 4096, maxConnections, maxLineBytes, 16, 4096, 16));
+        tcpServer.start();
+    }
+
+    @Nested
+    @DisplayName("対話セッションのテスト")
+    class Session {
+
+        @Test
+        @DisplayName("正常系: 1行ずつ入力して転生が完了すると、結果を送信して接続を閉じる")
+        void linesDriveSessionToCompletion() throws Exception {
+            // Arrange
+            startServer(100, 1024);
+            computerChoiceProvider.addChoices(PAPER);
+
+            try (var socket = new Socket("127.0.0.1", tcpServer.getPort())) {
+                var reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                var writer = socket.getOutputStream();
+
+                // Act
+                var welcome = readUntil(reader, "転生者の名前を入力してください:");
+                // 名前・年齢・世界・じゃんけん（グーで負け）・種族をまとめて送信する（CRLFも受け付ける）
+                writer.write("テスト魂\r\n25\n1\n1\n1\n".getBytes(StandardCharsets.UTF_8));
+                writer.flush();
+                var rest = readToEnd(reader);
+
+                // Assert
+                assertThat(welcome).contains("異世界転生トランスミッションサービス");
+                assertThat(rest).contains(
+                        "転生者の年齢を入力してください",
+                        "負けてしまいました...",
+                        "ヒューマン種族に転生が決定しました！",
+                        "STR: 10");
+            }
+            waitUntil(() -> tcpServer.getConnectionCount() == 0);
+            assertThat(tcpServer.getCompletedSessions()).isEqualTo(1);
+            // セッションはセッションエンジンで実行される
+            waitUntil(() -> sessionEngine.getStats().getCompletedSessions() == 1);
+        }
+
+        @Test
+        @DisplayName("異常系: 転生処理中にエラーが発生したセッションはエラーを送信して切断し、失敗として集計される")
+        void sessionError_countsAsFailed() throws Exception {
+            // Arrange
+            startServer(100, 1024);
+            computerChoiceProvider.addChoices(PAPER);
+            when(transmigratorFactory.create(any(SoulName.class), any(Age.class), any(World.class), any(Race.class), any(CatalogSnapshot.class)))
+                    .thenThrow(new IllegalStateException("テストエラー"));
+
+            try (var socket = new Socket("127.0.0.1", tcpServer.getPort())) {
+                var reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                readUntil(reader, "転生者の名前を入力してください:");
+
+                // Act
+                socket.getOutputStream().write("テスト魂\n25\n1\n1\n1\n".getBytes(StandardCharsets.UTF_8));
+                socket.getOutputStream().flush();
+
+                // Assert
+                assertThat(readToEnd(reader)).contains("転生処理中にエラーが発生しました。接続を終了します。");
+            }
+            waitUntil(() -> sessionEngine.getStats().getFailedSessions() == 1);
+            assertThat(sessionEngine.getStats().getCompletedSessions()).isZero();
+            assertThat(tcpServer.getCompletedSessions()).isZero();
+        }
+
+        @Test
+        @DisplayName("異常系: 入力待ちの上限までに改行を送らない接続は、セッションを開始していなくても切断する")
+        void noCompleteLine_closesAfterIdleTimeout() throws Exception {
+            // Arrange
+            startServer(100, 1024, Duration.ofMillis(200));
+
+            try (var socket = new Socket("127.0.0.1", tcpServer.getPort())) {
+                var reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                readUntil(reader, "転生者の名前を入力してください:");
+
+                // Act
+                socket.getOutputStream().write("テスト".getBytes(StandardCharsets.UTF_8));
+                socket.getOutputStream().flush();
+
+                // Assert
+                assertThat(readToEnd(reader)).contains("入力がないため、接続を終了します。");
+            }
+            waitUntil(() -> tcpServer.getConnectionCount() == 0);
+            assertThat(sessionEngine.getStats().getStartedSessions()).isZero();
+        }
+
+        @Test
+        @DisplayName("異常系: 1行の上限を超えた接続はエラーを送信して切断する")
+        void tooLongLine_closesConnection() throws Exception {
+            // Arrange
+            startServer(100, 32);
+
+            try (var socket = new Socket("127.0.0.1", tcpServer.getPort())) {
+                var reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                readUntil(reader, "転生者の名前を入力してください:");
+
+                // Act
+                socket.getOutputStream().write("x".repeat(100).getBytes(StandardCharsets.UTF_8));
+                socket.getOutputStream().flush();
+
+                // Assert
+                assertThat(readToEnd(reader)).contains("入力が長すぎるか、多すぎます。");
+            }
+            waitUntil(() -> tcpServer.getConnectionCount() == 0);
+            assertThat(tcpServer.getCompletedSessions()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("シャットダウン時の排出のテスト")
+    class Drain {
+
+        @Test
+        @DisplayName("正常系: 受け付けを停止すると待機中の接続は切断され、実行中のセッションは完了まで続けられる")
+        void stopAccepting_closesIdleAndFinishesActiveSessions() throws Exception {
+            // Arrange
+            startServer(100, 1024);
+            computerChoiceProvider.addChoices(PAPER);
+
+            try (var idle = new Socket("127.0.0.1", tcpServer.getPort());
+                 var active = new Socket("127.0.0.1", tcpServer.getPort())) {
+                var idleReader = new BufferedReader(new InputStreamReader(idle.getInputStream(), StandardCharsets.UTF_8));
+                var activeReader = new BufferedReader(new InputStreamReader(active.getInputStream(), StandardCharsets.UTF_8));
+                readUntil(idleReader, "転生者の名前を入力してください:");
+                readUntil(activeReader, "転生者の名前を入力してください:");
+                active.getOutputStream().write("テスト魂\n".getBytes(StandardCharsets.UTF_8));
+                active.getOutputStream().flush();
+                readUntil(activeReader, "転生者の年齢を入力してください (1～120の整数):");
+                var port = tcpServer.getPort();
+
+                // Act
+                tcpServer.stopAccepting();
+                var idleRest = readToEnd(idleReader);
+                active.getOutputStream().write("25\n1\n1\n1\n".getBytes(StandardCharsets.UTF_8));
+                active.getOutputStream().flush();
+                var activeRest = readToEnd(activeReader);
+
+                // Assert
+                assertThat(idleRest).contains("サーバーを停止するため、接続を終了します。");
+                assertThat(activeRest).contains("ヒューマン種族に転生が決定しました！");
+                assertThat(tcpServer.awaitDrained(Duration.ofSeconds(5))).isTrue();
+                assertThat(tcpServer.getCompletedSessions()).isEqualTo(1);
+                assertThatThrownBy(() -> new Socket("127.0.0.1", port).close()).isInstanceOf(IOException.class);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("多数接続のテスト")
+    class ManyConnections {
+
+        @Test
+        @DisplayName("正常系: 1万本の待機中の接続を1本のセレクタースレッドで保持できる")
+        void tenThousandIdleConnections() throws Exception {
+            // Arrange
+            var connectionCount = 10_000;
+            // クライアント側とサーバー側で1接続につき2つのファイルディスクリプタを使用する
+            assumeTrue(maxFileDescriptors() > connectionCount * 2L + 1_000,
+                    "ファイルディスクリプタの上限が不足しているためスキップします");
+            startServer(connectionCount, 1024);
+            var heapBefore = usedHeap();
+
+            // Act
+            var clients = new ArrayList<SocketChannel>(connectionCount);
+            try {
+                for (var i = 0; i < connectionCount; i++) {
+                    clients.add(SocketChannel.open(new InetSocketAddress("127.0.0.1", tcpServer.getPort())));
+                }
+                waitUntil(() -> tcpServer.getConnectionCount() == connectionCount);
+                var bytesPerConnection = (usedHeap() - heapBefore) / connectionCount;
+
+                // Assert
+                assertThat(tcpServer.getConnectionCount()).isEqualTo(connectionCount);
+                // 待機中の接続はスレッドや行バッファを持たないため、接続あたり数KBに収まる
+                assertThat(bytesPerConnection).isLessThan(8 * 1024);
+            } finally {
+                for (var client : clients) {
+                    client.close();
+                }
+            }
+            waitUntil(() -> tcpServer.getConnectionCount() == 0);
+        }
+
+        @Test
+        @DisplayName("異常系: 接続数の上限を超えた接続は拒否される")
+        void overMaxConnections_rejected() throws Exception {
+            // Arrange
+            startServer(2, 1024);
+
+            try (var first = SocketChannel.open(new InetSocketAddress("127.0.0.1", tcpServer.getPort()));
+                 var second = SocketChannel.open(new InetSocketAddress("127.0.0.1", tcpServer.getPort()));
+                 var third = SocketChannel.open(new InetSocketAddress("127.0.0.1", tcpServer.getPort()))) {
+
+                // Act
+                waitUntil(() -> tcpServer.getRejectedConnections() == 1);
+
+                // Assert
+                assertThat(tcpServer.getConnectionCount()).isEqualTo(2);
+                assertThat(third.read(ByteBuffer.allocate(16))).isEqualTo(-1);
+            }
+        }
+    }
+
+    private static String readUntil(BufferedReader reader, String lastLine) throws IOException {
+        var text = new StringBuilder();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            text.append(line).append('\n');
+            if (line.equals(lastLine)) {
+                break;
+            }
+        }
+        return text.toString();
+    }
+
+    private static String readToEnd(BufferedReader reader) throws IOException {
+        var text = new StringBuilder();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            text.append(line).append('\n');
+        }
+        return text.toString();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        var deadline = System.nanoTime() + 10_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("条件が10秒以内に満たされませんでした").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        System.gc();
+        Thread.sleep(100);
+        var runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long maxFileDescriptors() {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof UnixOperatingSystemMXBean os) {
+            return os.getMaxFileDescriptorCount();
+        }
+        return 0L;
+    }
+}
@@ -1,5 +1,6 @@
 package com.kos0514.oop_in_java_learn.service;
 
+import com.kos0514.oop_in_java_learn.context.SessionContext;
 import com.kos0514.oop_in_java_learn.entity.generated.Race;
 import com.kos0514.oop_in_java_learn.factory.TransmigratorFactory;
 import com.kos0514.oop_in_java_learn.io.UserInputProvider;
@@ -9,6 +10,8 @@ import com.kos0514.oop_in_java_learn.model.playable_status.PlayableStatuses;
 import com.kos0514.oop_in_java_learn.model.value.Age;
 import com.kos0514.oop_in_java_learn.model.value.SoulName;
 import com.kos0514.oop_in_java_learn.model.world.World;
+import com.kos0514.oop_in_java_learn.service.prefetch.CatalogPrefetch;
+import com.kos0514.oop_in_java_learn.service.prefetch.CatalogPrefetcher;
 import com.kos0514.oop_in_java_learn.service.race.SelectRaceService;
 import com.kos0514.oop_in_java_learn.service.world.SelectWorldService;
 import com.kos0514.oop_in_java_learn.util.log.LoggingUtils;
@@ -47,6 +50,9 @@ class TransmigrationServiceTest {
     @Mock
     private SelectRaceService selectRaceService;
 
+    @Mock
+    private CatalogPrefetcher catalogPrefetcher;
+
     @Mock
     private PlayableStatuses playableStatuses;
 
@@ -125,8 +131,8 @@ class TransmigrationServiceTest {
                 when(testTransmigrator.getSoulName()).thenReturn(testSoulName);
                 when(testTransmigrator.getWorld()).thenReturn(testWorld);
                 when(testTransmigrator.getRace()).thenReturn(testRace);
-                when(selectWorldService.selectWorld(any(UserInputProvider.class))).thenReturn(testWorld);
-                when(selectRaceService.selectRace(any(UserInputProvider.class))).thenReturn(testRace);
+                when(selectWorldService.selectWorld()).thenReturn(testWorld);
+                when(selectRaceService.selectRace()).thenReturn(testRace);
                 when(transmigratorFactory.create(any(SoulName.class), any(Age.class), eq(testWorld), eq(testRace)))
                         .thenReturn(testTransmigrator);
                 when(testTransmigrator.getPlayableStatuses()).thenReturn(playableStatuses);
@@ -136,13 +142,55 @@ class TransmigrationServiceTest {
 
                 // Assert
                 // 各サービスが正しく呼び出されたことを検証
-                verify(selectWorldService).selectWorld(any(UserInputProvider.class));
-                verify(selectRaceService).selectRace(any(UserInputProvider.class));
+                verify(selectWorldService).selectWorld();
+                verify(selectRaceService).selectRace();
                 verify(transmigratorFactory).create(any(SoulName.class), any(Age.class), eq(testWorld), eq(testRace));
                 verify(playableStatuses).showStatus();
             }
         }
 
+        @Test
+        @DisplayName("正常系: 世界選択と種族選択は先読みしたカタログを固定したセッションコンテキストの中で実行され、終了時に先読みが閉じられる")
+        void selections_runWithinSessionContext() {
+            // Arrange
+            try (var inputProvider = new TestInputProvider()
+                    .addInputs("テスト魂", "25")) {
+
+                var prefetch = mock(CatalogPrefetch.class);
+                when(catalogPrefetcher.start()).thenReturn(prefetch);
+
+                when(testSoulName.getName()).thenReturn("テスト魂");
+                when(testWorld.getName()).thenReturn("テスト世界");
+                when(testRace.getJapaneseName()).thenReturn("テスト種族");
+                when(testTransmigrator.getSoulName()).thenReturn(testSoulName);
+                when(testTransmigrator.getWorld()).thenReturn(testWorld);
+                when(testTransmigrator.getRace()).thenReturn(testRace);
+                when(selectWorldService.selectWorld()).thenAnswer(invocation -> {
+                    assertThat(SessionContext.current().getInput()).isSameAs(inputProvider);
+                    return testWorld;
+                });
+                when(selectRaceService.selectRace()).thenAnswer(invocation -> {
+                    assertThat(SessionContext.current().getInput()).isSameAs(inputProvider);
+                    assertThat(SessionContext.current().getCatalog()).isSameAs(prefetch);
+                    verify(prefetch, never()).close();
+                    return testRace;
+                });
+                when(transmigratorFactory.create(any(SoulName.class), any(Age.class), eq(testWorld), eq(testRace)))
+                        .thenReturn(testTransmigrator);
+                when(testTransmigrator.getPlayableStatuses()).thenReturn(playableStatuses);
+
+                // Act
+                transmigrationService.startTransmigrationProcess(inputProvider);
+
+                // Assert
+                verify(selectWorldService).selectWorld();
+                verify(selectRaceService).selectRace();
+                verify(prefetch).close();
+                // セッション終了後はコンテキストが解除されている
+                assertThrows(IllegalStateException.class, SessionContext::current);
+            }
+        }
+
         @Test
         @DisplayName("異常系: 世界選択でエラーが発生した場合")
         void worldSelectionError_handlesException() {
@@ -151,7 +199,7 @@ class TransmigrationServiceTest {
                     .addInputs("テスト魂", "25")) {
 
                 // 世界選択時に例外をスローするように設定
-                when(selectWorldService.selectWorld(any(UserInputProvider.class)))
+                when(selectWorldService.selectWorld())
                         .thenThrow(new RuntimeException("世界選択エラー"));
 
                 // Act & Assert
@@ -159,8 +207,8 @@ class TransmigrationServiceTest {
                 assertThrows(RuntimeException.class, () -> transmigrationService.startTransmigrationProcess(inputProvider));
 
                 // 検証
-                verify(selectWorldService).selectWorld(any(UserInputProvider.class));
-                verify(selectRaceService, never()).selectRace(any(UserInputProvider.class));
+                verify(selectWorldService).selectWorld();
+                verify(selectRaceService, never()).selectRace();
                 verify(transmigratorFactory, never()).create(any(), any(), any(), any());
             }
         }
@@ -173,16 +221,16 @@ class TransmigrationServiceTest {
                     .addInputs("テスト魂", "25")) {
 
                 // 世界選択は成功するが、種族選択で例外をスローするように設定
-                when(selectWorldService.selectWorld(any(UserInputProvider.class))).thenReturn(testWorld);
-                when(selectRaceService.selectRace(any(UserInputProvider.class)))
+                when(selectWorldService.selectWorld()).thenReturn(testWorld);
+                when(selectRaceService.selectRace())
                         .thenThrow(new RuntimeException("種族選択エラー"));
 
                 // Act & Assert
                 assertThrows(RuntimeException.class, () -> transmigrationService.startTransmigrationProcess(inputProvider));
 
                 // 検証
-                verify(selectWorldService).selectWorld(any(UserInputProvider.class));
-                verify(selectRaceService).selectRace(any(UserInputProvider.class));
+                verify(selectWorldService).selectWorld();
+                verify(selectRaceService).selectRace();
                 verify(transmigratorFactory, never()).create(any(), any(), any(), any());
             }
         }
@@ -195,8 +243,8 @@ class TransmigrationServiceTest {
                     .addInputs("テスト魂", "25")) {
 
                 // 世界選択と種族選択は成功するが、転生者作成で例外をスローするように設定
-                when(selectWorldService.selectWorld(any(UserInputProvider.class))).thenReturn(testWorld);
-                when(selectRaceService.selectRace(any(UserInputProvider.class))).thenReturn(testRace);
+                when(selectWorldService.selectWorld()).thenReturn(testWorld);
+                when(selectRaceService.selectRace()).thenReturn(testRace);
                 when(transmigratorFactory.create(any(SoulName.class), any(Age.class), any(World.class), any(Race.class)))
                         .thenThrow(new RuntimeException("転生者作成エラー"));
 
@@ -204,8 +252,8 @@ class TransmigrationServiceTest {
                 assertThrows(RuntimeException.class, () -> transmigrationService.startTransmigrationProcess(inputProvider));
 
                 // 検証
-                verify(selectWorldService).selectWorld(any(UserInputProvider.class));
-                verify(selectRaceService).selectRace(any(UserInputProvider.class));
+                verify(selectWorldService).selectWorld();
+                verify(selectRaceService).selectRace();
                 verify(transmigratorFactory).create(any(SoulName.class), any(Age.class), any(World.class), any(Race.class));
                 verify(playableStatuses, never()).showStatus();
             }
@@ -236,8 +284,8 @@ class TransmigrationServiceTest {
                     when(testTransmigrator.getWorld()).thenReturn(testWorld);
                     when(testTransmigrator.getRace()).thenReturn(testRace);
 
-                    when(selectWorldService.selectWorld(any(UserInputProvider.class))).thenReturn(testWorld);
-                    when(selectRaceService.selectRace(any(UserInputProvider.class))).thenReturn(testRace);
+                    when(selectWorldService.selectWorld()).thenReturn(testWorld);
+                    when(selectRaceService.selectRace()).thenReturn(testRace);
                     when(transmigratorFactory.create(eq(testSoulName), eq(testAge), eq(testWorld), eq(testRace)))
                             .thenReturn(testTransmigrator);
                     when(testTransmigrator.getPlayableStatuses()).thenReturn(playableStatuses);
@@ -246,8 +294,8 @@ class TransmigrationServiceTest {
                     transmigrationService.startTransmigrationProcess(inputProvider);
 
                     // Assert
-                    verify(selectWorldService).selectWorld(any(UserInputProvider.class));
-                    verify(selectRaceService).selectRace(any(UserInputProvider.class));
+                    verify(selectWorldService).selectWorld();
+                    verify(selectRaceService).selectRace();
                     verify(transmigratorFactory).create(eq(testSoulName), eq(testAge), eq(testWorld), eq(testRace));
                     verify(playableStatuses).showStatus();
                 }
@@ -278,8 +326,8 @@ class TransmigrationServiceTest {
                     when(testTransmigrator.getSoulName()).thenReturn(testSoulName);
                     when(testTransmigrator.getWorld()).thenReturn(testWorld);
                     when(testTransmigrator.getRace()).thenReturn(testRace);
-                    when(selectWorldService.selectWorld(any(UserInputProvider.class))).thenReturn(testWorld);
-                    when(selectRaceService.selectRace(any(UserInputProvider.class))).thenReturn(testRace);
+                    when(selectWorldService.selectWorld()).thenReturn(testWorld);
+                    when(selectRaceService.selectRace()).thenReturn(testRace);
                     when(transmigratorFactory.create(eq(testSoulName), eq(testAge), eq(testWorld), eq(testRace)))
                             .thenReturn(testTransmigrator);
                     when(testTransmigrator.getPlayableStatuses()).thenReturn(playableStatuses);
@@ -288,8 +336,8 @@ class TransmigrationServiceTest {
                     transmigrationService.startTransmigrationProcess(inputProvider);
 
                     // Assert
-                    verify(selectWorldService).selectWorld(any(UserInputProvider.class));
-                    verify(selectRaceService).selectRace(any(UserInputProvider.class));
+                    verify(selectWorldService).selectWorld();
+                    verify(selectRaceService).selectRace();
                     verify(transmigratorFactory).create(eq(testSoulName), eq(testAge), eq(testWorld), eq(testRace));
                     verify(playableStatuses).showStatus();
                 }
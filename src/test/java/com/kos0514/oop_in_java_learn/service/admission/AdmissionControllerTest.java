@@ -0,0 +1,197 @@
+package com.kos0514.oop_in_java_learn.service.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("AdmissionController クラスのテスト")
+class AdmissionControllerTest {
+
+    /**
+     * 実行枠を占有したまま、解放の合図を待つ処理を開始します。
+     *
+     * @param controller 受け付け制御
+     * @param entered    実行枠に入ったことを知らせるラッチ
+     * @param release    処理を終える合図のラッチ
+     * @return 処理の完了を表すFuture
+     */
+    private static CompletableFuture<String> occupy(AdmissionController controller,
+                                                    CountDownLatch entered, CountDownLatch release) {
+        return CompletableFuture.supplyAsync(() -> controller.call(() -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "占有";
+        }), runnable -> Thread.ofVirtual().start(runnable));
+    }
+
+    @Nested
+    @DisplayName("call メソッドのテスト")
+    class Call {
+
+        @Test
+        @DisplayName("正常系: 実行枠に空きがあれば待たずに実行される")
+        void withinLimit_runsImmediately() {
+            // Arrange
+            var controller = new AdmissionController(new AdmissionProperties(2, 0, Duration.ofMillis(100)));
+
+            // Act
+            var result = controller.call(() -> "転生完了");
+
+            // Assert
+            assertThat(result).isEqualTo("転生完了");
+            assertThat(controller.getAdmitted()).isEqualTo(1);
+            assertThat(controller.getRejected()).isZero();
+            assertThat(controller.getInFlight()).isZero();
+        }
+
+        @Test
+        @DisplayName("正常系: 実行枠が埋まっていても、待ち時間の上限内に空けば実行される")
+        void queued_runsWhenPermitFreed() throws Exception {
+            // Arrange
+            var controller = new AdmissionController(new AdmissionProperties(1, 1, Duration.ofSeconds(5)));
+            var entered = new CountDownLatch(1);
+            var release = new CountDownLatch(1);
+            var occupying = occupy(controller, entered, release);
+            entered.await();
+
+            // Act
+            var waiting = CompletableFuture.supplyAsync(() -> controller.call(() -> "待機後に実行"),
+                    runnable -> Thread.ofVirtual().start(runnable));
+            while (controller.getQueued() == 0) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            // Assert
+            assertThat(waiting.get(5, TimeUnit.SECONDS)).isEqualTo("待機後に実行");
+            assertThat(occupying.join()).isEqualTo("占有");
+            assertThat(controller.getAdmitted()).isEqualTo(2);
+            assertThat(controller.getQueued()).isZero();
+        }
+
+        @Test
+        @DisplayName("異常系: 待ち行列が満杯の場合は待たずに拒否され、再試行の目安が返される")
+        void queueFull_rejectsFastWithRetryHint() throws Exception {
+            // Arrange
+            var controller = new AdmissionController(new AdmissionProperties(1, 0, Duration.ofMillis(300)));
+            var entered = new CountDownLatch(1);
+            var release = new CountDownLatch(1);
+            var occupying = occupy(controller, entered, release);
+            entered.await();
+
+            // Act
+            var started = System.nanoTime();
+            var thrown = assertThatThrownBy(() -> controller.call(() -> "拒否される"));
+            var elapsed = Duration.ofNanos(System.nanoTime() - started);
+            release.countDown();
+            occupying.join();
+
+            // Assert
+            thrown.isInstanceOfSatisfying(AdmissionRejectedException.class, e -> {
+                assertThat(e).hasMessage("混雑しているため受け付けできません");
+                assertThat(e.getRetryAfter()).isGreaterThanOrEqualTo(Duration.ofMillis(300));
+            });
+            assertThat(elapsed).isLessThan(Duration.ofMillis(300));
+            assertThat(controller.getRejected()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("異常系: 待ち時間の上限を超えても実行枠が空かない場合は拒否される")
+        void queueDelayExceeded_rejects() throws Exception {
+            // Arrange
+            var controller = new AdmissionController(new AdmissionProperties(1, 4, Duration.ofMillis(50)));
+            var entered = new CountDownLatch(1);
+            var release = new CountDownLatch(1);
+            var occupying = occupy(controller, entered, release);
+            entered.await();
+
+            // Act & Assert
+            assertThatThrownBy(() -> controller.call(() -> "拒否される"))
+                    .isInstanceOf(AdmissionRejectedException.class)
+                    .hasMessage("混雑しているため待ち時間の上限を超えました");
+            release.countDown();
+            occupying.join();
+            assertThat(controller.getQueued()).isZero();
+            assertThat(controller.getInFlight()).isZero();
+        }
+
+        @Test
+        @DisplayName("異常系: 処理が例外で終わっても実行枠は解放される")
+        void workThrows_releasesPermit() {
+            // Arrange
+            var controller = new AdmissionController(new AdmissionProperties(1, 0, Duration.ofMillis(50)));
+
+            // Act
+            assertThatThrownBy(() -> controller.call(() -> {
+                throw new IllegalArgumentException("名前は空にできません");
+            })).isInstanceOf(IllegalArgumentException.class);
+
+            // Assert
+            assertThat(controller.getInFlight()).isZero();
+            assertThat(controller.call(() -> "再実行")).isEqualTo("再実行");
+        }
+    }
+
+    @Nested
+    @DisplayName("同時実行の急増のテスト")
+    class Spike {
+
+        @Test
+        @DisplayName("正常系: 急増時も同時実行数は上限を超えず、溢れた分は拒否される")
+        void spike_inFlightStaysBoundedAndExcessIsShed() {
+            // Arrange
+            var maxConcurrent = 8;
+            var requests = 1_000;
+            var controller = new AdmissionController(new AdmissionProperties(maxConcurrent, 32, Duration.ofMillis(100)));
+            var inFlight = new AtomicInteger();
+            var maxObserved = new AtomicInteger();
+            var completed = new AtomicInteger();
+            var shed = new AtomicInteger();
+
+            // Act
+            try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (var i = 0; i < requests; i++) {
+                    executor.submit(() -> {
+                        try {
+                            controller.call(() -> {
+                                maxObserved.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                                try {
+                                    Thread.sleep(5); // DBアクセスを模擬する
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                }
+                                inFlight.decrementAndGet();
+                                return null;
+                            });
+                            completed.incrementAndGet();
+                        } catch (AdmissionRejectedException e) {
+                            shed.incrementAndGet();
+                        }
+                    });
+                }
+            }
+
+            // Assert
+            assertThat(maxObserved.get()).isLessThanOrEqualTo(maxConcurrent);
+            assertThat(completed.get() + shed.get()).isEqualTo(requests);
+            assertThat(completed.get()).isPositive();
+            assertThat(shed.get()).isPositive();
+            assertThat(controller.getAdmitted()).isEqualTo(completed.get());
+            assertThat(controller.getRejected()).isEqualTo(shed.get());
+        }
+    }
+}
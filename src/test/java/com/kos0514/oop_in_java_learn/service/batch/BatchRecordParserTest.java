@@ -0,0 +1,104 @@
+package com.kos0514.oop_in_java_learn.service.batch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("BatchRecordParser クラスのテスト")
+class BatchRecordParserTest {
+
+    @Nested
+    @DisplayName("parse メソッドのテスト")
+    class Parse {
+
+        @Test
+        @DisplayName("正常系: JSONLの1行を転生リクエストに変換する")
+        void jsonLine_parsesRequest() {
+            // Act
+            var request = BatchRecordParser.parse(
+                    "{\"name\": \"テスト魂\", \"age\": 25, \"worldIndex\": 2, \"raceId\": \"elf\", \"wins\": 1}",
+                    BatchFormat.JSONL);
+
+            // Assert
+            assertThat(request.getName()).isEqualTo("テスト魂");
+            assertThat(request.getAge()).isEqualTo(25);
+            assertThat(request.getWorldIndex()).isEqualTo(2);
+            assertThat(request.getRaceId()).isEqualTo("elf");
+            assertThat(request.getWins()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("正常系: JSONLで世界のIDを指定した場合は世界の番号を省略できる")
+        void jsonLineWithWorldId_parsesRequest() {
+            // Act
+            var request = BatchRecordParser.parse(
+                    "{\"name\": \"テスト魂\", \"age\": 25, \"worldId\": \"summer_festival\", \"raceId\": \"elf\"}",
+                    BatchFormat.JSONL);
+
+            // Assert
+            assertThat(request.getWorldId()).isEqualTo("summer_festival");
+            assertThat(request.getWorldIndex()).isZero();
+        }
+
+        @Test
+        @DisplayName("正常系: JSONLの冪等キーを読み取り、省略時はnullとなる")
+        void jsonLineWithIdempotencyKey_parsesKey() {
+            // Act
+            var withKey = BatchRecordParser.parse(
+                    "{\"name\": \"テスト魂\", \"age\": 25, \"worldIndex\": 1, \"idempotencyKey\": \"import-1\"}",
+                    BatchFormat.JSONL);
+            var withoutKey = BatchRecordParser.parse(
+                    "{\"name\": \"テスト魂\", \"age\": 25, \"worldIndex\": 1}",
+                    BatchFormat.JSONL);
+
+            // Assert
+            assertThat(withKey.getIdempotencyKey()).isEqualTo("import-1");
+            assertThat(withoutKey.getIdempotencyKey()).isNull();
+        }
+
+        @Test
+        @DisplayName("正常系: 引用符で囲まれた列にカンマや引用符を含むCSVを変換する")
+        void quotedCsvLine_parsesRequest() {
+            // Act
+            var request = BatchRecordParser.parse("\"山田, \"\"魂\"\"\",30,1,human,", BatchFormat.CSV);
+
+            // Assert
+            assertThat(request.getName()).isEqualTo("山田, \"魂\"");
+            assertThat(request.getAge()).isEqualTo(30);
+            assertThat(request.getRaceId()).isEqualTo("human");
+            assertThat(request.getWins()).isZero();
+        }
+
+        @Test
+        @DisplayName("異常系: 列数や型が不正な場合は例外をスローする")
+        void invalidLines_throwException() {
+            assertThatThrownBy(() -> BatchRecordParser.parse("テスト魂,25,1", BatchFormat.CSV))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("CSVの列数が不正です");
+            assertThatThrownBy(() -> BatchRecordParser.parse("テスト魂,abc,1,human,0", BatchFormat.CSV))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("ageには整数を指定してください");
+            assertThatThrownBy(() -> BatchRecordParser.parse("\"テスト魂,25,1,human,0", BatchFormat.CSV))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("CSVの引用符が閉じられていません");
+            assertThatThrownBy(() -> BatchRecordParser.parse("{\"name\": \"テスト魂\"", BatchFormat.JSONL))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("isCsvHeader メソッドのテスト")
+    class IsCsvHeader {
+
+        @Test
+        @DisplayName("正常系: 大文字小文字や空白の違いを無視してヘッダー行を判定する")
+        void headerVariants() {
+            assertThat(BatchRecordParser.isCsvHeader("name,age,worldIndex,raceId,wins")).isTrue();
+            assertThat(BatchRecordParser.isCsvHeader("Name, Age, WorldIndex, RaceId, Wins")).isTrue();
+            assertThat(BatchRecordParser.isCsvHeader("テスト魂,25,1,human,0")).isFalse();
+        }
+    }
+}
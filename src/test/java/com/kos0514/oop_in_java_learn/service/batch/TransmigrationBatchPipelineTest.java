@@ -0,0 +1,196 @@
+package com.kos0514.oop_in_java_learn.service.batch;
+
+import com.kos0514.oop_in_java_learn.entity.RaceWithModifiers;
+import com.kos0514.oop_in_java_learn.entity.generated.Race;
+import com.kos0514.oop_in_java_learn.factory.TransmigratorFactory;
+import com.kos0514.oop_in_java_learn.model.Transmigrator;
+import com.kos0514.oop_in_java_learn.model.playable_status.PlayableStatuses;
+import com.kos0514.oop_in_java_learn.model.value.Age;
+import com.kos0514.oop_in_java_learn.model.value.SoulId;
+import com.kos0514.oop_in_java_learn.model.value.SoulName;
+import com.kos0514.oop_in_java_learn.model.world.FantasyWorld;
+import com.kos0514.oop_in_java_learn.model.world.World;
+import com.kos0514.oop_in_java_learn.repository.WorldRepository;
+import com.kos0514.oop_in_java_learn.service.catalog.CatalogSnapshot;
+import com.kos0514.oop_in_java_learn.service.catalog.RaceCatalogCache;
+import com.kos0514.oop_in_java_learn.service.idempotency.IdempotencyCache;
+import com.kos0514.oop_in_java_learn.service.idempotency.IdempotencyProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("TransmigrationBatchPipeline クラスのテスト")
+class TransmigrationBatchPipelineTest {
+
+    @Mock
+    private WorldRepository worldRepository;
+
+    @Mock
+    private RaceCatalogCache raceCatalogCache;
+
+    @Mock
+    private TransmigratorFactory transmigratorFactory;
+
+    private TransmigrationBatchPipeline pipeline;
+
+    private final Race human = createRace("human", "STANDARD");
+    private final Race vampire = createRace("vampire", "UNIQUE");
+
+    @BeforeEach
+    void setUp() {
+        pipeline = new TransmigrationBatchPipeline(worldRepository, raceCatalogCache, transmigratorFactory,
+                new IdempotencyCache(new IdempotencyProperties(Duration.ofMinutes(10), 1000)),
+                new BatchProperties(null, null, 64, 2, 2, 2, 4));
+
+        when(worldRepository.getAvailableWorlds()).thenReturn(List.of(new FantasyWorld()));
+        when(raceCatalogCache.latest()).thenReturn(CatalogSnapshot.of(List.of(joined(human), joined(vampire)), null));
+        when(transmigratorFactory.create(any(SoulName.class), any(Age.class), any(World.class), any(Race.class), any(CatalogSnapshot.class)))
+                .thenAnswer(invocation -> Transmigrator.builder()
+                        .soulId(SoulId.newId())
+                        .soulName(invocation.getArgument(0))
+                        .age(invocation.getArgument(1))
+                        .world(invocation.getArgument(2))
+                        .race(invocation.getArgument(3))
+                        .playableStatuses(PlayableStatuses.of(10, 10, 10, 10, 10, 10, 100, 50))
+                        .build());
+    }
+
+    @Nested
+    @DisplayName("run メソッドのテスト")
+    class Run {
+
+        @Test
+        @DisplayName("正常系: JSONLの正常なレコードと不正なレコードが、行番号付きでそれぞれ出力される")
+        void jsonl_writesSuccessesAndErrors() throws Exception {
+            // Arrange
+            var input = """
+                    {"name": "テスト魂", "age": 25, "worldIndex": 1, "raceId": "human"}
+
+                    {"name": "", "age": 25, "worldIndex": 1, "raceId": "human"}
+                    {"name": "吸血魂", "age": 200, "worldIndex": 1, "raceId": "vampire", "wins": 1}
+                    {"name": "吸血魂", "age": 30, "worldIndex": 1, "raceId": "vampire", "wins": 0}
+                    {"name": "吸血魂", "age": 30, "worldIndex": 1, "raceId": "vampire", "wins": 1}
+                    {broken
+                    """;
+            var output = new StringWriter();
+
+            // Act
+            var result = pipeline.run(new BufferedReader(new StringReader(input)), output, BatchFormat.JSONL);
+
+            // Assert
+            assertThat(result.getReadRecords()).isEqualTo(6);
+            assertThat(result.getSucceededRecords()).isEqualTo(2);
+            assertThat(result.getFailedRecords()).isEqualTo(4);
+
+            var lines = output.toString().lines().toList();
+            assertThat(lines).hasSize(6);
+            assertThat(lines).anySatisfy(line -> assertThat(line).startsWith("{\"line\":1,\"transmigrator\":{").contains("\"name\":\"テスト魂\""));
+            assertThat(lines).contains(
+                    "{\"line\":3,\"error\":\"名前は空にできません\"}",
+                    "{\"line\":4,\"error\":\"年齢は1～120の範囲で入力してください\"}",
+                    "{\"line\":5,\"error\":\"種族「vampire」はSTANDARDまでの種族から選択できません\"}");
+            assertThat(lines).anySatisfy(line -> assertThat(line).startsWith("{\"line\":6,\"transmigrator\":{").contains("\"id\":\"vampire\""));
+            assertThat(lines).anySatisfy(line -> assertThat(line).startsWith("{\"line\":7,\"error\":\"JSONの形式が不正です"));
+        }
+
+        @Test
+        @DisplayName("正常系: CSVはヘッダー行を読み飛ばして取り込む")
+        void csv_skipsHeader() throws Exception {
+            // Arrange
+            var input = """
+                    name,age,worldIndex,raceId,wins
+                    テスト魂,25,1,human,0
+                    テスト魂,25,2,human,0
+                    """;
+            var output = new StringWriter();
+
+            // Act
+            var result = pipeline.run(new BufferedReader(new StringReader(input)), output, BatchFormat.CSV);
+
+            // Assert
+            assertThat(result.getReadRecords()).isEqualTo(2);
+            assertThat(result.getSucceededRecords()).isEqualTo(1);
+            assertThat(output.toString()).contains("{\"line\":3,\"error\":\"世界の番号は1～1の範囲で指定してください\"}");
+        }
+
+        @Test
+        @DisplayName("正常系: 同じ冪等キーのレコードは1回だけ転生し、同じ転生者を出力する（キーのないレコードは毎回転生する）")
+        void duplicateIdempotencyKey_createsOnce() throws Exception {
+            // Arrange
+            var input = """
+                    {"name": "テスト魂", "age": 25, "worldIndex": 1, "raceId": "human", "idempotencyKey": "import-1"}
+                    {"name": "テスト魂", "age": 25, "worldIndex": 1, "raceId": "human", "idempotencyKey": "import-1"}
+                    {"name": "テスト魂", "age": 25, "worldIndex": 1, "raceId": "human"}
+                    """;
+            var output = new StringWriter();
+
+            // Act
+            var result = pipeline.run(new BufferedReader(new StringReader(input)), output, BatchFormat.JSONL);
+
+            // Assert
+            assertThat(result.getSucceededRecords()).isEqualTo(3);
+            var soulIds = output.toString().lines()
+                    .filter(line -> line.contains("\"transmigrator\""))
+                    .map(line -> line.substring(line.indexOf("\"soulId\"")).split(",")[0])
+                    .distinct()
+                    .toList();
+            assertThat(soulIds).hasSize(2);
+            verify(transmigratorFactory, times(2)).create(any(SoulName.class), any(Age.class), any(World.class), any(Race.class), any(CatalogSnapshot.class));
+        }
+
+        @Test
+        @DisplayName("正常系: 大量のレコードを容量の小さいキューで取りこぼしなく処理する")
+        void manyRecords_allProcessed() throws Exception {
+            // Arrange
+            var recordCount = 200_000;
+            var input = new StringBuilder(recordCount * 64);
+            for (var i = 0; i < recordCount; i++) {
+                input.append("{\"name\": \"魂").append(i).append("\", \"age\": ").append(i % 120 + 1)
+                        .append(", \"worldIndex\": 1, \"raceId\": \"human\"}\n");
+            }
+            var output = new StringWriter();
+
+            // Act
+            var result = pipeline.run(new BufferedReader(new StringReader(input.toString())), output, BatchFormat.JSONL);
+
+            // Assert
+            assertThat(result.getReadRecords()).isEqualTo(recordCount);
+            assertThat(result.getSucceededRecords()).isEqualTo(recordCount);
+            assertThat(output.toString().lines().count()).isEqualTo(recordCount);
+            assertThat(result.getElapsed()).isPositive();
+            assertThat(result.getRecordsPerSecond()).isPositive();
+        }
+    }
+
+    private static RaceWithModifiers joined(Race race) {
+        return new RaceWithModifiers(
+                race.getId(), race.getJapaneseName(), race.getEnglishName(), race.getRarity(),
+                race.getCreatedAt(), race.getUpdatedAt(), race.getSpecialAbility(), race.getDescription(),
+                null, null, null, null, null, null, null, null);
+    }
+
+    private static Race createRace(String id, String rarity) {
+        return new Race(id, id, id, rarity, new Date(), new Date(), "Special ability", "Description");
+    }
+}
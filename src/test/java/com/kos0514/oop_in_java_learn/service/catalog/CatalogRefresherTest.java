@@ -0,0 +1,118 @@
+package com.kos0514.oop_in_java_learn.service.catalog;
+
+import com.kos0514.oop_in_java_learn.repository.WorldRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.Duration;
+
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("CatalogRefresher クラスのテスト")
+class CatalogRefresherTest {
+
+    @Mock
+    private RaceCatalogCache raceCatalogCache;
+
+    @Mock
+    private WorldRepository worldRepository;
+
+    @Nested
+    @DisplayName("定期的な確認のテスト")
+    class Refresh {
+
+        @Test
+        @DisplayName("正常系: 有効な場合は設定した間隔でカタログの版を確認する")
+        void enabled_checksPeriodically() {
+            // Arrange
+            when(raceCatalogCache.refreshIfChanged()).thenReturn(false);
+
+            // Act
+            try (var ignored = new CatalogRefresher(raceCatalogCache, worldRepository,
+                    new CatalogRefreshProperties(true, Duration.ofMillis(10)))) {
+
+                // Assert
+                verify(raceCatalogCache, timeout(5000).atLeast(3)).refreshIfChanged();
+            }
+        }
+
+        @Test
+        @DisplayName("異常系: 確認に失敗しても次の間隔で再び確認する")
+        void failure_keepsChecking() {
+            // Arrange
+            when(raceCatalogCache.refreshIfChanged()).thenThrow(new RuntimeException("接続エラー"));
+
+            // Act
+            try (var ignored = new CatalogRefresher(raceCatalogCache, worldRepository,
+                    new CatalogRefreshProperties(true, Duration.ofMillis(10)))) {
+
+                // Assert
+                verify(raceCatalogCache, timeout(5000).atLeast(3)).refreshIfChanged();
+            }
+        }
+
+        @Test
+        @DisplayName("正常系: 差し替えた場合は統計から種族数と読み込み時間を記録する")
+        void refreshed_readsStats() {
+            // Arrange
+            when(raceCatalogCache.refreshIfChanged()).thenReturn(true);
+            when(raceCatalogCache.getStats()).thenReturn(new RaceCatalogCacheStats(0, 1, Duration.ofMillis(3), 5, 1));
+            var refresher = new CatalogRefresher(raceCatalogCache, worldRepository, new CatalogRefreshProperties(false, Duration.ofSeconds(5)));
+
+            // Act
+            refresher.refresh();
+
+            // Assert
+            verify(raceCatalogCache).getStats();
+            verify(worldRepository).refresh();
+        }
+
+        @Test
+        @DisplayName("正常系: 版が変わっていない場合は世界の一覧を読み込み直さない")
+        void unchanged_doesNotRefreshWorlds() {
+            // Arrange
+            when(raceCatalogCache.refreshIfChanged()).thenReturn(false);
+            var refresher = new CatalogRefresher(raceCatalogCache, worldRepository,
+                    new CatalogRefreshProperties(false, Duration.ofSeconds(5)));
+
+            // Act
+            refresher.refresh();
+
+            // Assert
+            verify(worldRepository, never()).refresh();
+        }
+
+        @Test
+        @DisplayName("正常系: 無効な場合や停止後は確認しない")
+        void disabledOrClosed_doesNotCheck() throws InterruptedException {
+            // Arrange
+            var disabled = new CatalogRefresher(raceCatalogCache, worldRepository, new CatalogRefreshProperties(false, Duration.ofMillis(10)));
+            var enabled = new CatalogRefresher(raceCatalogCache, worldRepository, new CatalogRefreshProperties(true, Duration.ofMillis(10)));
+            verify(raceCatalogCache, timeout(5000).atLeast(1)).refreshIfChanged();
+
+            // Act
+            enabled.close();
+            disabled.close();
+            Thread.sleep(50);
+            clearInvocations(raceCatalogCache);
+            Thread.sleep(100);
+
+            // Assert
+            verifyNoInteractions(raceCatalogCache);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.kos0514.oop_in_java_learn.service.catalog;
+
+import com.kos0514.oop_in_java_learn.entity.CatalogVersion;
+import com.kos0514.oop_in_java_learn.entity.RaceWithModifiers;
+import com.kos0514.oop_in_java_learn.entity.generated.Race;
+import com.kos0514.oop_in_java_learn.enums.RaceRarity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CatalogSnapshot クラスのテスト")
+class CatalogSnapshotTest {
+
+    private final Race human = createRace("human", "ヒューマン", "STANDARD");
+    private final Race slime = createRace("slime", "スライム", "UNIQUE");
+    private final Race dragon = createRace("dragon", "ドラゴン", "LEGENDARY");
+
+    private final CatalogVersion version = new CatalogVersion(3);
+
+    private final CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(
+            joined(human, 1, 2, 3, 4, 5, 6, 10, 5),
+            joined(slime, -1, 3, 0, 0, -2, 4, 50, -10),
+            joined(dragon)), version);
+
+    @Nested
+    @DisplayName("findRace メソッドのテスト")
+    class FindRace {
+
+        @Test
+        @DisplayName("正常系: IDに一致する種族を、希少度の上限以下の場合だけ返す")
+        void returnsRaceWithinCeiling() {
+            // Act & Assert
+            assertThat(snapshot.findRace("slime", RaceRarity.UNIQUE)).isEqualTo(slime);
+            assertThat(snapshot.findRace("dragon", RaceRarity.SECRET)).isEqualTo(dragon);
+            assertThat(snapshot.findRace("slime", RaceRarity.STANDARD)).isNull();
+            assertThat(snapshot.findRace("unknown", RaceRarity.SECRET)).isNull();
+            assertThat(snapshot.findRace(null, RaceRarity.SECRET)).isNull();
+        }
+
+        @Test
+        @DisplayName("正常系: 希少度順に並んでいない結合結果でも、希少度で判定する")
+        void unorderedRows_checksRarity() {
+            // Arrange
+            var unordered = CatalogSnapshot.of(List.of(joined(dragon), joined(human), joined(slime)), version);
+
+            // Act & Assert
+            assertThat(unordered.findRace("human", RaceRarity.STANDARD)).isEqualTo(human);
+            assertThat(unordered.findRace("dragon", RaceRarity.UNIQUE)).isNull();
+            assertThat(unordered.findRace("dragon", RaceRarity.LEGENDARY)).isEqualTo(dragon);
+        }
+
+        @Test
+        @DisplayName("正常系: 種族数から作成した場合は、上限ごとの先頭部分に含まれる種族だけを返す")
+        void ceilingSizes_checksPrefix() {
+            // Arrange
+            var prefixSnapshot = CatalogSnapshot.of(List.of(human, slime, dragon), new int[]{1, 2, 3, 3},
+                    Map.of("human", 0, "slime", 1, "dragon", 2), Map.of(), version);
+
+            // Act & Assert
+            assertThat(prefixSnapshot.findRace("slime", RaceRarity.UNIQUE)).isEqualTo(slime);
+            assertThat(prefixSnapshot.findRace("slime", RaceRarity.STANDARD)).isNull();
+            assertThat(prefixSnapshot.findRace("dragon", RaceRarity.LEGENDARY)).isEqualTo(dragon);
+        }
+    }
+
+    @Nested
+    @DisplayName("racesUpTo メソッドのテスト")
+    class RacesUpTo {
+
+        @Test
+        @DisplayName("正常系: 希少度の上限ごとに元の並び順の変更不可の種族リストを返す")
+        void returnsRacesPerCeiling() {
+            // Act
+            var standard = snapshot.racesUpTo(RaceRarity.STANDARD);
+            var legendary = snapshot.racesUpTo(RaceRarity.LEGENDARY);
+
+            // Assert
+            assertThat(standard).containsExactly(human);
+            assertThat(legendary).containsExactly(human, slime, dragon);
+            assertThat(legendary).isUnmodifiable();
+            assertThat(snapshot.raceCount()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("正常系: 結合結果から作成した場合は、最初の参照で復元した種族を以降の参照でも返す")
+        void rows_restoresRaceOnceAndReusesIt() {
+            // Act
+            var first = snapshot.racesUpTo(RaceRarity.SECRET).get(1);
+            var second = snapshot.racesUpTo(RaceRarity.SECRET).get(1);
+            var otherCeiling = snapshot.racesUpTo(RaceRarity.UNIQUE).get(1);
+
+            // Assert
+            assertThat(second).isSameAs(first).isSameAs(otherCeiling).isEqualTo(slime);
+            assertThat(first.getJapaneseName()).isEqualTo("スライム");
+            assertThat(first.getCreatedAt()).isEqualTo(slime.getCreatedAt());
+        }
+
+        @Test
+        @DisplayName("正常系: 希少度順に並んでいない結合結果でも、上限ごとに元の並び順で絞り込む")
+        void unorderedRows_filtersInOriginalOrder() {
+            // Arrange
+            var unordered = CatalogSnapshot.of(List.of(joined(dragon), joined(human), joined(slime)), version);
+
+            // Act
+            var unique = unordered.racesUpTo(RaceRarity.UNIQUE);
+
+            // Assert
+            assertThat(unique).containsExactly(human, slime);
+            assertThat(unique).isUnmodifiable();
+        }
+
+        @Test
+        @DisplayName("正常系: 種族数から作成した場合は、上限ごとに種族リストの先頭部分を返す")
+        void ceilingSizes_returnsPrefixOfRaces() {
+            // Arrange
+            var modifiers = new int[]{1, 2, 3, 4, 5, 6, 10, 5};
+            var prefixSnapshot = CatalogSnapshot.of(List.of(human, slime, dragon), new int[]{1, 2, 3, 3},
+                    Map.of("human", 0, "slime", 1, "dragon", 2), Map.of("human", modifiers), version);
+
+            // Act
+            var standard = prefixSnapshot.racesUpTo(RaceRarity.STANDARD);
+            var unique = prefixSnapshot.racesUpTo(RaceRarity.UNIQUE);
+            var secret = prefixSnapshot.racesUpTo(RaceRarity.SECRET);
+
+            // Assert
+            assertThat(standard).containsExactly(human);
+            assertThat(unique).containsExactly(human, slime);
+            assertThat(secret).containsExactly(human, slime, dragon);
+            assertThat(secret).isUnmodifiable();
+            assertThat(prefixSnapshot.raceCount()).isEqualTo(3);
+            assertThat(prefixSnapshot.modifiersOf("human")).isSameAs(modifiers);
+            assertThat(prefixSnapshot.modifiersOf("slime")).isNull();
+            assertThat(prefixSnapshot.getVersion()).isEqualTo(version);
+        }
+    }
+
+    @Nested
+    @DisplayName("modifiersOf メソッドのテスト")
+    class ModifiersOf {
+
+        @Test
+        @DisplayName("正常系: 種族ごとの修正値をSTR, VIT, INT, AGI, DEX, LUK, HP, MPの順で返す")
+        void returnsModifiersInStatusOrder() {
+            // Act
+            var humanModifiers = snapshot.modifiersOf("human");
+            var slimeModifiers = snapshot.modifiersOf("slime");
+
+            // Assert
+            assertThat(humanModifiers).hasSize(CatalogSnapshot.MODIFIER_COUNT).containsExactly(1, 2, 3, 4, 5, 6, 10, 5);
+            assertThat(slimeModifiers).containsExactly(-1, 3, 0, 0, -2, 4, 50, -10);
+        }
+
+        @Test
+        @DisplayName("正常系: 修正値がない種族や存在しない種族の場合はnullを返す")
+        void raceWithoutModifiers_returnsNull() {
+            // Act & Assert
+            assertThat(snapshot.modifiersOf("dragon")).isNull();
+            assertThat(snapshot.modifiersOf("unknown")).isNull();
+        }
+
+        @Test
+        @DisplayName("正常系: 同じ種族には同じ配列を返し、参照ごとに割り当てない")
+        void returnsSharedRow() {
+            // Act
+            var first = snapshot.modifiersOf("human");
+            var second = snapshot.modifiersOf("human");
+
+            // Assert
+            assertThat(second).isSameAs(first);
+        }
+    }
+
+    @Nested
+    @DisplayName("nameIndex メソッドのテスト")
+    class NameIndex {
+
+        @Test
+        @DisplayName("正常系: 希少度の上限ごとの種族リストの位置を返す索引を1回だけ作成する")
+        void returnsIndexPerCeiling() {
+            // Act
+            var standard = snapshot.nameIndex(RaceRarity.STANDARD);
+            var legendary = snapshot.nameIndex(RaceRarity.LEGENDARY);
+
+            // Assert
+            assertThat(snapshot.nameIndex(RaceRarity.LEGENDARY)).isSameAs(legendary);
+            assertThat(standard.search("ドラ", 10).positions()).isEmpty();
+            assertThat(legendary.search("ドラ", 10).positions()).containsExactly(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("getVersion メソッドのテスト")
+    class GetVersion {
+
+        @Test
+        @DisplayName("正常系: 作成時に渡したカタログの版を返す")
+        void returnsVersion() {
+            // Act & Assert
+            assertThat(snapshot.getVersion()).isEqualTo(version);
+        }
+    }
+
+    private static RaceWithModifiers joined(Race race, Integer... modifiers) {
+        var mods = modifiers.length == 0 ? new Integer[8] : modifiers;
+        return new RaceWithModifiers(
+                race.getId(), race.getJapaneseName(), race.getEnglishName(), race.getRarity(),
+                race.getCreatedAt(), race.getUpdatedAt(), race.getSpecialAbility(), race.getDescription(),
+                mods[0], mods[1], mods[2], mods[3], mods[4], mods[5], mods[6], mods[7]);
+    }
+
+    private static Race createRace(String id, String name, String rarity) {
+        return new Race(
+                id,                // id
+                name,              // japaneseName
+                "English" + name,  // englishName
+                rarity,            // rarity
+                new Date(),        // createdAt
+                new Date(),        // updatedAt
+                "Special ability", // specialAbility
+                "Description"      // description
+        );
+    }
+}
@@ -0,0 +1,89 @@
+package com.kos0514.oop_in_java_learn.service.catalog;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CatalogTextStore クラスのテスト")
+class CatalogTextStoreTest {
+
+    @Nested
+    @DisplayName("Builder クラスのテスト")
+    class BuilderTest {
+
+        @Test
+        @DisplayName("正常系: 文字列をUTF-8で連結し、ハンドルから同じ文字列を復元する")
+        void add_returnsHandleToText() {
+            // Arrange
+            var builder = CatalogTextStore.builder();
+            var human = builder.add("ヒューマン");
+            var english = builder.add("Human");
+            var empty = builder.add("");
+
+            // Act
+            var store = builder.build();
+
+            // Assert
+            assertThat(store.text(human)).isEqualTo("ヒューマン");
+            assertThat(store.text(english)).isEqualTo("Human");
+            assertThat(store.text(empty)).isEmpty();
+            assertThat(store.byteSize()).isEqualTo("ヒューマンHuman".getBytes(StandardCharsets.UTF_8).length);
+        }
+
+        @Test
+        @DisplayName("正常系: 同じ文字列は1回だけ格納し、同じハンドルを返す")
+        void duplicateText_isStoredOnce() {
+            // Arrange
+            var builder = CatalogTextStore.builder();
+            var description = "魔力の扱いに長けた長命の種族。";
+
+            // Act
+            var first = builder.add(description);
+            var second = builder.add(new String(description));
+            var store = builder.build();
+
+            // Assert
+            assertThat(second).isEqualTo(first);
+            assertThat(store.byteSize()).isEqualTo(description.getBytes(StandardCharsets.UTF_8).length);
+        }
+
+        @Test
+        @DisplayName("正常系: nullはnullのハンドルとして格納せずに扱う")
+        void nullText_returnsNullHandle() {
+            // Arrange
+            var builder = CatalogTextStore.builder();
+
+            // Act
+            var handle = builder.add(null);
+            var store = builder.build();
+
+            // Assert
+            assertThat(handle).isEqualTo(CatalogTextStore.NULL_HANDLE);
+            assertThat(store.text(handle)).isNull();
+            assertThat(store.byteSize()).isZero();
+        }
+
+        @Test
+        @DisplayName("正常系: 初期の容量を超えて格納しても、すべての文字列を復元できる")
+        void manyTexts_growArena() {
+            // Arrange
+            var builder = CatalogTextStore.builder();
+            var handles = new long[500];
+            for (var i = 0; i < handles.length; i++) {
+                handles[i] = builder.add("種族の説明" + i);
+            }
+
+            // Act
+            var store = builder.build();
+
+            // Assert
+            for (var i = 0; i < handles.length; i++) {
+                assertThat(store.text(handles[i])).isEqualTo("種族の説明" + i);
+            }
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.kos0514.oop_in_java_learn.service.catalog;
+
+import com.kos0514.oop_in_java_learn.entity.generated.Race;
+import com.kos0514.oop_in_java_learn.enums.RaceRarity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.Reference;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CompactRaceTable クラスのテスト")
+class CompactRaceTableTest {
+
+    private final Race human = createRace("human", "ヒューマン", "STANDARD");
+    private final Race slime = createRace("slime", "スライム", "UNIQUE");
+
+    @Nested
+    @DisplayName("of メソッドのテスト")
+    class Of {
+
+        @Test
+        @DisplayName("正常系: 複数の種族で同じ特殊能力や説明は、文字列の領域に1回だけ格納する")
+        void sharedTexts_areStoredOnce() {
+            // Act
+            var table = CompactRaceTable.of(List.of(human, slime));
+
+            // Assert
+            var expected = "ヒューマンEnglishヒューマンSpecial abilityDescriptionスライムEnglishスライム";
+            assertThat(table.textBytes()).isEqualTo(expected.getBytes(StandardCharsets.UTF_8).length);
+            assertThat(table.size()).isEqualTo(2);
+            assertThat(table.rarity(1)).isEqualTo(RaceRarity.UNIQUE);
+        }
+
+        @Test
+        @DisplayName("正常系: 日時や文字列がnullの種族もnullのまま復元する")
+        void nullFields_restoredAsNull() {
+            // Arrange
+            var unnamed = new Race("unknown", null, null, "SECRET", null, null, null, null);
+
+            // Act
+            var restored = CompactRaceTable.of(List.of(unnamed)).race(0);
+
+            // Assert
+            assertThat(restored).isEqualTo(unnamed);
+            assertThat(restored.getCreatedAt()).isNull();
+            assertThat(restored.getDescription()).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("view メソッドのテスト")
+    class View {
+
+        @Test
+        @DisplayName("正常系: 指定した番号の種族を最初の参照で復元し、以降は同じ種族を返す変更不可のリストを返す")
+        void returnsRestoringUnmodifiableList() {
+            // Arrange
+            var table = CompactRaceTable.of(List.of(human, slime));
+
+            // Act
+            var races = table.view(new int[]{1});
+
+            // Assert
+            assertThat(races).containsExactly(slime);
+            assertThat(races.get(0)).isSameAs(races.get(0)).isSameAs(table.race(1));
+            assertThat(races).isUnmodifiable();
+        }
+
+        @Test
+        @DisplayName("正常系: 同じ文字列を持つ種族は、復元後も同じ文字列のインスタンスを共有する")
+        void sharedTexts_restoredAsSameInstance() {
+            // Arrange
+            var table = CompactRaceTable.of(List.of(human, slime));
+
+            // Act
+            var races = table.view(new int[]{0, 1});
+
+            // Assert
+            assertThat(races.get(0).getDescription()).isSameAs(races.get(1).getDescription());
+            assertThat(races.get(0).getJapaneseName()).isNotEqualTo(races.get(1).getJapaneseName());
+        }
+    }
+
+    @Nested
+    @DisplayName("ヒープ使用量の計測")
+    class Footprint {
+
+        @Test
+        @DisplayName("計測: 1つのカタログでも、種族のエンティティのまま保持するよりヒープ使用量が少ない")
+        void singleCatalog_usesLessHeapThanEntities() {
+            // Act
+            var footprint = measure(200, 1);
+
+            // Assert
+            assertThat(footprint.table()).isLessThan(footprint.entities());
+        }
+
+        @Test
+        @DisplayName("計測: テナントごとに同じ文字列を持つカタログは半分未満になり、全種族を復元した後もエンティティより少ない")
+        void overlays_useLessThanHalfOfEntities() {
+            // Act
+            var footprint = measure(25, 8);
+
+            // Assert
+            assertThat(footprint.table()).isLessThan(footprint.entities() / 2);
+            assertThat(footprint.restored()).isLessThan(footprint.entities());
+        }
+    }
+
+    /**
+     * 種族のエンティティをそのまま保持した場合（種族カタログのキャッシュの当初の形）と、表に詰め替えた場合の
+     * ヒープ使用量をGC後の使用量の差で計測します。
+     *
+     * @param copies  計測の誤差を抑えるために保持するカタログの数
+     * @param tenants 1つのカタログに含める、同じ文字列を持つ種族の組の数
+     * @return エンティティ・表・全種族を復元した後の表のヒープ使用量（バイト）
+     */
+    private static HeapUsage measure(int copies, int tenants) {
+        var entities = new ArrayList<List<Race>>();
+        var before = usedHeap();
+        for (var i = 0; i < copies; i++) {
+            entities.add(catalog(tenants));
+        }
+        var entityBytes = usedHeap() - before;
+        Reference.reachabilityFence(entities);
+        entities.clear();
+
+        var tables = new ArrayList<CompactRaceTable>();
+        before = usedHeap();
+        for (var i = 0; i < copies; i++) {
+            tables.add(CompactRaceTable.of(catalog(tenants)));
+        }
+        var tableBytes = usedHeap() - before;
+        for (var table : tables) {
+            for (var i = 0; i < table.size(); i++) {
+                table.race(i);
+            }
+        }
+        var restoredBytes = usedHeap() - before;
+        Reference.reachabilityFence(tables);
+        return new HeapUsage(entityBytes, tableBytes, restoredBytes);
+    }
+
+    private record HeapUsage(long entities, long table, long restored) {
+    }
+
+    /**
+     * 実際のカタログと同じ26種族の組を、データベースから読み込んだ場合と同じく文字列をすべて別のインスタンスにして作成します。
+     */
+    private static List<Race> catalog(int tenants) {
+        var rarities = RaceRarity.values();
+        var races = new ArrayList<Race>(26 * tenants);
+        for (var tenant = 0; tenant < tenants; tenant++) {
+            for (var i = 0; i < 26; i++) {
+                races.add(new Race(
+                        "race" + i + "-" + tenant,
+                        copyOf("種族名" + i),
+                        copyOf("Race" + i),
+                        rarities[i % rarities.length].name(),
+                        new Date(),
+                        new Date(),
+                        copyOf("特殊能力" + i),
+                        copyOf("種族" + i + "の説明。魔力と体力の均衡が取れた長命の種族で、古くから森と共に生きてきた。")));
+            }
+        }
+        return races;
+    }
+
+    private static String copyOf(String text) {
+        return new String(text.toCharArray());
+    }
+
+    private static long usedHeap() {
+        var runtime = Runtime.getRuntime();
+        for (var i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static Race createRace(String id, String name, String rarity) {
+        return new Race(
+                id,                // id
+                name,              // japaneseName
+                "English" + name,  // englishName
+                rarity,            // rarity
+                new Date(),        // createdAt
+                new Date(),        // updatedAt
+                "Special ability", // specialAbility
+                "Description"      // description
+        );
+    }
+}
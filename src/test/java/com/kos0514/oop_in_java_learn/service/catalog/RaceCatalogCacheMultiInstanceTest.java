@@ -0,0 +1,180 @@
+package com.kos0514.oop_in_java_learn.service.catalog;
+
+import com.kos0514.oop_in_java_learn.entity.CatalogVersion;
+import com.kos0514.oop_in_java_learn.entity.RaceWithModifiers;
+import com.kos0514.oop_in_java_learn.mapper.RaceMapper;
+import com.kos0514.oop_in_java_learn.repository.WorldRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RaceCatalogCache の複数インスタンスでのテスト")
+class RaceCatalogCacheMultiInstanceTest {
+
+    @Nested
+    @DisplayName("カタログの版によるキャッシュの更新のテスト")
+    class CrossInstanceRefresh {
+
+        @Test
+        @DisplayName("正常系: 別のプロセスでカタログを変更すると、各JVMは版の変化を検出して1回だけ読み込み直す")
+        void otherProcessEditsCatalog_everyInstanceReloadsOnce(@TempDir Path dir) throws Exception {
+            // Arrange
+            var store = dir.resolve("catalog.properties");
+            CatalogStore.write(store, 1, "human:STANDARD", "slime:UNIQUE");
+            var instances = new ArrayList<Process>();
+            var outputs = new ArrayList<BufferedReader>();
+            for (var i = 0; i < 3; i++) {
+                var process = new ProcessBuilder(
+                        Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                        "-cp", System.getProperty("java.class.path"),
+                        Instance.class.getName(), store.toString(), "2")
+                        .redirectError(ProcessBuilder.Redirect.INHERIT)
+                        .start();
+                instances.add(process);
+                outputs.add(new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8)));
+            }
+            for (var output : outputs) {
+                assertThat(readLine(output, "ready ")).isEqualTo("ready races=2");
+            }
+            // 版が変わらない間も各インスタンスが版を確認し続ける時間を置く
+            Thread.sleep(200);
+
+            // Act
+            // 管理用のスクリプトで種族を追加し、トリガーで版が上がった状態を再現する
+            CatalogStore.write(store, 2, "human:STANDARD", "slime:UNIQUE", "dragon:LEGENDARY");
+
+            // Assert
+            for (var i = 0; i < instances.size(); i++) {
+                assertThat(instances.get(i).waitFor(30, TimeUnit.SECONDS)).isTrue();
+                assertThat(instances.get(i).exitValue()).isZero();
+                var result = readLine(outputs.get(i), "refreshed ");
+                // カタログ全体の読み込みは起動時と版が変わったときの2回だけ
+                assertThat(result).startsWith("refreshed races=3 loads=2 ");
+                assertThat(Integer.parseInt(result.substring(result.lastIndexOf('=') + 1))).isGreaterThan(2);
+            }
+        }
+    }
+
+    /**
+     * インスタンスの出力から、ログを読み飛ばして指定した接頭辞で始まる行を読みます。
+     */
+    private static String readLine(BufferedReader output, String prefix) throws IOException {
+        String line;
+        while ((line = output.readLine()) != null) {
+            if (line.startsWith(prefix)) {
+                return line;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 別のJVMで起動する1つのインスタンス。
+     * 版を確認し続け、指定した版を取り込んだら読み込み回数を出力して終了します。
+     */
+    static class Instance {
+
+        public static void main(String[] args) throws InterruptedException {
+            var store = Path.of(args[0]);
+            var targetVersion = Long.parseLong(args[1]);
+            var versionReads = new AtomicInteger();
+            var catalogReads = new AtomicInteger();
+            var raceCatalogCache = new RaceCatalogCache(CatalogStore.mapper(store, versionReads, catalogReads));
+            raceCatalogCache.preload();
+            System.out.println("ready races=" + raceCatalogCache.getStats().getRaceCount());
+
+            try (var ignored = new CatalogRefresher(raceCatalogCache, new WorldRepository(),
+                    new CatalogRefreshProperties(true, Duration.ofMillis(10)))) {
+                var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+                while (raceCatalogCache.latest().getVersion().getVersion() != targetVersion) {
+                    if (System.nanoTime() > deadline) {
+                        System.exit(1);
+                    }
+                    Thread.sleep(10);
+                }
+            }
+            System.out.println("refreshed races=" + raceCatalogCache.getStats().getRaceCount()
+                    + " loads=" + catalogReads.get() + " polls=" + versionReads.get());
+        }
+    }
+
+    /**
+     * 複数のJVMから参照するDBの代わりのファイル。
+     * {@code catalog_version}の版と種族の行を1つのファイルに持ち、置き換えで一度に書き換えます。
+     */
+    static class CatalogStore {
+
+        static void write(Path store, long version, String... races) throws IOException {
+            var properties = new Properties();
+            properties.setProperty("version", Long.toString(version));
+            properties.setProperty("races", String.join(",", races));
+            var temp = Files.createTempFile(store.getParent(), "catalog", ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                properties.store(writer, null);
+            }
+            Files.move(temp, store, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        static Properties read(Path store) {
+            var properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(store, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return properties;
+        }
+
+        /**
+         * ファイルから版と種族を読む{@link RaceMapper}を作成します。
+         */
+        static RaceMapper mapper(Path store, AtomicInteger versionReads, AtomicInteger catalogReads) {
+            return (RaceMapper) Proxy.newProxyInstance(
+                    RaceMapper.class.getClassLoader(),
+                    new Class<?>[]{RaceMapper.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "selectCatalogVersion" -> {
+                            versionReads.incrementAndGet();
+                            yield new CatalogVersion(Long.parseLong(read(store).getProperty("version")));
+                        }
+                        case "selectWithModifiersUpToRarity" -> {
+                            catalogReads.incrementAndGet();
+                            yield races(read(store).getProperty("races"));
+                        }
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+
+        private static List<RaceWithModifiers> races(String races) {
+            return Arrays.stream(races.split(","))
+                    .map(race -> race.split(":"))
+                    .map(columns -> new RaceWithModifiers(
+                            columns[0], columns[0], columns[0], columns[1], new Date(), new Date(),
+                            "Special ability", "Description",
+                            null, null, null, null, null, null, null, null))
+                    .toList();
+        }
+    }
+}
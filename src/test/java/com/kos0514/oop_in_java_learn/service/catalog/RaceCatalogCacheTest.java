@@ -0,0 +1,390 @@
+package com.kos0514.oop_in_java_learn.service.catalog;
+
+import com.kos0514.oop_in_java_learn.context.SessionContext;
+import com.kos0514.oop_in_java_learn.entity.CatalogVersion;
+import com.kos0514.oop_in_java_learn.entity.RaceWithModifiers;
+import com.kos0514.oop_in_java_learn.entity.generated.Race;
+import com.kos0514.oop_in_java_learn.enums.RaceRarity;
+import com.kos0514.oop_in_java_learn.io.test.TestInputProvider;
+import com.kos0514.oop_in_java_learn.mapper.RaceMapper;
+import com.kos0514.oop_in_java_learn.service.game.RockPaperScissorsGame;
+import com.kos0514.oop_in_java_learn.service.menu.MenuRenderer;
+import com.kos0514.oop_in_java_learn.service.prefetch.CatalogPrefetcher;
+import com.kos0514.oop_in_java_learn.service.race.SelectRaceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("RaceCatalogCache クラスのテスト")
+class RaceCatalogCacheTest {
+
+    @Mock
+    private RaceMapper raceMapper;
+
+    private RaceCatalogCache raceCatalogCache;
+
+    private final Race human = createRace("human", "ヒューマン", "STANDARD");
+    private final Race elf = createRace("elf", "エルフ", "STANDARD");
+    private final Race slime = createRace("slime", "スライム", "UNIQUE");
+    private final Race dragon = createRace("dragon", "ドラゴン", "LEGENDARY");
+    private final Race angel = createRace("angel", "天使", "SECRET");
+
+    @BeforeEach
+    void setUp() {
+        raceCatalogCache = new RaceCatalogCache(raceMapper);
+        when(raceMapper.selectCatalogVersion()).thenReturn(version(1));
+        when(raceMapper.selectWithModifiersUpToRarity(RaceRarity.SECRET)).thenReturn(List.of(
+                joined(human, 1, 1, 1, 1, 1, 1, 10, 5),
+                joined(elf),
+                joined(slime, -1, 3, 0, 0, -2, 4, 50, -10),
+                joined(dragon),
+                joined(angel)));
+    }
+
+    @Nested
+    @DisplayName("racesUpTo メソッドのテスト")
+    class RacesUpTo {
+
+        @Test
+        @DisplayName("正常系: 全種族を1回だけ問い合わせ、希少度の上限ごとに元の並び順の種族を返す")
+        void returnsRacesPerCeilingFromSingleQuery() {
+            // Act
+            var standard = raceCatalogCache.racesUpTo(RaceRarity.STANDARD);
+            var unique = raceCatalogCache.racesUpTo(RaceRarity.UNIQUE);
+            var legendary = raceCatalogCache.racesUpTo(RaceRarity.LEGENDARY);
+            var secret = raceCatalogCache.racesUpTo(RaceRarity.SECRET);
+
+            // Assert
+            assertThat(standard).containsExactly(human, elf);
+            assertThat(unique).containsExactly(human, elf, slime);
+            assertThat(legendary).containsExactly(human, elf, slime, dragon);
+            assertThat(secret).containsExactly(human, elf, slime, dragon, angel);
+            verify(raceMapper, times(1)).selectWithModifiersUpToRarity(RaceRarity.SECRET);
+        }
+
+        @Test
+        @DisplayName("正常系: 読み込み後は同じ変更不可のリストを返す")
+        void returnsSameImmutableListInstance() {
+            // Act
+            var first = raceCatalogCache.racesUpTo(RaceRarity.UNIQUE);
+            var second = raceCatalogCache.racesUpTo(RaceRarity.UNIQUE);
+
+            // Assert
+            assertThat(second).isSameAs(first);
+            assertThat(first).isUnmodifiable();
+        }
+
+        @Test
+        @DisplayName("正常系: 最初の参照が同時に行われても、読み込みは1回だけ行われる")
+        void concurrentFirstAccess_loadsOnce() throws InterruptedException {
+            // Arrange
+            var threadCount = 64;
+            var start = new CountDownLatch(1);
+            var threads = new ArrayList<Thread>();
+            for (var i = 0; i < threadCount; i++) {
+                threads.add(Thread.ofVirtual().start(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    raceCatalogCache.racesUpTo(RaceRarity.SECRET);
+                }));
+            }
+
+            // Act
+            start.countDown();
+            for (var thread : threads) {
+                thread.join();
+            }
+
+            // Assert
+            verify(raceMapper, times(1)).selectWithModifiersUpToRarity(RaceRarity.SECRET);
+            var stats = raceCatalogCache.getStats();
+            assertThat(stats.getMisses()).isEqualTo(1);
+            assertThat(stats.getHits()).isEqualTo(threadCount - 1);
+        }
+    }
+
+    @Nested
+    @DisplayName("modifiersOf メソッドのテスト")
+    class ModifiersOf {
+
+        @Test
+        @DisplayName("正常系: 種族と結合して読み込んだ修正値を返し、種族の一覧と同じ1回の読み込みで揃う")
+        void returnsJoinedModifiersFromSameLoad() {
+            // Act
+            var humanModifiers = raceCatalogCache.modifiersOf("human");
+            var slimeModifiers = raceCatalogCache.modifiersOf("slime");
+            var elfModifiers = raceCatalogCache.modifiersOf("elf");
+            raceCatalogCache.racesUpTo(RaceRarity.SECRET);
+
+            // Assert
+            assertThat(humanModifiers).containsExactly(1, 1, 1, 1, 1, 1, 10, 5);
+            assertThat(slimeModifiers).containsExactly(-1, 3, 0, 0, -2, 4, 50, -10);
+            assertThat(elfModifiers).isNull();
+            verify(raceMapper, times(1)).selectWithModifiersUpToRarity(RaceRarity.SECRET);
+        }
+    }
+
+    @Nested
+    @DisplayName("refreshIfChanged メソッドのテスト")
+    class RefreshIfChanged {
+
+        @Test
+        @DisplayName("正常系: 版が変わっていなければ読み込み直さず、同じスナップショットを使い続ける")
+        void unchangedVersion_keepsSnapshot() {
+            // Arrange
+            var before = raceCatalogCache.latest();
+
+            // Act
+            var refreshed = raceCatalogCache.refreshIfChanged();
+
+            // Assert
+            assertThat(refreshed).isFalse();
+            assertThat(raceCatalogCache.latest()).isSameAs(before);
+            verify(raceMapper, times(1)).selectWithModifiersUpToRarity(RaceRarity.SECRET);
+            assertThat(raceCatalogCache.getStats().getRefreshes()).isZero();
+        }
+
+        @Test
+        @DisplayName("正常系: 版が変わっていればカタログ全体を読み込み直して差し替える")
+        void changedVersion_swapsWholeSnapshot() {
+            // Arrange
+            var before = raceCatalogCache.latest();
+            when(raceMapper.selectCatalogVersion()).thenReturn(version(2));
+            when(raceMapper.selectWithModifiersUpToRarity(RaceRarity.SECRET))
+                    .thenReturn(List.of(joined(human, 9, 9, 9, 9, 9, 9, 90, 90), joined(slime)));
+
+            // Act
+            var refreshed = raceCatalogCache.refreshIfChanged();
+            var after = raceCatalogCache.latest();
+
+            // Assert
+            assertThat(refreshed).isTrue();
+            assertThat(after).isNotSameAs(before);
+            assertThat(after.getVersion()).isEqualTo(version(2));
+            assertThat(after.racesUpTo(RaceRarity.SECRET)).containsExactly(human, slime);
+            assertThat(after.modifiersOf("human")).containsExactly(9, 9, 9, 9, 9, 9, 90, 90);
+            assertThat(after.modifiersOf("slime")).isNull();
+            // 差し替え前のスナップショットは変更されない
+            assertThat(before.racesUpTo(RaceRarity.SECRET)).containsExactly(human, elf, slime, dragon, angel);
+            assertThat(before.modifiersOf("human")).containsExactly(1, 1, 1, 1, 1, 1, 10, 5);
+            assertThat(raceCatalogCache.getStats().getRefreshes()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("境界値: 未読み込みの場合は版を確認せず、何もしない")
+        void notLoaded_doesNothing() {
+            // Act
+            var refreshed = raceCatalogCache.refreshIfChanged();
+
+            // Assert
+            assertThat(refreshed).isFalse();
+            verifyNoInteractions(raceMapper);
+        }
+
+        @Test
+        @DisplayName("正常系: 差し替えの間も読み取り側は常に一貫したスナップショットを参照する")
+        void concurrentReaders_neverSeeMixedSnapshot() throws InterruptedException {
+            // Arrange
+            var versions = new int[]{1};
+            when(raceMapper.selectCatalogVersion()).thenAnswer(invocation -> version(versions[0]));
+            when(raceMapper.selectWithModifiersUpToRarity(RaceRarity.SECRET)).thenAnswer(invocation -> {
+                var mod = versions[0];
+                return List.of(joined(human, mod, mod, mod, mod, mod, mod, mod, mod));
+            });
+            raceCatalogCache.preload();
+            var stop = new AtomicBoolean();
+            var mismatches = new AtomicInteger();
+            var reader = Thread.ofVirtual().start(() -> {
+                while (!stop.get()) {
+                    var snapshot = raceCatalogCache.latest();
+                    var modifiers = snapshot.modifiersOf("human");
+                    if (modifiers[0] != modifiers[7] || snapshot.getVersion().getVersion() != modifiers[0]) {
+                        mismatches.incrementAndGet();
+                    }
+                }
+            });
+
+            // Act
+            for (var i = 2; i <= 50; i++) {
+                versions[0] = i;
+                raceCatalogCache.refreshIfChanged();
+            }
+            stop.set(true);
+            reader.join();
+
+            // Assert
+            assertThat(mismatches.get()).isZero();
+            assertThat(raceCatalogCache.latest().modifiersOf("human")).startsWith(50);
+        }
+    }
+
+    @Nested
+    @DisplayName("getStats メソッドのテスト")
+    class GetStats {
+
+        @Test
+        @DisplayName("正常系: 最初の参照はミス、以降はヒットとして数え、読み込み時間と種族数を返す")
+        void countsHitsAndMisses() {
+            // Act
+            raceCatalogCache.racesUpTo(RaceRarity.STANDARD);
+            raceCatalogCache.racesUpTo(RaceRarity.UNIQUE);
+            raceCatalogCache.racesUpTo(RaceRarity.SECRET);
+            var stats = raceCatalogCache.getStats();
+
+            // Assert
+            assertThat(stats.getMisses()).isEqualTo(1);
+            assertThat(stats.getHits()).isEqualTo(2);
+            assertThat(stats.getLoadTime()).isNotNegative();
+            assertThat(stats.getRaceCount()).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("境界値: 未読み込みの場合は種族数0を返す")
+        void notLoaded_returnsZeroRaces() {
+            // Act
+            var stats = raceCatalogCache.getStats();
+
+            // Assert
+            assertThat(stats.getHits()).isZero();
+            assertThat(stats.getMisses()).isZero();
+            assertThat(stats.getRaceCount()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("invalidate メソッドのテスト")
+    class Invalidate {
+
+        @Test
+        @DisplayName("正常系: 破棄した後の参照ではDBから読み込み直す")
+        void reloadsAfterInvalidate() {
+            // Arrange
+            raceCatalogCache.racesUpTo(RaceRarity.STANDARD);
+            when(raceMapper.selectWithModifiersUpToRarity(RaceRarity.SECRET))
+                    .thenReturn(List.of(joined(human, 9, 9, 9, 9, 9, 9, 90, 90)));
+
+            // Act
+            raceCatalogCache.invalidate();
+            var reloaded = raceCatalogCache.racesUpTo(RaceRarity.SECRET);
+
+            // Assert
+            assertThat(reloaded).containsExactly(human);
+            assertThat(raceCatalogCache.getStats().getMisses()).isEqualTo(2);
+            // 修正値も読み込み直した結合結果から作り直される
+            assertThat(raceCatalogCache.modifiersOf("human")).containsExactly(9, 9, 9, 9, 9, 9, 90, 90);
+            assertThat(raceCatalogCache.modifiersOf("slime")).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("セッションからの参照のテスト")
+    class FromSession {
+
+        @Mock
+        private RockPaperScissorsGame rockPaperScissorsGame;
+
+        @Test
+        @DisplayName("正常系: キャッシュが温まった後のセッションは種族の問い合わせを1回も行わない")
+        void warmSession_issuesNoRaceQueries() {
+            // Arrange
+            var selectRaceService = new SelectRaceService(raceCatalogCache, rockPaperScissorsGame, new MenuRenderer());
+            when(rockPaperScissorsGame.playGameAndConvertResult(
+                    anyInt(), anyString(), anyString(), any(IntFunction.class)
+            )).thenReturn(RaceRarity.UNIQUE);
+            SessionContext.of(new TestInputProvider().addInput("1")).call(selectRaceService::selectRace);
+            clearInvocations(raceMapper);
+
+            // Act
+            var selected = SessionContext.of(new TestInputProvider().addInput("3")).call(selectRaceService::selectRace);
+
+            // Assert
+            assertThat(selected).isEqualTo(slime);
+            verifyNoInteractions(raceMapper);
+        }
+
+        @Test
+        @DisplayName("正常系: カタログを固定したセッションは、途中で差し替えられても同じ版を参照し続ける")
+        void pinnedSession_keepsSnapshotAcrossRefresh() {
+            // Arrange
+            var seen = new ArrayList<List<Race>>();
+            var modifiers = new ArrayList<int[]>();
+
+            // Act
+            try (var catalog = new CatalogPrefetcher(raceCatalogCache).start()) {
+                SessionContext.of(new TestInputProvider()).withCatalog(catalog).call(() -> {
+                    seen.add(raceCatalogCache.racesUpTo(RaceRarity.SECRET));
+                    when(raceMapper.selectCatalogVersion()).thenReturn(version(2));
+                    when(raceMapper.selectWithModifiersUpToRarity(RaceRarity.SECRET))
+                            .thenReturn(List.of(joined(human)));
+                    raceCatalogCache.refreshIfChanged();
+                    seen.add(raceCatalogCache.racesUpTo(RaceRarity.SECRET));
+                    modifiers.add(raceCatalogCache.modifiersOf("human"));
+                    return null;
+                });
+            }
+
+            // Assert
+            assertThat(seen.get(1)).isSameAs(seen.get(0)).containsExactly(human, elf, slime, dragon, angel);
+            assertThat(modifiers.get(0)).containsExactly(1, 1, 1, 1, 1, 1, 10, 5);
+            // セッションの外からは差し替え後のカタログが見える
+            assertThat(raceCatalogCache.racesUpTo(RaceRarity.SECRET)).containsExactly(human);
+            assertThat(raceCatalogCache.modifiersOf("human")).isNull();
+        }
+    }
+
+    private static CatalogVersion version(int version) {
+        // 件数を版の番号として使う
+        return new CatalogVersion(version);
+    }
+
+    private static RaceWithModifiers joined(Race race, Integer... modifiers) {
+        var mods = modifiers.length == 0 ? new Integer[8] : modifiers;
+        return new RaceWithModifiers(
+                race.getId(), race.getJapaneseName(), race.getEnglishName(), race.getRarity(),
+                race.getCreatedAt(), race.getUpdatedAt(), race.getSpecialAbility(), race.getDescription(),
+                mods[0], mods[1], mods[2], mods[3], mods[4], mods[5], mods[6], mods[7]);
+    }
+
+    private static Race createRace(String id, String name, String rarity) {
+        return new Race(
+                id,                // id
+                name,              // japaneseName
+                "English" + name,  // englishName
+                rarity,            // rarity
+                new Date(),        // createdAt
+                new Date(),        // updatedAt
+                "Special ability", // specialAbility
+                "Description"      // description
+        );
+    }
+}
@@ -0,0 +1,102 @@
+package com.kos0514.oop_in_java_learn.service.catalog;
+
+import com.kos0514.oop_in_java_learn.enums.CatalogSourceType;
+import com.kos0514.oop_in_java_learn.mapper.RaceMapper;
+import com.kos0514.oop_in_java_learn.service.catalog.embedded.EmbeddedRaceCatalog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("RaceCatalogSourceConfig クラスのテスト")
+class RaceCatalogSourceConfigTest {
+
+    @Mock
+    private ObjectProvider<RaceMapper> raceMapperProvider;
+
+    @Mock
+    private RaceMapper raceMapper;
+
+    private final RaceCatalogSourceConfig config = new RaceCatalogSourceConfig();
+
+    @Nested
+    @DisplayName("raceCatalogSource メソッドのテスト")
+    class RaceCatalogSource {
+
+        @Test
+        @DisplayName("正常系: DATABASEの場合は種族のマッパーを読み込み元にする")
+        void database_usesMapper() {
+            // Arrange
+            when(raceMapperProvider.getObject()).thenReturn(raceMapper);
+
+            // Act
+            var source = config.raceCatalogSource(
+                    new RaceCatalogSourceProperties(CatalogSourceType.DATABASE, "catalog/race-catalog.bin", null),
+                    raceMapperProvider);
+
+            // Assert
+            assertThat(source).isSameAs(raceMapper);
+        }
+
+        @Test
+        @DisplayName("正常系: EMBEDDEDの場合はスナップショットを読み込み元にし、マッパーを取得しない")
+        void embedded_doesNotTouchMapper() {
+            // Act
+            var source = config.raceCatalogSource(
+                    new RaceCatalogSourceProperties(CatalogSourceType.EMBEDDED, "catalog/race-catalog.bin", null),
+                    raceMapperProvider);
+
+            // Assert
+            assertThat(source).isInstanceOf(EmbeddedRaceCatalog.class);
+            verifyNoInteractions(raceMapperProvider);
+        }
+
+        @Test
+        @DisplayName("正常系: MAPPEDの場合はファイルをメモリマップしたスナップショットを読み込み元にし、マッパーを取得しない")
+        void mapped_mapsFileWithoutMapper(@TempDir Path directory) throws IOException {
+            // Arrange
+            var file = directory.resolve("race-catalog.bin");
+            try (var input = getClass().getClassLoader().getResourceAsStream("catalog/race-catalog.bin")) {
+                Files.copy(input, file);
+            }
+
+            // Act
+            var source = config.raceCatalogSource(
+                    new RaceCatalogSourceProperties(CatalogSourceType.MAPPED, "catalog/race-catalog.bin", file.toString()),
+                    raceMapperProvider);
+
+            // Assert
+            assertThat(source).isInstanceOf(EmbeddedRaceCatalog.class);
+            assertThat(((EmbeddedRaceCatalog) source).raceCount()).isEqualTo(25);
+            verifyNoInteractions(raceMapperProvider);
+        }
+
+        @Test
+        @DisplayName("異常系: MAPPEDでファイルが指定されていない場合は例外をスローする")
+        void mappedWithoutFile_throwsException() {
+            // Act & Assert
+            assertThatThrownBy(() -> config.raceCatalogSource(
+                    new RaceCatalogSourceProperties(CatalogSourceType.MAPPED, "catalog/race-catalog.bin", null),
+                    raceMapperProvider))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("mapped-file");
+        }
+    }
+}
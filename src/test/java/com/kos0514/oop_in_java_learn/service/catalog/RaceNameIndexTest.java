@@ -0,0 +1,110 @@
+package com.kos0514.oop_in_java_learn.service.catalog;
+
+import com.kos0514.oop_in_java_learn.entity.generated.Race;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RaceNameIndex クラスのテスト")
+class RaceNameIndexTest {
+
+    private final List<Race> races = List.of(
+            createRace("human", "ヒューマン", "Human"),
+            createRace("dragon", "ドラゴン", "Dragon"),
+            createRace("dragonewt", "ドラゴニュート", "Dragonewt"),
+            createRace("slime", "スライム", "Slime"),
+            createRace("dwarf", "ドワーフ", "Dwarf"));
+
+    private final RaceNameIndex index = RaceNameIndex.of(races);
+
+    @Nested
+    @DisplayName("search メソッドのテスト")
+    class Search {
+
+        @Test
+        @DisplayName("正常系: 日本語名の前方一致で、種族リスト上の位置を昇順で返す")
+        void japanesePrefix_returnsPositionsInListOrder() {
+            // Act
+            var match = index.search("ドラ", 10);
+
+            // Assert
+            assertThat(match.positions()).containsExactly(1, 2);
+            assertThat(match.more()).isFalse();
+        }
+
+        @Test
+        @DisplayName("正常系: 英語名は大文字・小文字や全角・半角を区別せずに検索する")
+        void englishPrefix_ignoresCaseAndWidth() {
+            // Act & Assert
+            assertThat(index.search("d", 10).positions()).containsExactly(1, 2, 4);
+            assertThat(index.search("ＤＲＡＧＯＮＥ", 10).positions()).containsExactly(2);
+            assertThat(index.search("slime", 10).positions()).containsExactly(3);
+        }
+
+        @Test
+        @DisplayName("正常系: ひらがなや半角カタカナでもカタカナの名前を検索できる")
+        void hiraganaPrefix_matchesKatakanaName() {
+            // Act & Assert
+            assertThat(index.search("すら", 10).positions()).containsExactly(3);
+            assertThat(index.search("ﾋｭｰ", 10).positions()).containsExactly(0);
+        }
+
+        @Test
+        @DisplayName("正常系: 上限を超えて一致する場合は上限までの位置と続きがあることを返す")
+        void overLimit_returnsLimitedPositionsAndMore() {
+            // Act
+            var match = index.search("d", 2);
+
+            // Assert
+            assertThat(match.positions()).hasSize(2);
+            assertThat(match.more()).isTrue();
+        }
+
+        @Test
+        @DisplayName("正常系: 一致しない場合や空の文字列の場合は空の結果を返す")
+        void noMatchOrBlank_returnsEmpty() {
+            // Act & Assert
+            assertThat(index.search("エルフ", 10).positions()).isEmpty();
+            assertThat(index.search("  ", 10).positions()).isEmpty();
+            assertThat(index.search(null, 10).positions()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("正常系: 数千件の種族からも一致する種族だけを返す")
+        void largeCatalog_returnsOnlyMatches() {
+            // Arrange
+            var many = new ArrayList<Race>();
+            for (var i = 0; i < 5000; i++) {
+                many.add(createRace("race" + i, "種族" + i, "Race" + i));
+            }
+            var largeIndex = RaceNameIndex.of(many);
+
+            // Act
+            var match = largeIndex.search("race4999", 20);
+
+            // Assert
+            assertThat(match.positions()).containsExactly(4999);
+            assertThat(largeIndex.search("種族123", 20).positions()).containsExactly(123, 1230, 1231, 1232, 1233,
+                    1234, 1235, 1236, 1237, 1238, 1239);
+        }
+    }
+
+    private static Race createRace(String id, String japaneseName, String englishName) {
+        return new Race(
+                id,                // id
+                japaneseName,      // japaneseName
+                englishName,       // englishName
+                "STANDARD",        // rarity
+                new Date(),        // createdAt
+                new Date(),        // updatedAt
+                "Special ability", // specialAbility
+                "Description"      // description
+        );
+    }
+}
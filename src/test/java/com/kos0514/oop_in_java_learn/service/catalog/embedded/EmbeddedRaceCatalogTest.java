@@ -0,0 +1,230 @@
+package com.kos0514.oop_in_java_learn.service.catalog.embedded;
+
+import com.kos0514.oop_in_java_learn.entity.CatalogVersion;
+import com.kos0514.oop_in_java_learn.enums.RaceRarity;
+import com.kos0514.oop_in_java_learn.service.catalog.CatalogSnapshot;
+import com.kos0514.oop_in_java_learn.service.catalog.RaceCatalogCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("EmbeddedRaceCatalog クラスのテスト")
+class EmbeddedRaceCatalogTest {
+
+    private static final String SQL = """
+            INSERT INTO races (id, japanese_name, english_name, special_ability, description, rarity)
+            VALUES ('mimic', 'ミミック', 'Mimic', '擬態', '説明', 'SECRET'),
+                   ('slime', 'スライム', 'Slime', '分裂', '説明', 'UNIQUE'),
+                   ('human', 'ヒューマン', 'Human', '適応力', '説明', 'STANDARD'),
+                   ('elf', 'エルフ', 'Elf', '自然の共鳴', '説明', 'STANDARD');
+            INSERT INTO race_status_modifiers (race_id, strength_mod, vitality_mod, intelligence_mod, agility_mod,
+                                               dexterity_mod, luck_mod, health_points_mod, magic_points_mod)
+            VALUES ('human', 5, 5, 5, 5, 5, 5, 0, 0),
+                   ('slime', -2, 8, -2, -2, -2, -2, 0, 0);
+            """;
+
+    private static EmbeddedRaceCatalog roundTrip(String sql) throws IOException {
+        var output = new ByteArrayOutputStream();
+        RaceCatalogCompiler.compile(sql, new Date(1_000)).writeTo(output);
+        return EmbeddedRaceCatalog.read(new ByteArrayInputStream(output.toByteArray()));
+    }
+
+    @Nested
+    @DisplayName("selectWithModifiersUpToRarity メソッドのテスト")
+    class SelectWithModifiersUpToRarity {
+
+        @Test
+        @DisplayName("正常系: 書き出したスナップショットを読み込み、希少度以下の種族を希少度順に返す")
+        void returnsRacesUpToRarityInRarityOrder() throws IOException {
+            // Arrange
+            var catalog = roundTrip(SQL);
+
+            // Act
+            var standard = catalog.selectWithModifiersUpToRarity(RaceRarity.STANDARD);
+            var secret = catalog.selectWithModifiersUpToRarity(RaceRarity.SECRET);
+
+            // Assert
+            assertThat(standard).extracting("id").containsExactly("human", "elf");
+            assertThat(secret).extracting("id").containsExactly("human", "elf", "slime", "mimic");
+            assertThat(secret.getFirst().getJapaneseName()).isEqualTo("ヒューマン");
+            assertThat(secret.getFirst().getCreatedAt()).isEqualTo(new Date(1_000));
+            assertThat(secret.getFirst().toModifiers()).containsExactly(5, 5, 5, 5, 5, 5, 0, 0);
+            assertThat(secret.get(1).toModifiers()).isNull();
+            assertThat(catalog.raceCount()).isEqualTo(4);
+        }
+    }
+
+    @Nested
+    @DisplayName("loadSnapshot メソッドのテスト")
+    class LoadSnapshot {
+
+        @Test
+        @DisplayName("正常系: 種族を参照のたびにスナップショットから復元し、修正値は同じ配列を返す")
+        void decodesRacesOnEachAccess() throws IOException {
+            // Arrange
+            var catalog = roundTrip(SQL);
+            var version = catalog.selectCatalogVersion();
+
+            // Act
+            var snapshot = catalog.loadSnapshot(version);
+            var races = snapshot.racesUpTo(RaceRarity.SECRET);
+
+            // Assert
+            assertThat(snapshot.racesUpTo(RaceRarity.STANDARD)).extracting("id").containsExactly("human", "elf");
+            assertThat(snapshot.racesUpTo(RaceRarity.UNIQUE)).extracting("id").containsExactly("human", "elf", "slime");
+            assertThat(races).extracting("id").containsExactly("human", "elf", "slime", "mimic");
+            assertThat(races.get(3).getJapaneseName()).isEqualTo("ミミック");
+            assertThat(races.get(3).getRarity()).isEqualTo("SECRET");
+            assertThat(races.getFirst()).isEqualTo(races.getFirst()).isNotSameAs(races.getFirst());
+            assertThat(snapshot.modifiersOf("slime")).containsExactly(-2, 8, -2, -2, -2, -2, 0, 0);
+            assertThat(snapshot.modifiersOf("slime")).isSameAs(catalog.loadSnapshot(version).modifiersOf("slime"));
+            assertThat(snapshot.modifiersOf("elf")).isNull();
+            assertThat(snapshot.findRace("mimic", RaceRarity.SECRET)).isEqualTo(races.get(3));
+            assertThat(snapshot.findRace("slime", RaceRarity.STANDARD)).isNull();
+            assertThat(snapshot.getVersion()).isEqualTo(version);
+        }
+
+        @Test
+        @DisplayName("正常系: 遅延スナップショットは結合結果から作成したスナップショットと同じ種族を返す")
+        void matchesSnapshotBuiltFromRows() throws IOException {
+            // Arrange
+            var catalog = roundTrip(SQL);
+            var version = new CatalogVersion(1);
+
+            // Act
+            var lazy = catalog.loadSnapshot(version);
+            var eager = CatalogSnapshot.of(catalog.selectWithModifiersUpToRarity(RaceRarity.SECRET), version);
+
+            // Assert
+            for (var rarity : RaceRarity.values()) {
+                assertThat(lazy.racesUpTo(rarity)).containsExactlyElementsOf(eager.racesUpTo(rarity));
+            }
+            assertThat(lazy.modifiersOf("human")).containsExactly(eager.modifiersOf("human"));
+        }
+    }
+
+    @Nested
+    @DisplayName("map メソッドのテスト")
+    class Map {
+
+        @Test
+        @DisplayName("正常系: ファイルをメモリマップしたカタログは、ストリームから読み込んだカタログと同じ種族を返す")
+        void mappedFile_servesSameCatalog(@TempDir Path directory) throws IOException {
+            // Arrange
+            var file = directory.resolve("race-catalog.bin");
+            try (var output = Files.newOutputStream(file)) {
+                RaceCatalogCompiler.compile(SQL, new Date(1_000)).writeTo(output);
+            }
+            var raceCatalogCache = new RaceCatalogCache(EmbeddedRaceCatalog.map(file));
+
+            // Act
+            var races = raceCatalogCache.racesUpTo(RaceRarity.SECRET);
+
+            // Assert
+            assertThat(races).containsExactlyElementsOf(roundTrip(SQL).loadSnapshot(null).racesUpTo(RaceRarity.SECRET));
+            assertThat(races.getFirst().getCreatedAt()).isEqualTo(new Date(1_000));
+            assertThat(raceCatalogCache.modifiersOf("human")).containsExactly(5, 5, 5, 5, 5, 5, 0, 0);
+            assertThat(raceCatalogCache.latest().getVersion()).isEqualTo(roundTrip(SQL).selectCatalogVersion());
+        }
+
+        @Test
+        @DisplayName("異常系: ファイルがない場合や形式が異なる場合は例外をスローする")
+        void missingOrInvalidFile_throwsException(@TempDir Path directory) throws IOException {
+            // Arrange
+            var invalid = Files.write(directory.resolve("invalid.bin"), new byte[64]);
+
+            // Act & Assert
+            assertThatThrownBy(() -> EmbeddedRaceCatalog.map(directory.resolve("missing.bin")))
+                    .isInstanceOf(UncheckedIOException.class);
+            assertThatThrownBy(() -> EmbeddedRaceCatalog.map(invalid))
+                    .isInstanceOf(UncheckedIOException.class)
+                    .hasMessageContaining("invalid.bin");
+        }
+
+        @Test
+        @DisplayName("正常系: コンパイラーが出力先を置き換えても、マップ済みのカタログは置き換え前の内容を返し続ける")
+        void compilerReplacesFile_mappedCatalogKeepsPreviousContent(@TempDir Path directory) throws IOException {
+            // Arrange
+            var seed = Files.writeString(directory.resolve("01_init.sql"), SQL);
+            var file = directory.resolve("race-catalog.bin");
+            RaceCatalogCompiler.main(new String[]{seed.toString(), file.toString()});
+            var mapped = EmbeddedRaceCatalog.map(file);
+            var changedSql = SQL.replace("'擬態'", "'変身'");
+            Files.writeString(seed, changedSql);
+
+            // Act
+            RaceCatalogCompiler.main(new String[]{seed.toString(), file.toString()});
+
+            // Assert
+            assertThat(mapped.selectCatalogVersion()).isEqualTo(roundTrip(SQL).selectCatalogVersion());
+            assertThat(mapped.loadSnapshot(null).racesUpTo(RaceRarity.SECRET)).hasSize(4);
+            assertThat(EmbeddedRaceCatalog.map(file).selectCatalogVersion())
+                    .isEqualTo(roundTrip(changedSql).selectCatalogVersion());
+            try (var files = Files.list(directory)) {
+                assertThat(files).containsExactlyInAnyOrder(seed, file);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("selectCatalogVersion メソッドのテスト")
+    class SelectCatalogVersion {
+
+        @Test
+        @DisplayName("正常系: 版は初期データが同じなら同じ値になり、変更すると変わる")
+        void versionFollowsSeedContent() throws IOException {
+            // Act
+            var first = roundTrip(SQL).selectCatalogVersion();
+            var same = roundTrip(SQL).selectCatalogVersion();
+            var changed = roundTrip(SQL.replace("'擬態'", "'変身'")).selectCatalogVersion();
+
+            // Assert
+            assertThat(same).isEqualTo(first);
+            assertThat(changed).isNotEqualTo(first);
+        }
+    }
+
+    @Nested
+    @DisplayName("load メソッドのテスト")
+    class Load {
+
+        @Test
+        @DisplayName("正常系: ビルド時に作成したクラスパス上のスナップショットから、DBなしでカタログを参照できる")
+        void classpathSnapshot_servesCatalogWithoutDatabase() {
+            // Arrange
+            var catalog = EmbeddedRaceCatalog.load("catalog/race-catalog.bin");
+            var raceCatalogCache = new RaceCatalogCache(catalog);
+
+            // Act
+            var races = raceCatalogCache.racesUpTo(RaceRarity.SECRET);
+
+            // Assert
+            assertThat(races).hasSize(25);
+            assertThat(races.getFirst().getId()).isEqualTo("human");
+            assertThat(raceCatalogCache.modifiersOf("soul_of_machine")).containsExactly(-3, 0, 10, 0, 0, 0, 0, -3);
+        }
+
+        @Test
+        @DisplayName("異常系: リソースがない場合や形式が異なる場合は例外をスローする")
+        void missingOrInvalidSnapshot_throwsException() {
+            // Act & Assert
+            assertThatThrownBy(() -> EmbeddedRaceCatalog.load("catalog/missing.bin"))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("compileRaceCatalog");
+            assertThatThrownBy(() -> EmbeddedRaceCatalog.read(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6})))
+                    .isInstanceOf(IOException.class);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.kos0514.oop_in_java_learn.service.catalog.embedded;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SeedSqlReader クラスのテスト")
+class SeedSqlReaderTest {
+
+    private final Date createdAt = new Date(0);
+
+    @Nested
+    @DisplayName("read メソッドのテスト")
+    class Read {
+
+        @Test
+        @DisplayName("正常系: 初期データのSQLからすべての種族と修正値を読み取る")
+        void initSql_readsAllRaces() throws IOException {
+            // Arrange
+            var sql = Files.readString(Path.of("mysql/01_init.sql"), StandardCharsets.UTF_8);
+
+            // Act
+            var races = SeedSqlReader.read(sql, createdAt);
+
+            // Assert
+            assertThat(races).hasSize(25);
+            var human = races.getFirst();
+            assertThat(human.getId()).isEqualTo("human");
+            assertThat(human.getJapaneseName()).isEqualTo("ヒューマン");
+            assertThat(human.getRarity()).isEqualTo("STANDARD");
+            assertThat(human.getCreatedAt()).isEqualTo(createdAt);
+            assertThat(human.toModifiers()).containsExactly(5, 5, 5, 5, 5, 5, 0, 0);
+            assertThat(races).anySatisfy(race -> assertThat(race.getEnglishName()).isEqualTo("Loki's Descendant"));
+            assertThat(races.getLast().toModifiers()).containsExactly(-3, 0, 10, 0, 0, 0, 0, -3);
+        }
+
+        @Test
+        @DisplayName("正常系: コメント・エスケープ・列の並び順・修正値のない種族を扱える")
+        void commentsEscapesAndColumnOrder() {
+            // Arrange
+            var sql = """
+                    USE transmigration;
+                    -- 種族; コメント内の区切りは無視する
+                    INSERT INTO races (rarity, id, japanese_name, english_name, special_ability, description)
+                    VALUES ('UNIQUE', 'a', '名前''1', 'It\\'s', '「能力」- 攻撃;+10%', '説明'), -- 行末のコメント
+                           ('STANDARD', 'b', '名前2', 'B', '能力', '説明');
+                    INSERT INTO race_status_modifiers (race_id, magic_points_mod, strength_mod)
+                    VALUES ('a', 7, -1);
+                    """;
+
+            // Act
+            var races = SeedSqlReader.read(sql, createdAt);
+
+            // Assert
+            assertThat(races).hasSize(2);
+            var a = races.get(0);
+            assertThat(a.getId()).isEqualTo("a");
+            assertThat(a.getRarity()).isEqualTo("UNIQUE");
+            assertThat(a.getJapaneseName()).isEqualTo("名前'1");
+            assertThat(a.getEnglishName()).isEqualTo("It's");
+            assertThat(a.getSpecialAbility()).isEqualTo("「能力」- 攻撃;+10%");
+            // 省略された修正値はテーブル定義のDEFAULT 0になる
+            assertThat(a.toModifiers()).containsExactly(-1, 0, 0, 0, 0, 0, 0, 7);
+            assertThat(races.get(1).hasModifiers()).isFalse();
+        }
+
+        @Test
+        @DisplayName("異常系: 必要な列がない場合や値の数が合わない場合は例外をスローする")
+        void invalidSql_throwsException() {
+            // Act & Assert
+            assertThatThrownBy(() -> SeedSqlReader.read("INSERT INTO races (id) VALUES ('a');", createdAt))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("japanese_name");
+            assertThatThrownBy(() -> SeedSqlReader.read("INSERT INTO races (id, rarity) VALUES ('a');", createdAt))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("列数と値の数が一致しません");
+            assertThatThrownBy(() -> SeedSqlReader.read("INSERT INTO races (id) VALUES ('a'", createdAt))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.kos0514.oop_in_java_learn.service.game;
 
+import com.kos0514.oop_in_java_learn.context.SessionContext;
 import com.kos0514.oop_in_java_learn.enums.RaceRarity;
 import com.kos0514.oop_in_java_learn.io.ComputerChoiceProvider;
 import com.kos0514.oop_in_java_learn.io.test.TestComputerChoiceProvider;
@@ -12,6 +13,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.function.IntFunction;
 
 import static com.kos0514.oop_in_java_learn.enums.RaceRarity.LEGENDARY;
@@ -65,13 +67,12 @@ class RockPaperScissorsGameTest {
             var mockConverter = createRaceRarityConverter(1, UNIQUE);
 
             // Act
-            var result = rockPaperScissorsGame.playGameAndConvertResult(
-                    inputProvider,
+            var result = SessionContext.of(inputProvider).call(() -> rockPaperScissorsGame.playGameAndConvertResult(
                     3,
                     "テストゲーム",
                     "テスト説明",
                     mockConverter
-            );
+            ));
 
             // Assert
             assertThat(result).isEqualTo(UNIQUE);
@@ -92,13 +93,12 @@ class RockPaperScissorsGameTest {
             var mockConverter = createRaceRarityConverter(2, LEGENDARY);
 
             // Act
-            var result = rockPaperScissorsGame.playGameAndConvertResult(
-                    inputProvider,
+            var result = SessionContext.of(inputProvider).call(() -> rockPaperScissorsGame.playGameAndConvertResult(
                     3,
                     "テストゲーム",
                     "テスト説明",
                     mockConverter
-            );
+            ));
 
             // Assert
             assertThat(result).isEqualTo(LEGENDARY);
@@ -119,13 +119,12 @@ class RockPaperScissorsGameTest {
             var mockConverter = createRaceRarityConverter(3, SECRET);
 
             // Act
-            var result = rockPaperScissorsGame.playGameAndConvertResult(
-                    inputProvider,
+            var result = SessionContext.of(inputProvider).call(() -> rockPaperScissorsGame.playGameAndConvertResult(
                     3,
                     "テストゲーム",
                     "テスト説明",
                     mockConverter
-            );
+            ));
 
             // Assert
             assertThat(result).isEqualTo(SECRET);
@@ -146,13 +145,12 @@ class RockPaperScissorsGameTest {
             var mockConverter = createRaceRarityConverter(0, STANDARD);
 
             // Act
-            var result = rockPaperScissorsGame.playGameAndConvertResult(
-                    inputProvider,
+            var result = SessionContext.of(inputProvider).call(() -> rockPaperScissorsGame.playGameAndConvertResult(
                     3,
                     "テストゲーム",
                     "テスト説明",
                     mockConverter
-            );
+            ));
 
             // Assert
             assertThat(result).isEqualTo(STANDARD);
@@ -173,13 +171,12 @@ class RockPaperScissorsGameTest {
             var mockConverter = createRaceRarityConverter(1, UNIQUE);
 
             // Act
-            var result = rockPaperScissorsGame.playGameAndConvertResult(
-                    inputProvider,
+            var result = SessionContext.of(inputProvider).call(() -> rockPaperScissorsGame.playGameAndConvertResult(
                     3,
                     "テストゲーム",
                     "テスト説明",
                     mockConverter
-            );
+            ));
 
             // Assert
             assertThat(result).isEqualTo(UNIQUE);
@@ -201,13 +198,12 @@ class RockPaperScissorsGameTest {
             var mockConverter = createRaceRarityConverter(2, LEGENDARY);
 
             // Act
-            var result = rockPaperScissorsGame.playGameAndConvertResult(
-                    inputProvider,
+            var result = SessionContext.of(inputProvider).call(() -> rockPaperScissorsGame.playGameAndConvertResult(
                     3,
                     "テストゲーム",
                     "テスト説明",
                     mockConverter
-            );
+            ));
 
             // Assert
             assertThat(result).isEqualTo(LEGENDARY);
@@ -236,13 +232,12 @@ class RockPaperScissorsGameTest {
             var mockConverter = createRaceRarityConverter(1, UNIQUE);
 
             // Act
-            var result = gameWithProvider.playGameAndConvertResult(
-                    inputProvider,
+            var result = SessionContext.of(inputProvider).call(() -> gameWithProvider.playGameAndConvertResult(
                     3,
                     "あいこテスト",
                     "あいこの後に勝利するケース",
                     mockConverter
-            );
+            ));
 
             // Assert
             assertThat(result).isEqualTo(UNIQUE);
@@ -266,16 +261,60 @@ class RockPaperScissorsGameTest {
             var mockConverter = createRaceRarityConverter(1, UNIQUE);
 
             // Act
-            var result = gameWithProvider.playGameAndConvertResult(
-                    inputProvider,
+            var result = SessionContext.of(inputProvider).call(() -> gameWithProvider.playGameAndConvertResult(
                     3,
                     "複数あいこテスト",
                     "複数回のあいこの後に勝利するケース",
                     mockConverter
-            );
+            ));
 
             // Assert
             assertThat(result).isEqualTo(UNIQUE);
         }
     }
+
+    @Nested
+    @DisplayName("playHands メソッドのテスト")
+    class PlayHands {
+
+        @Test
+        @DisplayName("正常系: あいこを挟んで2回勝利した後に負けた場合、2を返す")
+        void tieWinWinLose_returnsTwo() {
+            // Arrange
+            var testProvider = new TestComputerChoiceProvider()
+                    .addChoices(ROCK, SCISSORS, ROCK, ROCK); // あいこ, 勝ち, 勝ち, 負け
+            var gameWithProvider = new RockPaperScissorsGame(testProvider);
+
+            // Act
+            var wins = gameWithProvider.playHands(List.of(ROCK, ROCK, PAPER, SCISSORS), 3);
+
+            // Assert
+            assertThat(wins).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("正常系: 最大ラウンド数に達した場合、残りの手は使用しない")
+        void reachesMaxRounds_ignoresRemainingHands() {
+            // Arrange
+            var testProvider = new TestComputerChoiceProvider()
+                    .addChoices(SCISSORS, SCISSORS, SCISSORS);
+            var gameWithProvider = new RockPaperScissorsGame(testProvider);
+
+            // Act
+            var wins = gameWithProvider.playHands(List.of(ROCK, ROCK, ROCK, ROCK), 3);
+
+            // Assert
+            assertThat(wins).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("境界値: 手が指定されない場合、0を返す")
+        void noHands_returnsZero() {
+            // Act
+            var wins = rockPaperScissorsGame.playHands(List.of(), 3);
+
+            // Assert
+            assertThat(wins).isZero();
+        }
+    }
 }
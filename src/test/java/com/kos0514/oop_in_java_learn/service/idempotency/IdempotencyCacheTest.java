@@ -0,0 +1,195 @@
+package com.kos0514.oop_in_java_learn.service.idempotency;
+
+import com.kos0514.oop_in_java_learn.entity.generated.Race;
+import com.kos0514.oop_in_java_learn.model.Transmigrator;
+import com.kos0514.oop_in_java_learn.model.playable_status.PlayableStatuses;
+import com.kos0514.oop_in_java_learn.model.value.Age;
+import com.kos0514.oop_in_java_learn.model.value.SoulId;
+import com.kos0514.oop_in_java_learn.model.value.SoulName;
+import com.kos0514.oop_in_java_learn.model.world.FantasyWorld;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("IdempotencyCache クラスのテスト")
+class IdempotencyCacheTest {
+
+    private static IdempotencyCache cache(Duration ttl, int maxEntries) {
+        return new IdempotencyCache(new IdempotencyProperties(ttl, maxEntries));
+    }
+
+    private static Transmigrator newTransmigrator() {
+        return Transmigrator.builder()
+                .soulId(SoulId.newId())
+                .soulName(SoulName.of("テスト魂"))
+                .age(Age.of(25))
+                .world(new FantasyWorld())
+                .race(new Race("elf", "エルフ", "Elf", "STANDARD", new Date(), new Date(), "自然の共鳴", "魔法種族"))
+                .playableStatuses(PlayableStatuses.of(10, 10, 10, 10, 10, 10, 100, 50))
+                .build();
+    }
+
+    @Nested
+    @DisplayName("execute メソッドのテスト")
+    class Execute {
+
+        @Test
+        @DisplayName("正常系: 同じキーの再試行は転生をやり直さずに最初の転生者を返す")
+        void sameKey_replaysFirstResult() {
+            // Arrange
+            var cache = cache(Duration.ofMinutes(10), 100);
+            var calls = new AtomicInteger();
+
+            // Act
+            var first = cache.execute("key-1", "body", () -> {
+                calls.incrementAndGet();
+                return newTransmigrator();
+            });
+            var retried = cache.execute("key-1", "body", () -> {
+                calls.incrementAndGet();
+                return newTransmigrator();
+            });
+
+            // Assert
+            assertThat(first.replayed()).isFalse();
+            assertThat(retried.replayed()).isTrue();
+            assertThat(retried.transmigrator()).isSameAs(first.transmigrator());
+            assertThat(calls).hasValue(1);
+            assertThat(cache.getExecutions()).isEqualTo(1);
+            assertThat(cache.getReplays()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("正常系: 同じキーで同時に届いたリクエストは1回だけ転生し、全員が同じ転生者を受け取る")
+        void concurrentSameKey_runsOnce() throws Exception {
+            // Arrange
+            var cache = cache(Duration.ofMinutes(10), 100);
+            var calls = new AtomicInteger();
+            var release = new CountDownLatch(1);
+            var requests = 50;
+            var results = new ArrayList<Future<IdempotentResult>>();
+
+            // Act
+            try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (var i = 0; i < requests; i++) {
+                    results.add(executor.submit(() -> cache.execute("key-1", "body", () -> {
+                        calls.incrementAndGet();
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return newTransmigrator();
+                    })));
+                }
+                Thread.sleep(100);
+                release.countDown();
+            }
+
+            // Assert
+            assertThat(calls).hasValue(1);
+            var first = results.getFirst().get().transmigrator();
+            for (var result : results) {
+                assertThat(result.get().transmigrator()).isSameAs(first);
+            }
+            assertThat(results.stream().filter(result -> !result.resultNow().replayed())).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("異常系: 同じキーで内容の異なるリクエストは拒否される")
+        void sameKeyDifferentFingerprint_throwsException() {
+            // Arrange
+            var cache = cache(Duration.ofMinutes(10), 100);
+            cache.execute("key-1", "body", IdempotencyCacheTest::newTransmigrator);
+
+            // Act & Assert
+            assertThatThrownBy(() -> cache.execute("key-1", "other", IdempotencyCacheTest::newTransmigrator))
+                    .isInstanceOf(IdempotencyKeyMismatchException.class)
+                    .hasMessage("冪等キー「key-1」は別の内容のリクエストで使用されています");
+        }
+
+        @Test
+        @DisplayName("異常系: 転生に失敗した結果は保持せず、次の再試行で改めて転生する")
+        void failure_isNotCached() {
+            // Arrange
+            var cache = cache(Duration.ofMinutes(10), 100);
+
+            // Act
+            assertThatThrownBy(() -> cache.execute("key-1", "body", () -> {
+                throw new IllegalArgumentException("種族が見つかりません");
+            })).isInstanceOf(IllegalArgumentException.class).hasMessage("種族が見つかりません");
+            var retried = cache.execute("key-1", "body", IdempotencyCacheTest::newTransmigrator);
+
+            // Assert
+            assertThat(retried.replayed()).isFalse();
+            assertThat(cache.getExecutions()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("境界値: 保持期限を過ぎたキーは改めて転生する")
+        void expiredKey_runsAgain() throws Exception {
+            // Arrange
+            var cache = cache(Duration.ofMillis(50), 100);
+            var first = cache.execute("key-1", "body", IdempotencyCacheTest::newTransmigrator);
+            Thread.sleep(100);
+
+            // Act
+            var retried = cache.execute("key-1", "other", IdempotencyCacheTest::newTransmigrator);
+
+            // Assert
+            assertThat(retried.replayed()).isFalse();
+            assertThat(retried.transmigrator()).isNotSameAs(first.transmigrator());
+        }
+
+        @Test
+        @DisplayName("境界値: 上限を超えた場合は古いキーから捨てる")
+        void overCapacity_evictsOldest() {
+            // Arrange
+            var cache = cache(Duration.ofMinutes(10), 2);
+            cache.execute("key-1", "body", IdempotencyCacheTest::newTransmigrator);
+            cache.execute("key-2", "body", IdempotencyCacheTest::newTransmigrator);
+
+            // Act
+            cache.execute("key-3", "body", IdempotencyCacheTest::newTransmigrator);
+            var replayedNewest = cache.execute("key-3", "body", IdempotencyCacheTest::newTransmigrator);
+            var retriedOldest = cache.execute("key-1", "body", IdempotencyCacheTest::newTransmigrator);
+
+            // Assert
+            assertThat(replayedNewest.replayed()).isTrue();
+            assertThat(retriedOldest.replayed()).isFalse();
+            assertThat(cache.size()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("境界値: 失敗を繰り返したキーは上限に数えず、保持している結果を捨てない")
+        void repeatedFailures_doNotEvictLiveResults() {
+            // Arrange
+            var cache = cache(Duration.ofMinutes(10), 2);
+            var first = cache.execute("key-1", "body", IdempotencyCacheTest::newTransmigrator);
+
+            // Act
+            for (var i = 0; i < 5; i++) {
+                assertThatThrownBy(() -> cache.execute("key-2", "body", () -> {
+                    throw new IllegalArgumentException("種族が見つかりません");
+                })).isInstanceOf(IllegalArgumentException.class);
+            }
+            var retried = cache.execute("key-1", "body", IdempotencyCacheTest::newTransmigrator);
+
+            // Assert
+            assertThat(retried.replayed()).isTrue();
+            assertThat(retried.transmigrator()).isSameAs(first.transmigrator());
+            assertThat(cache.size()).isEqualTo(1);
+        }
+    }
+}
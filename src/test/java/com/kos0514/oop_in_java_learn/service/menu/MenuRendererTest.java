@@ -0,0 +1,241 @@
+package com.kos0514.oop_in_java_learn.service.menu;
+
+import com.kos0514.oop_in_java_learn.entity.CatalogVersion;
+import com.kos0514.oop_in_java_learn.entity.RaceWithModifiers;
+import com.kos0514.oop_in_java_learn.entity.generated.Race;
+import com.kos0514.oop_in_java_learn.enums.RaceRarity;
+import com.kos0514.oop_in_java_learn.model.world.CultivationWorld;
+import com.kos0514.oop_in_java_learn.model.world.FantasyWorld;
+import com.kos0514.oop_in_java_learn.model.world.World;
+import com.kos0514.oop_in_java_learn.service.catalog.CatalogSnapshot;
+import com.kos0514.oop_in_java_learn.service.catalog.RaceNameIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("MenuRenderer クラスのテスト")
+class MenuRendererTest {
+
+    private final MenuRenderer menuRenderer = new MenuRenderer();
+
+    private final Race human = createRace("human", "ヒューマン", "STANDARD");
+    private final Race slime = createRace("slime", "スライム", "UNIQUE");
+
+    @Nested
+    @DisplayName("worldMenu メソッドのテスト")
+    class WorldMenu {
+
+        @Test
+        @DisplayName("正常系: 世界の一覧と番号入力のプロンプトをコンソール版と同じ文言で描画する")
+        void rendersWorldListAndPrompt() {
+            // Arrange
+            List<World> worlds = List.of(new FantasyWorld(), new CultivationWorld());
+
+            // Act
+            var menu = menuRenderer.worldMenu(worlds);
+
+            // Assert
+            assertThat(menu.getText()).isEqualTo("""
+
+                    ======================================
+                    【転生先世界の選択】
+                    1. 剣と魔法の世界
+                       ドラゴンや魔物が存在し、冒険者ギルドも活動する典型的なファンタジー世界。
+                    2. %s
+                       %s
+                    ======================================
+
+                    番号を入力してください (1-2):
+                    """.formatted(worlds.get(1).getName(), worlds.get(1).getDescription()));
+        }
+
+        @Test
+        @DisplayName("正常系: 同じリストには描画済みの画面を返し、別のリストは描画し直す")
+        void sameList_returnsRenderedMenu() {
+            // Arrange
+            List<World> worlds = List.of(new FantasyWorld());
+            List<World> otherWorlds = List.of(new FantasyWorld());
+
+            // Act
+            var first = menuRenderer.worldMenu(worlds);
+            var second = menuRenderer.worldMenu(worlds);
+            var other = menuRenderer.worldMenu(otherWorlds);
+
+            // Assert
+            assertThat(second).isSameAs(first);
+            assertThat(other).isNotSameAs(first);
+            assertThat(other.getText()).isEqualTo(first.getText());
+        }
+    }
+
+    @Nested
+    @DisplayName("raceMenu メソッドのテスト")
+    class RaceMenu {
+
+        @Test
+        @DisplayName("正常系: 種族の一覧と番号入力のプロンプトをコンソール版と同じ文言で描画する")
+        void rendersRaceListAndPrompt() {
+            // Act
+            var menu = menuRenderer.raceMenu(List.of(human, slime));
+
+            // Assert
+            assertThat(menu.getText()).isEqualTo("""
+                    ======================================
+                    【選択可能な種族】
+                    1. ヒューマン (STANDARD)
+                       特殊能力: Special ability
+                       Description
+
+                    2. スライム (UNIQUE)
+                       特殊能力: Special ability
+                       Description
+
+                    ======================================
+                    番号を入力してください (1-2):
+                    """);
+        }
+
+        @Test
+        @DisplayName("正常系: カタログの版と希少度の上限ごとに1回だけ描画し、カタログが差し替わると描画し直す")
+        void rendersOncePerSnapshotAndCeiling() {
+            // Arrange
+            var snapshot = CatalogSnapshot.of(List.of(joined(human), joined(slime)), new CatalogVersion(1));
+            var refreshed = CatalogSnapshot.of(List.of(joined(human), joined(slime)), new CatalogVersion(2));
+
+            // Act
+            var standard = menuRenderer.raceMenu(snapshot.racesUpTo(RaceRarity.STANDARD));
+            var unique = menuRenderer.raceMenu(snapshot.racesUpTo(RaceRarity.UNIQUE));
+            var standardAgain = menuRenderer.raceMenu(snapshot.racesUpTo(RaceRarity.STANDARD));
+            var refreshedStandard = menuRenderer.raceMenu(refreshed.racesUpTo(RaceRarity.STANDARD));
+
+            // Assert
+            assertThat(standardAgain).isSameAs(standard);
+            assertThat(unique).isNotSameAs(standard);
+            assertThat(unique.getText()).contains("2. スライム (UNIQUE)");
+            assertThat(refreshedStandard).isNotSameAs(standard);
+        }
+    }
+
+    @Nested
+    @DisplayName("種族の一覧のページ送りと検索のテスト")
+    class PagedRaceMenu {
+
+        private final List<Race> manyRaces = createRaces(45);
+
+        @Test
+        @DisplayName("正常系: 1ページを超える種族は最初のページだけを、全体を通した番号とページ送りの案内付きで描画する")
+        void overPageSize_rendersFirstPage() {
+            // Act
+            var menu = menuRenderer.raceMenu(manyRaces);
+
+            // Assert
+            assertThat(menu.getText())
+                    .startsWith("======================================\n【選択可能な種族】 (1/3ページ、全45種族)\n1. 種族0 (STANDARD)\n")
+                    .contains("20. 種族19 (STANDARD)")
+                    .doesNotContain("21. 種族20")
+                    .endsWith("n: 次のページ / p: 前のページ / 名前の先頭の文字: 検索\n番号を入力してください (1-45):\n");
+            assertThat(menuRenderer.raceMenu(manyRaces, 1)).isSameAs(menu);
+        }
+
+        @Test
+        @DisplayName("正常系: nとpでページを移動し、最初と最後のページより先には進まない")
+        void nextAndPrevious_moveWithinPages() {
+            // Act
+            var next = menuRenderer.navigateRaceMenu(manyRaces, 1, "n", () -> RaceNameIndex.of(manyRaces));
+            var last = menuRenderer.navigateRaceMenu(manyRaces, 3, "N", () -> RaceNameIndex.of(manyRaces));
+            var previous = menuRenderer.navigateRaceMenu(manyRaces, 1, "p", () -> RaceNameIndex.of(manyRaces));
+
+            // Assert
+            assertThat(next.page()).isEqualTo(2);
+            assertThat(next.menu().getText()).contains("(2/3ページ", "21. 種族20").doesNotContain("41. 種族40");
+            assertThat(last.page()).isEqualTo(3);
+            assertThat(last.menu().getText()).contains("45. 種族44");
+            assertThat(previous.page()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("正常系: 数字以外の入力は名前の先頭の文字として検索し、一致した種族を一覧と同じ番号で描画する")
+        void text_rendersSearchResults() {
+            // Act
+            var found = menuRenderer.navigateRaceMenu(manyRaces, 2, "種族4", () -> RaceNameIndex.of(manyRaces));
+            var notFound = menuRenderer.navigateRaceMenu(manyRaces, 2, "エルフ", () -> RaceNameIndex.of(manyRaces));
+
+            // Assert
+            assertThat(found.page()).isEqualTo(2);
+            assertThat(found.menu().getText())
+                    .contains("【「種族4」で始まる種族】", "5. 種族4 (STANDARD)", "41. 種族40 (STANDARD)", "45. 種族44 (STANDARD)")
+                    .doesNotContain("4. 種族3")
+                    .endsWith("番号を入力してください (1-45):\n");
+            assertThat(notFound.menu().getText()).startsWith("「エルフ」で始まる種族は見つかりませんでした。\n");
+        }
+
+        @Test
+        @DisplayName("正常系: 1ページに収まる種族や数字の入力はnullを返し、番号として扱わせる")
+        void singlePageOrNumber_returnsNull() {
+            // Act & Assert
+            assertThat(menuRenderer.navigateRaceMenu(List.of(human, slime), 1, "ス", () -> RaceNameIndex.of(List.of())))
+                    .isNull();
+            assertThat(menuRenderer.navigateRaceMenu(manyRaces, 1, " 30 ", () -> RaceNameIndex.of(manyRaces)))
+                    .isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("RenderedMenu クラスのテスト")
+    class Rendered {
+
+        @Test
+        @DisplayName("正常系: 画面をUTF-8でエンコードした読み取り専用のバッファを、呼び出しごとに独立した位置で返す")
+        void encodedReturnsIndependentReadOnlyBuffers() {
+            // Arrange
+            var menu = menuRenderer.raceMenu(List.of(human));
+
+            // Act
+            var first = menu.encoded();
+            var bytes = new byte[first.remaining()];
+            first.get(bytes);
+            var second = menu.encoded();
+
+            // Assert
+            assertThat(new String(bytes, StandardCharsets.UTF_8)).isEqualTo(menu.getText());
+            assertThat(first.hasRemaining()).isFalse();
+            assertThat(second.remaining()).isEqualTo(bytes.length);
+            assertThat(second.isReadOnly()).isTrue();
+        }
+    }
+
+    private static List<Race> createRaces(int count) {
+        var races = new ArrayList<Race>(count);
+        for (var i = 0; i < count; i++) {
+            races.add(createRace("race" + i, "種族" + i, "STANDARD"));
+        }
+        return races;
+    }
+
+    private static RaceWithModifiers joined(Race race) {
+        return new RaceWithModifiers(
+                race.getId(), race.getJapaneseName(), race.getEnglishName(), race.getRarity(),
+                race.getCreatedAt(), race.getUpdatedAt(), race.getSpecialAbility(), race.getDescription(),
+                null, null, null, null, null, null, null, null);
+    }
+
+    private static Race createRace(String id, String name, String rarity) {
+        return new Race(
+                id,                // id
+                name,              // japaneseName
+                "English" + name,  // englishName
+                rarity,            // rarity
+                new Date(),        // createdAt
+                new Date(),        // updatedAt
+                "Special ability", // specialAbility
+                "Description"      // description
+        );
+    }
+}
@@ -0,0 +1,170 @@
+package com.kos0514.oop_in_java_learn.service.prefetch;
+
+import com.kos0514.oop_in_java_learn.entity.CatalogVersion;
+import com.kos0514.oop_in_java_learn.entity.RaceWithModifiers;
+import com.kos0514.oop_in_java_learn.entity.generated.Race;
+import com.kos0514.oop_in_java_learn.enums.RaceRarity;
+import com.kos0514.oop_in_java_learn.mapper.RaceMapper;
+import com.kos0514.oop_in_java_learn.service.catalog.RaceCatalogCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("CatalogPrefetch クラスのテスト")
+class CatalogPrefetchTest {
+
+    @Mock
+    private RaceMapper raceMapper;
+
+    private RaceCatalogCache raceCatalogCache;
+
+    @BeforeEach
+    void setUp() {
+        raceCatalogCache = new RaceCatalogCache(raceMapper);
+        when(raceMapper.selectCatalogVersion()).thenReturn(version(1));
+    }
+
+    private final Race human = createRace("human", "ヒューマン", "STANDARD");
+
+    @Nested
+    @DisplayName("先読みの開始と終了のテスト")
+    class StartAndClose {
+
+        @Test
+        @DisplayName("正常系: 開始と同時に種族と修正値を1回の問い合わせで読み込む")
+        void start_preloadsRacesAndModifiersInOneQuery() throws InterruptedException {
+            // Arrange
+            var loaded = new CountDownLatch(1);
+            when(raceMapper.selectWithModifiersUpToRarity(RaceRarity.SECRET)).thenAnswer(invocation -> {
+                loaded.countDown();
+                return List.of(joined(human, 3));
+            });
+
+            // Act
+            try (var prefetch = new CatalogPrefetch(raceCatalogCache)) {
+                assertThat(loaded.await(5, TimeUnit.SECONDS)).isTrue();
+                var races = prefetch.snapshot().racesUpTo(RaceRarity.STANDARD);
+                var modifiers = prefetch.snapshot().modifiersOf("human");
+
+                // Assert
+                assertThat(races).containsExactly(human);
+                assertThat(modifiers).startsWith(3);
+            }
+            verify(raceMapper, times(1)).selectWithModifiersUpToRarity(RaceRarity.SECRET);
+        }
+
+        @Test
+        @DisplayName("正常系: カタログが差し替えられても、先読みで固定したスナップショットを返し続ける")
+        void refreshed_keepsPinnedSnapshot() {
+            // Arrange
+            var dragon = createRace("dragon", "ドラゴン", "STANDARD");
+            when(raceMapper.selectWithModifiersUpToRarity(RaceRarity.SECRET))
+                    .thenReturn(List.of(joined(human, 3)))
+                    .thenReturn(List.of(joined(human, 5), joined(dragon, 1)));
+
+            try (var prefetch = new CatalogPrefetch(raceCatalogCache)) {
+                var pinned = prefetch.snapshot();
+                when(raceMapper.selectCatalogVersion()).thenReturn(version(2));
+
+                // Act
+                var refreshed = raceCatalogCache.refreshIfChanged();
+
+                // Assert
+                assertThat(refreshed).isTrue();
+                assertThat(prefetch.snapshot()).isSameAs(pinned);
+                assertThat(prefetch.snapshot().racesUpTo(RaceRarity.STANDARD)).containsExactly(human);
+                assertThat(prefetch.snapshot().modifiersOf("human")).startsWith(3);
+                assertThat(raceCatalogCache.latest().racesUpTo(RaceRarity.STANDARD)).containsExactly(human, dragon);
+            }
+        }
+
+        @Test
+        @DisplayName("異常系: 先読み中に閉じた場合は読み込みが割り込まれる")
+        void closedWhileLoading_interruptsLoad() throws InterruptedException {
+            // Arrange
+            var started = new CountDownLatch(1);
+            var interrupted = new CountDownLatch(1);
+            when(raceMapper.selectWithModifiersUpToRarity(RaceRarity.SECRET)).thenAnswer(invocation -> {
+                started.countDown();
+                try {
+                    new CountDownLatch(1).await();
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return List.of();
+            });
+            var prefetch = new CatalogPrefetch(raceCatalogCache);
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // Act
+            prefetch.close();
+
+            // Assert
+            assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        @Test
+        @DisplayName("異常系: 先読みに失敗しても例外は伝播せず、最初の参照時に読み込み直す")
+        void prefetchFails_loadsOnFirstLookup() throws InterruptedException {
+            // Arrange
+            var failed = new CountDownLatch(1);
+            when(raceMapper.selectWithModifiersUpToRarity(RaceRarity.SECRET))
+                    .thenAnswer(invocation -> {
+                        failed.countDown();
+                        throw new RuntimeException("接続エラー");
+                    })
+                    .thenReturn(List.of(joined(human, 3)));
+
+            // Act
+            try (var prefetch = new CatalogPrefetch(raceCatalogCache)) {
+                assertThat(failed.await(5, TimeUnit.SECONDS)).isTrue();
+                var races = prefetch.snapshot().racesUpTo(RaceRarity.STANDARD);
+
+                // Assert
+                assertThat(races).containsExactly(human);
+            }
+        }
+    }
+
+    private static CatalogVersion version(int version) {
+        return new CatalogVersion(version);
+    }
+
+    private static RaceWithModifiers joined(Race race, int strengthMod) {
+        return new RaceWithModifiers(
+                race.getId(), race.getJapaneseName(), race.getEnglishName(), race.getRarity(),
+                race.getCreatedAt(), race.getUpdatedAt(), race.getSpecialAbility(), race.getDescription(),
+                strengthMod, 0, 0, 0, 0, 0, 0, 0);
+    }
+
+    private static Race createRace(String id, String name, String rarity) {
+        return new Race(
+                id,                // id
+                name,              // japaneseName
+                "English" + name,  // englishName
+                rarity,            // rarity
+                new Date(),        // createdAt
+                new Date(),        // updatedAt
+                "Special ability", // specialAbility
+                "Description"      // description
+        );
+    }
+}
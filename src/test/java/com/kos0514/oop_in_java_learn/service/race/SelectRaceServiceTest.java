@@ -1,11 +1,13 @@
 package com.kos0514.oop_in_java_learn.service.race;
 
+import com.kos0514.oop_in_java_learn.context.SessionContext;
 import com.kos0514.oop_in_java_learn.entity.generated.Race;
 import com.kos0514.oop_in_java_learn.enums.RaceRarity;
-import com.kos0514.oop_in_java_learn.io.UserInputProvider;
 import com.kos0514.oop_in_java_learn.io.test.TestInputProvider;
-import com.kos0514.oop_in_java_learn.mapper.RaceMapper;
+import com.kos0514.oop_in_java_learn.service.catalog.RaceCatalogCache;
+import com.kos0514.oop_in_java_learn.service.catalog.RaceNameIndex;
 import com.kos0514.oop_in_java_learn.service.game.RockPaperScissorsGame;
+import com.kos0514.oop_in_java_learn.service.menu.MenuRenderer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -14,10 +16,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.function.IntFunction;
 
@@ -35,11 +40,14 @@ import static org.mockito.Mockito.when;
 class SelectRaceServiceTest {
 
     @Mock
-    private RaceMapper raceMapper;
+    private RaceCatalogCache raceCatalogCache;
 
     @Mock
     private RockPaperScissorsGame rockPaperScissorsGame;
 
+    @Spy
+    private MenuRenderer menuRenderer = new MenuRenderer();
+
     @InjectMocks
     private SelectRaceService selectRaceService;
 
@@ -82,7 +90,6 @@ class SelectRaceServiceTest {
 
             // じゃんけんゲームの結果をSTANDARDに設定
             when(rockPaperScissorsGame.playGameAndConvertResult(
-                    any(UserInputProvider.class),
                     eq(3),
                     anyString(),
                     anyString(),
@@ -90,14 +97,14 @@ class SelectRaceServiceTest {
             )).thenReturn(RaceRarity.STANDARD);
 
             // 利用可能な種族リストを設定
-            when(raceMapper.selectUpToRarity(RaceRarity.STANDARD)).thenReturn(standardRaces);
+            when(raceCatalogCache.racesUpTo(RaceRarity.STANDARD)).thenReturn(standardRaces);
 
             // Act
-            var selectedRace = selectRaceService.selectRace(inputProvider);
+            var selectedRace = SessionContext.of(inputProvider).call(selectRaceService::selectRace);
 
             // Assert
             assertThat(selectedRace).isEqualTo(testRace);
-            verify(raceMapper).selectUpToRarity(RaceRarity.STANDARD);
+            verify(raceCatalogCache).racesUpTo(RaceRarity.STANDARD);
         }
 
         @Test
@@ -110,7 +117,6 @@ class SelectRaceServiceTest {
 
             // じゃんけんゲームの結果をUNIQUEに設定
             when(rockPaperScissorsGame.playGameAndConvertResult(
-                    any(UserInputProvider.class),
                     eq(3),
                     anyString(),
                     anyString(),
@@ -118,14 +124,14 @@ class SelectRaceServiceTest {
             )).thenReturn(RaceRarity.UNIQUE);
 
             // 利用可能な種族リストを設定
-            when(raceMapper.selectUpToRarity(RaceRarity.UNIQUE)).thenReturn(uniqueRaces);
+            when(raceCatalogCache.racesUpTo(RaceRarity.UNIQUE)).thenReturn(uniqueRaces);
 
             // Act
-            var selectedRace = selectRaceService.selectRace(inputProvider);
+            var selectedRace = SessionContext.of(inputProvider).call(selectRaceService::selectRace);
 
             // Assert
             assertThat(selectedRace).isNotEqualTo(testRace); // 2番目の種族が選択されるはず
-            verify(raceMapper).selectUpToRarity(RaceRarity.UNIQUE);
+            verify(raceCatalogCache).racesUpTo(RaceRarity.UNIQUE);
         }
 
         @Test
@@ -138,7 +144,6 @@ class SelectRaceServiceTest {
 
             // じゃんけんゲームの結果をLEGENDARYに設定
             when(rockPaperScissorsGame.playGameAndConvertResult(
-                    any(UserInputProvider.class),
                     eq(3),
                     anyString(),
                     anyString(),
@@ -146,14 +151,14 @@ class SelectRaceServiceTest {
             )).thenReturn(RaceRarity.LEGENDARY);
 
             // 利用可能な種族リストを設定
-            when(raceMapper.selectUpToRarity(RaceRarity.LEGENDARY)).thenReturn(legendaryRaces);
+            when(raceCatalogCache.racesUpTo(RaceRarity.LEGENDARY)).thenReturn(legendaryRaces);
 
             // Act
-            var selectedRace = selectRaceService.selectRace(inputProvider);
+            var selectedRace = SessionContext.of(inputProvider).call(selectRaceService::selectRace);
 
             // Assert
             assertThat(selectedRace).isNotEqualTo(testRace); // 3番目の種族が選択されるはず
-            verify(raceMapper).selectUpToRarity(RaceRarity.LEGENDARY);
+            verify(raceCatalogCache).racesUpTo(RaceRarity.LEGENDARY);
         }
 
         @Test
@@ -166,7 +171,6 @@ class SelectRaceServiceTest {
 
             // じゃんけんゲームの結果をSECRETに設定
             when(rockPaperScissorsGame.playGameAndConvertResult(
-                    any(UserInputProvider.class),
                     eq(3),
                     anyString(),
                     anyString(),
@@ -174,14 +178,14 @@ class SelectRaceServiceTest {
             )).thenReturn(RaceRarity.SECRET);
 
             // 利用可能な種族リストを設定
-            when(raceMapper.selectUpToRarity(RaceRarity.SECRET)).thenReturn(secretRaces);
+            when(raceCatalogCache.racesUpTo(RaceRarity.SECRET)).thenReturn(secretRaces);
 
             // Act
-            var selectedRace = selectRaceService.selectRace(inputProvider);
+            var selectedRace = SessionContext.of(inputProvider).call(selectRaceService::selectRace);
 
             // Assert
             assertThat(selectedRace).isNotEqualTo(testRace); // 4番目の種族が選択されるはず
-            verify(raceMapper).selectUpToRarity(RaceRarity.SECRET);
+            verify(raceCatalogCache).racesUpTo(RaceRarity.SECRET);
         }
 
         @Test
@@ -195,17 +199,16 @@ class SelectRaceServiceTest {
             ArgumentCaptor<IntFunction<RaceRarity>> converterCaptor = ArgumentCaptor.forClass(IntFunction.class);
 
             when(rockPaperScissorsGame.playGameAndConvertResult(
-                    any(UserInputProvider.class),
                     anyInt(),
                     anyString(),
                     anyString(),
                     converterCaptor.capture()
             )).thenReturn(RaceRarity.STANDARD);
 
-            when(raceMapper.selectUpToRarity(any(RaceRarity.class))).thenReturn(standardRaces);
+            when(raceCatalogCache.racesUpTo(any(RaceRarity.class))).thenReturn(standardRaces);
 
             // Act
-            selectRaceService.selectRace(inputProvider);
+            SessionContext.of(inputProvider).call(selectRaceService::selectRace);
             var converter = converterCaptor.getValue();
 
             // Assert - 変換関数のテスト
@@ -215,6 +218,36 @@ class SelectRaceServiceTest {
             assertThat(converter.apply(3)).isEqualTo(RaceRarity.SECRET);
         }
 
+        @Test
+        @DisplayName("正常系: 種族が多い場合はページ送りと名前の検索をしてから番号で選択できる")
+        void manyRaces_navigateAndSearchBeforeSelection() {
+            // Arrange
+            var manyRaces = new ArrayList<Race>();
+            for (var i = 0; i < 30; i++) {
+                manyRaces.add(new Race("race" + i, "種族" + i, "Race" + i, "STANDARD",
+                        new Date(), new Date(), "Special ability", "Description"));
+            }
+            var inputProvider = new TestInputProvider()
+                    .addInputs("n", "種族2", "23");
+            when(rockPaperScissorsGame.playGameAndConvertResult(
+                    eq(3),
+                    anyString(),
+                    anyString(),
+                    any(IntFunction.class)
+            )).thenReturn(RaceRarity.STANDARD);
+            when(raceCatalogCache.racesUpTo(RaceRarity.STANDARD)).thenReturn(manyRaces);
+            when(raceCatalogCache.nameIndex(RaceRarity.STANDARD)).thenReturn(RaceNameIndex.of(manyRaces));
+
+            // Act
+            var selectedRace = SessionContext.of(inputProvider).call(selectRaceService::selectRace);
+
+            // Assert
+            assertThat(selectedRace).isEqualTo(manyRaces.get(22));
+            verify(menuRenderer).navigateRaceMenu(eq(manyRaces), eq(1), eq("n"), any());
+            verify(menuRenderer).navigateRaceMenu(eq(manyRaces), eq(2), eq("種族2"), any());
+            verify(raceCatalogCache).nameIndex(RaceRarity.STANDARD);
+        }
+
         @Test
         @DisplayName("異常系: 無効な選択の後に有効な選択がされる場合")
         void invalidThenValidSelection_eventuallySucceeds() {
@@ -225,7 +258,6 @@ class SelectRaceServiceTest {
 
             // じゃんけんゲームの結果をSTANDARDに設定
             when(rockPaperScissorsGame.playGameAndConvertResult(
-                    any(UserInputProvider.class),
                     eq(3),
                     anyString(),
                     anyString(),
@@ -233,14 +265,14 @@ class SelectRaceServiceTest {
             )).thenReturn(RaceRarity.STANDARD);
 
             // 利用可能な種族リストを設定
-            when(raceMapper.selectUpToRarity(RaceRarity.STANDARD)).thenReturn(standardRaces);
+            when(raceCatalogCache.racesUpTo(RaceRarity.STANDARD)).thenReturn(standardRaces);
 
             // Act
-            var selectedRace = selectRaceService.selectRace(inputProvider);
+            var selectedRace = SessionContext.of(inputProvider).call(selectRaceService::selectRace);
 
             // Assert
             assertThat(selectedRace).isEqualTo(testRace);
-            verify(raceMapper).selectUpToRarity(RaceRarity.STANDARD);
+            verify(raceCatalogCache).racesUpTo(RaceRarity.STANDARD);
         }
     }
 }
@@ -0,0 +1,204 @@
+package com.kos0514.oop_in_java_learn.service.request;
+
+import com.kos0514.oop_in_java_learn.entity.generated.Race;
+import com.kos0514.oop_in_java_learn.enums.RaceRarity;
+import com.kos0514.oop_in_java_learn.factory.PlayableStatusesFactory;
+import com.kos0514.oop_in_java_learn.factory.TransmigratorFactory;
+import com.kos0514.oop_in_java_learn.model.Transmigrator;
+import com.kos0514.oop_in_java_learn.model.value.Age;
+import com.kos0514.oop_in_java_learn.model.value.SoulName;
+import com.kos0514.oop_in_java_learn.model.world.DefinedWorld;
+import com.kos0514.oop_in_java_learn.model.world.FantasyWorld;
+import com.kos0514.oop_in_java_learn.model.world.MagicTechWorld;
+import com.kos0514.oop_in_java_learn.repository.WorldRepository;
+import com.kos0514.oop_in_java_learn.service.catalog.CatalogSnapshot;
+import com.kos0514.oop_in_java_learn.service.catalog.RaceCatalogCache;
+import com.kos0514.oop_in_java_learn.util.random_generator.DefaultRandomGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("DirectTransmigrationService クラスのテスト")
+class DirectTransmigrationServiceTest {
+
+    @Mock
+    private WorldRepository worldRepository;
+
+    @Mock
+    private RaceCatalogCache raceCatalogCache;
+
+    @Mock
+    private TransmigratorFactory transmigratorFactory;
+
+    @InjectMocks
+    private DirectTransmigrationService directTransmigrationService;
+
+    private final Race human = createRace("human", "STANDARD");
+    private final Race vampire = createRace("vampire", "UNIQUE");
+
+    @BeforeEach
+    void setUp() {
+        when(worldRepository.getAvailableWorlds()).thenReturn(List.of(new FantasyWorld(), new MagicTechWorld()));
+        when(raceCatalogCache.findRace("human", RaceRarity.STANDARD)).thenReturn(human);
+        when(raceCatalogCache.findRace("human", RaceRarity.UNIQUE)).thenReturn(human);
+        when(raceCatalogCache.findRace("vampire", RaceRarity.UNIQUE)).thenReturn(vampire);
+    }
+
+    @Nested
+    @DisplayName("transmigrate メソッドのテスト")
+    class Transmigrate {
+
+        @Test
+        @DisplayName("正常系: 勝利回数で選択可能になった種族で転生者が作成される")
+        void validRequest_createsTransmigrator() {
+            // Arrange
+            var transmigrator = mock(Transmigrator.class);
+            when(transmigratorFactory.create(eq(SoulName.of("テスト魂")), eq(Age.of(25)), any(MagicTechWorld.class), eq(vampire)))
+                    .thenReturn(transmigrator);
+            var request = TransmigrationRequest.builder()
+                    .name("テスト魂").age(25).worldIndex(2).raceId("vampire").wins(1)
+                    .build();
+
+            // Act
+            var result = directTransmigrationService.transmigrate(request);
+
+            // Assert
+            assertThat(result).isEqualTo(transmigrator);
+        }
+
+        @Test
+        @DisplayName("正常系: 世界のIDを指定した場合は番号ではなくIDで世界を選択する")
+        void worldId_resolvesById() {
+            // Arrange
+            var festival = new DefinedWorld("summer_festival", "常夏の祭典島", "期間限定の世界");
+            when(worldRepository.findById("summer_festival")).thenReturn(festival);
+            var transmigrator = mock(Transmigrator.class);
+            when(transmigratorFactory.create(eq(SoulName.of("テスト魂")), eq(Age.of(25)), eq(festival), eq(human)))
+                    .thenReturn(transmigrator);
+            var request = TransmigrationRequest.builder()
+                    .name("テスト魂").age(25).worldId("summer_festival").raceId("human")
+                    .build();
+
+            // Act
+            var result = directTransmigrationService.transmigrate(request);
+
+            // Assert
+            assertThat(result).isEqualTo(transmigrator);
+            verify(worldRepository, never()).getAvailableWorlds();
+        }
+
+        @Test
+        @DisplayName("異常系: 存在しない世界のIDを指定した場合は例外をスローする")
+        void unknownWorldId_throwsException() {
+            // Arrange
+            var request = TransmigrationRequest.builder()
+                    .name("テスト魂").age(25).worldId("unknown").raceId("human")
+                    .build();
+
+            // Act & Assert
+            assertThatThrownBy(() -> directTransmigrationService.transmigrate(request))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("世界「unknown」は選択できません");
+        }
+
+        @Test
+        @DisplayName("異常系: 勝利回数が足りない種族を指定した場合は例外をスローする")
+        void raceAboveRarity_throwsException() {
+            // Arrange
+            var request = TransmigrationRequest.builder()
+                    .name("テスト魂").age(25).worldIndex(1).raceId("vampire").wins(0)
+                    .build();
+
+            // Act & Assert
+            assertThatThrownBy(() -> directTransmigrationService.transmigrate(request))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("vampire");
+            verify(transmigratorFactory, never()).create(any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("異常系: 名前・年齢・世界の番号が不正な場合は例外をスローする")
+        void invalidValues_throwException() {
+            var blankName = TransmigrationRequest.builder().name(" ").age(25).worldIndex(1).raceId("human").build();
+            var invalidAge = TransmigrationRequest.builder().name("テスト魂").age(0).worldIndex(1).raceId("human").build();
+            var invalidWorld = TransmigrationRequest.builder().name("テスト魂").age(25).worldIndex(3).raceId("human").build();
+
+            assertThatThrownBy(() -> directTransmigrationService.transmigrate(blankName))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("名前は空にできません");
+            assertThatThrownBy(() -> directTransmigrationService.transmigrate(invalidAge))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("年齢は1～120の範囲で入力してください");
+            assertThatThrownBy(() -> directTransmigrationService.transmigrate(invalidWorld))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("世界の番号は1～2の範囲で指定してください");
+        }
+    }
+
+    @Nested
+    @DisplayName("同時実行のテスト")
+    class Concurrency {
+
+        @Test
+        @DisplayName("正常系: 同時に転生しても、ステータスは魂IDだけで決まる値になる")
+        void concurrentRequests_statusesFollowSoulId() throws Exception {
+            // Arrange
+            when(raceCatalogCache.snapshot()).thenReturn(CatalogSnapshot.of(List.of(), null));
+            var service = new DirectTransmigrationService(worldRepository, raceCatalogCache,
+                    new TransmigratorFactory(raceCatalogCache, new PlayableStatusesFactory(new DefaultRandomGenerator())));
+            var request = TransmigrationRequest.builder()
+                    .name("テスト魂").age(25).worldIndex(1).raceId("human").wins(0)
+                    .build();
+            var start = new CountDownLatch(1);
+            var results = new ArrayList<Future<Transmigrator>>();
+
+            // Act
+            try (var executor = Executors.newFixedThreadPool(8)) {
+                for (var i = 0; i < 400; i++) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        return service.transmigrate(request);
+                    }));
+                }
+                start.countDown();
+            }
+
+            // Assert
+            var reference = new PlayableStatusesFactory(new DefaultRandomGenerator());
+            for (var result : results) {
+                var transmigrator = result.get();
+                assertThat(transmigrator.getPlayableStatuses())
+                        .isEqualTo(reference.createWithModifiers(Age.of(25), transmigrator.getSoulId(), null));
+            }
+        }
+    }
+
+    private static Race createRace(String id, String rarity) {
+        return new Race(id, id, id, rarity, new Date(), new Date(), "Special ability", "Description");
+    }
+}
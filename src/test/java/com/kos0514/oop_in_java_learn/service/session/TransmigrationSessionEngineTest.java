@@ -0,0 +1,461 @@
+package com.kos0514.oop_in_java_learn.service.session;
+
+import com.kos0514.oop_in_java_learn.context.SessionContext;
+import com.kos0514.oop_in_java_learn.io.BufferedScreenOutputProvider;
+import com.kos0514.oop_in_java_learn.io.NullOutputProvider;
+import com.kos0514.oop_in_java_learn.io.SystemInputProvider;
+import com.kos0514.oop_in_java_learn.io.UserInputProvider;
+import com.kos0514.oop_in_java_learn.io.test.TestInputProvider;
+import com.kos0514.oop_in_java_learn.model.Transmigrator;
+import com.kos0514.oop_in_java_learn.model.value.SoulName;
+import com.kos0514.oop_in_java_learn.service.TransmigrationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.kos0514.oop_in_java_learn.util.log.LoggingUtils.info;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransmigrationSessionEngine クラスのテスト")
+class TransmigrationSessionEngineTest {
+
+    @Mock
+    private TransmigrationService transmigrationService;
+
+    private TransmigrationSessionEngine sessionEngine;
+
+    @BeforeEach
+    void setUp() {
+        sessionEngine = new TransmigrationSessionEngine(transmigrationService,
+                new SessionProperties(Duration.ofMillis(200), Duration.ofSeconds(30), Duration.ofMillis(20)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionEngine.close();
+    }
+
+    /**
+     * 入力が届かないまま待機し続ける入力プロバイダー（放置された接続を模擬する）
+     */
+    private static class AbandonedInputProvider implements UserInputProvider {
+        private final LinkedBlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        @Override
+        public String readLine() {
+            try {
+                return lines.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("入力待ちが中断されました", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            closed.set(true);
+        }
+    }
+
+    @Nested
+    @DisplayName("submit メソッドのテスト")
+    class Submit {
+
+        @Test
+        @DisplayName("正常系: 多数のセッションがそれぞれ別の仮想スレッドで実行される")
+        void manySessions_runOnSeparateVirtualThreads() throws Exception {
+            // Arrange
+            var sessionCount = 5_000;
+            var transmigrator = mock(Transmigrator.class);
+            var threads = ConcurrentHashMap.<Thread>newKeySet();
+            when(transmigrationService.transmigrate()).thenAnswer(invocation -> {
+                // ユーザーの思考時間を模擬してスレッドをブロックさせる
+                Thread.sleep(10);
+                threads.add(Thread.currentThread());
+                return transmigrator;
+            });
+
+            // Act
+            var futures = new ArrayList<CompletableFuture<Transmigrator>>();
+            for (var i = 0; i < sessionCount; i++) {
+                futures.add(sessionEngine.submit(new TestInputProvider()));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+            sessionEngine.shutdown();
+            var terminated = sessionEngine.awaitTermination(Duration.ofSeconds(10));
+
+            // Assert
+            assertThat(terminated).isTrue();
+            assertThat(futures).allSatisfy(future -> assertThat(future.join()).isEqualTo(transmigrator));
+            assertThat(threads).hasSize(sessionCount).allMatch(Thread::isVirtual);
+
+            var stats = sessionEngine.getStats();
+            assertThat(stats.getStartedSessions()).isEqualTo(sessionCount);
+            assertThat(stats.getCompletedSessions()).isEqualTo(sessionCount);
+            assertThat(stats.getFailedSessions()).isZero();
+            assertThat(stats.getActiveSessions()).isZero();
+            assertThat(stats.getSessionsPerSecond()).isPositive();
+            // 割り当てを計測できないJVMでは-1になる
+            assertThat(stats.getAllocatedBytesPerSession()).satisfiesAnyOf(
+                    allocated -> assertThat(allocated).isEqualTo(-1L),
+                    allocated -> assertThat(allocated).isPositive());
+        }
+
+        @Test
+        @DisplayName("正常系: 各セッションの表示はそれぞれの出力先へ、入力待ちの直前に1画面ずつ書き出される")
+        void sessionOutput_isIsolatedAndFlushedBeforeRead() {
+            // Arrange
+            var sessionCount = 100;
+            var transmigrator = mock(Transmigrator.class);
+            var writers = new ArrayList<StringWriter>();
+            when(transmigrationService.transmigrate()).thenAnswer(invocation -> {
+                var input = SessionContext.current().getInput();
+                info("名前を入力してください:");
+                var name = input.readLine();
+                info("{}さんの転生を実行しています...", name);
+                return transmigrator;
+            });
+
+            // Act
+            var futures = new ArrayList<CompletableFuture<Transmigrator>>();
+            for (var i = 0; i < sessionCount; i++) {
+                var writer = new StringWriter();
+                writers.add(writer);
+                var input = new TestInputProvider() {
+                    @Override
+                    public String readLine() {
+                        // 入力を読む時点で、それまでの画面が書き出されていること
+                        assertThat(writer.toString()).isEqualTo("名前を入力してください:\n");
+                        return super.readLine();
+                    }
+                }.addInput("魂" + i);
+                futures.add(sessionEngine.submit(input, new BufferedScreenOutputProvider(writer)));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+            // Assert
+            for (var i = 0; i < sessionCount; i++) {
+                assertThat(writers.get(i).toString())
+                        .isEqualTo("名前を入力してください:\n魂" + i + "さんの転生を実行しています...\n");
+            }
+        }
+
+        @Test
+        @DisplayName("正常系: 各セッションには制限時間と専用の乱数生成器を持つコンテキストが設定される")
+        void sessionContext_hasDeadlineAndOwnRandom() {
+            // Arrange
+            var sessionCount = 100;
+            var transmigrator = mock(Transmigrator.class);
+            var contexts = ConcurrentHashMap.<SessionContext>newKeySet();
+            when(transmigrationService.transmigrate()).thenAnswer(invocation -> {
+                contexts.add(SessionContext.current());
+                return transmigrator;
+            });
+
+            // Act
+            var futures = new ArrayList<CompletableFuture<Transmigrator>>();
+            for (var i = 0; i < sessionCount; i++) {
+                futures.add(sessionEngine.submit(new TestInputProvider()));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+            // Assert
+            assertThat(contexts).hasSize(sessionCount)
+                    .allSatisfy(context -> assertThat(context.getTimeLimit()).isEqualTo(Duration.ofSeconds(30)));
+            assertThat(contexts.stream().map(SessionContext::getRandom).distinct()).hasSize(sessionCount);
+        }
+
+        @Test
+        @DisplayName("異常系: セッションで例外が発生した場合、失敗として集計される")
+        void sessionFails_countsAsFailed() {
+            // Arrange
+            when(transmigrationService.transmigrate())
+                    .thenThrow(new IllegalStateException("テスト用の入力値が不足しています"));
+
+            // Act
+            var future = sessionEngine.submit(new TestInputProvider());
+
+            // Assert
+            assertThatThrownBy(future::join).isInstanceOf(CompletionException.class);
+            var stats = sessionEngine.getStats();
+            assertThat(stats.getFailedSessions()).isEqualTo(1);
+            assertThat(stats.getCompletedSessions()).isZero();
+        }
+
+        @Test
+        @DisplayName("異常系: シャットダウン後は新しいセッションを受け付けない")
+        void afterShutdown_rejectsNewSessions() {
+            // Arrange
+            sessionEngine.shutdown();
+
+            // Act & Assert
+            assertThat(sessionEngine.isShutdown()).isTrue();
+            assertThatThrownBy(() -> sessionEngine.submit(new TestInputProvider()))
+                    .isInstanceOf(RejectedExecutionException.class);
+            assertThat(sessionEngine.getStats().getStartedSessions()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("停滞したセッションの打ち切りのテスト")
+    class Reaping {
+
+        @Test
+        @DisplayName("異常系: 入力待ちが上限を超えたセッションは打ち切られ、入力プロバイダーが解放される")
+        void idleSession_isReaped() throws Exception {
+            // Arrange
+            when(transmigrationService.transmigrate()).thenAnswer(invocation -> {
+                var input = SessionContext.current().getInput();
+                input.readLine();
+                return mock(Transmigrator.class);
+            });
+            var input = new AbandonedInputProvider();
+
+            // Act
+            var future = sessionEngine.submit(input);
+
+            // Assert
+            assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(SessionTimeoutException.class)
+                    .hasMessageContaining("入力待ちの上限時間を超えました");
+            assertThat(input.closed).isTrue();
+            var stats = sessionEngine.getStats();
+            assertThat(stats.getReapedSessions()).isEqualTo(1);
+            assertThat(stats.getFailedSessions()).isZero();
+            assertThat(stats.getActiveSessions()).isZero();
+        }
+
+        @Test
+        @DisplayName("異常系: 不正な入力で再入力を繰り返し続けるセッションは制限時間で打ち切られる")
+        void endlessRetryLoop_isReapedAtDeadline() throws Exception {
+            // Arrange
+            sessionEngine.close();
+            sessionEngine = new TransmigrationSessionEngine(transmigrationService,
+                    new SessionProperties(Duration.ofSeconds(30), Duration.ofMillis(200), Duration.ofMillis(20)));
+            when(transmigrationService.transmigrate()).thenAnswer(invocation -> {
+                var input = SessionContext.current().getInput();
+                // 入力の終わりで空文字を返し続ける場合の、名前の再入力ループを模擬する
+                while (input.readLine().isEmpty()) {
+                    info("転生者の名前を入力してください:");
+                }
+                return mock(Transmigrator.class);
+            });
+            var input = new UserInputProvider() {
+                @Override
+                public String readLine() {
+                    return "";
+                }
+
+                @Override
+                public void close() {
+                    // 何もしない
+                }
+            };
+
+            // Act
+            var future = sessionEngine.submit(input, new NullOutputProvider());
+
+            // Assert
+            assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(SessionTimeoutException.class)
+                    .hasMessageContaining("セッションの制限時間を超えました");
+            assertThat(sessionEngine.getStats().getReapedSessions()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("異常系: 入力の終わり（null）に達したセッションは再入力を繰り返さずに終了する")
+        void endOfInput_endsSessionImmediately() throws Exception {
+            // Arrange
+            var reads = new AtomicInteger();
+            when(transmigrationService.transmigrate()).thenAnswer(invocation -> {
+                var input = SessionContext.current().getInput();
+                // 不正な入力として再入力を促し続ける名前の入力ループを模擬する
+                while (true) {
+                    try {
+                        SoulName.of(input.readLine());
+                        return mock(Transmigrator.class);
+                    } catch (IllegalArgumentException e) {
+                        info("転生者の名前を入力してください:");
+                    }
+                }
+            });
+            var input = new UserInputProvider() {
+                @Override
+                public String readLine() {
+                    reads.incrementAndGet();
+                    return null;
+                }
+
+                @Override
+                public void close() {
+                    // 何もしない
+                }
+            };
+
+            // Act
+            var future = sessionEngine.submit(input, new NullOutputProvider());
+
+            // Assert
+            assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(SessionInputClosedException.class);
+            assertThat(reads).hasValue(1);
+            var stats = sessionEngine.getStats();
+            assertThat(stats.getReapedSessions()).isEqualTo(1);
+            assertThat(stats.getFailedSessions()).isZero();
+            assertThat(stats.getActiveSessions()).isZero();
+        }
+
+        @Test
+        @DisplayName("異常系: 標準入力が閉じられたコンソールのセッションは再入力を繰り返さずに終了する")
+        void consoleEndOfInput_endsSessionImmediately() throws Exception {
+            // Arrange
+            when(transmigrationService.transmigrate()).thenAnswer(invocation -> {
+                var input = SessionContext.current().getInput();
+                while (true) {
+                    try {
+                        SoulName.of(input.readLine());
+                        return mock(Transmigrator.class);
+                    } catch (IllegalArgumentException e) {
+                        info("転生者の名前を入力してください:");
+                    }
+                }
+            });
+            var originalSystemIn = System.in;
+            System.setIn(new ByteArrayInputStream(new byte[0]));
+            try {
+                // Act
+                var future = sessionEngine.submit(new SystemInputProvider());
+
+                // Assert
+                assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                        .hasCauseInstanceOf(SessionInputClosedException.class);
+                assertThat(sessionEngine.getStats().getReapedSessions()).isEqualTo(1);
+            } finally {
+                System.setIn(originalSystemIn);
+            }
+        }
+
+        @Test
+        @DisplayName("正常系: 上限内に入力されたセッションは打ち切られない")
+        void activeSession_isNotReaped() {
+            // Arrange
+            when(transmigrationService.transmigrate()).thenAnswer(invocation -> {
+                var input = SessionContext.current().getInput();
+                for (var i = 0; i < 5; i++) {
+                    input.readLine();
+                }
+                return mock(Transmigrator.class);
+            });
+            var input = new AbandonedInputProvider();
+            Thread.ofVirtual().start(() -> {
+                for (var i = 0; i < 5; i++) {
+                    try {
+                        Thread.sleep(100); // 上限（200ms）より短い間隔で入力する
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    input.lines.add("入力" + i);
+                }
+            });
+
+            // Act
+            var transmigrator = sessionEngine.submit(input).join();
+
+            // Assert
+            assertThat(transmigrator).isNotNull();
+            assertThat(sessionEngine.getStats().getReapedSessions()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("シャットダウン時の排出のテスト")
+    class Drain {
+
+        @Test
+        @DisplayName("正常系: 受け付けを停止した後も、実行中のセッションは完了まで待たれる")
+        void inFlightSession_finishesWithinGracePeriod() throws Exception {
+            // Arrange
+            var transmigrator = mock(Transmigrator.class);
+            when(transmigrationService.transmigrate()).thenAnswer(invocation -> {
+                Thread.sleep(100);
+                return transmigrator;
+            });
+            var future = sessionEngine.submit(new TestInputProvider());
+
+            // Act
+            sessionEngine.stopAccepting();
+            var drained = sessionEngine.awaitDrained(Duration.ofSeconds(5));
+
+            // Assert
+            assertThat(drained).isTrue();
+            assertThat(future.join()).isEqualTo(transmigrator);
+            assertThatThrownBy(() -> sessionEngine.submit(new TestInputProvider()))
+                    .isInstanceOf(RejectedExecutionException.class);
+        }
+
+        @Test
+        @DisplayName("異常系: 猶予期間を過ぎたセッションは打ち切られ、それまでの表示は書き出される")
+        void stuckSession_isAbortedAndOutputFlushed() {
+            // Arrange
+            sessionEngine.close();
+            sessionEngine = new TransmigrationSessionEngine(transmigrationService,
+                    new SessionProperties(Duration.ofMinutes(5), Duration.ofMinutes(30), Duration.ofSeconds(1)));
+            var writer = new StringWriter();
+            var entered = new CountDownLatch(1);
+            when(transmigrationService.transmigrate()).thenAnswer(invocation -> {
+                var input = SessionContext.current().getInput();
+                info("転生者の名前を入力してください:");
+                entered.countDown();
+                input.readLine();
+                info("この表示には到達しない");
+                return mock(Transmigrator.class);
+            });
+            var input = new AbandonedInputProvider();
+            var future = sessionEngine.submit(input, new BufferedScreenOutputProvider(writer));
+
+            // Act
+            sessionEngine.stopAccepting();
+            var drained = false;
+            try {
+                entered.await();
+                drained = sessionEngine.awaitDrained(Duration.ofMillis(100));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            sessionEngine.closeNow();
+
+            // Assert
+            assertThat(drained).isFalse();
+            assertThatThrownBy(future::join)
+                    .hasCauseInstanceOf(SessionTimeoutException.class)
+                    .hasMessageContaining("シャットダウンのため打ち切りました");
+            assertThat(writer.toString()).isEqualTo("転生者の名前を入力してください:\n");
+            assertThat(input.closed).isTrue();
+            assertThat(sessionEngine.getStats().getReapedSessions()).isEqualTo(1);
+        }
+    }
+}
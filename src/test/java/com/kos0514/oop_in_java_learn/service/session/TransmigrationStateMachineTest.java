@@ -0,0 +1,258 @@
+package com.kos0514.oop_in_java_learn.service.session;
+
+import com.kos0514.oop_in_java_learn.entity.RaceWithModifiers;
+import com.kos0514.oop_in_java_learn.entity.generated.Race;
+import com.kos0514.oop_in_java_learn.factory.TransmigratorFactory;
+import com.kos0514.oop_in_java_learn.io.test.TestComputerChoiceProvider;
+import com.kos0514.oop_in_java_learn.model.Transmigrator;
+import com.kos0514.oop_in_java_learn.model.playable_status.PlayableStatuses;
+import com.kos0514.oop_in_java_learn.model.value.Age;
+import com.kos0514.oop_in_java_learn.model.value.SoulId;
+import com.kos0514.oop_in_java_learn.model.value.SoulName;
+import com.kos0514.oop_in_java_learn.model.world.CultivationWorld;
+import com.kos0514.oop_in_java_learn.model.world.FantasyWorld;
+import com.kos0514.oop_in_java_learn.model.world.World;
+import com.kos0514.oop_in_java_learn.repository.WorldRepository;
+import com.kos0514.oop_in_java_learn.service.catalog.CatalogSnapshot;
+import com.kos0514.oop_in_java_learn.service.catalog.RaceCatalogCache;
+import com.kos0514.oop_in_java_learn.service.menu.MenuRenderer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static com.kos0514.oop_in_java_learn.enums.RockPaperScissors.PAPER;
+import static com.kos0514.oop_in_java_learn.enums.RockPaperScissors.ROCK;
+import static com.kos0514.oop_in_java_learn.enums.RockPaperScissors.SCISSORS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("TransmigrationStateMachine クラスのテスト")
+class TransmigrationStateMachineTest {
+
+    @Mock
+    private WorldRepository worldRepository;
+
+    @Mock
+    private RaceCatalogCache raceCatalogCache;
+
+    @Mock
+    private TransmigratorFactory transmigratorFactory;
+
+    private TestComputerChoiceProvider computerChoiceProvider;
+    private TransmigrationStateMachine stateMachine;
+
+    private final Race human = createRace("human", "ヒューマン", "STANDARD");
+    private final Race slime = createRace("slime", "スライム", "UNIQUE");
+
+    @BeforeEach
+    void setUp() {
+        computerChoiceProvider = new TestComputerChoiceProvider();
+        stateMachine = new TransmigrationStateMachine(
+                worldRepository, raceCatalogCache, computerChoiceProvider, transmigratorFactory, new MenuRenderer());
+
+        when(worldRepository.getAvailableWorlds()).thenReturn(List.of(new FantasyWorld(), new CultivationWorld()));
+        when(raceCatalogCache.latest()).thenReturn(CatalogSnapshot.of(List.of(joined(human), joined(slime)), null));
+        when(transmigratorFactory.create(any(SoulName.class), any(Age.class), any(World.class), any(Race.class), any(CatalogSnapshot.class)))
+                .thenAnswer(invocation -> Transmigrator.builder()
+                        .soulId(SoulId.newId())
+                        .soulName(invocation.getArgument(0))
+                        .age(invocation.getArgument(1))
+                        .world(invocation.getArgument(2))
+                        .race(invocation.getArgument(3))
+                        .playableStatuses(PlayableStatuses.of(10, 10, 10, 10, 10, 10, 100, 50))
+                        .build());
+    }
+
+    @Nested
+    @DisplayName("handle メソッドのテスト")
+    class Handle {
+
+        @Test
+        @DisplayName("正常系: 1回勝利してUNIQUE種族を選択し、転生が完了する")
+        void winOnceAndSelectUniqueRace_completesSession() {
+            // Arrange
+            computerChoiceProvider.addChoices(SCISSORS);
+            var state = stateMachine.newSession();
+
+            // Act
+            stateMachine.handle(state, "テスト魂");
+            stateMachine.handle(state, "25");
+            var afterWorld = stateMachine.handle(state, "2");
+            var afterHand = stateMachine.handle(state, "1");       // グーで勝利
+            var afterContinue = stateMachine.handle(state, "2");   // やめる
+            var result = stateMachine.handle(state, "2");          // スライムを選択
+
+            // Assert
+            assertThat(afterWorld.getPrompt()).contains("仙人道修行に転生が決定しました！", "【1回目のじゃんけん】");
+            assertThat(afterHand.getStep()).isEqualTo(TransmigrationStep.ROCK_PAPER_SCISSORS_CONTINUE);
+            assertThat(afterContinue.getPrompt()).contains("UNIQUEまでの種族が選択可能になりました！", "2. スライム");
+            assertThat(result.isCompleted()).isTrue();
+            assertThat(result.getPrompt()).contains("スライム種族に転生が決定しました！", "STR: 10");
+            assertThat(state.getTransmigrator().getRace()).isEqualTo(slime);
+            assertThat(state.getTransmigrator().getSoulName()).isEqualTo(SoulName.of("テスト魂"));
+            verify(transmigratorFactory).create(eq(SoulName.of("テスト魂")), eq(Age.of(25)), any(CultivationWorld.class), eq(slime), any(CatalogSnapshot.class));
+        }
+
+        @Test
+        @DisplayName("正常系: あいこの後に負けた場合はSTANDARD種族のみ選択可能になる")
+        void drawThenLose_onlyStandardRaces() {
+            // Arrange
+            computerChoiceProvider.addChoices(ROCK, PAPER);
+            var state = stateMachine.newSession();
+            stateMachine.handle(state, "テスト魂");
+            stateMachine.handle(state, "25");
+            stateMachine.handle(state, "1");
+
+            // Act
+            var afterDraw = stateMachine.handle(state, "1");
+            var afterLose = stateMachine.handle(state, "1");
+
+            // Assert
+            assertThat(afterDraw.getPrompt()).contains("あいこです。もう一度！");
+            assertThat(afterDraw.getStep()).isEqualTo(TransmigrationStep.ROCK_PAPER_SCISSORS_HAND);
+            assertThat(afterLose.getPrompt()).contains("負けてしまいました...", "STANDARDの種族のみ選択可能です。");
+            assertThat(afterLose.getStep()).isEqualTo(TransmigrationStep.RACE);
+        }
+
+        @Test
+        @DisplayName("正常系: 世界と種族の一覧は描画済みのメニューとしてプロンプトの末尾に続け、セッション間で共有する")
+        void menus_areRenderedOnceAndShared() {
+            // Arrange
+            computerChoiceProvider.addChoices(PAPER, PAPER);
+            var first = stateMachine.newSession();
+            var second = stateMachine.newSession();
+            stateMachine.handle(first, "テスト魂");
+            stateMachine.handle(second, "別の魂");
+
+            // Act
+            var firstWorlds = stateMachine.handle(first, "25");
+            var secondWorlds = stateMachine.handle(second, "30");
+            stateMachine.handle(first, "1");
+            stateMachine.handle(second, "1");
+            var firstRaces = stateMachine.handle(first, "1");   // グーで負け
+            var secondRaces = stateMachine.handle(second, "1"); // グーで負け
+
+            // Assert
+            assertThat(firstWorlds.getText()).isEmpty();
+            assertThat(firstWorlds.getPrompt()).contains("【転生先世界の選択】", "番号を入力してください (1-2):");
+            assertThat(secondWorlds.getMenu()).isSameAs(firstWorlds.getMenu());
+            assertThat(firstRaces.getText()).contains("負けてしまいました...").doesNotContain("【選択可能な種族】");
+            assertThat(firstRaces.getPrompt()).endsWith("1. ヒューマン (STANDARD)\n"
+                    + "   特殊能力: Special ability\n   Description\n\n"
+                    + "======================================\n番号を入力してください (1-1):\n");
+            assertThat(secondRaces.getMenu()).isSameAs(firstRaces.getMenu());
+        }
+
+        @Test
+        @DisplayName("正常系: 種族が多い場合はページ番号をセッションに保持し、検索結果の番号で選択できる")
+        void manyRaces_pagesAndSearchWithinSession() {
+            // Arrange
+            var rows = new ArrayList<RaceWithModifiers>();
+            for (var i = 0; i < 25; i++) {
+                rows.add(joined(createRace("race" + i, "種族" + i, "STANDARD")));
+            }
+            when(raceCatalogCache.latest()).thenReturn(CatalogSnapshot.of(rows, null));
+            computerChoiceProvider.addChoices(PAPER);
+            var state = stateMachine.newSession();
+            stateMachine.handle(state, "テスト魂");
+            stateMachine.handle(state, "25");
+            stateMachine.handle(state, "1");
+            var firstPage = stateMachine.handle(state, "1"); // グーで負け
+
+            // Act
+            var secondPage = stateMachine.handle(state, "n");
+            var searched = stateMachine.handle(state, "種族2");
+            var result = stateMachine.handle(state, "24");
+
+            // Assert
+            assertThat(firstPage.getPrompt()).contains("(1/2ページ、全25種族)").doesNotContain("21. 種族20");
+            assertThat(secondPage.getPrompt()).contains("(2/2ページ、全25種族)", "25. 種族24");
+            assertThat(secondPage.getStep()).isEqualTo(TransmigrationStep.RACE);
+            assertThat(searched.getPrompt()).contains("【「種族2」で始まる種族】", "3. 種族2 (STANDARD)", "24. 種族23 (STANDARD)");
+            assertThat(result.isCompleted()).isTrue();
+            assertThat(state.getTransmigrator().getRace().getId()).isEqualTo("race23");
+        }
+
+        @Test
+        @DisplayName("異常系: 不正な入力では段階が進まず、警告が返される")
+        void invalidInputs_keepStepAndWarn() {
+            // Arrange
+            var state = stateMachine.newSession();
+
+            // Act & Assert
+            assertThat(stateMachine.handle(state, "").getPrompt()).contains("名前は空にできません");
+            assertThat(state.getStep()).isEqualTo(TransmigrationStep.NAME);
+
+            stateMachine.handle(state, "テスト魂");
+            assertThat(stateMachine.handle(state, "200").getPrompt()).contains("年齢は1～120の範囲で入力してください");
+            assertThat(state.getStep()).isEqualTo(TransmigrationStep.AGE);
+
+            stateMachine.handle(state, "25");
+            assertThat(stateMachine.handle(state, "abc").getPrompt()).contains("数値を入力してください。");
+            assertThat(stateMachine.handle(state, "9").getPrompt()).contains("有効な番号を入力してください (1-2)。");
+            assertThat(state.getStep()).isEqualTo(TransmigrationStep.WORLD);
+        }
+    }
+
+    @Nested
+    @DisplayName("多数セッションの駆動のテスト")
+    class ManySessions {
+
+        @Test
+        @DisplayName("正常系: 1本のスレッドで多数の入力待ちセッションを交互に進められる")
+        void singleThreadDrivesManyParkedSessions() {
+            // Arrange
+            var sessionCount = 10_000;
+            var sessions = new ArrayList<TransmigrationSessionState>(sessionCount);
+            for (var i = 0; i < sessionCount; i++) {
+                sessions.add(stateMachine.newSession());
+            }
+
+            // Act
+            for (var state : sessions) {
+                stateMachine.handle(state, "テスト魂");
+            }
+            for (var state : sessions) {
+                stateMachine.handle(state, "30");
+            }
+
+            // Assert
+            assertThat(sessions).allSatisfy(state -> assertThat(state.getStep()).isEqualTo(TransmigrationStep.WORLD));
+        }
+    }
+
+    private static RaceWithModifiers joined(Race race) {
+        return new RaceWithModifiers(
+                race.getId(), race.getJapaneseName(), race.getEnglishName(), race.getRarity(),
+                race.getCreatedAt(), race.getUpdatedAt(), race.getSpecialAbility(), race.getDescription(),
+                null, null, null, null, null, null, null, null);
+    }
+
+    private static Race createRace(String id, String name, String rarity) {
+        return new Race(
+                id,                // id
+                name,              // japaneseName
+                "English" + name,  // englishName
+                rarity,            // rarity
+                new Date(),        // createdAt
+                new Date(),        // updatedAt
+                "Special ability", // specialAbility
+                "Description"      // description
+        );
+    }
+}
@@ -0,0 +1,260 @@
+package com.kos0514.oop_in_java_learn.service.stream;
+
+import com.kos0514.oop_in_java_learn.model.Transmigrator;
+import com.kos0514.oop_in_java_learn.service.request.DirectTransmigrationService;
+import com.kos0514.oop_in_java_learn.service.request.TransmigrationRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("TransmigrationPublisher クラスのテスト")
+class TransmigrationPublisherTest {
+
+    @Mock
+    private DirectTransmigrationService directTransmigrationService;
+
+    private TransmigrationStreamService streamService;
+    private final Transmigrator transmigrator = mock(Transmigrator.class);
+
+    @BeforeEach
+    void setUp() {
+        streamService = new TransmigrationStreamService(directTransmigrationService, new StreamProperties(256));
+        when(directTransmigrationService.transmigrate(any(TransmigrationRequest.class))).thenReturn(transmigrator);
+    }
+
+    @AfterEach
+    void tearDown() {
+        streamService.close();
+    }
+
+    private static TransmigrationRequest request(String name) {
+        return TransmigrationRequest.builder().name(name).age(25).worldIndex(1).raceId("human").build();
+    }
+
+    @Nested
+    @DisplayName("背圧のテスト")
+    class Backpressure {
+
+        @Test
+        @DisplayName("正常系: 遅い購読者には要求した数しか作成せず、キャンセルするとリクエストの読み込みも止まる")
+        void slowSubscriber_boundedOutstandingAndCancel() throws Exception {
+            // Arrange
+            var streamClosed = new AtomicBoolean();
+            var requests = Stream.generate(() -> request("テスト魂")).onClose(() -> streamClosed.set(true));
+            var publisher = streamService.publish(requests);
+            var received = new AtomicInteger();
+            var maxOutstanding = new AtomicLong();
+            var cancelled = new CompletableFuture<Void>();
+            var stopAfter = 200;
+
+            // Act
+            publisher.subscribe(new Flow.Subscriber<>() {
+                private Flow.Subscription subscription;
+
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    this.subscription = subscription;
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onNext(Transmigrator item) {
+                    var count = received.incrementAndGet();
+                    // 作成済みで未処理の転生者の数（取り出したリクエスト数 - 受け取った数）を記録する
+                    maxOutstanding.accumulateAndGet(publisher.getPulledRequests() - count, Math::max);
+                    try {
+                        Thread.sleep(1);  // 処理の遅い購読者を模擬する
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    if (count == stopAfter) {
+                        subscription.cancel();
+                        cancelled.complete(null);
+                    } else {
+                        subscription.request(1);
+                    }
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    cancelled.completeExceptionally(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                    cancelled.completeExceptionally(new AssertionError("無限ストリームが完了しました"));
+                }
+            });
+            cancelled.get(10, TimeUnit.SECONDS);
+            TimeUnit.MILLISECONDS.sleep(50);
+
+            // Assert
+            // 無限のリクエストに対しても、作成した転生者は要求した数を超えない
+            assertThat(maxOutstanding.get()).isZero();
+            assertThat(received).hasValue(stopAfter);
+            assertThat(publisher.getPulledRequests()).isEqualTo(stopAfter);
+            assertThat(streamClosed).isTrue();
+        }
+
+        @Test
+        @DisplayName("正常系: 無制限に要求した場合は最後まで配信して完了し、不正なリクエストは読み飛ばす")
+        void unboundedDemand_deliversAllAndCompletes() throws Exception {
+            // Arrange
+            var recordCount = 10_000;
+            when(directTransmigrationService.transmigrate(argThat(request -> request != null && request.getName().isEmpty())))
+                    .thenThrow(new IllegalArgumentException("名前は空にできません"));
+            var requests = IntStream.range(0, recordCount)
+                    .mapToObj(i -> request(i == 42 ? "" : "魂" + i));
+            var publisher = streamService.publish(requests);
+            var subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+
+            // Act
+            publisher.subscribe(subscriber);
+            subscriber.completion.get(10, TimeUnit.SECONDS);
+
+            // Assert
+            assertThat(subscriber.received).hasValue(recordCount - 1);
+            assertThat(publisher.getPulledRequests()).isEqualTo(recordCount);
+            assertThat(publisher.getSkippedRequests()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("仕様違反のテスト")
+    class RuleViolations {
+
+        @Test
+        @DisplayName("異常系: 0以下の要求数を指定するとエラーで終了する")
+        void nonPositiveRequest_signalsError() throws Exception {
+            // Arrange
+            var publisher = streamService.publish(Stream.of(request("テスト魂")));
+            var subscriber = new RecordingSubscriber(0);
+
+            // Act
+            publisher.subscribe(subscriber);
+
+            // Assert
+            var error = subscriber.completion.handle((ignored, throwable) -> throwable).get(10, TimeUnit.SECONDS);
+            assertThat(error).isInstanceOf(IllegalArgumentException.class);
+            assertThat(subscriber.received).hasValue(0);
+        }
+
+        @Test
+        @DisplayName("異常系: 検証以外の失敗が発生した場合は後始末をしてエラーで終了する")
+        void unexpectedFailure_closesAndSignalsError() throws Exception {
+            // Arrange
+            when(directTransmigrationService.transmigrate(argThat(request -> request != null && "壊れた魂".equals(request.getName()))))
+                    .thenThrow(new IllegalStateException("DBへのアクセスに失敗しました"));
+            var streamClosed = new AtomicBoolean();
+            var requests = Stream.of(request("テスト魂"), request("壊れた魂"), request("テスト魂"))
+                    .onClose(() -> streamClosed.set(true));
+            var publisher = streamService.publish(requests);
+            var subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+
+            // Act
+            publisher.subscribe(subscriber);
+
+            // Assert
+            var error = subscriber.completion.handle((ignored, throwable) -> throwable).get(10, TimeUnit.SECONDS);
+            assertThat(error).isInstanceOf(IllegalStateException.class).hasMessage("DBへのアクセスに失敗しました");
+            assertThat(subscriber.received).hasValue(1);
+            assertThat(streamClosed).isTrue();
+        }
+
+        @Test
+        @DisplayName("異常系: 購読者のonNextが例外をスローした場合は後始末をしてエラーで終了する")
+        void throwingSubscriber_closesAndSignalsError() throws Exception {
+            // Arrange
+            var streamClosed = new AtomicBoolean();
+            var requests = Stream.generate(() -> request("テスト魂")).onClose(() -> streamClosed.set(true));
+            var publisher = streamService.publish(requests);
+            var subscriber = new RecordingSubscriber(Long.MAX_VALUE) {
+                @Override
+                public void onNext(Transmigrator item) {
+                    throw new IllegalStateException("購読者の処理に失敗しました");
+                }
+            };
+
+            // Act
+            publisher.subscribe(subscriber);
+
+            // Assert
+            var error = subscriber.completion.handle((ignored, throwable) -> throwable).get(10, TimeUnit.SECONDS);
+            assertThat(error).isInstanceOf(IllegalStateException.class).hasMessage("購読者の処理に失敗しました");
+            assertThat(streamClosed).isTrue();
+        }
+
+        @Test
+        @DisplayName("異常系: 2つ目の購読者にはエラーを通知する")
+        void secondSubscriber_signalsError() throws Exception {
+            // Arrange
+            var publisher = streamService.publish(Stream.of(request("テスト魂")));
+            publisher.subscribe(new RecordingSubscriber(1));
+            var second = new RecordingSubscriber(1);
+
+            // Act
+            publisher.subscribe(second);
+
+            // Assert
+            var error = second.completion.handle((ignored, throwable) -> throwable).get(10, TimeUnit.SECONDS);
+            assertThat(error).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    /**
+     * 購読開始時に指定した数だけ要求し、受け取った数を記録する購読者
+     */
+    private static class RecordingSubscriber implements Flow.Subscriber<Transmigrator> {
+        private final long initialRequest;
+        private final AtomicInteger received = new AtomicInteger();
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(initialRequest);
+        }
+
+        @Override
+        public void onNext(Transmigrator item) {
+            received.incrementAndGet();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completion.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completion.complete(null);
+        }
+    }
+}
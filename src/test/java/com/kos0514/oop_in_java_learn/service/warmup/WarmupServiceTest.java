@@ -0,0 +1,199 @@
+package com.kos0514.oop_in_java_learn.service.warmup;
+
+import com.kos0514.oop_in_java_learn.entity.CatalogVersion;
+import com.kos0514.oop_in_java_learn.entity.RaceWithModifiers;
+import com.kos0514.oop_in_java_learn.entity.generated.Race;
+import com.kos0514.oop_in_java_learn.enums.RaceRarity;
+import com.kos0514.oop_in_java_learn.factory.PlayableStatusesFactory;
+import com.kos0514.oop_in_java_learn.factory.TransmigratorFactory;
+import com.kos0514.oop_in_java_learn.mapper.RaceMapper;
+import com.kos0514.oop_in_java_learn.mapper.RaceStatusModifierMapper;
+import com.kos0514.oop_in_java_learn.repository.WorldRepository;
+import com.kos0514.oop_in_java_learn.service.catalog.RaceCatalogCache;
+import com.kos0514.oop_in_java_learn.service.menu.MenuRenderer;
+import com.kos0514.oop_in_java_learn.service.prefetch.CatalogPrefetcher;
+import com.kos0514.oop_in_java_learn.util.random_generator.DefaultRandomGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("WarmupService クラスのテスト")
+class WarmupServiceTest {
+
+    @Mock
+    private RaceMapper raceMapper;
+
+    @Mock
+    private RaceStatusModifierMapper raceStatusModifierMapper;
+
+    private TransmigratorFactory transmigratorFactory;
+    private RaceCatalogCache raceCatalogCache;
+    private final WorldRepository worldRepository = new WorldRepository();
+
+    private final Race human = createRace("human", "ヒューマン", "STANDARD");
+    private final Race slime = createRace("slime", "スライム", "UNIQUE");
+
+    @BeforeEach
+    void setUp() {
+        raceCatalogCache = new RaceCatalogCache(raceMapper);
+        transmigratorFactory = new TransmigratorFactory(
+                raceCatalogCache, new PlayableStatusesFactory(new DefaultRandomGenerator()));
+        when(raceMapper.selectCatalogVersion()).thenReturn(new CatalogVersion(1));
+        when(raceMapper.selectWithModifiersUpToRarity(any(RaceRarity.class))).thenReturn(List.of(joined(human), joined(slime)));
+    }
+
+    private WarmupService createService(int sessions, int maxSessions, int batchSize, Duration settleCompilationTime) {
+        return new WarmupService(transmigratorFactory, worldRepository, raceCatalogCache,
+                new CatalogPrefetcher(raceCatalogCache), new MenuRenderer(),
+                new WarmupProperties(true, sessions, maxSessions, batchSize, settleCompilationTime));
+    }
+
+    @Nested
+    @DisplayName("runSession メソッドのテスト")
+    class RunSession {
+
+        @Test
+        @DisplayName("正常系: すべての台本が対話版とステートマシンの両方で最後まで進み、転生者が作成される")
+        void allScenarios_completeInBothFlows() {
+            // Arrange
+            var service = createService(1, 1, 1, Duration.ZERO);
+            var worldCount = worldRepository.getAvailableWorlds().size();
+            var sessionCount = WarmupScenario.values().length * worldCount * 2;
+
+            // Act & Assert
+            for (var i = 0; i < sessionCount; i++) {
+                var transmigrator = service.runSession(i, worldCount);
+                assertThat(transmigrator).isNotNull();
+                assertThat(transmigrator.getRace()).isEqualTo(human);
+            }
+            // 種族カタログは最初の1回だけ読み込まれ、以降はキャッシュから参照される
+            verify(raceMapper, times(1)).selectWithModifiersUpToRarity(RaceRarity.SECRET);
+            assertThat(raceCatalogCache.getStats().getHits()).isPositive();
+            // ステータス修正値は種族と結合して読み込まれ、修正値だけの問い合わせは行われない
+            verify(raceStatusModifierMapper, never()).selectByPrimaryKey(anyString());
+        }
+    }
+
+    @Nested
+    @DisplayName("warmUp メソッドのテスト")
+    class WarmUp {
+
+        @Test
+        @DisplayName("正常系: 最低セッション数と上限が同じ場合、その件数だけ実行する")
+        void runsConfiguredSessions() {
+            // Arrange
+            var service = createService(200, 200, 100, Duration.ofSeconds(1));
+
+            // Act
+            var result = service.warmUp();
+
+            // Assert
+            assertThat(result.getSessions()).isEqualTo(200);
+            assertThat(result.getElapsed()).isPositive();
+        }
+
+        @Test
+        @DisplayName("異常系: JITコンパイルが落ち着かない場合は上限のセッション数で打ち切る")
+        void notSettled_stopsAtMaxSessions() {
+            // Arrange
+            var service = createService(100, 300, 100, Duration.ofMillis(-1));
+
+            // Act
+            var result = service.warmUp();
+
+            // Assert
+            assertThat(result.getSessions()).isEqualTo(300);
+            assertThat(result.isSettled()).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("ベンチマーク")
+    class Benchmark {
+
+        /**
+         * 台本セッションを順に実行し、1件ごとのレイテンシ（ナノ秒）を返します。
+         */
+        private long[] measure(WarmupService service, int firstSession, int count) {
+            var worldCount = worldRepository.getAvailableWorlds().size();
+            var latencies = new long[count];
+            for (var i = 0; i < count; i++) {
+                var started = System.nanoTime();
+                service.runSession(firstSession + i, worldCount);
+                latencies[i] = System.nanoTime() - started;
+            }
+            return latencies;
+        }
+
+        /**
+         * レイテンシの中央値（ナノ秒）を返します。
+         */
+        private long median(long[] latencies) {
+            var sorted = latencies.clone();
+            Arrays.sort(sorted);
+            return sorted[sorted.length / 2];
+        }
+
+        @Test
+        @DisplayName("最初の100セッションのレイテンシを、ウォームアップなしとありで比較できる")
+        void firstHundredSessions_withAndWithoutWarmup() {
+            // Arrange
+            // 同じJVMで先に実行された他のテストがコードを温めている場合、ウォームアップなしの値は実際の起動直後より小さくなる
+            var sessionCount = 100;
+            var service = createService(5_000, 20_000, 500, Duration.ofMillis(20));
+
+            // Act
+            var cold = measure(service, 0, sessionCount);
+            var result = service.warmUp();
+            var warm = measure(service, 0, sessionCount);
+
+            // Assert
+            assertThat(result.getSessions()).isGreaterThanOrEqualTo(5_000);
+            assertThat(cold).allMatch(latency -> latency > 0);
+            assertThat(warm).allMatch(latency -> latency > 0);
+            // GCなどの揺らぎを許容しつつ、ウォームアップ後に遅くならないことを確認する
+            assertThat(median(warm)).isLessThanOrEqualTo(median(cold) * 2);
+        }
+    }
+
+    private static RaceWithModifiers joined(Race race) {
+        return new RaceWithModifiers(
+                race.getId(), race.getJapaneseName(), race.getEnglishName(), race.getRarity(),
+                race.getCreatedAt(), race.getUpdatedAt(), race.getSpecialAbility(), race.getDescription(),
+                null, null, null, null, null, null, null, null);
+    }
+
+    private static Race createRace(String id, String name, String rarity) {
+        return new Race(
+                id,                // id
+                name,              // japaneseName
+                "English" + name,  // englishName
+                rarity,            // rarity
+                new Date(),        // createdAt
+                new Date(),        // updatedAt
+                "Special ability", // specialAbility
+                "Description"      // description
+        );
+    }
+}
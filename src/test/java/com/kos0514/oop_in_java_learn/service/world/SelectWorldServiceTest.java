@@ -1,8 +1,10 @@
 package com.kos0514.oop_in_java_learn.service.world;
 
+import com.kos0514.oop_in_java_learn.context.SessionContext;
 import com.kos0514.oop_in_java_learn.io.test.TestInputProvider;
 import com.kos0514.oop_in_java_learn.model.world.World;
 import com.kos0514.oop_in_java_learn.repository.WorldRepository;
+import com.kos0514.oop_in_java_learn.service.menu.MenuRenderer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -10,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
@@ -25,6 +28,9 @@ class SelectWorldServiceTest {
     @Mock
     private WorldRepository worldRepository;
 
+    @Spy
+    private MenuRenderer menuRenderer = new MenuRenderer();
+
     @InjectMocks
     private SelectWorldService selectWorldService;
 
@@ -69,7 +75,7 @@ class SelectWorldServiceTest {
             when(worldRepository.getAvailableWorlds()).thenReturn(availableWorlds);
 
             // Act
-            var selectedWorld = selectWorldService.selectWorld(inputProvider);
+            var selectedWorld = SessionContext.of(inputProvider).call(selectWorldService::selectWorld);
 
             // Assert
             assertThat(selectedWorld).isEqualTo(testWorld1);
@@ -88,7 +94,7 @@ class SelectWorldServiceTest {
             when(worldRepository.getAvailableWorlds()).thenReturn(availableWorlds);
 
             // Act
-            var selectedWorld = selectWorldService.selectWorld(inputProvider);
+            var selectedWorld = SessionContext.of(inputProvider).call(selectWorldService::selectWorld);
 
             // Assert
             assertThat(selectedWorld).isEqualTo(testWorld2);
@@ -107,7 +113,7 @@ class SelectWorldServiceTest {
             when(worldRepository.getAvailableWorlds()).thenReturn(availableWorlds);
 
             // Act
-            var selectedWorld = selectWorldService.selectWorld(inputProvider);
+            var selectedWorld = SessionContext.of(inputProvider).call(selectWorldService::selectWorld);
 
             // Assert
             assertThat(selectedWorld).isEqualTo(testWorld3);
@@ -126,7 +132,7 @@ class SelectWorldServiceTest {
             when(worldRepository.getAvailableWorlds()).thenReturn(availableWorlds);
 
             // Act
-            var selectedWorld = selectWorldService.selectWorld(inputProvider);
+            var selectedWorld = SessionContext.of(inputProvider).call(selectWorldService::selectWorld);
 
             // Assert
             assertThat(selectedWorld).isEqualTo(testWorld1);
@@ -145,7 +151,7 @@ class SelectWorldServiceTest {
             when(worldRepository.getAvailableWorlds()).thenReturn(availableWorlds);
 
             // Act
-            var selectedWorld = selectWorldService.selectWorld(inputProvider);
+            var selectedWorld = SessionContext.of(inputProvider).call(selectWorldService::selectWorld);
 
             // Assert
             assertThat(selectedWorld).isEqualTo(testWorld2);
@@ -4,6 +4,8 @@ import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.read.ListAppender;
+import com.kos0514.oop_in_java_learn.context.SessionContext;
+import com.kos0514.oop_in_java_learn.io.BufferedScreenOutputProvider;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,6 +13,8 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.slf4j.LoggerFactory;
 
+import java.io.StringWriter;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -199,4 +203,50 @@ class LoggingUtilsTest {
                     .isEqualTo("数値を入力してください。");
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("セッションの出力先が設定されている場合のテスト")
+    class WithSessionOutput {
+
+        @Test
+        @DisplayName("正常系: 処理中の出力はロガーではなくセッションの出力先へ送られる")
+        void routesMessagesToSessionOutput() {
+            // Arrange
+            var writer = new StringWriter();
+            var output = new BufferedScreenOutputProvider(writer);
+
+            // Act
+            var result = SessionContext.builder().output(output).build().call(() -> {
+                LoggingUtils.info("番号を入力してください (1-{}):", 3);
+                LoggingUtils.warnInputNumber();
+                LoggingUtils.printSeparator();
+                return "完了";
+            });
+            output.flush();
+
+            // Assert
+            assertThat(result).isEqualTo("完了");
+            assertThat(listAppender.list).isEmpty();
+            assertThat(writer.toString()).isEqualTo(
+                    "番号を入力してください (1-3):\n数値を入力してください。\n======================================\n");
+        }
+
+        @Test
+        @DisplayName("正常系: 処理の終了後はロガーへの出力に戻る")
+        void restoresLoggerAfterAction() {
+            // Arrange
+            var output = new BufferedScreenOutputProvider(new StringWriter());
+
+            // Act
+            SessionContext.builder().output(output).build().call(() -> {
+                LoggingUtils.info("セッション内");
+                return null;
+            });
+            LoggingUtils.info("セッション外");
+
+            // Assert
+            assertThat(listAppender.list).hasSize(1);
+            assertThat(listAppender.list.getFirst().getFormattedMessage()).isEqualTo("セッション外");
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.kos0514.oop_in_java_learn.util.random_generator;
 
+import com.kos0514.oop_in_java_learn.context.SessionContext;
+import com.kos0514.oop_in_java_learn.io.test.TestInputProvider;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -7,6 +9,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.Random;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -121,4 +125,29 @@ class DefaultRandomGeneratorTest {
             assertThat(result1).isNotEqualTo(result2);
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("セッションコンテキストとの連携のテスト")
+    class WithSessionContext {
+
+        @Test
+        @DisplayName("正常系: コンテキストが設定されている場合はセッション専用の乱数生成器を使用する")
+        void sessionBound_usesSessionRandom() {
+            // Arrange
+            var bound = 1000;
+            var seed = 12345L;
+            var context = SessionContext.of(new TestInputProvider());
+            var expected = new Random(seed);
+
+            // Act
+            var result = context.call(() -> {
+                randomGenerator.setSeed(seed);
+                return randomGenerator.nextInt(bound);
+            });
+
+            // Assert
+            assertThat(result).isEqualTo(expected.nextInt(bound));
+            assertThat(context.getRandom().nextInt(bound)).isEqualTo(expected.nextInt(bound));
+        }
+    }
+}
@@ -6,6 +6,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -23,6 +29,10 @@ class SystemExitHandlerTest {
         private boolean exitCalled = false;
         private int exitStatus = -1;
 
+        TestSystemExitHandler() {
+            super(List.of(), new ShutdownProperties(Duration.ofSeconds(30)));
+        }
+
         @Override
         public void exit() {
             // System.exit()を呼び出す代わりに、呼び出されたことを記録
@@ -61,4 +71,107 @@ class SystemExitHandlerTest {
             assertThat(testExitHandler.getExitStatus()).isEqualTo(0);
         }
     }
+
+    /**
+     * 呼び出しの順序を記録し、指定されたラッチが開くまで排出が完了しないテスト用の参加者。
+     */
+    static class TestDrainParticipant implements DrainParticipant {
+        private final String name;
+        private final CountDownLatch finished;
+        private final List<String> calls;
+
+        TestDrainParticipant(String name, CountDownLatch finished, List<String> calls) {
+            this.name = name;
+            this.finished = finished;
+            this.calls = calls;
+        }
+
+        @Override
+        public String getDrainName() {
+            return name;
+        }
+
+        @Override
+        public void stopAccepting() {
+            calls.add(name + ":stopAccepting");
+        }
+
+        @Override
+        public boolean awaitDrained(Duration timeout) throws InterruptedException {
+            calls.add(name + ":awaitDrained");
+            return finished.await(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void closeNow() {
+            calls.add(name + ":closeNow");
+        }
+    }
+
+    @Nested
+    @DisplayName("drain メソッドのテスト")
+    class Drain {
+
+        @Test
+        @DisplayName("正常系: すべての受け付けを停止してから排出を待ち、最後に全参加者を停止する")
+        void stopsAllThenAwaitsThenCloses() {
+            // Arrange
+            var calls = new ArrayList<String>();
+            var done = new CountDownLatch(0);
+            var handler = new SystemExitHandler(List.of(
+                    new TestDrainParticipant("HTTP", done, calls),
+                    new TestDrainParticipant("エンジン", done, calls)),
+                    new ShutdownProperties(Duration.ofSeconds(5)));
+
+            // Act
+            var report = handler.drain();
+
+            // Assert
+            assertThat(calls).containsExactly(
+                    "HTTP:stopAccepting", "エンジン:stopAccepting",
+                    "HTTP:awaitDrained", "エンジン:awaitDrained",
+                    "HTTP:closeNow", "エンジン:closeNow");
+            assertThat(report.isClean()).isTrue();
+            assertThat(report.getTotalLatency()).isGreaterThanOrEqualTo(report.getDrainLatency());
+        }
+
+        @Test
+        @DisplayName("異常系: 猶予期間内に排出が完了しない参加者は打ち切られ、猶予期間は全参加者で共有される")
+        void gracePeriodExceeded_reportsForcedParticipants() {
+            // Arrange
+            var calls = new ArrayList<String>();
+            var handler = new SystemExitHandler(List.of(
+                    new TestDrainParticipant("TCP", new CountDownLatch(1), calls),
+                    new TestDrainParticipant("エンジン", new CountDownLatch(1), calls),
+                    new TestDrainParticipant("HTTP", new CountDownLatch(0), calls)),
+                    new ShutdownProperties(Duration.ofMillis(200)));
+
+            // Act
+            var report = handler.drain();
+
+            // Assert
+            assertThat(report.isClean()).isFalse();
+            assertThat(report.getForcedParticipants()).containsExactly("TCP", "エンジン");
+            assertThat(report.getDrainLatency()).isBetween(Duration.ofMillis(200), Duration.ofSeconds(2));
+            assertThat(calls).contains("TCP:closeNow", "エンジン:closeNow", "HTTP:closeNow");
+        }
+
+        @Test
+        @DisplayName("正常系: 2回目以降の呼び出しでは排出をやり直さず、前回の結果を返す")
+        void secondCall_returnsSameReport() {
+            // Arrange
+            var calls = new ArrayList<String>();
+            var handler = new SystemExitHandler(List.of(
+                    new TestDrainParticipant("エンジン", new CountDownLatch(0), calls)),
+                    new ShutdownProperties(Duration.ofSeconds(5)));
+
+            // Act
+            var first = handler.drain();
+            var second = handler.drain();
+
+            // Assert
+            assertThat(second).isSameAs(first);
+            assertThat(calls).hasSize(3);
+        }
+    }
 }